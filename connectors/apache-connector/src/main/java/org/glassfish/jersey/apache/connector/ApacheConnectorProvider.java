@@ -20,6 +20,7 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.core.Configurable;
 import javax.ws.rs.core.Configuration;
 
+import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.Initializable;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
@@ -93,6 +94,14 @@ public class ApacheConnectorProvider implements ConnectorProvider {
         return new ApacheConnector(client, runtimeConfig);
     }
 
+    @Override
+    public boolean isRequestProperty(final String name) {
+        return ClientProperties.CONNECT_TIMEOUT.equals(name)
+                || ClientProperties.READ_TIMEOUT.equals(name)
+                || ClientProperties.FOLLOW_REDIRECTS.equals(name)
+                || ClientProperties.REQUEST_ENTITY_PROCESSING.equals(name);
+    }
+
     /**
      * Retrieve the underlying Apache {@link HttpClient} instance from
      * {@link org.glassfish.jersey.client.JerseyClient} or {@link org.glassfish.jersey.client.JerseyWebTarget}
@@ -22,6 +22,8 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -41,6 +43,7 @@ import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.CopyOnWriteHeaders;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -336,14 +339,28 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         try {
             logger.debugLog("GrizzlyHttpContainer.service(...) started");
             URI baseUri = getBaseUri(request);
-            URI requestUri = getRequestUri(request);
+            String requestUri = getRequestUri(request);
             final ContainerRequest requestContext = new ContainerRequest(baseUri,
                     requestUri, request.getMethod().getMethodString(),
                     getSecurityContext(request), new GrizzlyRequestPropertiesDelegate(request));
             requestContext.setEntityStream(request.getInputStream());
-            for (final String headerName : request.getHeaderNames()) {
-                requestContext.headers(headerName, request.getHeaders(headerName));
-            }
+            requestContext.setHeaderSource(new CopyOnWriteHeaders.Source() {
+                @Override
+                public Iterable<String> names() {
+                    return request.getHeaderNames();
+                }
+
+                @Override
+                public List<String> get(final String name) {
+                    final Iterator<String> values = request.getHeaders(name).iterator();
+                    if (!values.hasNext()) {
+                        return null;
+                    }
+                    final List<String> list = new ArrayList<>(1);
+                    values.forEachRemaining(list::add);
+                    return list;
+                }
+            });
             requestContext.setWriter(responseWriter);
 
             requestContext.setRequestScopedInitializer(injectionManager -> {
@@ -439,7 +456,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     }
 
-    private URI getRequestUri(final Request request) {
+    private String getRequestUri(final Request request) {
         try {
             final String serverAddress = getServerAddress(request);
 
@@ -455,7 +472,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                 uri = uri + "?" + ContainerUtils.encodeUnsafeCharacters(queryString);
             }
 
-            return new URI(serverAddress + uri);
+            return serverAddress + uri;
         } catch (URISyntaxException ex) {
             throw new IllegalArgumentException(ex);
         }
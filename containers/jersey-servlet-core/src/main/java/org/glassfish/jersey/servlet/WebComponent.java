@@ -63,6 +63,7 @@ import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.message.internal.CopyOnWriteHeaders;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.message.internal.MediaTypes;
 import org.glassfish.jersey.process.internal.RequestScoped;
@@ -538,25 +539,38 @@ public class WebComponent {
     }
 
     /**
-     * Copy request headers present in {@code request} into {@code requestContext} ignoring {@code null} values.
+     * Make request headers present in {@code request} available in {@code requestContext} ignoring {@code null} values.
+     * The headers are copied only when modified.
      *
-     * @param request        http servlet request to copy headers from.
-     * @param requestContext container request to copy headers to.
+     * @param request        http servlet request to take headers from.
+     * @param requestContext container request to provide headers to.
      */
-    @SuppressWarnings("unchecked")
     private void addRequestHeaders(final HttpServletRequest request, final ContainerRequest requestContext) {
-        final Enumeration<String> names = request.getHeaderNames();
-        while (names.hasMoreElements()) {
-            final String name = names.nextElement();
+        requestContext.setHeaderSource(new CopyOnWriteHeaders.Source() {
+            @Override
+            public Iterable<String> names() {
+                return Collections.list(request.getHeaderNames());
+            }
 
-            final Enumeration<String> values = request.getHeaders(name);
-            while (values.hasMoreElements()) {
-                final String value = values.nextElement();
-                if (value != null) { // filter out null values
-                    requestContext.header(name, value);
+            @Override
+            public List<String> get(final String name) {
+                final Enumeration<String> values = request.getHeaders(name);
+                if (values == null) {
+                    return null;
                 }
+                List<String> list = null;
+                while (values.hasMoreElements()) {
+                    final String value = values.nextElement();
+                    if (value != null) { // filter out null values
+                        if (list == null) {
+                            list = new ArrayList<>(1);
+                        }
+                        list.add(value);
+                    }
+                }
+                return list;
             }
-        }
+        });
     }
 
     /**
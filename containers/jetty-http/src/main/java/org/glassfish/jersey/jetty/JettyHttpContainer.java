@@ -22,7 +22,6 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.Principal;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +44,7 @@ import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.jetty.internal.LocalizationMessages;
+import org.glassfish.jersey.message.internal.CopyOnWriteHeaders;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -59,6 +59,7 @@ import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.eclipse.jetty.continuation.Continuation;
 import org.eclipse.jetty.continuation.ContinuationListener;
 import org.eclipse.jetty.continuation.ContinuationSupport;
+import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.Response;
@@ -140,7 +141,7 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
         final Response response = request.getResponse();
         final ResponseWriter responseWriter = new ResponseWriter(request, response, configSetStatusOverSendError);
         final URI baseUri = getBaseUri(request);
-        final URI requestUri = getRequestUri(request, baseUri);
+        final String requestUri = getRequestUri(request, baseUri);
         try {
             final ContainerRequest requestContext = new ContainerRequest(
                     baseUri,
@@ -149,12 +150,18 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
                     getSecurityContext(request),
                     new MapPropertiesDelegate());
             requestContext.setEntityStream(request.getInputStream());
-            final Enumeration<String> headerNames = request.getHeaderNames();
-            while (headerNames.hasMoreElements()) {
-                final String headerName = headerNames.nextElement();
-                String headerValue = request.getHeader(headerName);
-                requestContext.headers(headerName, headerValue == null ? "" : headerValue);
-            }
+            final HttpFields fields = request.getHttpFields();
+            requestContext.setHeaderSource(new CopyOnWriteHeaders.Source() {
+                @Override
+                public Iterable<String> names() {
+                    return fields.getFieldNamesCollection();
+                }
+
+                @Override
+                public List<String> get(final String name) {
+                    return fields.getValuesList(name);
+                }
+            });
             requestContext.setWriter(responseWriter);
             requestContext.setRequestScopedInitializer(injectionManager -> {
                 injectionManager.<Ref<Request>>getInstance(REQUEST_TYPE).set(request);
@@ -170,20 +177,16 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
 
     }
 
-    private URI getRequestUri(final Request request, final URI baseUri) {
-        try {
-            final String serverAddress = getServerAddress(baseUri);
-            String uri = request.getRequestURI();
-
-            final String queryString = request.getQueryString();
-            if (queryString != null) {
-                uri = uri + "?" + ContainerUtils.encodeUnsafeCharacters(queryString);
-            }
+    private String getRequestUri(final Request request, final URI baseUri) {
+        final String serverAddress = getServerAddress(baseUri);
+        String uri = request.getRequestURI();
 
-            return new URI(serverAddress + uri);
-        } catch (URISyntaxException ex) {
-            throw new IllegalArgumentException(ex);
+        final String queryString = request.getQueryString();
+        if (queryString != null) {
+            uri = uri + "?" + ContainerUtils.encodeUnsafeCharacters(queryString);
         }
+
+        return serverAddress + uri;
     }
 
     private String getServerAddress(URI baseUri) {
@@ -22,6 +22,7 @@ import java.net.URI;
 import java.security.Principal;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.LinkedBlockingDeque;
 
@@ -34,6 +35,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
@@ -42,6 +44,7 @@ import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.internal.PropertiesDelegate;
+import org.glassfish.jersey.message.internal.CopyOnWriteHeaders;
 import org.glassfish.jersey.netty.connector.internal.NettyInputStream;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.internal.ContainerUtils;
@@ -118,7 +121,8 @@ class JerseyServerHandler extends ChannelInboundHandlerAdapter {
     private ContainerRequest createContainerRequest(ChannelHandlerContext ctx, HttpRequest req) {
 
         String s = req.uri().startsWith("/") ? req.uri().substring(1) : req.uri();
-        URI requestUri = URI.create(baseUri + ContainerUtils.encodeUnsafeCharacters(s));
+        // the request URI is parsed lazily, only if requested by the application
+        String requestUri = baseUri + ContainerUtils.encodeUnsafeCharacters(s);
 
         ContainerRequest requestContext = new ContainerRequest(
                 baseUri, requestUri, req.method().name(), getSecurityContext(),
@@ -168,10 +172,19 @@ class JerseyServerHandler extends ChannelInboundHandlerAdapter {
             });
         }
 
-        // copying headers from netty request to jersey container request context.
-        for (String name : req.headers().names()) {
-            requestContext.headers(name, req.headers().getAll(name));
-        }
+        // netty request headers are copied to jersey container request context only when modified.
+        final HttpHeaders headers = req.headers();
+        requestContext.setHeaderSource(new CopyOnWriteHeaders.Source() {
+            @Override
+            public Iterable<String> names() {
+                return headers.names();
+            }
+
+            @Override
+            public List<String> get(String name) {
+                return headers.getAll(name);
+            }
+        });
 
         return requestContext;
     }
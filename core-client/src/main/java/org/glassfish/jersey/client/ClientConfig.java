@@ -16,9 +16,11 @@
 
 package org.glassfish.jersey.client;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -107,7 +109,13 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         private volatile ExecutorService executorService;
         private volatile ScheduledExecutorService scheduledExecutorService;
 
-        private final LazyValue<ClientRuntime> runtime = Values.lazy((Value<ClientRuntime>) this::initRuntime);
+        private final LazyValue<ClientRuntime> runtime = Values.lazy((Value<ClientRuntime>) this::createRuntime);
+
+        /**
+         * Runtime of the configuration state this state has been derived from. The runtime is shared as long as
+         * this state differs from the original one only in properties resolved by the connector for every request.
+         */
+        private volatile LazyValue<ClientRuntime> sharedRuntime;
 
         /**
          * Configuration state change strategy.
@@ -187,7 +195,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         State preInitialize() {
             final State state = strategy.onChange(this);
             state.strategy = COPY_ON_CHANGE;
-            state.runtime.get().preInitialize();
+            state.getRuntime().preInitialize();
             return state;
 
         }
@@ -196,12 +204,14 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State property(final String name, final Object value) {
             final State state = strategy.onChange(this);
             state.commonConfig.property(name, value);
+            state.sharedRuntime = connectorProvider.isRequestProperty(name) ? sharedRuntimeFor(state) : null;
             return state;
         }
 
         public State loadFrom(final Configuration config) {
             final State state = strategy.onChange(this);
             state.commonConfig.loadFrom(config);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -209,6 +219,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -216,6 +227,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -223,6 +235,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass, final int bindingPriority) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass, bindingPriority);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -230,6 +243,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass, final Class<?>... contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass, contracts);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -237,6 +251,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Class<?> providerClass, final Map<Class<?>, Integer> contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(providerClass, contracts);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -244,6 +259,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider, final int bindingPriority) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider, bindingPriority);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -251,6 +267,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider, final Class<?>... contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider, contracts);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -258,6 +275,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         public State register(final Object provider, final Map<Class<?>, Integer> contracts) {
             final State state = strategy.onChange(this);
             state.commonConfig.register(provider, contracts);
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -267,6 +285,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             }
             final State state = strategy.onChange(this);
             state.connectorProvider = provider;
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -276,6 +295,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             }
             final State state = strategy.onChange(this);
             state.executorService = executorService;
+            state.sharedRuntime = null;
             return state;
         }
 
@@ -285,12 +305,41 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             }
             final State state = strategy.onChange(this);
             state.scheduledExecutorService = scheduledExecutorService;
+            state.sharedRuntime = null;
             return state;
         }
 
         Connector getConnector() {
             // Get the connector only if the runtime has been initialized.
-            return (runtime.isInitialized()) ? runtime.get().getConnector() : null;
+            final LazyValue<ClientRuntime> effectiveRuntime = getEffectiveRuntime();
+            return (effectiveRuntime.isInitialized()) ? effectiveRuntime.get().getConnector() : null;
+        }
+
+        /**
+         * Get the client runtime for this configuration state, i.e. either the runtime shared with the state this state
+         * has been derived from or a runtime created for this state.
+         *
+         * @return client runtime.
+         */
+        ClientRuntime getRuntime() {
+            return getEffectiveRuntime().get();
+        }
+
+        private LazyValue<ClientRuntime> getEffectiveRuntime() {
+            final LazyValue<ClientRuntime> shared = sharedRuntime;
+            return shared != null ? shared : runtime;
+        }
+
+        /**
+         * Get the runtime to be shared by the given state derived from this state by a change of a property
+         * that is resolved by the connector for every request.
+         *
+         * @param state state derived from this state.
+         * @return runtime to be shared by the derived state.
+         */
+        private LazyValue<ClientRuntime> sharedRuntimeFor(final State state) {
+            // A state mutated in place keeps sharing the runtime only if it has already shared one.
+            return state == this ? sharedRuntime : getEffectiveRuntime();
         }
 
         ConnectorProvider getConnectorProvider() {
@@ -391,6 +440,20 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             return commonConfig.getComponentBag();
         }
 
+        /**
+         * Get a client runtime for this configuration state, either from the client runtime cache (if enabled)
+         * or a newly initialized one.
+         */
+        private ClientRuntime createRuntime() {
+            markAsShared();
+
+            final int cacheSize = ClientProperties.getValue(getProperties(), ClientProperties.RUNTIME_CACHE_SIZE, 0);
+            if (cacheSize > 0) {
+                return client.getCachedRuntime(new RuntimeKey(this), cacheSize, this::initRuntime);
+            }
+            return initRuntime();
+        }
+
         /**
          * Initialize the newly constructed client instance.
          */
@@ -483,6 +546,79 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         }
     }
 
+    /**
+     * Effective configuration of a client runtime used as a key in the client runtime cache.
+     * <p>
+     * Registered provider instances, the connector provider and executor services are compared by identity,
+     * registered provider classes and property values by equality.
+     * </p>
+     */
+    private static final class RuntimeKey {
+
+        private final Map<String, Object> properties;
+        private final List<Class<?>> classes;
+        private final List<Object> instances;
+        private final List<Map<Class<?>, Integer>> contracts;
+        private final ConnectorProvider connectorProvider;
+        private final ExecutorService executorService;
+        private final ScheduledExecutorService scheduledExecutorService;
+        private final int hash;
+
+        private RuntimeKey(final State state) {
+            this.properties = new HashMap<>(state.getProperties());
+            this.classes = new ArrayList<>(state.getClasses());
+            this.instances = new ArrayList<>(state.getInstances());
+            this.contracts = new ArrayList<>(classes.size() + instances.size());
+            for (final Class<?> componentClass : classes) {
+                contracts.add(new HashMap<>(state.getContracts(componentClass)));
+            }
+            for (final Object instance : instances) {
+                contracts.add(new HashMap<>(state.getContracts(instance.getClass())));
+            }
+            this.connectorProvider = state.connectorProvider;
+            this.executorService = state.executorService;
+            this.scheduledExecutorService = state.scheduledExecutorService;
+
+            int h = properties.hashCode();
+            h = 31 * h + classes.hashCode();
+            for (final Object instance : instances) {
+                h = 31 * h + System.identityHashCode(instance);
+            }
+            h = 31 * h + contracts.hashCode();
+            h = 31 * h + System.identityHashCode(connectorProvider);
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RuntimeKey)) {
+                return false;
+            }
+            final RuntimeKey other = (RuntimeKey) o;
+            if (hash != other.hash
+                    || connectorProvider != other.connectorProvider
+                    || executorService != other.executorService
+                    || scheduledExecutorService != other.scheduledExecutorService
+                    || instances.size() != other.instances.size()) {
+                return false;
+            }
+            for (int i = 0; i < instances.size(); i++) {
+                if (instances.get(i) != other.instances.get(i)) {
+                    return false;
+                }
+            }
+            return classes.equals(other.classes) && contracts.equals(other.contracts) && properties.equals(other.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     /**
      * Construct a new Jersey configuration instance with the default features
      * and property values.
@@ -799,11 +935,11 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
      * @return configured runtime.
      */
     ClientRuntime getRuntime() {
-        return state.runtime.get();
+        return state.getRuntime();
     }
 
     public ClientExecutor getClientExecutor() {
-        return state.runtime.get();
+        return state.getRuntime();
     }
 
     /**
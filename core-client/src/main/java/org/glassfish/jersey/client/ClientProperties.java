@@ -405,6 +405,153 @@ public final class ClientProperties {
      */
     public static final String REQUEST_ENTITY_PROCESSING = "jersey.config.client.request.entity.processing";
 
+    /**
+     * Maximum number of client runtimes cached by a single {@link JerseyClient client} instance.
+     * <p>
+     * Every {@link javax.ws.rs.client.WebTarget web target} whose configuration has been modified by registering
+     * a new provider or feature requires a dedicated client runtime. If the cache is enabled, client runtimes are
+     * cached by their effective configuration (properties, registered provider classes and instances, connector provider
+     * and executor services) and web targets with equal configurations share a single client runtime instead of
+     * initializing a new one. Note that provider classes registered in such web targets are then instantiated only once
+     * for all the web targets sharing the runtime. The least recently used runtimes are evicted from the cache when
+     * the limit is exceeded.
+     * </p>
+     * <p>
+     * Modifying only properties that are resolved by the connector for every request (such as
+     * {@link #CONNECT_TIMEOUT} or {@link #READ_TIMEOUT} with the default connector) never requires a new client runtime,
+     * regardless of this property.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}. A value lower than or equal to {@code 0}
+     * disables the cache.
+     * </p>
+     * <p>
+     * The default value is {@code 0}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see org.glassfish.jersey.client.spi.ConnectorProvider#isRequestProperty(String)
+     * @since 2.29
+     */
+    public static final String RUNTIME_CACHE_SIZE = "jersey.config.client.runtimeCacheSize";
+
+    /**
+     * Maximum number of attempts to send an idempotent request ({@code GET}, {@code HEAD}, {@code OPTIONS},
+     * {@code PUT}, {@code DELETE} or {@code TRACE}).
+     * <p>
+     * A request attempt is repeated if it fails with a {@link javax.ws.rs.ProcessingException} or if the server responds
+     * with {@code 502 Bad Gateway}, {@code 503 Service Unavailable} or {@code 504 Gateway Timeout}. Repeated attempts
+     * are delayed by an exponential backoff with random jitter (see {@link #RETRY_BACKOFF}) and limited by a per-host
+     * retry budget (see {@link #RETRY_BUDGET_PERCENT}). The request entity is buffered once, so that it can be sent again
+     * by any connector. Repeated attempts bypass the request filters, writer interceptors are applied only once.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 1}, i.e. requests are not repeated.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String RETRY_MAX_ATTEMPTS = "jersey.config.client.retry.maxAttempts";
+
+    /**
+     * Base delay in milliseconds between two attempts to send an idempotent request. The delay before the {@code n}-th
+     * repeated attempt is a random value between zero and {@code base * 2^(n-1)} milliseconds.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 50}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #RETRY_MAX_ATTEMPTS
+     * @since 2.29
+     */
+    public static final String RETRY_BACKOFF = "jersey.config.client.retry.backoff";
+
+    /**
+     * Retry budget, i.e. the number of repeated request attempts allowed per one hundred requests sent to a single host.
+     * The budget prevents repeated attempts from multiplying the load of an overloaded server.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 20}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #RETRY_MAX_ATTEMPTS
+     * @since 2.29
+     */
+    public static final String RETRY_BUDGET_PERCENT = "jersey.config.client.retry.budgetPercent";
+
+    /**
+     * If {@code true}, a second attempt to send an idempotent request is made if the response to the first attempt is
+     * not received within the 95th percentile of the recent response times of the host; the response received first is
+     * used. Hedged requests cut the tail latency at the price of a slightly increased load of the server.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String HEDGING = "jersey.config.client.hedging";
+
+    /**
+     * Number of consecutive failed requests to a single host after which the circuit breaker of the host opens, i.e.
+     * the requests to the host fail immediately with {@link javax.ws.rs.ProcessingException} without being sent.
+     * After {@link #CIRCUIT_BREAKER_OPEN_TIMEOUT} a single probe request is let through; the circuit breaker closes
+     * again once a request succeeds. A request fails if a {@code ProcessingException} is thrown or if the server responds
+     * with {@code 502 Bad Gateway}, {@code 503 Service Unavailable} or {@code 504 Gateway Timeout}.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 0}, i.e. the circuit breaker is disabled.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CIRCUIT_BREAKER_THRESHOLD = "jersey.config.client.circuitBreaker.threshold";
+
+    /**
+     * Time in milliseconds the circuit breaker of a host stays open before a probe request is let through.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 10000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #CIRCUIT_BREAKER_THRESHOLD
+     * @since 2.29
+     */
+    public static final String CIRCUIT_BREAKER_OPEN_TIMEOUT = "jersey.config.client.circuitBreaker.openTimeout";
+
     private ClientProperties() {
         // prevents instantiation
     }
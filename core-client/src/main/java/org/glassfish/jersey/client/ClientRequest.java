@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -21,10 +21,12 @@ import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,6 +83,8 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
     private Iterable<ReaderInterceptor> readerInterceptors;
     // do not add user-agent header (if not directly set) to the request.
     private boolean ignoreUserAgent;
+    // callbacks notified when the request fails before the response is processed, not copied
+    private List<Consumer<Throwable>> failureCallbacks;
 
     private static final Logger LOGGER = Logger.getLogger(ClientRequest.class.getName());
 
@@ -615,4 +619,37 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
     public void ignoreUserAgent(final boolean ignore) {
         this.ignoreUserAgent = ignore;
     }
+
+    /**
+     * Register a callback to be notified when the request processing fails before the response is processed by the
+     * response filters, e.g. when the connector fails to send the request. Request filters can use the callback to release
+     * resources that would otherwise be released by their response filter counterpart.
+     *
+     * @param callback callback invoked with the request processing failure.
+     * @since 2.29
+     */
+    public void addFailureCallback(final Consumer<Throwable> callback) {
+        if (failureCallbacks == null) {
+            failureCallbacks = new ArrayList<>(1);
+        }
+        failureCallbacks.add(callback);
+    }
+
+    /**
+     * Notify the {@link #addFailureCallback(Consumer) registered failure callbacks} about the request processing failure.
+     *
+     * @param failure request processing failure.
+     */
+    void failed(final Throwable failure) {
+        if (failureCallbacks == null) {
+            return;
+        }
+        for (final Consumer<Throwable> callback : failureCallbacks) {
+            try {
+                callback.accept(failure);
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.FINE, "Request failure callback failed.", e);
+            }
+        }
+    }
 }
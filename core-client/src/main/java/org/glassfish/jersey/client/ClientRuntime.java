@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,6 +34,8 @@ import javax.ws.rs.core.MultivaluedMap;
 
 import javax.inject.Provider;
 
+import org.glassfish.jersey.Deadline;
+import org.glassfish.jersey.DeadlineExceededException;
 import org.glassfish.jersey.client.internal.LocalizationMessages;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
@@ -62,6 +64,11 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
 
     private static final Logger LOG = Logger.getLogger(ClientRuntime.class.getName());
 
+    /**
+     * Timeouts limited by the time remaining till the {@link Deadline deadline} the request is invoked under.
+     */
+    private static final String[] DEADLINE_TIMEOUTS = {ClientProperties.CONNECT_TIMEOUT, ClientProperties.READ_TIMEOUT};
+
     private final Stage<ClientRequest> requestProcessingRoot;
     private final Stage<ClientResponse> responseProcessingRoot;
 
@@ -104,7 +111,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         this.responseProcessingRoot = responseFilteringStage != null ? responseFilteringStage : Stages.identity();
         this.managedObjectsFinalizer = bootstrapBag.getManagedObjectsFinalizer();
         this.config = config;
-        this.connector = connector;
+        this.connector = ResilientConnector.decorate(connector, config.getProperties());
         this.requestScope = bootstrapBag.getRequestScope();
         this.asyncRequestExecutor = Values.lazy((Value<ExecutorService>) () ->
                 config.getExecutorService() == null
@@ -136,10 +143,13 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
      * @return {@code Runnable} to be submitted for async processing using {@link #submit(Runnable)}.
      */
     Runnable createRunnableForAsyncProcessing(ClientRequest request, final ResponseCallback callback) {
+        // the deadline attached to the calling thread is not available in the thread processing the request
+        final Deadline deadline = Deadline.current();
         return () -> requestScope.runInScope(() -> {
             try {
                 ClientRequest processedRequest;
                 try {
+                    applyDeadline(request, deadline);
                     processedRequest = Stages.process(request, requestProcessingRoot);
                     processedRequest = addUserAgent(processedRequest, connector.getName());
                 } catch (final AbortException aborted) {
@@ -156,12 +166,14 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
 
                     @Override
                     public void failure(final Throwable failure) {
+                        request.failed(failure);
                         requestScope.runInScope(() -> processFailure(failure, callback));
                     }
                 };
 
                 connector.apply(processedRequest, connectorCallback);
             } catch (final Throwable throwable) {
+                request.failed(throwable);
                 processFailure(throwable, callback);
             }
         });
@@ -233,6 +245,31 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         return clientRequest;
     }
 
+    /**
+     * Limit the connect and read timeouts of the request by the time remaining till the deadline of the server request
+     * the client request is invoked from.
+     *
+     * @param request  client request to be sent.
+     * @param deadline deadline attached to the invoking thread, may be {@code null}.
+     * @throws DeadlineExceededException in case the deadline has already expired.
+     */
+    private static void applyDeadline(final ClientRequest request, final Deadline deadline) {
+        if (deadline == null) {
+            return;
+        }
+        final long remaining = deadline.timeRemaining(TimeUnit.MILLISECONDS);
+        if (remaining <= 0) {
+            throw new DeadlineExceededException();
+        }
+        final int budget = (int) Math.min(remaining, Integer.MAX_VALUE);
+        for (final String timeout : DEADLINE_TIMEOUTS) {
+            final int value = request.resolveProperty(timeout, 0);
+            if (value <= 0 || value > budget) {
+                request.setProperty(timeout, budget);
+            }
+        }
+    }
+
     /**
      * Invoke a request processing synchronously in the context of the caller's thread.
      * <p>
@@ -251,9 +288,13 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         ClientResponse response;
         try {
             try {
+                applyDeadline(request, Deadline.current());
                 response = connector.apply(addUserAgent(Stages.process(request, requestProcessingRoot), connector.getName()));
             } catch (final AbortException aborted) {
                 response = aborted.getAbortResponse();
+            } catch (final Throwable t) {
+                request.failed(t);
+                throw t;
             }
 
             return Stages.process(response, responseProcessingRoot);
@@ -19,7 +19,10 @@ package org.glassfish.jersey.client;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import javax.ws.rs.client.Client;
@@ -112,6 +115,16 @@ public class HttpUrlConnectorProvider implements ConnectorProvider {
 
     private static final Logger LOGGER = Logger.getLogger(HttpUrlConnectorProvider.class.getName());
 
+    /**
+     * Configuration properties resolved by {@link HttpUrlConnector} for every request.
+     */
+    private static final Set<String> REQUEST_PROPERTIES = new HashSet<>(Arrays.asList(
+            ClientProperties.CONNECT_TIMEOUT,
+            ClientProperties.READ_TIMEOUT,
+            ClientProperties.FOLLOW_REDIRECTS,
+            ClientProperties.CHUNKED_ENCODING_SIZE,
+            ClientProperties.REQUEST_ENTITY_PROCESSING));
+
     private ConnectionFactory connectionFactory;
     private int chunkSize;
     private boolean useFixedLengthStreaming;
@@ -218,6 +231,11 @@ public class HttpUrlConnectorProvider implements ConnectorProvider {
                                       computedUseSetMethodWorkaround);
     }
 
+    @Override
+    public boolean isRequestProperty(final String name) {
+        return REQUEST_PROPERTIES.contains(name);
+    }
+
     /**
      * Create {@link HttpUrlConnector}.
      *
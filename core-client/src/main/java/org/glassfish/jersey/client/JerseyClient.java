@@ -21,12 +21,14 @@ import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -71,6 +73,12 @@ public class JerseyClient implements javax.ws.rs.client.Client, Initializable<Je
     private final LinkedBlockingDeque<WeakReference<JerseyClient.ShutdownHook>> shutdownHooks =
                                         new LinkedBlockingDeque<WeakReference<JerseyClient.ShutdownHook>>();
     private final ReferenceQueue<JerseyClient.ShutdownHook> shReferenceQueue = new ReferenceQueue<JerseyClient.ShutdownHook>();
+    /**
+     * Client runtimes keyed by the effective configuration they have been created for, in the access order.
+     *
+     * @see ClientProperties#RUNTIME_CACHE_SIZE
+     */
+    private final LinkedHashMap<Object, ClientRuntime> runtimeCache = new LinkedHashMap<>(16, 0.75f, true);
 
     /**
      * Client instance shutdown hook.
@@ -182,6 +190,9 @@ public class JerseyClient implements javax.ws.rs.client.Client, Initializable<Je
     }
 
     private void release() {
+        synchronized (runtimeCache) {
+            runtimeCache.clear();
+        }
         Reference<ShutdownHook> listenerRef;
         while ((listenerRef = shutdownHooks.pollFirst()) != null) {
             JerseyClient.ShutdownHook listener = listenerRef.get();
@@ -215,6 +226,43 @@ public class JerseyClient implements javax.ws.rs.client.Client, Initializable<Je
         cleanUpShutdownHooks();
     }
 
+    /**
+     * Get a client runtime for the given effective configuration key from the runtime cache or create a new one and cache it.
+     * <p>
+     * The runtime is created outside of the cache lock; if another thread caches a runtime for the same key
+     * in the meantime, the newly created runtime is closed and the cached one is returned.
+     * </p>
+     *
+     * @param key       effective configuration key.
+     * @param cacheSize maximum number of cached runtimes.
+     * @param factory   client runtime factory.
+     * @return cached or newly created client runtime.
+     */
+    /* package */ ClientRuntime getCachedRuntime(final Object key, final int cacheSize, final Supplier<ClientRuntime> factory) {
+        synchronized (runtimeCache) {
+            final ClientRuntime cached = runtimeCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final ClientRuntime created = factory.get();
+        final ClientRuntime cached;
+        synchronized (runtimeCache) {
+            cached = runtimeCache.putIfAbsent(key, created);
+            if (cached == null) {
+                final Iterator<ClientRuntime> iterator = runtimeCache.values().iterator();
+                while (runtimeCache.size() > cacheSize && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+                return created;
+            }
+        }
+        created.onShutdown();
+        return cached;
+    }
+
     /**
      * Clean up shutdown hooks that have been garbage collected.
      */
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.Deadline;
+import org.glassfish.jersey.DeadlineExceededException;
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
+import org.glassfish.jersey.internal.guava.CacheLoader;
+import org.glassfish.jersey.internal.guava.LoadingCache;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+import org.glassfish.jersey.internal.util.collection.LazyValue;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+
+/**
+ * Connector decorator adding retries with a retry budget and jittered exponential backoff, hedged requests and per-host
+ * circuit breakers to any connector.
+ * <p>
+ * Asynchronous requests are processed by the synchronous {@link #apply(ClientRequest)} method in the thread invoking
+ * the connector, i.e. in the thread of the client asynchronous executor service.
+ * </p>
+ *
+ * @see ClientProperties#RETRY_MAX_ATTEMPTS
+ * @see ClientProperties#HEDGING
+ * @see ClientProperties#CIRCUIT_BREAKER_THRESHOLD
+ */
+final class ResilientConnector implements Connector {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, "TRACE")));
+
+    /**
+     * Maximum number of hosts whose state is tracked. Once the limit is reached, the state of the least recently used
+     * host is discarded.
+     */
+    private static final int MAX_HOSTS = 1024;
+
+    private final Connector connector;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final int budgetPercent;
+    private final boolean hedging;
+    private final int breakerThreshold;
+    private final long breakerOpenNanos;
+
+    private final LoadingCache<String, HostState> hosts = CacheBuilder.newBuilder()
+            .maximumSize(MAX_HOSTS)
+            .build(new CacheLoader<String, HostState>() {
+                @Override
+                public HostState load(final String key) {
+                    return new HostState(key);
+                }
+            });
+    private final LazyValue<ExecutorService> hedgingExecutor = Values.lazy((Value<ExecutorService>) () ->
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setNameFormat("jersey-client-hedging-%d")
+                    .setDaemon(true)
+                    .build()));
+
+    private ResilientConnector(final Connector connector, final Map<String, Object> properties) {
+        this.connector = connector;
+        this.maxAttempts = Math.max(1, ClientProperties.getValue(properties, ClientProperties.RETRY_MAX_ATTEMPTS, 1));
+        this.backoffMillis = Math.max(0, ClientProperties.getValue(properties, ClientProperties.RETRY_BACKOFF, 50));
+        this.budgetPercent = Math.max(0, ClientProperties.getValue(properties, ClientProperties.RETRY_BUDGET_PERCENT, 20));
+        this.hedging = ClientProperties.getValue(properties, ClientProperties.HEDGING, false);
+        this.breakerThreshold = ClientProperties.getValue(properties, ClientProperties.CIRCUIT_BREAKER_THRESHOLD, 0);
+        this.breakerOpenNanos = TimeUnit.MILLISECONDS.toNanos(
+                ClientProperties.getValue(properties, ClientProperties.CIRCUIT_BREAKER_OPEN_TIMEOUT, 10000));
+    }
+
+    /**
+     * Decorate the connector if any of the resilience features is enabled in the configuration.
+     *
+     * @param connector  connector to be decorated.
+     * @param properties client runtime configuration properties.
+     * @return decorated connector or the original connector if no resilience feature is enabled.
+     */
+    static Connector decorate(final Connector connector, final Map<String, Object> properties) {
+        final ResilientConnector resilient = new ResilientConnector(connector, properties);
+        return resilient.maxAttempts > 1 || resilient.hedging || resilient.breakerThreshold > 0 ? resilient : connector;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        final HostState host = hostState(request.getUri());
+        if (!IDEMPOTENT_METHODS.contains(request.getMethod()) || (maxAttempts == 1 && !hedging)) {
+            host.checkCircuit();
+            return host.record(() -> connector.apply(request));
+        }
+
+        final Supplier<ClientRequest> attempts = replayable(request);
+        host.depositRetryToken();
+        for (int attempt = 1; ; attempt++) {
+            host.checkCircuit();
+
+            ClientResponse response = null;
+            ProcessingException failure = null;
+            try {
+                response = host.record(hedging ? () -> hedge(host, attempts) : () -> connector.apply(attempts.get()));
+            } catch (final ProcessingException e) {
+                failure = e;
+            }
+            if (failure == null && !isFailure(response)) {
+                return response;
+            }
+
+            final long backoff = backoffMillis == 0
+                    ? 0 : ThreadLocalRandom.current().nextLong(backoffMillis << Math.min(attempt - 1, 20));
+            if (attempt >= maxAttempts || failure instanceof DeadlineExceededException
+                    || !fitsDeadline(backoff) || !host.withdrawRetryToken()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            if (response != null) {
+                response.close();
+            }
+            if (backoff > 0) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ProcessingException(LocalizationMessages.ERROR_REQUEST_ATTEMPT_INTERRUPTED(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        try {
+            callback.response(apply(request));
+        } catch (final Throwable t) {
+            callback.failure(t);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public String getName() {
+        return connector.getName();
+    }
+
+    @Override
+    public void close() {
+        try {
+            connector.close();
+        } finally {
+            if (hedgingExecutor.isInitialized()) {
+                hedgingExecutor.get().shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Send the first request attempt and, if no response is received within the hedging delay of the host, a second
+     * attempt. The response received first is returned, the other one is closed.
+     */
+    private ClientResponse hedge(final HostState host, final Supplier<ClientRequest> attempts) {
+        final long delay = host.hedgingDelay();
+        if (delay < 0) {
+            return host.time(() -> connector.apply(attempts.get()));
+        }
+
+        final CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+        final AtomicInteger running = new AtomicInteger(1);
+        final ExecutorService executor = hedgingExecutor.get();
+        executor.execute(launcher(host, attempts.get(), result, running));
+        try {
+            try {
+                return result.get(delay, TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException e) {
+                if (running.getAndIncrement() > 0) {
+                    executor.execute(launcher(host, attempts.get(), result, running));
+                }
+                return result.get();
+            }
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof ProcessingException
+                    ? (ProcessingException) cause : new ProcessingException(cause.getMessage(), cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(LocalizationMessages.ERROR_REQUEST_ATTEMPT_INTERRUPTED(), e);
+        }
+    }
+
+    private Runnable launcher(final HostState host,
+                              final ClientRequest request,
+                              final CompletableFuture<ClientResponse> result,
+                              final AtomicInteger running) {
+        return () -> {
+            try {
+                final ClientResponse response = host.time(() -> connector.apply(request));
+                if (!result.complete(response)) {
+                    response.close();
+                }
+            } catch (final Throwable t) {
+                if (running.decrementAndGet() <= 0) {
+                    result.completeExceptionally(t);
+                }
+            }
+        };
+    }
+
+    private HostState hostState(final URI uri) {
+        final String key = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+        try {
+            return hosts.get(key);
+        } catch (final ExecutionException e) {
+            // host state creation does not fail
+            throw new ProcessingException(e.getCause());
+        }
+    }
+
+    private static boolean isFailure(final ClientResponse response) {
+        final int status = response.getStatus();
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    private static boolean fitsDeadline(final long backoffMillis) {
+        final Deadline deadline = Deadline.current();
+        return deadline == null || deadline.timeRemaining(TimeUnit.MILLISECONDS) > backoffMillis;
+    }
+
+    /**
+     * Prepare a supplier of request copies that can be sent repeatedly. The request entity is written (including writer
+     * interceptors) to a buffer once, the copies send the buffered bytes.
+     */
+    private static Supplier<ClientRequest> replayable(final ClientRequest request) {
+        if (!request.hasEntity()) {
+            return () -> new ClientRequest(request);
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        request.setStreamProvider(contentLength -> buffer);
+        try {
+            request.writeEntity();
+        } catch (final IOException e) {
+            throw new ProcessingException(LocalizationMessages.ERROR_REQUEST_ENTITY_BUFFERING(), e);
+        }
+        final byte[] entity = buffer.toByteArray();
+        return () -> {
+            final ClientRequest copy = new ClientRequest(request);
+            copy.setEntity(entity);
+            copy.setWriterInterceptors(Collections.emptyList());
+            return copy;
+        };
+    }
+
+    /**
+     * Retry budget, response time statistics and circuit breaker of a single host.
+     */
+    private final class HostState {
+
+        private static final int RETRY_TOKENS_MAX = 1000;
+        private static final int LATENCY_SAMPLES = 128;
+        private static final int LATENCY_MIN_SAMPLES = 20;
+
+        private final String key;
+
+        // retry budget in hundredths of a retry
+        private final AtomicInteger retryTokens = new AtomicInteger(RETRY_TOKENS_MAX);
+
+        // guarded by this
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+        private int latencyCount;
+        private volatile long hedgingDelay = -1;
+
+        // guarded by this
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean probing;
+        private volatile boolean open;
+
+        private HostState(final String key) {
+            this.key = key;
+        }
+
+        private void depositRetryToken() {
+            int tokens;
+            do {
+                tokens = retryTokens.get();
+                if (tokens >= RETRY_TOKENS_MAX) {
+                    return;
+                }
+            } while (!retryTokens.compareAndSet(tokens, Math.min(RETRY_TOKENS_MAX, tokens + budgetPercent)));
+        }
+
+        private boolean withdrawRetryToken() {
+            int tokens;
+            do {
+                tokens = retryTokens.get();
+                if (tokens < 100) {
+                    return false;
+                }
+            } while (!retryTokens.compareAndSet(tokens, tokens - 100));
+            return true;
+        }
+
+        private long hedgingDelay() {
+            return hedgingDelay;
+        }
+
+        private ClientResponse time(final Supplier<ClientResponse> attempt) {
+            final long start = System.nanoTime();
+            final ClientResponse response = attempt.get();
+            if (!isFailure(response)) {
+                recordLatency(System.nanoTime() - start);
+            }
+            return response;
+        }
+
+        private synchronized void recordLatency(final long latency) {
+            latencies[latencyCount++ % LATENCY_SAMPLES] = latency;
+            if (latencyCount >= LATENCY_MIN_SAMPLES && latencyCount % 16 == 0) {
+                final int size = Math.min(latencyCount, LATENCY_SAMPLES);
+                final long[] sorted = Arrays.copyOf(latencies, size);
+                Arrays.sort(sorted);
+                hedgingDelay = sorted[(int) Math.ceil(size * 0.95) - 1];
+            }
+            if (latencyCount >= 2 * LATENCY_SAMPLES) {
+                // keep the counter bounded while preserving the position in the ring
+                latencyCount -= LATENCY_SAMPLES;
+            }
+        }
+
+        private void checkCircuit() {
+            if (breakerThreshold <= 0 || !open) {
+                return;
+            }
+            synchronized (this) {
+                if (open && (probing || System.nanoTime() - openUntil < 0)) {
+                    throw new ProcessingException(LocalizationMessages.ERROR_CIRCUIT_BREAKER_OPEN(key));
+                }
+                // half-open, let a single probe request through
+                probing = true;
+            }
+        }
+
+        private ClientResponse record(final Supplier<ClientResponse> request) {
+            if (breakerThreshold <= 0) {
+                return request.get();
+            }
+            // any exception counts as a failure and ends the half-open probe
+            boolean failed = true;
+            try {
+                final ClientResponse response = request.get();
+                failed = isFailure(response);
+                return response;
+            } finally {
+                onResult(failed);
+            }
+        }
+
+        private synchronized void onResult(final boolean failed) {
+            probing = false;
+            if (!failed) {
+                consecutiveFailures = 0;
+                open = false;
+            } else if (++consecutiveFailures >= breakerThreshold) {
+                openUntil = System.nanoTime() + breakerOpenNanos;
+                open = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.Beta;
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Feature that enables an in-memory HTTP response cache on the client side.
+ * <p>
+ * Responses to {@code GET} requests are cached as long as the response {@code Cache-Control} and {@code Vary} headers
+ * permit it. Fresh cached responses are returned without contacting the server, stale responses carrying an
+ * {@code ETag} or a {@code Last-Modified} header are revalidated using {@code If-None-Match} and {@code If-Modified-Since}
+ * conditional requests. Concurrent identical requests for a resource whose cached response has expired are collapsed,
+ * i.e. the requests wait for the response of the first request to be cached instead of contacting the server.
+ * </p>
+ * <p>
+ * The cache is shared by all the callers of the client. Hence {@code private} responses are not cached and requests
+ * carrying {@code Authorization} or {@code Cookie} headers only use responses marked {@code public} or with
+ * {@code s-maxage}.
+ * </p>
+ * <p>
+ * Every feature instance maintains its own cache shared by all the clients the instance is registered with. The size of
+ * the cache is bounded by {@link #MAX_SIZE}; the least recently used responses are evicted first.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+public class ClientCacheFeature implements Feature {
+
+    /**
+     * Maximum total size of the cached response entities in bytes.
+     * <p>
+     * The default value is {@code 10485760} (10 MiB).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MAX_SIZE = "jersey.config.client.cache.maxSize";
+
+    /**
+     * Maximum size of a single cached response entity in bytes. Larger responses are not cached.
+     * <p>
+     * The default value is {@code 1048576} (1 MiB).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MAX_ENTRY_SIZE = "jersey.config.client.cache.maxEntrySize";
+
+    /**
+     * Maximum time in milliseconds a request waits for the response of a concurrent identical request before it is sent
+     * to the server on its own.
+     * <p>
+     * The default value is {@code 10000} (10 seconds).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String COLLAPSE_TIMEOUT = "jersey.config.client.cache.collapseTimeout";
+
+    private volatile ClientCacheFilter filter;
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final Map<String, Object> properties = context.getConfiguration().getProperties();
+        if (filter == null) {
+            synchronized (this) {
+                if (filter == null) {
+                    filter = new ClientCacheFilter(
+                            ClientProperties.getValue(properties, MAX_SIZE, 10L * 1024 * 1024),
+                            ClientProperties.getValue(properties, MAX_ENTRY_SIZE, 1024 * 1024),
+                            ClientProperties.getValue(properties, COLLAPSE_TIMEOUT, 10000L));
+                }
+            }
+        }
+        context.register(filter);
+        return true;
+    }
+}
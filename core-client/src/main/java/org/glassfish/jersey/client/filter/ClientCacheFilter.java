@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+
+/**
+ * Client filter implementing the {@link ClientCacheFeature} response cache.
+ * <p>
+ * The filter is executed as the last request filter and the first response filter, so that the cached responses
+ * reflect the request as it is sent by the connector and the response as it is received from the connector.
+ * </p>
+ * <p>
+ * The cache is shared by all callers of the client, so it behaves as a shared HTTP cache: {@code private} responses are
+ * not stored and requests carrying credentials ({@code Authorization} or {@code Cookie} headers) are served from and
+ * stored in the cache only if the response is explicitly cacheable by shared caches ({@code public} or
+ * {@code s-maxage}).
+ * </p>
+ */
+@Priority(Priorities.USER + 1000)
+final class ClientCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String CACHE_KEY = ClientCacheFilter.class.getName() + ".key";
+    private static final String CACHED_ENTRY = ClientCacheFilter.class.getName() + ".entry";
+    private static final String REVALIDATED_ENTRY = ClientCacheFilter.class.getName() + ".revalidated";
+    private static final String PENDING_REQUEST = ClientCacheFilter.class.getName() + ".pending";
+
+    /**
+     * End-to-end validator and metadata headers of a {@code 304 Not Modified} response that update the stored response.
+     * Other headers, e.g. {@code Content-Length}, {@code Content-Encoding} or {@code Transfer-Encoding}, describe the
+     * {@code 304} message itself and are never merged.
+     */
+    private static final Set<String> REVALIDATION_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        REVALIDATION_HEADERS.addAll(Arrays.asList(HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LOCATION, HttpHeaders.DATE,
+                HttpHeaders.ETAG, HttpHeaders.EXPIRES, HttpHeaders.LAST_MODIFIED, HttpHeaders.VARY));
+    }
+
+    /**
+     * Maximum heuristic freshness lifetime of responses without an explicit expiration time.
+     */
+    private static final long MAX_HEURISTIC_FRESHNESS = TimeUnit.DAYS.toMillis(1);
+
+    private final long maxSize;
+    private final int maxEntrySize;
+    private final long collapseTimeout;
+
+    // guarded by itself; cached variants of responses keyed by the request URI in the least recently used order
+    private final LinkedHashMap<String, List<Entry>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // guarded by entries
+    private long size;
+
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+    ClientCacheFilter(final long maxSize, final int maxEntrySize, final long collapseTimeout) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = (int) Math.min(maxEntrySize, maxSize);
+        this.collapseTimeout = collapseTimeout;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!isCacheable(request)) {
+            return;
+        }
+        final String key = request.getUri().toString();
+        request.setProperty(CACHE_KEY, key);
+
+        final boolean credentials = hasCredentials(request);
+        Entry entry = lookup(key, request, credentials);
+        if (entry != null && !entry.isFresh() && !credentials) {
+            // the resource is known to be cacheable, let a single request refresh it while concurrent requests wait
+            final CompletableFuture<Void> refresh = new CompletableFuture<>();
+            final CompletableFuture<Void> existing = pending.putIfAbsent(key, refresh);
+            if (existing == null) {
+                request.setProperty(PENDING_REQUEST, refresh);
+                if (request instanceof ClientRequest) {
+                    // the response filter is not invoked if the connector fails
+                    ((ClientRequest) request).addFailureCallback(failure -> release(key, refresh));
+                }
+            } else {
+                awaitPending(key, existing);
+                entry = lookup(key, request, false);
+            }
+        }
+        if (entry == null) {
+            return;
+        }
+
+        if (entry.isFresh() && !hasDirective(request.getHeaderString(HttpHeaders.CACHE_CONTROL), "no-cache")) {
+            request.setProperty(CACHED_ENTRY, entry);
+            final Response.ResponseBuilder cached = Response.status(entry.status);
+            for (final Map.Entry<String, List<String>> header : entry.headers.entrySet()) {
+                for (final String value : header.getValue()) {
+                    cached.header(header.getKey(), value);
+                }
+            }
+            request.abortWith(cached.build());
+        } else if (entry.eTag != null || entry.lastModified != null) {
+            request.setProperty(REVALIDATED_ENTRY, entry);
+            if (entry.eTag != null) {
+                request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entry.eTag);
+            }
+            if (entry.lastModified != null) {
+                request.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified);
+            }
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final String key = (String) request.getProperty(CACHE_KEY);
+        if (key == null) {
+            return;
+        }
+        final Object cached = request.getProperty(CACHED_ENTRY);
+        if (cached != null) {
+            response.setEntityStream(new ByteArrayInputStream(((Entry) cached).entity));
+            return;
+        }
+
+        final Object pendingRequest = request.getProperty(PENDING_REQUEST);
+        try {
+            final boolean credentials = hasCredentials(request);
+            final Entry revalidated = (Entry) request.getProperty(REVALIDATED_ENTRY);
+            if (revalidated != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>(revalidated.headers);
+                for (final Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                    final String name = header.getKey();
+                    if (REVALIDATION_HEADERS.contains(name)) {
+                        headers.keySet().removeIf(name::equalsIgnoreCase);
+                        headers.put(name, header.getValue());
+                    }
+                }
+                final Entry entry = new Entry(revalidated, headers);
+                if (entry.isStorable() && (entry.shared || !credentials)) {
+                    store(key, entry);
+                }
+
+                response.setStatus(revalidated.status);
+                response.getHeaders().clear();
+                response.getHeaders().putAll(headers);
+                response.setEntityStream(new ByteArrayInputStream(revalidated.entity));
+            } else {
+                storeResponse(key, request, response, credentials);
+            }
+        } finally {
+            if (pendingRequest != null) {
+                release(key, (CompletableFuture<?>) pendingRequest);
+            }
+        }
+    }
+
+    private void storeResponse(final String key,
+                               final ClientRequestContext request,
+                               final ClientResponseContext response,
+                               final boolean credentials) throws IOException {
+        final int status = response.getStatus();
+        if (status != Response.Status.OK.getStatusCode() && status != 203) {
+            return;
+        }
+        final String cacheControl = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        final String vary = response.getHeaderString(HttpHeaders.VARY);
+        if (hasDirective(cacheControl, "no-store") || hasDirective(cacheControl, "private")
+                || (vary != null && vary.trim().equals("*"))
+                || (credentials && !isShared(cacheControl))) {
+            return;
+        }
+
+        final byte[] entity = readEntity(response);
+        if (entity == null) {
+            return;
+        }
+        final Entry entry = new Entry(status, new MultivaluedHashMap<>(response.getHeaders()), entity,
+                varyValues(vary, request));
+        if (entry.isStorable()) {
+            store(key, entry);
+        }
+    }
+
+    /**
+     * Read the response entity, provided it does not exceed the maximum entry size, and replace the response entity stream
+     * with the read bytes.
+     *
+     * @return response entity bytes or {@code null} if the entity is too large to be cached.
+     */
+    private byte[] readEntity(final ClientResponseContext response) throws IOException {
+        final int length = response.getLength();
+        if (length > maxEntrySize) {
+            return null;
+        }
+        final InputStream in = response.getEntityStream();
+        if (in == null) {
+            return new byte[0];
+        }
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(length > 0 ? length : 512);
+        final byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk, 0, (int) Math.min(chunk.length, maxEntrySize + 1L - buffer.size()))) > 0) {
+            buffer.write(chunk, 0, read);
+            if (buffer.size() > maxEntrySize) {
+                // too large, pass the consumed part together with the rest of the stream to the application
+                response.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), in));
+                return null;
+            }
+        }
+        in.close();
+        final byte[] entity = buffer.toByteArray();
+        response.setEntityStream(new ByteArrayInputStream(entity));
+        return entity;
+    }
+
+    private void release(final String key, final CompletableFuture<?> refresh) {
+        pending.remove(key, refresh);
+        refresh.complete(null);
+    }
+
+    private void awaitPending(final String key, final CompletableFuture<Void> existing) {
+        try {
+            existing.get(collapseTimeout, TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException | ExecutionException e) {
+            // the request is likely to have failed, do not let it block subsequent requests
+            pending.remove(key, existing);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Find the cached response matching the request.
+     *
+     * @param credentials {@code true} if the request carries credentials, in which case only responses cacheable by
+     *                    shared caches are returned.
+     */
+    private Entry lookup(final String key, final ClientRequestContext request, final boolean credentials) {
+        synchronized (entries) {
+            final List<Entry> variants = entries.get(key);
+            if (variants != null) {
+                for (final Entry entry : variants) {
+                    if ((entry.shared || !credentials) && entry.matches(request)) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private void store(final String key, final Entry entry) {
+        synchronized (entries) {
+            List<Entry> variants = entries.get(key);
+            if (variants == null) {
+                variants = new ArrayList<>(1);
+                entries.put(key, variants);
+            }
+            for (final Iterator<Entry> it = variants.iterator(); it.hasNext(); ) {
+                final Entry variant = it.next();
+                if (variant.varyValues.equals(entry.varyValues)) {
+                    it.remove();
+                    size -= variant.entity.length;
+                }
+            }
+            variants.add(entry);
+            size += entry.entity.length;
+
+            for (final Iterator<List<Entry>> it = entries.values().iterator(); size > maxSize && it.hasNext(); ) {
+                for (final Entry evicted : it.next()) {
+                    size -= evicted.entity.length;
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private static boolean isCacheable(final ClientRequestContext request) {
+        final MultivaluedMap<String, Object> headers = request.getHeaders();
+        return HttpMethod.GET.equals(request.getMethod())
+                && !request.hasEntity()
+                && !hasDirective(request.getHeaderString(HttpHeaders.CACHE_CONTROL), "no-store")
+                && !headers.containsKey(HttpHeaders.IF_NONE_MATCH)
+                && !headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)
+                && !headers.containsKey(HttpHeaders.IF_MATCH)
+                && !headers.containsKey(HttpHeaders.IF_UNMODIFIED_SINCE)
+                && !headers.containsKey("Range");
+    }
+
+    private static boolean hasCredentials(final ClientRequestContext request) {
+        return request.getHeaderString(HttpHeaders.AUTHORIZATION) != null
+                || request.getHeaderString(HttpHeaders.COOKIE) != null;
+    }
+
+    /**
+     * Check whether the response is explicitly cacheable by shared caches even if the request carried credentials.
+     */
+    private static boolean isShared(final String cacheControl) {
+        return hasDirective(cacheControl, "public") || hasDirective(cacheControl, "s-maxage");
+    }
+
+    private static Map<String, String> varyValues(final String vary, final ClientRequestContext request) {
+        if (vary == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (final String name : vary.split(",")) {
+            final String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                values.put(trimmed, request.getHeaderString(trimmed));
+            }
+        }
+        return values;
+    }
+
+    private static boolean hasDirective(final String cacheControl, final String directive) {
+        return cacheControl != null && directiveValue(cacheControl, directive) != null;
+    }
+
+    /**
+     * Get the value of a {@code Cache-Control} directive.
+     *
+     * @return directive value, empty string for a directive without a value or {@code null} if the directive is not present.
+     */
+    private static String directiveValue(final String cacheControl, final String directive) {
+        for (final String token : cacheControl.split(",")) {
+            final String trimmed = token.trim();
+            final int eq = trimmed.indexOf('=');
+            final String name = eq < 0 ? trimmed : trimmed.substring(0, eq).trim();
+            if (name.equalsIgnoreCase(directive)) {
+                return eq < 0 ? "" : trimmed.substring(eq + 1).trim().replace("\"", "");
+            }
+        }
+        return null;
+    }
+
+    private static long parseDate(final String date) {
+        if (date == null) {
+            return -1;
+        }
+        try {
+            return HttpDateFormat.readDate(date).getTime();
+        } catch (final ParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Cached response.
+     */
+    private static final class Entry {
+
+        private final int status;
+        private final MultivaluedMap<String, String> headers;
+        private final byte[] entity;
+        private final Map<String, String> varyValues;
+        private final String eTag;
+        private final String lastModified;
+        private final long expires;
+        private final boolean shared;
+
+        private Entry(final int status,
+                      final MultivaluedMap<String, String> headers,
+                      final byte[] entity,
+                      final Map<String, String> varyValues) {
+            this.status = status;
+            this.headers = headers;
+            this.entity = entity;
+            this.varyValues = varyValues;
+            this.eTag = headers.getFirst(HttpHeaders.ETAG);
+            this.lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            this.expires = expires(headers);
+            this.shared = isShared(join(headers.get(HttpHeaders.CACHE_CONTROL)));
+        }
+
+        private Entry(final Entry revalidated, final MultivaluedMap<String, String> headers) {
+            this(revalidated.status, headers, revalidated.entity, revalidated.varyValues);
+        }
+
+        /**
+         * Compute the expiration time of the response from the {@code Cache-Control s-maxage} or {@code max-age},
+         * {@code Expires} or {@code Last-Modified} (heuristic expiration) headers.
+         */
+        private static long expires(final MultivaluedMap<String, String> headers) {
+            final long now = System.currentTimeMillis();
+            final String cacheControl = join(headers.get(HttpHeaders.CACHE_CONTROL));
+            if (cacheControl != null) {
+                if (hasDirective(cacheControl, "no-cache")) {
+                    return now;
+                }
+                String maxAge = directiveValue(cacheControl, "s-maxage");
+                if (maxAge == null) {
+                    maxAge = directiveValue(cacheControl, "max-age");
+                }
+                if (maxAge != null) {
+                    try {
+                        long age = 0;
+                        final String ageHeader = headers.getFirst("Age");
+                        if (ageHeader != null) {
+                            age = Long.parseLong(ageHeader.trim());
+                        }
+                        return now + TimeUnit.SECONDS.toMillis(Long.parseLong(maxAge) - age);
+                    } catch (final NumberFormatException e) {
+                        return now;
+                    }
+                }
+            }
+
+            final long date = parseDate(headers.getFirst(HttpHeaders.DATE));
+            final String expires = headers.getFirst(HttpHeaders.EXPIRES);
+            if (expires != null) {
+                final long expiresTime = parseDate(expires);
+                return expiresTime < 0 ? now : now + expiresTime - (date < 0 ? now : date);
+            }
+
+            final long lastModified = parseDate(headers.getFirst(HttpHeaders.LAST_MODIFIED));
+            if (lastModified >= 0 && date >= lastModified) {
+                return now + Math.min((date - lastModified) / 10, MAX_HEURISTIC_FRESHNESS);
+            }
+            return now;
+        }
+
+        private static String join(final List<String> values) {
+            return values == null || values.isEmpty() ? null : String.join(",", values);
+        }
+
+        private boolean isFresh() {
+            return System.currentTimeMillis() < expires;
+        }
+
+        private boolean isStorable() {
+            return isFresh() || eTag != null || lastModified != null;
+        }
+
+        private boolean matches(final ClientRequestContext request) {
+            for (final Map.Entry<String, String> vary : varyValues.entrySet()) {
+                final String value = request.getHeaderString(vary.getKey());
+                if (value == null ? vary.getValue() != null : !value.equals(vary.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
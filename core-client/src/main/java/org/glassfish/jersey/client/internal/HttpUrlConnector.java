@@ -341,7 +341,8 @@ public class HttpUrlConnector implements Connector {
                         uc.setFixedLengthStreamingMode(length);
                     }
                 } else if (entityProcessing == RequestEntityProcessing.CHUNKED) {
-                    uc.setChunkedStreamingMode(chunkSize);
+                    final int requestChunkSize = request.resolveProperty(ClientProperties.CHUNKED_ENCODING_SIZE, chunkSize);
+                    uc.setChunkedStreamingMode(requestChunkSize < 0 ? chunkSize : requestChunkSize);
                 }
             }
             uc.setDoOutput(true);
@@ -60,4 +60,27 @@ public interface ConnectorProvider {
      * @return configured {@link org.glassfish.jersey.client.spi.Connector} instance to be used by the client.
      */
     public Connector getConnector(Client client, Configuration runtimeConfig);
+
+    /**
+     * Check whether the connectors provided by this connector provider resolve the given configuration property
+     * for every request (i.e. via {@link org.glassfish.jersey.client.ClientRequest#resolveProperty(String, Class)})
+     * rather than reading it once when the connector is created.
+     * <p>
+     * Jersey client uses this information to avoid creating a new client runtime (and a new connector) when
+     * a {@link javax.ws.rs.client.WebTarget web target} configuration differs from the configuration of its parent
+     * only in the values of such properties. Connector providers that cannot guarantee per-request resolution
+     * of a property must return {@code false}.
+     * </p>
+     * <p>
+     * The default implementation returns {@code false} for any property.
+     * </p>
+     *
+     * @param name name of the configuration property.
+     * @return {@code true} if the property value is resolved for every request by the provided connectors,
+     * {@code false} otherwise.
+     * @since 2.29
+     */
+    default boolean isRequestProperty(final String name) {
+        return false;
+    }
 }
@@ -19,6 +19,8 @@ package org.glassfish.jersey.client;
 import java.util.Arrays;
 import java.util.Map;
 
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
@@ -39,6 +41,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -225,4 +228,52 @@ public class ClientConfigTest {
         assertEquals(1, instance.getProperties().size());
         assertEquals("value", instance.getProperty("name"));
     }
+
+    public static class NoOpFilter implements ClientRequestFilter {
+
+        @Override
+        public void filter(final ClientRequestContext requestContext) {
+        }
+    }
+
+    @Test
+    public void testRequestPropertyDoesNotForkRuntime() {
+        final JerseyClient client = new JerseyClientBuilder().build();
+        final JerseyWebTarget target = client.target("http://localhost:8080");
+        final ClientRuntime runtime = target.getConfiguration().getRuntime();
+
+        final JerseyWebTarget timeoutTarget = target.path("a")
+                .property(ClientProperties.READ_TIMEOUT, 1000)
+                .property(ClientProperties.FOLLOW_REDIRECTS, false);
+        assertEquals(1000, timeoutTarget.getConfiguration().getProperty(ClientProperties.READ_TIMEOUT));
+        assertNull(target.getConfiguration().getProperty(ClientProperties.READ_TIMEOUT));
+        assertSame(runtime, timeoutTarget.getConfiguration().getRuntime());
+        assertSame(runtime.getConnector(), timeoutTarget.getConfiguration().getConnector());
+
+        // Other changes still require a dedicated runtime.
+        final JerseyWebTarget customTarget = timeoutTarget.path("b").property("custom", "value");
+        assertNotSame(runtime, customTarget.getConfiguration().getRuntime());
+        assertNotSame(runtime, timeoutTarget.path("c").register(NoOpFilter.class).getConfiguration().getRuntime());
+
+        client.close();
+    }
+
+    @Test
+    public void testRuntimeCache() {
+        final JerseyClient client = new JerseyClientBuilder().property(ClientProperties.RUNTIME_CACHE_SIZE, 1).build();
+        final JerseyWebTarget target = client.target("http://localhost:8080");
+        final ClientRuntime runtime = target.getConfiguration().getRuntime();
+
+        final ClientRuntime filtered = target.path("a").register(NoOpFilter.class).getConfiguration().getRuntime();
+        assertNotSame(runtime, filtered);
+        assertSame(filtered, target.path("b").register(NoOpFilter.class).getConfiguration().getRuntime());
+
+        // Instances are compared by identity.
+        final NoOpFilter filter = new NoOpFilter();
+        final ClientRuntime instance = target.path("c").register(filter).getConfiguration().getRuntime();
+        assertSame(instance, target.path("d").register(filter).getConfiguration().getRuntime());
+        assertNotSame(instance, target.path("e").register(new NoOpFilter()).getConfiguration().getRuntime());
+
+        client.close();
+    }
 }
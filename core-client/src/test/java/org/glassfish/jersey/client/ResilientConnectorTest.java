@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ResilientConnector} tests.
+ */
+public class ResilientConnectorTest {
+
+    /**
+     * Connector responding with the scripted status codes and recording the received request entities. Negative status
+     * makes the connector fail with an unexpected exception.
+     */
+    private static class ScriptedConnector implements Connector, ConnectorProvider {
+
+        private final int[] statuses;
+        private final AtomicInteger invocations = new AtomicInteger();
+        private final List<String> entities = Collections.synchronizedList(new ArrayList<>());
+
+        private ScriptedConnector(final int... statuses) {
+            this.statuses = statuses;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            final int invocation = invocations.getAndIncrement();
+            if (request.hasEntity()) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                request.setStreamProvider(contentLength -> out);
+                try {
+                    request.writeEntity();
+                } catch (final IOException e) {
+                    throw new ProcessingException(e);
+                }
+                entities.add(out.toString());
+            }
+            final int status = statuses[Math.min(invocation, statuses.length - 1)];
+            if (status < 0) {
+                throw new IllegalStateException("Scripted connector failure.");
+            }
+            return new ClientResponse(Response.Status.fromStatusCode(status), request);
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "scripted";
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+    }
+
+    private static Client client(final ScriptedConnector connector) {
+        return ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(connector)
+                .property(ClientProperties.RETRY_MAX_ATTEMPTS, 3)
+                .property(ClientProperties.RETRY_BACKOFF, 1));
+    }
+
+    @Test
+    public void testIdempotentRequestRetried() {
+        final ScriptedConnector connector = new ScriptedConnector(503, 502, 200);
+        final Response response = client(connector).target("http://localhost/test").request().put(Entity.text("entity"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(3, connector.invocations.get());
+        assertEquals(Collections.nCopies(3, "entity"), connector.entities);
+    }
+
+    @Test
+    public void testMaxAttempts() {
+        final ScriptedConnector connector = new ScriptedConnector(503);
+        final Response response = client(connector).target("http://localhost/test").request().get();
+
+        assertEquals(503, response.getStatus());
+        assertEquals(3, connector.invocations.get());
+    }
+
+    @Test
+    public void testNonIdempotentRequestNotRetried() {
+        final ScriptedConnector connector = new ScriptedConnector(503, 200);
+        final Response response = client(connector).target("http://localhost/test").request().post(Entity.text("entity"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals(1, connector.invocations.get());
+    }
+
+    @Test
+    public void testCircuitBreaker() {
+        final ScriptedConnector connector = new ScriptedConnector(503, 503, 200);
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(connector)
+                .property(ClientProperties.CIRCUIT_BREAKER_THRESHOLD, 2)
+                .property(ClientProperties.CIRCUIT_BREAKER_OPEN_TIMEOUT, 60000));
+
+        assertEquals(503, client.target("http://localhost/test").request().get().getStatus());
+        assertEquals(503, client.target("http://localhost/test").request().get().getStatus());
+        try {
+            client.target("http://localhost/test").request().get();
+            fail("Circuit breaker is expected to be open.");
+        } catch (final ProcessingException expected) {
+            // expected
+        }
+        assertEquals(2, connector.invocations.get());
+
+        // other hosts are not affected
+        assertEquals(200, client.target("http://127.0.0.1/test").request().get().getStatus());
+    }
+
+    @Test
+    public void testCircuitBreakerProbeFailure() throws Exception {
+        final ScriptedConnector connector = new ScriptedConnector(503, 503, -1, 200);
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(connector)
+                .property(ClientProperties.CIRCUIT_BREAKER_THRESHOLD, 2)
+                .property(ClientProperties.CIRCUIT_BREAKER_OPEN_TIMEOUT, 1));
+
+        assertEquals(503, client.target("http://localhost/test").request().get().getStatus());
+        assertEquals(503, client.target("http://localhost/test").request().get().getStatus());
+
+        // half-open probe fails with an unexpected exception
+        Thread.sleep(10);
+        try {
+            client.target("http://localhost/test").request().get();
+            fail("Probe request is expected to fail.");
+        } catch (final RuntimeException expected) {
+            // expected
+        }
+
+        // next probe is let through
+        Thread.sleep(10);
+        assertEquals(200, client.target("http://localhost/test").request().get().getStatus());
+        assertEquals(4, connector.invocations.get());
+    }
+
+    @Test
+    public void testCircuitBreakerBeyondHostLimit() {
+        final ScriptedConnector connector = new ScriptedConnector(503);
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(connector)
+                .property(ClientProperties.CIRCUIT_BREAKER_THRESHOLD, 1)
+                .property(ClientProperties.CIRCUIT_BREAKER_OPEN_TIMEOUT, 60000));
+
+        for (int port = 10000; port < 11100; port++) {
+            assertEquals(503, client.target("http://localhost:" + port + "/test").request().get().getStatus());
+        }
+
+        // state of hosts seen after the host limit has been reached is still tracked
+        assertEquals(503, client.target("http://127.0.0.1/test").request().get().getStatus());
+        try {
+            client.target("http://127.0.0.1/test").request().get();
+            fail("Circuit breaker is expected to be open.");
+        } catch (final ProcessingException expected) {
+            // expected
+        }
+        assertEquals(1101, connector.invocations.get());
+    }
+}
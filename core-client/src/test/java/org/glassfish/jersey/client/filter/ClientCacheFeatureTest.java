@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ClientCacheFeature} unit tests.
+ */
+public class ClientCacheFeatureTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    /**
+     * Connector responding with the configured {@code Cache-Control} header and an entity tag, or with
+     * {@code 304 Not Modified} to a matching conditional request.
+     */
+    private static class TestConnector implements Connector, ConnectorProvider {
+
+        private final String cacheControl;
+        private final AtomicInteger requests = new AtomicInteger();
+        private volatile String ifNoneMatch;
+
+        private TestConnector(final String cacheControl) {
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            requests.incrementAndGet();
+            ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+
+            if (ETAG.equals(ifNoneMatch)) {
+                final ClientResponse response = new ClientResponse(Response.Status.NOT_MODIFIED, request);
+                response.header(HttpHeaders.ETAG, ETAG);
+                return response;
+            }
+
+            final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.header(HttpHeaders.ETAG, ETAG);
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+            response.header(HttpHeaders.CONTENT_TYPE, "text/plain");
+            response.setEntityStream(new ByteArrayInputStream(
+                    ("response " + requests.get()).getBytes(StandardCharsets.UTF_8)));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "cache-test";
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+    }
+
+    /**
+     * Connector failing the second request once the test lets it proceed.
+     */
+    private static class FailingConnector extends TestConnector {
+
+        private final CountDownLatch proceed = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FailingConnector(final String cacheControl) {
+            super(cacheControl);
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            if (calls.incrementAndGet() == 2) {
+                try {
+                    proceed.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new ProcessingException("Connection refused.");
+            }
+            return super.apply(request);
+        }
+    }
+
+    /**
+     * Connector sending message headers of its own with the {@code 304 Not Modified} response and a new
+     * {@code Cache-Control} header.
+     */
+    private static class MessageHeadersConnector extends TestConnector {
+
+        private MessageHeadersConnector() {
+            super("no-cache");
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            final ClientResponse response = super.apply(request);
+            if (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                response.header(HttpHeaders.CONTENT_LENGTH, "0");
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.header("Transfer-Encoding", "chunked");
+                response.header(HttpHeaders.CACHE_CONTROL, "max-age=60");
+            } else {
+                response.header(HttpHeaders.CONTENT_LENGTH, "10");
+            }
+            return response;
+        }
+    }
+
+    private static WebTarget target(final TestConnector connector) {
+        return ClientBuilder.newClient(new ClientConfig(new ClientCacheFeature()).connectorProvider(connector))
+                .target("http://localhost/resource");
+    }
+
+    @Test
+    public void testFreshResponseServedFromCache() {
+        final TestConnector connector = new TestConnector("max-age=60");
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().get(String.class));
+        final Response cached = target.request().get();
+        assertEquals(200, cached.getStatus());
+        assertEquals(ETAG, cached.getHeaderString(HttpHeaders.ETAG));
+        assertEquals("response 1", cached.readEntity(String.class));
+        assertEquals(1, connector.requests.get());
+
+        // different variant
+        assertEquals("response 2", target.request().acceptLanguage("cs").get(String.class));
+        assertEquals(2, connector.requests.get());
+    }
+
+    @Test
+    public void testStaleResponseRevalidated() {
+        final TestConnector connector = new TestConnector("no-cache");
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().get(String.class));
+        assertNull(connector.ifNoneMatch);
+
+        final Response revalidated = target.request().get();
+        assertEquals(200, revalidated.getStatus());
+        assertEquals("response 1", revalidated.readEntity(String.class));
+        assertEquals(ETAG, connector.ifNoneMatch);
+        assertEquals(2, connector.requests.get());
+    }
+
+    @Test
+    public void testNotModifiedMessageHeadersNotMerged() {
+        final TestConnector connector = new MessageHeadersConnector();
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().get(String.class));
+
+        final Response revalidated = target.request().get();
+        assertEquals(200, revalidated.getStatus());
+        assertEquals(10, revalidated.getLength());
+        assertNull(revalidated.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+        assertNull(revalidated.getHeaderString("Transfer-Encoding"));
+        assertEquals("max-age=60", revalidated.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        assertEquals("response 1", revalidated.readEntity(String.class));
+
+        // the merged Cache-Control makes the stored response fresh
+        assertEquals("response 1", target.request().get(String.class));
+        assertEquals(2, connector.requests.get());
+    }
+
+    @Test
+    public void testNoStoreResponseNotCached() {
+        final TestConnector connector = new TestConnector("no-store");
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().get(String.class));
+        assertEquals("response 2", target.request().get(String.class));
+        assertNull(connector.ifNoneMatch);
+    }
+
+    @Test
+    public void testPrivateResponseNotCached() {
+        final TestConnector connector = new TestConnector("private, max-age=60");
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().get(String.class));
+        assertEquals("response 2", target.request().get(String.class));
+    }
+
+    @Test
+    public void testRequestWithCredentialsNotShared() {
+        final TestConnector connector = new TestConnector("max-age=60");
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz")
+                .get(String.class));
+        assertEquals("response 2", target.request().get(String.class));
+        assertEquals("response 3", target.request().cookie("session", "s1").get(String.class));
+        assertEquals("response 2", target.request().get(String.class));
+        assertEquals(3, connector.requests.get());
+    }
+
+    @Test
+    public void testPublicResponseSharedWithRequestWithCredentials() {
+        final TestConnector connector = new TestConnector("public, max-age=60");
+        final WebTarget target = target(connector);
+
+        assertEquals("response 1", target.request().header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz")
+                .get(String.class));
+        assertEquals("response 1", target.request().get(String.class));
+        assertEquals("response 1", target.request().cookie("session", "s1").get(String.class));
+        assertEquals(1, connector.requests.get());
+    }
+
+    @Test
+    public void testConnectorFailureReleasesCollapsedRequests() throws Exception {
+        final FailingConnector connector = new FailingConnector("no-cache");
+        final WebTarget target = ClientBuilder.newClient(new ClientConfig(new ClientCacheFeature())
+                .property(ClientCacheFeature.COLLAPSE_TIMEOUT, 60000)
+                .connectorProvider(connector))
+                .target("http://localhost/resource");
+
+        assertEquals("response 1", target.request().get(String.class));
+
+        // the first request revalidating the stale response fails in the connector
+        final CompletableFuture<String> failing = CompletableFuture.supplyAsync(() -> target.request().get(String.class));
+        while (connector.calls.get() < 2) {
+            Thread.sleep(10);
+        }
+        final CompletableFuture<String> collapsed = CompletableFuture.supplyAsync(() -> target.request().get(String.class));
+        Thread.sleep(200);
+        connector.proceed.countDown();
+
+        assertEquals("response 1", collapsed.get(10, TimeUnit.SECONDS));
+        try {
+            failing.join();
+            fail("Request is expected to fail.");
+        } catch (final CompletionException expected) {
+            assertTrue(expected.getCause() instanceof ProcessingException);
+        }
+        assertEquals(3, connector.calls.get());
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which the processing of a request has to be finished.
+ * <p>
+ * A deadline may be {@link #attach(Deadline) attached} to the current thread. Jersey server runtime attaches the deadline of
+ * the processed request (if any) for the time of the synchronous request processing, Jersey client runtime then limits the
+ * timeouts of the requests invoked from the thread by the remaining time of the attached deadline. Deadlines are
+ * checked between the processing stages of Jersey runtimes, a processing stage invoked after the attached deadline has
+ * expired fails with {@link DeadlineExceededException}.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+public final class Deadline implements Comparable<Deadline> {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Create a deadline expiring after the given duration from now.
+     *
+     * @param duration time budget, zero or negative value creates an already expired deadline.
+     * @param unit     time unit of the {@code duration}.
+     * @return new deadline.
+     */
+    public static Deadline after(final long duration, final TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * Get the time remaining till this deadline expires.
+     *
+     * @param unit time unit of the returned value.
+     * @return remaining time in the given unit, zero if the deadline has already expired.
+     */
+    public long timeRemaining(final TimeUnit unit) {
+        final long remaining = deadlineNanos - System.nanoTime();
+        return remaining > 0 ? unit.convert(remaining, TimeUnit.NANOSECONDS) : 0;
+    }
+
+    /**
+     * Check whether the deadline has already expired.
+     *
+     * @return {@code true} if there is no time left till the deadline.
+     */
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Get the earlier of this and the given deadline.
+     *
+     * @param other other deadline, may be {@code null}.
+     * @return the deadline that expires first.
+     */
+    public Deadline earliest(final Deadline other) {
+        return other == null || compareTo(other) <= 0 ? this : other;
+    }
+
+    @Override
+    public int compareTo(final Deadline other) {
+        return Long.signum(deadlineNanos - other.deadlineNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + timeRemaining(TimeUnit.MILLISECONDS) + "ms}";
+    }
+
+    /**
+     * Get the deadline attached to the current thread.
+     *
+     * @return deadline attached to the current thread or {@code null} if no deadline is attached.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attach the deadline to the current thread. The previously attached deadline should be restored using
+     * {@link #restore(Deadline)} once the processing bound to the deadline is finished.
+     *
+     * @param deadline deadline to be attached, may be {@code null}.
+     * @return deadline previously attached to the current thread or {@code null}.
+     */
+    public static Deadline attach(final Deadline deadline) {
+        final Deadline previous = CURRENT.get();
+        if (deadline != previous) {
+            setCurrent(deadline);
+        }
+        return previous;
+    }
+
+    /**
+     * Restore the deadline attached to the current thread before the matching {@link #attach(Deadline)} call.
+     *
+     * @param previous deadline returned from the matching {@code attach} call.
+     */
+    public static void restore(final Deadline previous) {
+        if (CURRENT.get() != previous) {
+            setCurrent(previous);
+        }
+    }
+
+    /**
+     * Check that the deadline attached to the current thread (if any) has not expired yet.
+     *
+     * @throws DeadlineExceededException in case the attached deadline has expired.
+     */
+    public static void checkCurrent() throws DeadlineExceededException {
+        final Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+    /**
+     * Check that this deadline has not expired yet.
+     *
+     * @throws DeadlineExceededException in case the deadline has expired.
+     */
+    public void check() throws DeadlineExceededException {
+        if (isExpired()) {
+            throw new DeadlineExceededException();
+        }
+    }
+
+    private static void setCurrent(final Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+}
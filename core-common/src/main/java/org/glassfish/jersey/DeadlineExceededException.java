@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * Thrown when a processing stage is about to be invoked after the {@link Deadline deadline} of the processed request
+ * has expired.
+ *
+ * @since 2.29
+ */
+@Beta
+public class DeadlineExceededException extends ProcessingException {
+
+    private static final long serialVersionUID = -2924512815294106487L;
+
+    /**
+     * Create new deadline exceeded exception.
+     */
+    public DeadlineExceededException() {
+        super("Request processing deadline exceeded.");
+    }
+
+    /**
+     * Create new deadline exceeded exception.
+     *
+     * @param message the detail message.
+     */
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,17 +20,22 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.ext.ExceptionMapper;
 
+import javax.inject.Singleton;
+
 import org.glassfish.jersey.internal.inject.Bindings;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.internal.inject.InstanceBinding;
@@ -85,39 +90,134 @@ public class ExceptionMapperFactory implements ExceptionMappers {
 
     private static class ExceptionMapperType {
 
-        ServiceHolder<ExceptionMapper> mapper;
-        Class<? extends Throwable> exceptionType;
+        final ServiceHolder<ExceptionMapper> mapper;
+        final Class<? extends Throwable> exceptionType;
+        // Whether the mapper is bound as a singleton, i.e. the instance can be reused for all lookups.
+        final boolean singleton;
+        // Looks up a new instance of a mapper which is not bound as a singleton, e.g. a per-lookup or a request scoped mapper.
+        final Supplier<ExceptionMapper> instanceSupplier;
 
         public ExceptionMapperType(final ServiceHolder<ExceptionMapper> mapper, final Class<? extends Throwable> exceptionType) {
             this.mapper = mapper;
             this.exceptionType = exceptionType;
+            this.singleton = mapper.getScope() == Singleton.class;
+            this.instanceSupplier = singleton ? null : mapper.getInstanceSupplier();
+        }
+
+        ExceptionMapper getInstance() {
+            return singleton ? mapper.getInstance() : instanceSupplier.get();
+        }
+    }
+
+    /**
+     * Mappers applicable to an exception type together with the mapper resolved for the exception type, if the resolution
+     * does not depend on the mapped exception instance.
+     */
+    private static final class MapperResolution {
+
+        // Applicable mappers in the registration order and their distances from the mapped exception type.
+        private final ExceptionMapperType[] candidates;
+        private final int[] distances;
+
+        // All candidates are singletons, mapper for the exception type can be cached.
+        private final boolean typeMapperCached;
+        private final ExceptionMapper typeMapper;
+
+        // None of the candidates is an extended exception mapper, mapper for exception instances can be cached.
+        private final boolean instanceMapperCached;
+        private final ExceptionMapper instanceMapper;
+
+        private MapperResolution(final ExceptionMapperType[] candidates, final int[] distances) {
+            this.candidates = candidates;
+            this.distances = distances;
+
+            boolean resolved = true;
+            boolean extended = false;
+            for (final ExceptionMapperType candidate : candidates) {
+                resolved &= candidate.singleton;
+                extended |= candidate.mapper.getInstance() instanceof ExtendedExceptionMapper;
+            }
+
+            this.typeMapperCached = resolved;
+            this.typeMapper = resolved ? select(candidates, distances, false, null) : null;
+            this.instanceMapperCached = resolved && !extended;
+            this.instanceMapper = instanceMapperCached ? select(candidates, distances, true, null) : null;
+        }
+
+        private ExceptionMapper forType() {
+            return typeMapperCached ? typeMapper : select(candidates, distances, false, null);
+        }
+
+        private ExceptionMapper forInstance(final Throwable exceptionInstance) {
+            return instanceMapperCached ? instanceMapper : select(candidates, distances, true, exceptionInstance);
         }
     }
 
-    private final Value<Set<ExceptionMapperType>> exceptionMapperTypes;
+    private final LazyValue<ExceptionMapperType[]> exceptionMapperTypes;
+    private final ConcurrentHashMap<Class<?>, MapperResolution> resolutions = new ConcurrentHashMap<>();
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Throwable> ExceptionMapper<T> findMapping(final T exceptionInstance) {
-        return find((Class<T>) exceptionInstance.getClass(), exceptionInstance);
+        return (ExceptionMapper<T>) getResolution(exceptionInstance.getClass()).forInstance(exceptionInstance);
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends Throwable> ExceptionMapper<T> find(final Class<T> type) {
-        return find(type, null);
+        return (ExceptionMapper<T>) getResolution(type).forType();
     }
 
-    @SuppressWarnings("unchecked")
-    private <T extends Throwable> ExceptionMapper<T> find(final Class<T> type, final T exceptionInstance) {
-        ExceptionMapper<T> mapper = null;
-        int minDistance = Integer.MAX_VALUE;
+    private MapperResolution getResolution(final Class<?> type) {
+        MapperResolution resolution = resolutions.get(type);
+        if (resolution == null) {
+            // resolved outside of the map update, resolution may instantiate mappers
+            resolution = resolve(type);
+            final MapperResolution previous = resolutions.putIfAbsent(type, resolution);
+            if (previous != null) {
+                resolution = previous;
+            }
+        }
+        return resolution;
+    }
 
-        for (final ExceptionMapperType mapperType : exceptionMapperTypes.get()) {
+    private MapperResolution resolve(final Class<?> type) {
+        final ExceptionMapperType[] mapperTypes = exceptionMapperTypes.get();
+        final ExceptionMapperType[] candidates = new ExceptionMapperType[mapperTypes.length];
+        final int[] distances = new int[mapperTypes.length];
+
+        int count = 0;
+        for (final ExceptionMapperType mapperType : mapperTypes) {
             final int d = distance(type, mapperType.exceptionType);
-            if (d >= 0 && d <= minDistance) {
-                final ExceptionMapper<T> candidate = mapperType.mapper.getInstance();
+            if (d >= 0) {
+                candidates[count] = mapperType;
+                distances[count++] = d;
+            }
+        }
+        return new MapperResolution(Arrays.copyOf(candidates, count), Arrays.copyOf(distances, count));
+    }
 
-                if (isPreferredCandidate(exceptionInstance, candidate, d == minDistance)) {
+    /**
+     * Select the mapper with the minimal distance from the mapped exception type.
+     *
+     * @param candidates        mappers able to map the exception type.
+     * @param distances         distances of the candidates from the exception type.
+     * @param mapInstance       flag indicating whether an exception instance or just an exception type is mapped.
+     * @param exceptionInstance exception to be mapped, may be {@code null} if the selected mapper is known not to depend
+     *                          on the instance.
+     * @return selected mapper or {@code null} if none of the candidates is able to map the exception.
+     */
+    private static ExceptionMapper select(final ExceptionMapperType[] candidates, final int[] distances,
+                                          final boolean mapInstance, final Throwable exceptionInstance) {
+        ExceptionMapper mapper = null;
+        int minDistance = Integer.MAX_VALUE;
+
+        for (int i = 0; i < candidates.length; i++) {
+            final int d = distances[i];
+            if (d <= minDistance) {
+                final ExceptionMapper candidate = candidates[i].getInstance();
+
+                if (isPreferredCandidate(mapInstance, exceptionInstance, candidate, d == minDistance)) {
                     mapper = candidate;
                     minDistance = d;
                     if (d == 0) {
@@ -133,21 +233,22 @@ public class ExceptionMapperFactory implements ExceptionMappers {
     /**
      * Determines whether the currently considered candidate should be preferred over the previous one.
      *
+     * @param mapInstance       flag indicating whether an exception instance or just an exception type is mapped.
      * @param exceptionInstance exception to be mapped.
      * @param candidate         mapper able to map given exception type.
      * @param sameDistance      flag indicating whether this and the previously considered candidate are in the same distance.
-     * @param <T>               exception type.
      * @return {@code true} if the given candidate is preferred over the previous one with the same or lower distance,
      * {@code false} otherwise.
      */
-    private <T extends Throwable> boolean isPreferredCandidate(final T exceptionInstance, final ExceptionMapper<T> candidate,
-                                                               final boolean sameDistance) {
-        if (exceptionInstance == null) {
+    @SuppressWarnings("unchecked")
+    private static boolean isPreferredCandidate(final boolean mapInstance, final Throwable exceptionInstance,
+                                                final ExceptionMapper candidate, final boolean sameDistance) {
+        if (!mapInstance) {
             return true;
         }
         if (candidate instanceof ExtendedExceptionMapper) {
             return !sameDistance
-                    && ((ExtendedExceptionMapper<T>) candidate).isMappable(exceptionInstance);
+                    && ((ExtendedExceptionMapper<Throwable>) candidate).isMappable(exceptionInstance);
         } else {
             return !sameDistance;
         }
@@ -160,19 +261,24 @@ public class ExceptionMapperFactory implements ExceptionMappers {
      * @param injectionManager injection manager.
      */
     public ExceptionMapperFactory(InjectionManager injectionManager) {
-        exceptionMapperTypes = createLazyExceptionMappers(injectionManager);
+        this.exceptionMapperTypes = createLazyExceptionMappers(injectionManager);
     }
 
     /**
      * Returns {@link LazyValue} of exception mappers that delays their creation to the first use. The exception mappers won't be
      * created during bootstrap but at the time of the first call.
+     * <p>
+     * Instances of mappers bound as {@link Singleton singletons} are reused for all subsequent lookups, other mappers
+     * (e.g. per-lookup or request scoped) are looked up for every lookup using the
+     * {@link ServiceHolder#getInstanceSupplier() instance supplier} of their binding resolved here.
+     * </p>
      *
      * @param injectionManager injection manager that may not be fully populated at the time of a function call therefore the
      *                         result is wrapped to lazy value.
      * @return lazy value of exception mappers.
      */
-    private LazyValue<Set<ExceptionMapperType>> createLazyExceptionMappers(InjectionManager injectionManager) {
-        return Values.lazy((Value<Set<ExceptionMapperType>>) () -> {
+    private LazyValue<ExceptionMapperType[]> createLazyExceptionMappers(InjectionManager injectionManager) {
+        return Values.lazy((Value<ExceptionMapperType[]>) () -> {
             Collection<ServiceHolder<ExceptionMapper>> mapperHandles =
                     Providers.getAllServiceHolders(injectionManager, ExceptionMapper.class);
 
@@ -207,7 +313,7 @@ public class ExceptionMapperFactory implements ExceptionMappers {
                     }
                 }
             }
-            return exceptionMapperTypes;
+            return exceptionMapperTypes.toArray(new ExceptionMapperType[exceptionMapperTypes.size()]);
         });
     }
 
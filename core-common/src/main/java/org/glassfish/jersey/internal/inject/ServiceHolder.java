@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,8 +16,10 @@
 
 package org.glassfish.jersey.internal.inject;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Implementation of this class is used as a holder for service instance from
@@ -56,4 +58,30 @@ public interface ServiceHolder<T> {
      */
     int getRank();
 
+    /**
+     * Gets the scope annotation of the kept instance.
+     *
+     * @return scope annotation of the kept instance or {@code null} if the scope is not known.
+     * @since 2.29
+     */
+    default Class<? extends Annotation> getScope() {
+        return null;
+    }
+
+    /**
+     * Gets a supplier of instances of the same binding as the kept instance. The supplier looks the instance up in the
+     * {@link InjectionManager} the holder has been obtained from, i.e. it returns a new instance on every call unless the
+     * scope of the binding reuses the instance. The returned supplier can be resolved once and reused for all lookups.
+     * <p>
+     * The default implementation supplies the kept instance.
+     * </p>
+     *
+     * @return supplier of instances of the kept binding.
+     * @since 2.29
+     */
+    default Supplier<T> getInstanceSupplier() {
+        final T instance = getInstance();
+        return () -> instance;
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,9 +16,11 @@
 
 package org.glassfish.jersey.internal.inject;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Implementation of the instance keeper which kept the instance of the class from
@@ -36,6 +38,10 @@ public class ServiceHolderImpl<T> implements ServiceHolder<T> {
 
     private final int rank;
 
+    private final Class<? extends Annotation> scope;
+
+    private final Supplier<T> instanceSupplier;
+
     /**
      * Creates a new instance of the service holder which keeps the concrete instance and its additional information.
      *
@@ -56,10 +62,44 @@ public class ServiceHolderImpl<T> implements ServiceHolder<T> {
      * @param rank                ranking of the given instance.
      */
     public ServiceHolderImpl(T service, Class<T> implementationClass, Set<Type> contractTypes, int rank) {
+        this(service, implementationClass, contractTypes, rank, null);
+    }
+
+    /**
+     * Creates a new instance of the service holder which keeps the concrete instance and its additional information.
+     *
+     * @param service             service instance kept by this holder.
+     * @param implementationClass implementation class of the given instance.
+     * @param contractTypes       types which represent the given instance.
+     * @param rank                ranking of the given instance.
+     * @param scope               scope annotation of the given instance, may be {@code null} if not known.
+     * @since 2.29
+     */
+    public ServiceHolderImpl(T service, Class<T> implementationClass, Set<Type> contractTypes, int rank,
+                             Class<? extends Annotation> scope) {
+        this(service, implementationClass, contractTypes, rank, scope, null);
+    }
+
+    /**
+     * Creates a new instance of the service holder which keeps the concrete instance and its additional information.
+     *
+     * @param service             service instance kept by this holder.
+     * @param implementationClass implementation class of the given instance.
+     * @param contractTypes       types which represent the given instance.
+     * @param rank                ranking of the given instance.
+     * @param scope               scope annotation of the given instance, may be {@code null} if not known.
+     * @param instanceSupplier    supplier looking up instances of the same binding, may be {@code null} if the kept instance
+     *                            is to be supplied.
+     * @since 2.29
+     */
+    public ServiceHolderImpl(T service, Class<T> implementationClass, Set<Type> contractTypes, int rank,
+                             Class<? extends Annotation> scope, Supplier<T> instanceSupplier) {
         this.service = service;
         this.implementationClass = implementationClass;
         this.contractTypes = contractTypes;
         this.rank = rank;
+        this.scope = scope;
+        this.instanceSupplier = instanceSupplier;
     }
 
     @Override
@@ -82,6 +122,16 @@ public class ServiceHolderImpl<T> implements ServiceHolder<T> {
         return rank;
     }
 
+    @Override
+    public Class<? extends Annotation> getScope() {
+        return scope;
+    }
+
+    @Override
+    public Supplier<T> getInstanceSupplier() {
+        return instanceSupplier != null ? instanceSupplier : ServiceHolder.super.getInstanceSupplier();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Inbound message headers view backed by the native header structures of a container.
+ * <p>
+ * Single header lookups ({@link #get(Object)}, {@link #getFirst(Object)}, {@link #containsKey(Object)}) are delegated
+ * to the container without copying any headers. The headers are copied into a regular
+ * {@link HeaderUtils#createInbound() inbound headers map} on the first modification or on the first operation that
+ * needs to see all the headers (e.g. {@link #entrySet()}); all the subsequent operations are performed on the copy.
+ * Header value lists returned before the headers are copied copy the headers on their first modification too.
+ * </p>
+ * <p>
+ * The header source has to remain valid until the headers are {@link #detach() detached} from it. Containers usually
+ * recycle their native header structures once the request is completed, so the headers have to be detached before
+ * the request processing leaves the container thread.
+ * </p>
+ *
+ * @since 2.29
+ */
+public final class CopyOnWriteHeaders implements MultivaluedMap<String, String> {
+
+    /**
+     * Native header structure of a container.
+     */
+    public interface Source {
+
+        /**
+         * Get names of all the headers.
+         *
+         * @return header names.
+         */
+        Iterable<String> names();
+
+        /**
+         * Get values of a header. The header name is matched case-insensitively.
+         *
+         * @param name header name.
+         * @return header values or {@code null} (or an empty list) if the header is not present.
+         */
+        List<String> get(String name);
+    }
+
+    private final Source source;
+    private MultivaluedMap<String, String> headers;
+
+    /**
+     * Create new view of the headers provided by the source.
+     *
+     * @param source native header structure.
+     */
+    public CopyOnWriteHeaders(final Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Check whether the headers have already been copied from the source.
+     *
+     * @return {@code true} if the headers have been copied, {@code false} otherwise.
+     */
+    public boolean isCopied() {
+        return headers != null;
+    }
+
+    /**
+     * Copy the headers from the source, if not copied yet, so that the source is not accessed anymore.
+     */
+    public void detach() {
+        copy();
+    }
+
+    private MultivaluedMap<String, String> copy() {
+        if (headers == null) {
+            final MultivaluedMap<String, String> copy = HeaderUtils.createInbound();
+            for (final String name : source.names()) {
+                if (!copy.containsKey(name)) {
+                    final List<String> values = source.get(name);
+                    if (values != null && !values.isEmpty()) {
+                        copy.addAll(name, values);
+                    }
+                }
+            }
+            headers = copy;
+        }
+        return headers;
+    }
+
+    private List<String> lookup(final Object name) {
+        if (!(name instanceof String)) {
+            return null;
+        }
+        final List<String> values = source.get((String) name);
+        return values == null || values.isEmpty() ? null : new HeaderValues((String) name, values);
+    }
+
+    @Override
+    public List<String> get(final Object key) {
+        return headers != null ? headers.get(key) : lookup(key);
+    }
+
+    @Override
+    public String getFirst(final String key) {
+        if (headers != null) {
+            return headers.getFirst(key);
+        }
+        final List<String> values = lookup(key);
+        return values == null ? null : values.get(0);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return headers != null ? headers.containsKey(key) : lookup(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return headers != null ? headers.isEmpty() : !source.names().iterator().hasNext();
+    }
+
+    @Override
+    public int size() {
+        return copy().size();
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        return copy().containsValue(value);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return copy().keySet();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return copy().values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        return copy().entrySet();
+    }
+
+    @Override
+    public boolean equalsIgnoreValueOrder(final MultivaluedMap<String, String> otherMap) {
+        return copy().equalsIgnoreValueOrder(otherMap);
+    }
+
+    @Override
+    public void putSingle(final String key, final String value) {
+        copy().putSingle(key, value);
+    }
+
+    @Override
+    public void add(final String key, final String value) {
+        copy().add(key, value);
+    }
+
+    @Override
+    public void addAll(final String key, final String... newValues) {
+        copy().addAll(key, newValues);
+    }
+
+    @Override
+    public void addAll(final String key, final List<String> valueList) {
+        copy().addAll(key, valueList);
+    }
+
+    @Override
+    public void addFirst(final String key, final String value) {
+        copy().addFirst(key, value);
+    }
+
+    @Override
+    public List<String> put(final String key, final List<String> value) {
+        return copy().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(final Object key) {
+        return copy().remove(key);
+    }
+
+    @Override
+    public void putAll(final Map<? extends String, ? extends List<String>> m) {
+        copy().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        copy().clear();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o == this || copy().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return copy().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return copy().toString();
+    }
+
+    /**
+     * Header values read from the source. The values are read from the source snapshot until modified, the
+     * modifications copy the headers and are applied to the values in the copy.
+     */
+    private final class HeaderValues extends AbstractList<String> {
+
+        private final String name;
+        private List<String> values;
+        private boolean copied;
+
+        private HeaderValues(final String name, final List<String> values) {
+            this.name = name;
+            this.values = values;
+        }
+
+        private List<String> modifiable() {
+            if (!copied) {
+                final List<String> copy = copy().get(name);
+                // the header may have been removed since the values were read
+                values = copy != null ? copy : new ArrayList<>(values);
+                copied = true;
+            }
+            return values;
+        }
+
+        @Override
+        public String get(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public String set(final int index, final String element) {
+            return modifiable().set(index, element);
+        }
+
+        @Override
+        public void add(final int index, final String element) {
+            modifiable().add(index, element);
+        }
+
+        @Override
+        public String remove(final int index) {
+            return modifiable().remove(index);
+        }
+    }
+}
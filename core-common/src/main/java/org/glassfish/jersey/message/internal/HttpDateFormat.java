@@ -18,15 +18,29 @@ package org.glassfish.jersey.message.internal;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
 /**
  * Helper class for HTTP specified date formats.
+ * <p>
+ * Dates are formatted and parsed using immutable, thread-safe {@code java.time} formatters. The preferred RFC 1123 format
+ * (e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}) is parsed by a dedicated fast-path parser, the obsolete RFC 1036 and
+ * ANSI C asctime() formats are supported as a fallback when reading dates. {@link SimpleDateFormat} is used only as the
+ * last resort for dates with time zone designators unknown to {@code java.time}.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -48,55 +62,94 @@ public final class HttpDateFormat {
      */
     private static final String ANSI_C_ASCTIME_DATE_FORMAT_PATTERN = "EEE MMM d HH:mm:ss yyyy";
 
+    private static final String[] LEGACY_DATE_FORMAT_PATTERNS = {
+            RFC1123_DATE_FORMAT_PATTERN, RFC1036_DATE_FORMAT_PATTERN, ANSI_C_ASCTIME_DATE_FORMAT_PATTERN
+    };
+
     private static final TimeZone GMT_TIME_ZONE = TimeZone.getTimeZone("GMT");
 
-    private static final ThreadLocal<List<SimpleDateFormat>> dateFormats = new ThreadLocal<List<SimpleDateFormat>>() {
+    /**
+     * Formatter producing dates in the preferred RFC 1123 format.
+     */
+    private static final DateTimeFormatter RFC1123_FORMATTER = DateTimeFormatter
+            .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+            .withZone(ZoneOffset.UTC);
 
-        @Override
-        protected synchronized List<SimpleDateFormat> initialValue() {
-            return createDateFormats();
-        }
-    };
+    /**
+     * Parser of RFC 1123 dates (without the leading day-of-week) in an arbitrary time zone.
+     */
+    private static final DateTimeFormatter RFC1123_PARSER = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("d MMM yyyy HH:mm:ss")
+            .optionalStart().appendLiteral(' ').appendZoneText(TextStyle.SHORT).optionalEnd()
+            .toFormatter(Locale.US)
+            .withZone(ZoneOffset.UTC);
 
-    private static List<SimpleDateFormat> createDateFormats() {
-        final SimpleDateFormat[] formats = new SimpleDateFormat[]{
-            new SimpleDateFormat(RFC1123_DATE_FORMAT_PATTERN, Locale.US),
-            new SimpleDateFormat(RFC1036_DATE_FORMAT_PATTERN, Locale.US),
-            new SimpleDateFormat(ANSI_C_ASCTIME_DATE_FORMAT_PATTERN, Locale.US)
-        };
-        formats[0].setTimeZone(GMT_TIME_ZONE);
-        formats[1].setTimeZone(GMT_TIME_ZONE);
-        formats[2].setTimeZone(GMT_TIME_ZONE);
-
-        return Collections.unmodifiableList(Arrays.asList(formats));
-    }
+    /**
+     * Parser of RFC 1036 (and Netscape cookie) dates (without the leading day-of-week). Two-digit years are resolved the
+     * same way as by {@link SimpleDateFormat}, i.e. within 80 years before and 20 years after the current date.
+     */
+    private static final DateTimeFormatter RFC1036_PARSER = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("d-MMM-")
+            .appendValueReduced(ChronoField.YEAR, 2, 4, LocalDate.now().minusYears(80))
+            .appendPattern(" HH:mm:ss")
+            .optionalStart().appendLiteral(' ').appendZoneText(TextStyle.SHORT).optionalEnd()
+            .toFormatter(Locale.US)
+            .withZone(ZoneOffset.UTC);
 
     /**
-     * Return an unmodifiable list of HTTP specified date formats to use for
-     * parsing or formatting {@link Date}.
-     * <p>
-     * The list of date formats are scoped to the current thread and may be
-     * used without requiring to synchronize access to the instances when
-     * parsing or formatting.
-     *
-     * @return the list of data formats.
+     * Parser of ANSI C asctime() dates (without the leading day-of-week).
      */
-    private static List<SimpleDateFormat> getDateFormats() {
-        return dateFormats.get();
-    }
+    private static final DateTimeFormatter ANSI_C_ASCTIME_PARSER = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("MMM d HH:mm:ss yyyy")
+            .toFormatter(Locale.US)
+            .withZone(ZoneOffset.UTC);
+
+    private static final DateTimeFormatter[] FALLBACK_PARSERS = {RFC1123_PARSER, RFC1036_PARSER, ANSI_C_ASCTIME_PARSER};
+
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    /**
+     * The most recently formatted date (with second precision); dates in HTTP headers typically denote "now", hence all
+     * responses produced within the same second share a single formatted value.
+     */
+    private static volatile FormattedDate lastFormatted = new FormattedDate(Long.MIN_VALUE, null);
 
     /**
      * Get the preferred HTTP specified date format (RFC 1123).
      * <p>
-     * The date format is scoped to the current thread and may be
-     * used without requiring to synchronize access to the instance when
-     * parsing or formatting.
+     * A new instance is returned on each invocation, hence the instance may be used without requiring to synchronize
+     * access to it when parsing or formatting. Use {@link #formatDate(Date)} and {@link #readDate(String)} to format or
+     * parse dates without creating a date format instance.
+     * </p>
      *
      * @return the preferred of data format.
      */
     public static SimpleDateFormat getPreferredDateFormat() {
-        // returns clone because calling SDF.parse(...) can change time zone
-        return (SimpleDateFormat) dateFormats.get().get(0).clone();
+        final SimpleDateFormat format = new SimpleDateFormat(RFC1123_DATE_FORMAT_PATTERN, Locale.US);
+        format.setTimeZone(GMT_TIME_ZONE);
+        return format;
+    }
+
+    /**
+     * Format a date using the preferred HTTP specified date format (RFC 1123).
+     *
+     * @param date the date to be formatted.
+     * @return the formatted date.
+     */
+    public static String formatDate(final Date date) {
+        final long epochSecond = Math.floorDiv(date.getTime(), 1000L);
+
+        final FormattedDate last = lastFormatted;
+        if (last.epochSecond == epochSecond) {
+            return last.value;
+        }
+
+        final String value = RFC1123_FORMATTER.format(Instant.ofEpochSecond(epochSecond));
+        lastFormatted = new FormattedDate(epochSecond, value);
+        return value;
     }
 
     /**
@@ -108,18 +161,111 @@ public final class HttpDateFormat {
      * @throws java.text.ParseException in case the date string cannot be parsed.
      */
     public static Date readDate(final String date) throws ParseException {
+        final Date rfc1123 = readRfc1123Date(date);
+        if (rfc1123 != null) {
+            return rfc1123;
+        }
+
+        // Strip the (optional) day-of-week, it's redundant and not validated.
+        final String normalized = date.trim().replaceAll("\\s+", " ");
+        final int comma = normalized.indexOf(',');
+        final int space = normalized.indexOf(' ');
+        final String rfcDate = comma >= 0 ? normalized.substring(comma + 1).trim() : normalized;
+        final String asctimeDate = space >= 0 ? normalized.substring(space + 1) : normalized;
+
+        for (final DateTimeFormatter parser : FALLBACK_PARSERS) {
+            try {
+                final String value = parser == ANSI_C_ASCTIME_PARSER ? asctimeDate : rfcDate;
+                return Date.from(ZonedDateTime.parse(value, parser).toInstant());
+            } catch (final DateTimeParseException e) {
+                // try next
+            }
+        }
+
+        // Time zone designators not known to java.time (e.g. "CEST" in some locales).
         ParseException pe = null;
-        for (final SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
+        for (final String pattern : LEGACY_DATE_FORMAT_PATTERNS) {
+            final SimpleDateFormat f = new SimpleDateFormat(pattern, Locale.US);
+            f.setTimeZone(GMT_TIME_ZONE);
             try {
-                Date result = f.parse(date);
-                // parse can change time zone -> set it back to GMT
-                f.setTimeZone(GMT_TIME_ZONE);
-                return result;
+                return f.parse(date);
             } catch (final ParseException e) {
                 pe = (pe == null) ? e : pe;
             }
         }
-
         throw pe;
     }
+
+    /**
+     * Fast-path parser of the preferred RFC 1123 date format in the GMT time zone, i.e.
+     * {@code EEE, dd MMM yyyy HH:mm:ss GMT}. The day-of-week is not validated.
+     *
+     * @param date the date as a string.
+     * @return the parsed date or {@code null} if the string is not in the expected format.
+     */
+    private static Date readRfc1123Date(final String date) {
+        if (date.length() != 29
+                || date.charAt(3) != ','
+                || date.charAt(4) != ' '
+                || date.charAt(7) != ' '
+                || date.charAt(11) != ' '
+                || date.charAt(16) != ' '
+                || date.charAt(19) != ':'
+                || date.charAt(22) != ':'
+                || date.charAt(25) != ' '
+                || !date.regionMatches(26, "GMT", 0, 3)) {
+            return null;
+        }
+
+        final int day = digits(date, 5, 2);
+        final int month = month(date, 8);
+        final int year = digits(date, 12, 4);
+        final int hour = digits(date, 17, 2);
+        final int minute = digits(date, 20, 2);
+        final int second = digits(date, 23, 2);
+        if (day < 0 || month < 0 || year < 0 || hour < 0 || minute < 0 || second < 0) {
+            return null;
+        }
+
+        try {
+            return new Date(LocalDateTime.of(year, month, day, hour, minute, second).toEpochSecond(ZoneOffset.UTC) * 1000L);
+        } catch (final DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static int digits(final String value, final int offset, final int length) {
+        int result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int month(final String value, final int offset) {
+        for (int i = 0; i < MONTHS.length; i++) {
+            if (value.regionMatches(true, offset, MONTHS[i], 0, 3)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Date formatted with second precision.
+     */
+    private static final class FormattedDate {
+
+        private final long epochSecond;
+        private final String value;
+
+        private FormattedDate(final long epochSecond, final String value) {
+            this.epochSecond = epochSecond;
+            this.value = value;
+        }
+    }
 }
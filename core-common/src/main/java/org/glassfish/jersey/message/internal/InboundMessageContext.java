@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -89,7 +89,7 @@ public abstract class InboundMessageContext {
     private static final List<AcceptableMediaType> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST =
             Collections.singletonList(MediaTypes.WILDCARD_ACCEPTABLE_TYPE);
 
-    private final MultivaluedMap<String, String> headers;
+    private MultivaluedMap<String, String> headers;
     private final EntityContent entityContent;
     private final boolean translateNce;
     private MessageBodyWorkers workers;
@@ -221,6 +221,37 @@ public abstract class InboundMessageContext {
         return this;
     }
 
+    /**
+     * Replace the message headers with a {@link CopyOnWriteHeaders copy-on-write view} of the headers provided by the
+     * native header structure of a container. Headers previously added to this context are discarded.
+     * <p>
+     * Containers should prefer this method to copying all the inbound headers into the context as the headers are
+     * copied only if they are modified or iterated.
+     * </p>
+     *
+     * @param source native header structure of the container.
+     * @return updated context.
+     * @since 2.29
+     */
+    public InboundMessageContext setHeaderSource(final CopyOnWriteHeaders.Source source) {
+        this.headers = new CopyOnWriteHeaders(source);
+        return this;
+    }
+
+    /**
+     * Detach the message headers from the native header structure of the container {@link #setHeaderSource set as the
+     * header source}, if any, by copying the headers into this context. Containers may recycle their native header
+     * structures once an asynchronous request is completed, hence the headers are detached before the request processing
+     * is suspended.
+     *
+     * @since 2.29
+     */
+    public void detachHeaders() {
+        if (headers instanceof CopyOnWriteHeaders) {
+            ((CopyOnWriteHeaders) headers).detach();
+        }
+    }
+
     /**
      * Remove a header.
      *
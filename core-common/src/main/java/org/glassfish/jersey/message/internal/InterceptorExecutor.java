@@ -19,6 +19,8 @@ package org.glassfish.jersey.message.internal;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.InterceptorContext;
@@ -154,6 +156,50 @@ abstract class InterceptorExecutor<T> implements InterceptorContext, PropertiesD
         lastTracedInterceptor = null;
     }
 
+    /**
+     * Iterator over an interceptor chain followed by a terminal interceptor.
+     * <p>
+     * Interceptor chains are typically computed in advance and shared by all messages, iterating over the chain directly
+     * avoids copying it for every intercepted message.
+     * </p>
+     *
+     * @param <T> interceptor type.
+     */
+    static final class InterceptorIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> interceptors;
+        private T terminal;
+
+        /**
+         * Create new interceptor iterator.
+         *
+         * @param interceptors interceptor chain.
+         * @param terminal     interceptor returned after all interceptors from the chain.
+         */
+        InterceptorIterator(final Iterable<T> interceptors, final T terminal) {
+            this.interceptors = interceptors.iterator();
+            this.terminal = terminal;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return terminal != null || interceptors.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (interceptors.hasNext()) {
+                return interceptors.next();
+            }
+            if (terminal == null) {
+                throw new NoSuchElementException();
+            }
+            final T last = terminal;
+            terminal = null;
+            return last;
+        }
+    }
+
     @Override
     public Annotation[] getAnnotations() {
         return annotations;
@@ -21,11 +21,8 @@ import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Iterator;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ProcessingException;
@@ -107,11 +104,7 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
         this.translateNce = translateNce;
         this.injectionManager = injectionManager;
 
-        final List<ReaderInterceptor> effectiveInterceptors = StreamSupport.stream(readerInterceptors.spliterator(), false)
-                                                                           .collect(Collectors.toList());
-        effectiveInterceptors.add(new TerminalReaderInterceptor());
-
-        this.interceptors = effectiveInterceptors.iterator();
+        this.interceptors = new InterceptorIterator<>(readerInterceptors, new TerminalReaderInterceptor());
         this.processedCount = 0;
     }
 
@@ -22,11 +22,8 @@ import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Iterator;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.WebApplicationException;
@@ -104,11 +101,7 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
         this.outputStream = entityStream;
         this.injectionManager = injectionManager;
 
-        final List<WriterInterceptor> effectiveInterceptors = StreamSupport.stream(writerInterceptors.spliterator(), false)
-                                                                           .collect(Collectors.toList());
-        effectiveInterceptors.add(new TerminalWriterInterceptor(workers));
-
-        this.iterator = effectiveInterceptors.iterator();
+        this.iterator = new InterceptorIterator<>(writerInterceptors, new TerminalWriterInterceptor(workers));
         this.processedCount = 0;
     }
 
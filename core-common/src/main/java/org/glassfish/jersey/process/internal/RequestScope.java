@@ -260,6 +260,11 @@ public abstract class RequestScope {
      */
     public void runInScope(RequestContext context, Runnable task) {
         final RequestContext oldContext = retrieveCurrent();
+        if (oldContext == context) {
+            // Already running in the requested scope context - no need to switch (and reference) the context.
+            Errors.process(task);
+            return;
+        }
         try {
             activate(context.getReference(), oldContext);
             Errors.process(task);
@@ -309,6 +314,9 @@ public abstract class RequestScope {
      */
     public <T> T runInScope(RequestContext context, Callable<T> task) throws Exception {
         final RequestContext oldContext = retrieveCurrent();
+        if (oldContext == context) {
+            return Errors.process(task);
+        }
         try {
             activate(context.getReference(), oldContext);
             return Errors.process(task);
@@ -360,6 +368,9 @@ public abstract class RequestScope {
      */
     public <T> T runInScope(RequestContext context, Producer<T> task) {
         final RequestContext oldContext = retrieveCurrent();
+        if (oldContext == context) {
+            return Errors.process(task);
+        }
         try {
             activate(context.getReference(), oldContext);
             return Errors.process(task);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,6 +20,7 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.function.Function;
 
+import org.glassfish.jersey.Deadline;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.process.Inflector;
 
@@ -166,9 +167,38 @@ public final class Stages {
             Stage<DATA> rootStage,
             Ref<T> inflectorRef) {
 
+        return process(data, rootStage, inflectorRef, null);
+    }
+
+    /**
+     * Run the data through a chain of stages identified by the root stage, checking the deadline of the processed
+     * data before each stage is invoked.
+     *
+     * If an inflector is found in the leaf stage, it's reference is set into the {@code inflectorRef}
+     * parameter.
+     *
+     * @param <DATA>       processed data type.
+     * @param data         data to be processed.
+     * @param rootStage    root stage of the stage chain.
+     * @param inflectorRef a mutable reference to an inflector.
+     * @param deadline     deadline of the processing, may be {@code null} if the processing is not time-bound.
+     * @return processing result.
+     * @throws org.glassfish.jersey.DeadlineExceededException in case the deadline expires before the last stage
+     *                                                        is invoked.
+     * @since 2.29
+     */
+    public static <DATA, RESULT, T extends Inflector<DATA, RESULT>> DATA process(
+            DATA data,
+            Stage<DATA> rootStage,
+            Ref<T> inflectorRef,
+            Deadline deadline) {
+
         Stage<DATA> lastStage = rootStage;
         Stage.Continuation<DATA> continuation = Stage.Continuation.of(data, lastStage);
         while (continuation.next() != null) {
+            if (deadline != null) {
+                deadline.check();
+            }
             lastStage = continuation.next();
             continuation = lastStage.apply(continuation.result());
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -259,65 +259,114 @@ public class UriComponent {
         return s;
     }
 
+    /**
+     * Contextually encodes the characters of string that are either non-ASCII
+     * characters or are ASCII characters that must be percent-encoded using the
+     * UTF-8 encoding and appends the result to the supplied string builder.
+     * Percent-encoded characters will be recognized and not double encoded.
+     *
+     * @param sb the string builder the encoded string is appended to.
+     * @param s the string to be encoded.
+     * @param t the URI component type identifying the ASCII characters that
+     * must be percent-encoded.
+     * @param template true if the encoded string contains URI template variables
+     * @return the supplied string builder.
+     * @since 2.29
+     */
+    public static StringBuilder contextualEncode(final StringBuilder sb, final String s, final Type t, final boolean template) {
+        return _encode(sb, s, 0, t, template, true);
+    }
+
+    /**
+     * Encodes the characters of string that are either non-ASCII characters
+     * or are ASCII characters that must be percent-encoded using the
+     * UTF-8 encoding and appends the result to the supplied string builder.
+     *
+     * @param sb the string builder the encoded string is appended to.
+     * @param s the string to be encoded.
+     * @param t the URI component type identifying the ASCII characters that
+     * must be percent-encoded.
+     * @param template true if the encoded string contains URI template variables
+     * @return the supplied string builder.
+     * @since 2.29
+     */
+    public static StringBuilder encode(final StringBuilder sb, final String s, final Type t, final boolean template) {
+        return _encode(sb, s, 0, t, template, false);
+    }
+
     private static String _encode(final String s, final Type t, final boolean template, final boolean contextualEncode) {
         final boolean[] table = ENCODING_TABLES[t.ordinal()];
-        boolean insideTemplateParam = false;
 
-        StringBuilder sb = null;
-        for (int offset = 0, codePoint; offset < s.length(); offset += Character.charCount(codePoint)) {
-            codePoint = s.codePointAt(offset);
+        // Characters allowed by the encoding table are copied as they are; none of the tables allows '{', '}' or '%'.
+        int offset = 0;
+        while (offset < s.length()) {
+            final char c = s.charAt(offset);
+            if (c >= 0x80 || !table[c]) {
+                break;
+            }
+            offset++;
+        }
+        if (offset == s.length()) {
+            return s;
+        }
+
+        final StringBuilder sb = new StringBuilder(s.length() + 16);
+        sb.append(s, 0, offset);
+        return _encode(sb, s, offset, t, template, contextualEncode).toString();
+    }
+
+    private static StringBuilder _encode(final StringBuilder sb, final String s, final int start, final Type t,
+                                         final boolean template, final boolean contextualEncode) {
+        final boolean[] table = ENCODING_TABLES[t.ordinal()];
+        boolean insideTemplateParam = false;
 
+        // Start of the current run of characters that are appended unchanged.
+        int run = start;
+        for (int offset = start, codePoint; offset < s.length(); offset += Character.charCount(codePoint)) {
+            codePoint = s.charAt(offset);
             if (codePoint < 0x80 && table[codePoint]) {
-                if (sb != null) {
-                    sb.append((char) codePoint);
-                }
-            } else {
-                if (template) {
-                    boolean leavingTemplateParam = false;
-                    if (codePoint == '{') {
-                        insideTemplateParam = true;
-                    } else if (codePoint == '}') {
-                        insideTemplateParam = false;
-                        leavingTemplateParam = true;
-                    }
-                    if (insideTemplateParam || leavingTemplateParam) {
-                        if (sb != null) {
-                            sb.append(Character.toChars(codePoint));
-                        }
-                        continue;
-                    }
-                }
+                continue;
+            }
 
-                if (contextualEncode
-                        && codePoint == '%'
-                        && offset + 2 < s.length()
-                        && isHexCharacter(s.charAt(offset + 1))
-                        && isHexCharacter(s.charAt(offset + 2))) {
-                    if (sb != null) {
-                        sb.append('%').append(s.charAt(offset + 1)).append(s.charAt(offset + 2));
+            if (template) {
+                boolean leavingTemplateParam = false;
+                if (codePoint == '{') {
+                    insideTemplateParam = true;
+                } else if (codePoint == '}') {
+                    insideTemplateParam = false;
+                    leavingTemplateParam = true;
+                }
+                if (insideTemplateParam || leavingTemplateParam) {
+                    if (Character.isHighSurrogate((char) codePoint)) {
+                        codePoint = s.codePointAt(offset);
                     }
-                    offset += 2;
                     continue;
                 }
+            }
 
-                if (sb == null) {
-                    sb = new StringBuilder();
-                    sb.append(s.substring(0, offset));
-                }
+            if (contextualEncode
+                    && codePoint == '%'
+                    && offset + 2 < s.length()
+                    && isHexCharacter(s.charAt(offset + 1))
+                    && isHexCharacter(s.charAt(offset + 2))) {
+                offset += 2;
+                continue;
+            }
 
-                if (codePoint < 0x80) {
-                    if (codePoint == ' ' && (t == Type.QUERY_PARAM)) {
-                        sb.append('+');
-                    } else {
-                        appendPercentEncodedOctet(sb, (char) codePoint);
-                    }
+            sb.append(s, run, offset);
+            if (codePoint < 0x80) {
+                if (codePoint == ' ' && (t == Type.QUERY_PARAM)) {
+                    sb.append('+');
                 } else {
-                    appendUTF8EncodedCharacter(sb, codePoint);
+                    appendPercentEncodedOctet(sb, codePoint);
                 }
+            } else {
+                codePoint = s.codePointAt(offset);
+                appendUTF8EncodedCharacter(sb, codePoint);
             }
+            run = offset + Character.charCount(codePoint);
         }
-
-        return (sb == null) ? s : sb.toString();
+        return sb.append(s, run, s.length());
     }
 
     private static final char[] HEX_DIGITS = {
@@ -331,11 +380,21 @@ public class UriComponent {
     }
 
     private static void appendUTF8EncodedCharacter(final StringBuilder sb, final int codePoint) {
-        final CharBuffer chars = CharBuffer.wrap(Character.toChars(codePoint));
-        final ByteBuffer bytes = UTF_8_CHARSET.encode(chars);
-
-        while (bytes.hasRemaining()) {
-            appendPercentEncodedOctet(sb, bytes.get() & 0xFF);
+        if (codePoint < 0x800) {
+            appendPercentEncodedOctet(sb, 0xC0 | (codePoint >> 6));
+            appendPercentEncodedOctet(sb, 0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000 && Character.isSurrogate((char) codePoint)) {
+            // Unpaired surrogate cannot be encoded, the UTF-8 encoder replaces it with '?'.
+            appendPercentEncodedOctet(sb, '?');
+        } else if (codePoint < 0x10000) {
+            appendPercentEncodedOctet(sb, 0xE0 | (codePoint >> 12));
+            appendPercentEncodedOctet(sb, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendPercentEncodedOctet(sb, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendPercentEncodedOctet(sb, 0xF0 | (codePoint >> 18));
+            appendPercentEncodedOctet(sb, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendPercentEncodedOctet(sb, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendPercentEncodedOctet(sb, 0x80 | (codePoint & 0x3F));
         }
     }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,6 +18,7 @@ package org.glassfish.jersey.uri;
 
 import java.net.URI;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
@@ -28,6 +29,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.internal.guava.Preconditions;
 import org.glassfish.jersey.uri.internal.UriTemplateParser;
 
@@ -125,6 +128,23 @@ public class UriTemplate {
          *                                            does not support {@code null} values.
          */
         public String valueFor(String templateVariable, String matchedGroup);
+
+        /**
+         * Append a value for a given template variable to the URI string builder.
+         *
+         * @param templateVariable template variable.
+         * @param matchedGroup     matched group string for a given template variable.
+         * @param builder          URI string builder.
+         *
+         * @throws java.lang.IllegalArgumentException in case no value has been found and the strategy
+         *                                            does not support {@code null} values.
+         */
+        default void appendValue(String templateVariable, String matchedGroup, StringBuilder builder) {
+            final String value = valueFor(templateVariable, matchedGroup);
+            if (value != null) {
+                builder.append(value);
+            }
+        }
     }
 
     /**
@@ -132,6 +152,19 @@ public class UriTemplate {
      */
     private static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{([\\w\\?;][-\\w\\.,]*)\\}");
 
+    /**
+     * Maximum number of compiled URI component templates kept in the {@link #COMPILED_TEMPLATES cache}.
+     */
+    private static final int COMPILED_TEMPLATES_CACHE_SIZE = 1024;
+
+    /**
+     * Compiled URI component templates keyed by the template string. Once the cache is full, the least recently
+     * used templates are evicted.
+     */
+    private static final Cache<String, CompiledTemplate> COMPILED_TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(COMPILED_TEMPLATES_CACHE_SIZE)
+            .build();
+
     /**
      * The empty URI template that matches the {@code null} or empty URI path.
      */
@@ -174,6 +207,11 @@ public class UriTemplate {
      */
     private final int numOfCharacters;
 
+    /**
+     * The normalized URI template compiled for template value substitution, created lazily.
+     */
+    private volatile CompiledTemplate compiledTemplate;
+
     /**
      * Constructor for {@code NULL} template.
      */
@@ -547,7 +585,7 @@ public class UriTemplate {
      */
     public final String createURI(final Map<String, String> values) {
         final StringBuilder sb = new StringBuilder();
-        resolveTemplate(normalizedTemplate, sb, new TemplateValueStrategy() {
+        getCompiledTemplate().resolve(sb, new TemplateValueStrategy() {
             @Override
             public String valueFor(String templateVariable, String matchedGroup) {
                 return values.get(templateVariable);
@@ -611,52 +649,134 @@ public class UriTemplate {
         };
 
         final StringBuilder sb = new StringBuilder();
-        resolveTemplate(normalizedTemplate, sb, ns);
+        getCompiledTemplate().resolve(sb, ns);
         return sb.toString();
     }
 
+    private CompiledTemplate getCompiledTemplate() {
+        CompiledTemplate compiled = compiledTemplate;
+        if (compiled == null) {
+            compiled = new CompiledTemplate(normalizedTemplate);
+            compiledTemplate = compiled;
+        }
+        return compiled;
+    }
+
     /**
-     * Build a URI based on the parameters provided by the variable name strategy.
+     * Get a compiled form of a (not normalized) URI component template.
      *
-     * @param normalizedTemplate normalized URI template. A normalized template is a template without any explicit regular
-     *                           expressions.
-     * @param builder            URI string builder to be used.
-     * @param valueStrategy      The template value producer strategy to use.
+     * @param template URI component template.
+     * @param cache    if {@code true} a newly compiled template is put into the cache, otherwise the cache
+     *                 is only looked up. Templates that are likely to be used just once (e.g. partially
+     *                 resolved templates containing concrete values) should not be cached.
+     * @return compiled template, possibly cached.
+     */
+    private static CompiledTemplate compile(final String template, final boolean cache) {
+        CompiledTemplate compiled = COMPILED_TEMPLATES.getIfPresent(template);
+        if (compiled == null) {
+            compiled = new CompiledTemplate(new UriTemplateParser(template).getNormalizedTemplate());
+            if (cache) {
+                COMPILED_TEMPLATES.put(template, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Normalized URI template split into literal parts and template variables, so that URIs can be built
+     * from the template without matching the template against the template variable pattern again.
      */
-    private static void resolveTemplate(
-            String normalizedTemplate,
-            StringBuilder builder,
-            TemplateValueStrategy valueStrategy) {
-        // Find all template variables
-        Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
-
-        int i = 0;
-        while (m.find()) {
-            builder.append(normalizedTemplate, i, m.start());
-            String variableName = m.group(1);
-            // TODO matrix
-            char firstChar = variableName.charAt(0);
-            if (firstChar == '?' || firstChar == ';') {
-                final char prefix;
+    private static final class CompiledTemplate {
+
+        /**
+         * Literal parts of the template; the literal part {@code i} precedes the template variable {@code i},
+         * the last literal part follows the last template variable.
+         */
+        private final String[] literals;
+        /**
+         * Matched groups of the template variables, i.e. the template variables including the curly brackets.
+         */
+        private final String[] groups;
+        /**
+         * Names of the template variables. For query ({@code '?'}) and matrix ({@code ';'}) template variables the
+         * names of all the variables declared in the template variable.
+         */
+        private final String[][] names;
+        /**
+         * Prefix of query ({@code '?'}) or matrix ({@code ';'}) template variables, {@code 0} for simple ones.
+         */
+        private final char[] prefixes;
+
+        /**
+         * Compile the normalized URI template.
+         *
+         * @param normalizedTemplate normalized URI template. A normalized template is a template without any explicit
+         *                           regular expressions.
+         */
+        private CompiledTemplate(final String normalizedTemplate) {
+            final List<String> literalList = new ArrayList<>();
+            final List<String> groupList = new ArrayList<>();
+            final List<String[]> nameList = new ArrayList<>();
+            final StringBuilder prefixList = new StringBuilder();
+
+            final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
+            int i = 0;
+            while (m.find()) {
+                literalList.add(normalizedTemplate.substring(i, m.start()));
+                groupList.add(m.group());
+
+                final String variableName = m.group(1);
+                final char firstChar = variableName.charAt(0);
+                if (firstChar == '?' || firstChar == ';') {
+                    prefixList.append(firstChar);
+                    nameList.add(variableName.substring(1).split(", ?"));
+                } else {
+                    prefixList.append((char) 0);
+                    nameList.add(new String[] {variableName});
+                }
+                i = m.end();
+            }
+            literalList.add(normalizedTemplate.substring(i));
+
+            this.literals = literalList.toArray(new String[literalList.size()]);
+            this.groups = groupList.toArray(new String[groupList.size()]);
+            this.names = nameList.toArray(new String[nameList.size()][]);
+            this.prefixes = prefixList.toString().toCharArray();
+        }
+
+        /**
+         * Build a URI based on the parameters provided by the variable name strategy.
+         *
+         * @param builder       URI string builder to be used.
+         * @param valueStrategy The template value producer strategy to use.
+         */
+        private void resolve(final StringBuilder builder, final TemplateValueStrategy valueStrategy) {
+            for (int v = 0; v < groups.length; v++) {
+                builder.append(literals[v]);
+
+                final char prefix = prefixes[v];
+                if (prefix == 0) {
+                    valueStrategy.appendValue(names[v][0], groups[v], builder);
+                    continue;
+                }
+
+                // TODO matrix
                 final char separator;
                 final String emptyValueAssignment;
-                if (firstChar == '?') {
+                if (prefix == '?') {
                     // query
-                    prefix = '?';
                     separator = '&';
                     emptyValueAssignment = "=";
                 } else {
                     // matrix
-                    prefix = ';';
                     separator = ';';
                     emptyValueAssignment = "";
                 }
 
-                int index = builder.length();
-                String[] variables = variableName.substring(1).split(", ?");
-                for (String variable : variables) {
+                final int index = builder.length();
+                for (final String variable : names[v]) {
                     try {
-                        String value = valueStrategy.valueFor(variable, m.group());
+                        final String value = valueStrategy.valueFor(variable, groups[v]);
                         if (value != null) {
                             if (index != builder.length()) {
                                 builder.append(separator);
@@ -670,7 +790,7 @@ public class UriTemplate {
                                 builder.append(value);
                             }
                         }
-                    } catch (IllegalArgumentException ex) {
+                    } catch (final IllegalArgumentException ex) {
                         // no value found => ignore the variable
                     }
                 }
@@ -678,17 +798,9 @@ public class UriTemplate {
                 if (index != builder.length() && (index == 0 || builder.charAt(index - 1) != prefix)) {
                     builder.insert(index, prefix);
                 }
-            } else {
-                String value = valueStrategy.valueFor(variableName, m.group());
-
-                if (value != null) {
-                    builder.append(value);
-                }
             }
-
-            i = m.end();
+            builder.append(literals[groups.length]);
         }
-        builder.append(normalizedTemplate, i, normalizedTemplate.length());
     }
 
     @Override
@@ -756,16 +868,48 @@ public class UriTemplate {
             final String path, final String query, final String fragment,
             final Map<String, ?> values, final boolean encode, final boolean encodeSlashInPath) {
 
-        Map<String, String> stringValues = new HashMap<String, String>();
-        for (Map.Entry<String, ?> e : values.entrySet()) {
-            if (e.getValue() != null) {
-                stringValues.put(e.getKey(), e.getValue().toString());
-            }
-        }
+        return createURI(scheme, authority, userInfo, host, port, path, query, fragment, values, encode, encodeSlashInPath, true);
+    }
+
+    /**
+     * Construct a URI from the component parts each of which may contain
+     * template variables.
+     * <p>
+     * A template values is an Object instance MUST support the toString()
+     * method to convert the template value to a String instance.
+     * </p>
+     *
+     * @param scheme            the URI scheme component.
+     * @param authority         the URI authority component.
+     * @param userInfo          the URI user info component.
+     * @param host              the URI host component.
+     * @param port              the URI port component.
+     * @param path              the URI path component.
+     * @param query             the URI query component.
+     * @param fragment          the URI fragment component.
+     * @param values            the template variable to value map.
+     * @param encode            if true encode a template value according to the correspond
+     *                          component type of the associated template variable, otherwise
+     *                          contextually encode the template value.
+     * @param encodeSlashInPath if {@code true}, the slash ({@code '/'}) characters
+     *                          in parameter values will be encoded if the template
+     *                          is placed in the URI path component, otherwise the slash
+     *                          characters will not be encoded in path templates.
+     * @param cacheTemplates    if {@code true} the compiled component templates are cached for reuse,
+     *                          otherwise only already cached templates are reused.
+     * @return a URI.
+     * @since 2.29
+     */
+    public static String createURI(
+            final String scheme, String authority,
+            final String userInfo, final String host, final String port,
+            final String path, final String query, final String fragment,
+            final Map<String, ?> values, final boolean encode, final boolean encodeSlashInPath,
+            final boolean cacheTemplates) {
 
-        return createURIWithStringValues(scheme, authority,
-                userInfo, host, port, path, query, fragment,
-                stringValues, encode, encodeSlashInPath);
+        // Template values are converted to strings when used; null values are treated as missing.
+        return createURIWithStringValues(scheme, authority, userInfo, host, port, path, query, fragment,
+                EMPTY_VALUES, encode, encodeSlashInPath, cacheTemplates, values);
     }
 
     /**
@@ -801,7 +945,8 @@ public class UriTemplate {
             final Map<String, ?> values, final boolean encode, final boolean encodeSlashInPath) {
 
         return createURIWithStringValues(
-                scheme, authority, userInfo, host, port, path, query, fragment, EMPTY_VALUES, encode, encodeSlashInPath, values);
+                scheme, authority, userInfo, host, port, path, query, fragment, EMPTY_VALUES, encode, encodeSlashInPath, true,
+                values);
     }
 
     /**
@@ -837,17 +982,50 @@ public class UriTemplate {
             final String path, final String query, final String fragment,
             final Object[] values, final boolean encode, final boolean encodeSlashInPath) {
 
-        String[] stringValues = new String[values.length];
-        for (int i = 0; i < values.length; i++) {
-            if (values[i] != null) {
-                stringValues[i] = values[i].toString();
-            }
-        }
+        return createURI(scheme, authority, userInfo, host, port, path, query, fragment, values, encode, encodeSlashInPath, true);
+    }
 
-        return createURIWithStringValues(
-                scheme, authority,
-                userInfo, host, port, path, query, fragment,
-                stringValues, encode, encodeSlashInPath);
+    /**
+     * Construct a URI from the component parts each of which may contain
+     * template variables.
+     * <p>
+     * The template values are an array of Object and each Object instance
+     * MUST support the toString() method to convert the template value to
+     * a String instance.
+     * </p>
+     *
+     * @param scheme            the URI scheme component.
+     * @param authority         the URI authority component.
+     * @param userInfo          the URI user info component.
+     * @param host              the URI host component.
+     * @param port              the URI port component.
+     * @param path              the URI path component.
+     * @param query             the URI query component.
+     * @param fragment          the URI fragment component.
+     * @param values            the array of template values.
+     * @param encode            if true encode a template value according to the correspond
+     *                          component type of the associated template variable, otherwise
+     *                          contextually encode the template value.
+     * @param encodeSlashInPath if {@code true}, the slash ({@code '/'}) characters
+     *                          in parameter values will be encoded if the template
+     *                          is placed in the URI path component, otherwise the slash
+     *                          characters will not be encoded in path templates.
+     * @param cacheTemplates    if {@code true} the compiled component templates are cached for reuse,
+     *                          otherwise only already cached templates are reused.
+     * @return a URI.
+     * @since 2.29
+     */
+    public static String createURI(
+            final String scheme, String authority,
+            final String userInfo, final String host, final String port,
+            final String path, final String query, final String fragment,
+            final Object[] values, final boolean encode, final boolean encodeSlashInPath,
+            final boolean cacheTemplates) {
+
+        // Template values are converted to strings when used.
+        final Map<String, Object> mapValues = new HashMap<String, Object>();
+        return createURIWithStringValues(scheme, authority, userInfo, host, port, path, query, fragment,
+                values, encode, encodeSlashInPath, cacheTemplates, mapValues);
     }
 
     /**
@@ -880,20 +1058,21 @@ public class UriTemplate {
 
         final Map<String, Object> mapValues = new HashMap<String, Object>();
         return createURIWithStringValues(
-                scheme, authority, userInfo, host, port, path, query, fragment, values, encode, encodeSlashInPath, mapValues);
+                scheme, authority, userInfo, host, port, path, query, fragment, values, encode, encodeSlashInPath, true,
+                mapValues);
     }
 
     private static String createURIWithStringValues(
             final String scheme, final String authority, final String userInfo, final String host, final String port,
-            final String path, final String query, final String fragment, final String[] values, final boolean encode,
-            final boolean encodeSlashInPath, final Map<String, ?> mapValues) {
+            final String path, final String query, final String fragment, final Object[] values, final boolean encode,
+            final boolean encodeSlashInPath, final boolean cacheTemplates, final Map<String, ?> mapValues) {
 
-        final StringBuilder sb = new StringBuilder();
+        final StringBuilder sb = new StringBuilder(64);
         int offset = 0;
 
         if (scheme != null) {
             offset = createUriComponent(UriComponent.Type.SCHEME, scheme, values,
-                    offset, false, mapValues, sb);
+                    offset, false, cacheTemplates, mapValues, sb);
             sb.append(':');
         }
 
@@ -904,27 +1083,27 @@ public class UriTemplate {
 
             if (notEmpty(userInfo)) {
                 offset = createUriComponent(UriComponent.Type.USER_INFO, userInfo, values,
-                        offset, encode, mapValues, sb);
+                        offset, encode, cacheTemplates, mapValues, sb);
                 sb.append('@');
             }
 
             if (notEmpty(host)) {
                 // TODO check IPv6 address
                 offset = createUriComponent(UriComponent.Type.HOST, host, values,
-                        offset, encode, mapValues, sb);
+                        offset, encode, cacheTemplates, mapValues, sb);
             }
 
             if (notEmpty(port)) {
                 sb.append(':');
                 offset = createUriComponent(UriComponent.Type.PORT, port, values,
-                        offset, false, mapValues, sb);
+                        offset, false, cacheTemplates, mapValues, sb);
             }
         } else if (notEmpty(authority)) {
             hasAuthority = true;
             sb.append("//");
 
             offset = createUriComponent(UriComponent.Type.AUTHORITY, authority, values,
-                    offset, encode, mapValues, sb);
+                    offset, encode, cacheTemplates, mapValues, sb);
         }
 
         if (notEmpty(path) || notEmpty(query) || notEmpty(fragment)) {
@@ -938,19 +1117,19 @@ public class UriTemplate {
                 UriComponent.Type t = (encodeSlashInPath) ? UriComponent.Type.PATH_SEGMENT : UriComponent.Type.PATH;
 
                 offset = createUriComponent(t, path, values,
-                        offset, encode, mapValues, sb);
+                        offset, encode, cacheTemplates, mapValues, sb);
             }
 
             if (notEmpty(query)) {
                 sb.append('?');
                 offset = createUriComponent(UriComponent.Type.QUERY_PARAM, query, values,
-                        offset, encode, mapValues, sb);
+                        offset, encode, cacheTemplates, mapValues, sb);
             }
 
             if (notEmpty(fragment)) {
                 sb.append('#');
                 createUriComponent(UriComponent.Type.FRAGMENT, fragment, values,
-                        offset, encode, mapValues, sb);
+                        offset, encode, cacheTemplates, mapValues, sb);
             }
         }
         return sb.toString();
@@ -962,10 +1141,11 @@ public class UriTemplate {
 
     @SuppressWarnings("unchecked")
     private static int createUriComponent(final UriComponent.Type componentType,
-                                          String template,
-                                          final String[] values,
+                                          final String template,
+                                          final Object[] values,
                                           final int valueOffset,
                                           final boolean encode,
+                                          final boolean cacheTemplates,
                                           final Map<String, ?> _mapValues,
                                           final StringBuilder b) {
 
@@ -976,16 +1156,10 @@ public class UriTemplate {
             return valueOffset;
         }
 
-        // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-
-
         class ValuesFromArrayStrategy implements TemplateValueStrategy {
             private int offset = valueOffset;
 
-            @Override
-            public String valueFor(String templateVariable, String matchedGroup) {
-
+            private String value(final String templateVariable) {
                 Object value = mapValues.get(templateVariable);
                 if (value == null && offset < values.length) {
                     value = values[offset++];
@@ -995,15 +1169,30 @@ public class UriTemplate {
                     throw new IllegalArgumentException(
                             String.format("The template variable '%s' has no value", templateVariable));
                 }
+                return value.toString();
+            }
+
+            @Override
+            public String valueFor(String templateVariable, String matchedGroup) {
+                if (encode) {
+                    return UriComponent.encode(value(templateVariable), componentType);
+                } else {
+                    return UriComponent.contextualEncode(value(templateVariable), componentType);
+                }
+            }
+
+            @Override
+            public void appendValue(String templateVariable, String matchedGroup, StringBuilder builder) {
+                // Encode the value directly into the URI string builder.
                 if (encode) {
-                    return UriComponent.encode(value.toString(), componentType);
+                    UriComponent.encode(builder, value(templateVariable), componentType, false);
                 } else {
-                    return UriComponent.contextualEncode(value.toString(), componentType);
+                    UriComponent.contextualEncode(builder, value(templateVariable), componentType, false);
                 }
             }
         }
         ValuesFromArrayStrategy cs = new ValuesFromArrayStrategy();
-        resolveTemplate(template, b, cs);
+        compile(template, cacheTemplates).resolve(b, cs);
 
         return cs.offset;
     }
@@ -1033,11 +1222,9 @@ public class UriTemplate {
 
         final Map<String, Object> mapValues = (Map<String, Object>) _mapValues;
 
-        // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-
         StringBuilder sb = new StringBuilder();
-        resolveTemplate(template, sb, new TemplateValueStrategy() {
+        // Builders resolve templates partially one by one, so the template is often a previous partial result.
+        compile(template, false).resolve(sb, new TemplateValueStrategy() {
             @Override
             public String valueFor(String templateVariable, String matchedGroup) {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -70,6 +70,9 @@ public class JerseyUriBuilder extends UriBuilder {
 
     private String fragment;
 
+    // Templates resolved from template values contain concrete values and are not worth caching.
+    private boolean partiallyResolved;
+
     /**
      * Create new implementation of {@code UriBuilder}.
      */
@@ -90,6 +93,7 @@ public class JerseyUriBuilder extends UriBuilder {
         this.query = new StringBuilder(that.query);
         this.queryParams = that.queryParams == null ? null : new MultivaluedStringMap(that.queryParams);
         this.fragment = that.fragment;
+        this.partiallyResolved = that.partiallyResolved;
     }
 
     @SuppressWarnings("CloneDoesntCallSuperClone")
@@ -463,7 +467,7 @@ public class JerseyUriBuilder extends UriBuilder {
 
                 final String stringValue = value.toString();
                 if (!stringValue.isEmpty()) {
-                    path.append('=').append(encode(stringValue, UriComponent.Type.MATRIX_PARAM));
+                    encode(path.append('='), stringValue, UriComponent.Type.MATRIX_PARAM);
                 }
             }
         } else {
@@ -517,7 +521,7 @@ public class JerseyUriBuilder extends UriBuilder {
         checkSsp();
         this.query.setLength(0);
         if (query != null) {
-            this.query.append(encode(query, UriComponent.Type.QUERY));
+            encode(this.query, query, UriComponent.Type.QUERY);
         }
         return this;
     }
@@ -547,7 +551,7 @@ public class JerseyUriBuilder extends UriBuilder {
                     throw new IllegalArgumentException(LocalizationMessages.QUERY_PARAM_NULL());
                 }
 
-                query.append('=').append(encode(value.toString(), UriComponent.Type.QUERY_PARAM));
+                encode(query.append('='), value.toString(), UriComponent.Type.QUERY_PARAM);
             }
         } else {
             for (final Object value : values) {
@@ -674,6 +678,7 @@ public class JerseyUriBuilder extends UriBuilder {
 
         fragment = UriTemplate.resolveTemplateValues(UriComponent.Type.FRAGMENT, fragment, encode, templateValues);
 
+        partiallyResolved = true;
         return this;
     }
 
@@ -772,6 +777,10 @@ public class JerseyUriBuilder extends UriBuilder {
         return UriComponent.contextualEncode(s, type, true);
     }
 
+    private static void encode(final StringBuilder sb, final String s, final UriComponent.Type type) {
+        UriComponent.contextualEncode(sb, s, type, true);
+    }
+
     @Override
     public URI buildFromMap(final Map<String, ?> values) {
         return _buildFromMap(true, true, values);
@@ -798,7 +807,7 @@ public class JerseyUriBuilder extends UriBuilder {
         final String uri = UriTemplate.createURI(
                 scheme, authority,
                 userInfo, host, port,
-                path.toString(), query.toString(), fragment, values, encode, encodeSlashInPath);
+                path.toString(), query.toString(), fragment, values, encode, encodeSlashInPath, !partiallyResolved);
         return createURI(uri);
     }
 
@@ -890,7 +899,7 @@ public class JerseyUriBuilder extends UriBuilder {
         final String uri = UriTemplate.createURI(
                 scheme, authority,
                 userInfo, host, port,
-                path.toString(), query.toString(), fragment, values, encode, encodeSlashInPath);
+                path.toString(), query.toString(), fragment, values, encode, encodeSlashInPath, !partiallyResolved);
         return createURI(uri);
     }
 
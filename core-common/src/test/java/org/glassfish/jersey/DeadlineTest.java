@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.internal.util.collection.Refs;
+import org.glassfish.jersey.process.internal.Stage;
+import org.glassfish.jersey.process.internal.Stages;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link Deadline} unit tests.
+ */
+public class DeadlineTest {
+
+    @Test
+    public void testRemainingTime() {
+        final Deadline later = Deadline.after(1, TimeUnit.HOURS);
+        final Deadline expired = Deadline.after(-1, TimeUnit.SECONDS);
+
+        assertFalse(later.isExpired());
+        assertTrue(later.timeRemaining(TimeUnit.MINUTES) > 58);
+        assertTrue(expired.isExpired());
+        assertEquals(0, expired.timeRemaining(TimeUnit.NANOSECONDS));
+
+        assertSame(expired, later.earliest(expired));
+        assertSame(expired, expired.earliest(later));
+        assertSame(later, later.earliest(null));
+    }
+
+    @Test
+    public void testAttachAndRestore() {
+        final Deadline outer = Deadline.after(1, TimeUnit.HOURS);
+        final Deadline inner = Deadline.after(1, TimeUnit.MINUTES);
+
+        assertNull(Deadline.attach(outer));
+        try {
+            assertSame(outer, Deadline.attach(inner));
+            assertSame(inner, Deadline.current());
+            Deadline.restore(outer);
+            assertSame(outer, Deadline.current());
+        } finally {
+            Deadline.restore(null);
+        }
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    public void testStagesCheckDeadline() {
+        final Stage<String> stage = Stages.asStage(data -> data);
+        final Deadline expired = Deadline.after(0, TimeUnit.MILLISECONDS);
+        assertEquals("data", Stages.process("data", stage, Refs.emptyRef(), null));
+        assertEquals("data", Stages.process("data", stage, Refs.emptyRef(), Deadline.after(1, TimeUnit.HOURS)));
+
+        try {
+            Stages.process("data", stage, Refs.emptyRef(), expired);
+            fail("Processing should fail once the deadline expired.");
+        } catch (final DeadlineExceededException expected) {
+            // expected
+        }
+
+        // deadline attached to the thread is not checked by stage chains not bound to it, e.g. on the client side
+        final Deadline previous = Deadline.attach(expired);
+        try {
+            assertEquals("data", Stages.process("data", stage));
+        } finally {
+            Deadline.restore(previous);
+        }
+    }
+}
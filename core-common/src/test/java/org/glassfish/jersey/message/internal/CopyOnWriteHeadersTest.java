@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link CopyOnWriteHeaders} unit tests.
+ */
+public class CopyOnWriteHeadersTest {
+
+    private static CopyOnWriteHeaders headers() {
+        final Map<String, List<String>> nativeHeaders = new LinkedHashMap<>();
+        nativeHeaders.put("Accept", Arrays.asList("text/plain", "text/html"));
+        nativeHeaders.put("Host", Collections.singletonList("localhost"));
+
+        return new CopyOnWriteHeaders(new CopyOnWriteHeaders.Source() {
+            @Override
+            public Iterable<String> names() {
+                return nativeHeaders.keySet();
+            }
+
+            @Override
+            public List<String> get(final String name) {
+                for (final Map.Entry<String, List<String>> header : nativeHeaders.entrySet()) {
+                    if (header.getKey().equalsIgnoreCase(name)) {
+                        return header.getValue();
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    @Test
+    public void testReadWithoutCopy() {
+        final CopyOnWriteHeaders headers = headers();
+
+        assertEquals("localhost", headers.getFirst("host"));
+        assertEquals(Arrays.asList("text/plain", "text/html"), headers.get("ACCEPT"));
+        assertTrue(headers.containsKey("Accept"));
+        assertFalse(headers.containsKey("Cookie"));
+        assertNull(headers.get("Cookie"));
+        assertFalse(headers.isEmpty());
+        assertFalse(headers.isCopied());
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        final CopyOnWriteHeaders headers = headers();
+
+        headers.add("accept", "application/json");
+        headers.remove("Host");
+
+        assertTrue(headers.isCopied());
+        assertEquals(Arrays.asList("text/plain", "text/html", "application/json"), headers.get("Accept"));
+        assertNull(headers.get("host"));
+        assertEquals(1, headers.size());
+    }
+
+    @Test
+    public void testCopyOnIteration() {
+        final CopyOnWriteHeaders headers = headers();
+
+        assertEquals(2, headers.entrySet().size());
+        assertTrue(headers.isCopied());
+    }
+
+    @Test
+    public void testValuesCopyOnWrite() {
+        final CopyOnWriteHeaders headers = headers();
+
+        final List<String> accept = headers.get("Accept");
+        accept.add("application/json");
+        assertTrue(headers.isCopied());
+        assertEquals(Arrays.asList("text/plain", "text/html", "application/json"), headers.get("accept"));
+
+        headers.get("Accept").remove("text/plain");
+        assertEquals(Arrays.asList("text/html", "application/json"), accept);
+    }
+
+    @Test
+    public void testDetach() {
+        final Map<String, List<String>> nativeHeaders = new LinkedHashMap<>();
+        nativeHeaders.put("Host", Collections.singletonList("localhost"));
+        final CopyOnWriteHeaders headers = new CopyOnWriteHeaders(new CopyOnWriteHeaders.Source() {
+            @Override
+            public Iterable<String> names() {
+                return nativeHeaders.keySet();
+            }
+
+            @Override
+            public List<String> get(final String name) {
+                return nativeHeaders.get(name);
+            }
+        });
+
+        final List<String> host = headers.get("Host");
+        headers.detach();
+        // the container recycles its request
+        nativeHeaders.clear();
+
+        assertTrue(headers.isCopied());
+        assertEquals("localhost", headers.getFirst("Host"));
+        assertEquals(Collections.singletonList("localhost"), host);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.text.ParseException;
+import java.util.Date;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link HttpDateFormat} unit tests.
+ */
+public class HttpDateFormatTest {
+
+    private static final String RFC1123_DATE = "Sun, 06 Nov 1994 08:49:37 GMT";
+
+    @Test
+    public void testReadSupportedFormats() throws Exception {
+        final Date expected = HttpDateFormat.getPreferredDateFormat().parse(RFC1123_DATE);
+
+        assertEquals(expected, HttpDateFormat.readDate(RFC1123_DATE));
+        assertEquals(expected, HttpDateFormat.readDate("Sunday, 06-Nov-94 08:49:37 GMT"));
+        assertEquals(expected, HttpDateFormat.readDate("Sun Nov  6 08:49:37 1994"));
+        assertEquals(expected, HttpDateFormat.readDate("Sun, 6 Nov 1994 00:49:37 PST"));
+    }
+
+    @Test
+    public void testFormatDate() throws Exception {
+        final Date date = HttpDateFormat.readDate(RFC1123_DATE);
+
+        assertEquals(RFC1123_DATE, HttpDateFormat.formatDate(date));
+        assertEquals(HttpDateFormat.getPreferredDateFormat().format(date), HttpDateFormat.formatDate(date));
+
+        // Dates within the same second share the formatted value.
+        assertSame(HttpDateFormat.formatDate(date), HttpDateFormat.formatDate(new Date(date.getTime() + 999)));
+        assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", HttpDateFormat.formatDate(new Date(date.getTime() + 1000)));
+    }
+
+    @Test(expected = ParseException.class)
+    public void testReadInvalidDate() throws Exception {
+        HttpDateFormat.readDate("06 Nov 1994, 08:49");
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -374,6 +374,32 @@ public class UriComponentTest {
 
     }
 
+    @Test
+    public void testEncodeToStringBuilder() {
+        final StringBuilder sb = new StringBuilder("/prefix/");
+        UriComponent.encode(sb, "a b/\u00a9\u20ac\ud83d\udc4d", UriComponent.Type.PATH_SEGMENT, false);
+        assertEquals("/prefix/a%20b%2F%C2%A9%E2%82%AC%F0%9F%91%8D", sb.toString());
+
+        sb.setLength(0);
+        UriComponent.contextualEncode(sb, "a b%20{x y}", UriComponent.Type.QUERY_PARAM, true);
+        assertEquals("a+b%20{x y}", sb.toString());
+
+        // Unpaired surrogate is replaced by '?'.
+        assertEquals("a%3Fb", UriComponent.encode("a\ud83db", UriComponent.Type.PATH));
+        assertEquals("abc", UriComponent.encode("abc", UriComponent.Type.PATH));
+    }
+
+    @Test
+    public void testEncodeSupplementaryCodePoints() {
+        // Low 16 bits of U+2D800 and U+1D800 fall in the surrogate range.
+        assertEquals("%F0%AD%A0%80%F0%9D%A0%80%F0%9F%98%80",
+                UriComponent.encode("\ud876\udc00\ud836\udc00\ud83d\ude00", UriComponent.Type.PATH));
+
+        final StringBuilder sb = new StringBuilder();
+        UriComponent.encode(sb, "a\ud836\udc00b", UriComponent.Type.QUERY_PARAM, false);
+        assertEquals("a%F0%9D%A0%80b", sb.toString());
+    }
+
     @Test
     public void testEncodeTemplateNames() {
         assertEquals("%7Bfoo%7D", UriComponent.encodeTemplateNames("{foo}"));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,6 +34,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Taken from Jersey 1: jersey-tests: com.sun.jersey.impl.uri.UriTemplateTest
@@ -750,6 +751,58 @@ public class UriTemplateTest {
         // TODO assertEncodedPathTemplateExpansion(";semi=%3B;dot=.;comma=%2C", "{;keys*}", keys);
     }
 
+    @Test
+    public void testCompiledTemplateExpansion() {
+        final String pathTemplate = "/orders/{id: [0-9]+}/items/{item}/{id}";
+
+        // The compiled template is reused for different values.
+        for (int i = 0; i < 3; i++) {
+            assertEquals("/orders/" + i + "/items/a%20b%2Fc/" + i,
+                    UriTemplate.createURI(null, null, null, null, null, pathTemplate, null, null,
+                            new Object[] {i, "a b/c"}, true, true));
+        }
+        assertEquals("/orders/1/items/a%20b/c/1",
+                UriTemplate.createURI(null, null, null, null, null, pathTemplate, null, null,
+                        new Object[] {1, "a b/c"}, true, false));
+        assertEquals("/orders/1/items/%C2%A9%25/1",
+                UriTemplate.createURI(null, null, null, null, null, pathTemplate, null, null,
+                        new Object[] {1, "\u00a9%"}, true, true));
+        assertEquals("/orders/1/items/%C2%A9%25/1",
+                UriTemplate.createURI(null, null, null, null, null, pathTemplate, null, null,
+                        new Object[] {1, "\u00a9%25"}, false, true));
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("id", 2);
+        values.put("item", "x");
+        assertEquals("/orders/2/items/x/2",
+                UriTemplate.createURI(null, null, null, null, null, pathTemplate, null, null, values, true, true));
+
+        values.put("item", null);
+        try {
+            UriTemplate.createURI(null, null, null, null, null, pathTemplate, null, null, values, true, true);
+            fail("IllegalArgumentException expected.");
+        } catch (final IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testCompiledTemplateCacheEviction() {
+        // Fill the cache beyond its capacity and check templates still expand, cached or not.
+        for (int i = 0; i < 2048; i++) {
+            assertEquals("/one-off/" + i + "/x",
+                    UriTemplate.createURI(null, null, null, null, null, "/one-off/" + i + "/{v}", null, null,
+                            new Object[] {"x"}, true, true, i % 2 == 0));
+        }
+        assertEquals("/one-off/0/y",
+                UriTemplate.createURI(null, null, null, null, null, "/one-off/0/{v}", null, null,
+                        new Object[] {"y"}, true, true));
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("a", "1");
+        assertEquals("/1/{b}", UriTemplate.resolveTemplateValues(UriComponent.Type.PATH, "/{a}/{b}", true, values));
+    }
+
     private void assertEncodedPathTemplateExpansion(final String expectedExpansion,
                                                     final String pathTemplate,
                                                     final Object... values) {
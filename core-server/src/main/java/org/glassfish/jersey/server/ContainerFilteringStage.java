@@ -17,6 +17,8 @@
 package org.glassfish.jersey.server;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -43,8 +45,15 @@ import org.glassfish.jersey.server.monitoring.RequestEvent;
  */
 class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingContext> {
 
-    private final Iterable<RankedProvider<ContainerRequestFilter>> requestFilters;
-    private final Iterable<RankedProvider<ContainerResponseFilter>> responseFilters;
+    /**
+     * Sorted global request filters, used unless a pre-computed chain of the matched resource method is available.
+     */
+    private final List<ContainerRequestFilter> sortedRequestFilters;
+    /**
+     * Sorted global response filters (pre-match stage only), used unless a pre-computed chain of the matched resource
+     * method is available.
+     */
+    private final List<ContainerResponseFilter> sortedResponseFilters;
 
     /**
      * Create a new container filtering stage specifying global request and response filters. This stage class
@@ -64,36 +73,41 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
             Iterable<RankedProvider<ContainerRequestFilter>> requestFilters,
             Iterable<RankedProvider<ContainerResponseFilter>> responseFilters) {
 
-        this.requestFilters = requestFilters;
-        this.responseFilters = responseFilters;
+        this.sortedRequestFilters = sort(new RankedComparator<>(), requestFilters);
+        this.sortedResponseFilters = responseFilters == null
+                ? null : sort(new RankedComparator<>(RankedComparator.Order.DESCENDING), responseFilters);
+    }
+
+    private static <T> List<T> sort(final RankedComparator<T> comparator, final Iterable<RankedProvider<T>> providers) {
+        final List<T> sorted = new ArrayList<>();
+        Providers.sortRankedProviders(comparator, providers).forEach(sorted::add);
+        return Collections.unmodifiableList(sorted);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Continuation<RequestProcessingContext> apply(RequestProcessingContext context) {
-        Iterable<ContainerRequestFilter> sortedRequestFilters;
-        final boolean postMatching = responseFilters == null;
+        List<ContainerRequestFilter> filters;
+        final boolean postMatching = sortedResponseFilters == null;
 
         final ContainerRequest request = context.request();
 
         final TracingLogger tracingLogger = TracingLogger.getInstance(request);
         if (postMatching) {
-            // post-matching
-            final ArrayList<Iterable<RankedProvider<ContainerRequestFilter>>> rankedProviders =
-                    new ArrayList<>(2);
-            rankedProviders.add(requestFilters);
-            rankedProviders.add(request.getRequestFilters());
-            sortedRequestFilters = Providers.mergeAndSortRankedProviders(
-                    new RankedComparator<ContainerRequestFilter>(), rankedProviders);
-
-            context.monitoringEventBuilder().setContainerRequestFilters(sortedRequestFilters);
+            // post-matching - global and bound filters are merged and sorted per resource method in advance
+            filters = request.getSortedRequestFilters();
+            if (filters == null) {
+                filters = sortedRequestFilters;
+            }
+
+            context.monitoringEventBuilder().setContainerRequestFilters(filters);
             context.triggerEvent(RequestEvent.Type.REQUEST_MATCHED);
 
         } else {
             // pre-matching (response filter stage is pushed in pre-matching phase, so that if pre-matching filter
             // throws exception, response filters get still invoked)
-            context.push(new ResponseFilterStage(context, responseFilters, tracingLogger));
-            sortedRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters);
+            context.push(new ResponseFilterStage(context, sortedResponseFilters, tracingLogger));
+            filters = sortedRequestFilters;
         }
 
         final TracingLogger.Event summaryEvent =
@@ -102,7 +116,7 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         int processedCount = 0;
         try {
             final TracingLogger.Event filterEvent = (postMatching ? ServerTraceEvent.REQUEST_FILTER : ServerTraceEvent.PRE_MATCH);
-            for (ContainerRequestFilter filter : sortedRequestFilters) {
+            for (ContainerRequestFilter filter : filters) {
                 final long filterTimestamp = tracingLogger.timestamp(filterEvent);
                 try {
                     filter.filter(request);
@@ -139,11 +153,11 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
     private static class ResponseFilterStage extends AbstractChainableStage<ContainerResponse> {
         // TODO remove the field - processing context should be made available on the response chain directly.
         private final RequestProcessingContext processingContext;
-        private final Iterable<RankedProvider<ContainerResponseFilter>> filters;
+        private final List<ContainerResponseFilter> filters;
         private final TracingLogger tracingLogger;
 
         private ResponseFilterStage(final RequestProcessingContext processingContext,
-                                    final Iterable<RankedProvider<ContainerResponseFilter>> filters,
+                                    final List<ContainerResponseFilter> filters,
                                     final TracingLogger tracingLogger) {
             this.processingContext = processingContext;
             this.filters = filters;
@@ -153,13 +167,13 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         @Override
         @SuppressWarnings("unchecked")
         public Continuation<ContainerResponse> apply(ContainerResponse responseContext) {
-            final ArrayList<Iterable<RankedProvider<ContainerResponseFilter>>> rankedProviders = new ArrayList<>(2);
-            rankedProviders.add(filters);
-            rankedProviders.add(responseContext.getRequestContext().getResponseFilters());
-            Iterable<ContainerResponseFilter> sortedResponseFilters = Providers.mergeAndSortRankedProviders(
-                    new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING), rankedProviders);
-
             final ContainerRequest request = responseContext.getRequestContext();
+
+            // global and bound filters are merged and sorted per resource method in advance
+            List<ContainerResponseFilter> sortedResponseFilters = request.getSortedResponseFilters();
+            if (sortedResponseFilters == null) {
+                sortedResponseFilters = filters;
+            }
             processingContext.monitoringEventBuilder().setContainerResponseFilters(sortedResponseFilters);
             processingContext.triggerEvent(RequestEvent.Type.RESP_FILTERS_START);
 
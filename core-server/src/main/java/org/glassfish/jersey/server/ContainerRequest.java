@@ -89,8 +89,10 @@ public class ContainerRequest extends InboundMessageContext
     private final UriRoutingContext uriRoutingContext;
     // Absolute application root URI (base URI)
     private URI baseUri;
-    // Absolute request URI
+    // Absolute request URI, created lazily if the container provided the raw request URI
     private URI requestUri;
+    // Raw absolute request URI provided by the container, null if the request URI has been provided as URI instance
+    private RawRequestUri rawRequestUri;
     // Lazily computed encoded request path (relative to application root URI)
     private String encodedRelativePath = null;
     // Lazily computed decoded request path (relative to application root URI)
@@ -113,6 +115,8 @@ public class ContainerRequest extends InboundMessageContext
     private ContainerResponseWriter responseWriter;
     // True if the request is used in the response processing phase (for example in ContainerResponseFilter)
     private boolean inResponseProcessingPhase;
+    // Point in time by which the request processing has to be finished
+    private Deadline deadline;
 
     private static final String ERROR_REQUEST_SET_ENTITY_STREAM_IN_RESPONSE_PHASE =
             LocalizationMessages.ERROR_REQUEST_SET_ENTITY_STREAM_IN_RESPONSE_PHASE();
@@ -156,6 +160,36 @@ public class ContainerRequest extends InboundMessageContext
         this.uriRoutingContext = new UriRoutingContext(this);
     }
 
+    /**
+     * Create new Jersey container request context with the request URI in its raw form.
+     * <p>
+     * The request URI is not parsed until the {@link #getRequestUri() request URI instance} is requested, the path and
+     * query components needed to route the request are taken directly from the raw request URI string.
+     * </p>
+     *
+     * @param baseUri            base application URI.
+     * @param requestUri         absolute request URI in its encoded form.
+     * @param httpMethod         request HTTP method name.
+     * @param securityContext    security context of the current request. Must not be {@code null}.
+     *                           The {@link SecurityContext#getUserPrincipal()} must return
+     *                           {@code null} if the current request has not been authenticated
+     *                           by the container.
+     * @param propertiesDelegate custom {@link PropertiesDelegate properties delegate}
+     *                           to be used by the context.
+     * @throws IllegalArgumentException in case the request URI is not an absolute hierarchical URI.
+     * @since 2.29
+     */
+    public ContainerRequest(
+            final URI baseUri,
+            final String requestUri,
+            final String httpMethod,
+            final SecurityContext securityContext,
+            final PropertiesDelegate propertiesDelegate) {
+        this(baseUri, (URI) null, httpMethod, securityContext, propertiesDelegate);
+
+        this.rawRequestUri = new RawRequestUri(requestUri);
+    }
+
     /**
      * Get a custom container extensions initializer for the current request.
      * <p/>
@@ -199,6 +233,30 @@ public class ContainerRequest extends InboundMessageContext
         this.responseWriter = responseWriter;
     }
 
+    /**
+     * Get the deadline by which the processing of the current request has to be finished.
+     *
+     * @return request processing deadline or {@code null} if the request processing is not time-bound.
+     * @see ServerProperties#REQUEST_DEADLINE_HEADER
+     * @since 2.29
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Set the deadline by which the processing of the current request has to be finished. The deadline has to be set
+     * before the request is {@link ApplicationHandler#handle(ContainerRequest) handled} in order to be enforced by Jersey
+     * server runtime; if a deadline is set the request is abandoned once it expires and the client calls made while
+     * processing the request inherit the remaining time.
+     *
+     * @param deadline request processing deadline, {@code null} if the request processing is not time-bound.
+     * @since 2.29
+     */
+    public void setDeadline(final Deadline deadline) {
+        this.deadline = deadline;
+    }
+
     /**
      * Read entity from a context entity input stream.
      *
@@ -314,6 +372,32 @@ public class ContainerRequest extends InboundMessageContext
                 ? ((ResourceMethodInvoker) inflector).getResponseFilters() : null);
     }
 
+    /**
+     * Get all global and bound request filters applicable to this request, sorted in the order of their execution.
+     * The chain is pre-computed for the matched resource method.
+     *
+     * @return All post-matching request filters applicable to the matched resource method, or {@code null} if the request
+     * has not been matched to a resource method.
+     */
+    List<ContainerRequestFilter> getSortedRequestFilters() {
+        final Inflector<RequestProcessingContext, ContainerResponse> inflector = getInflector();
+        return inflector instanceof ResourceMethodInvoker
+                ? ((ResourceMethodInvoker) inflector).getSortedRequestFilters() : null;
+    }
+
+    /**
+     * Get all global and bound response filters applicable to this request, sorted in the order of their execution.
+     * The chain is pre-computed for the matched resource method.
+     *
+     * @return All response filters applicable to the matched resource method, or {@code null} if the request
+     * has not been matched to a resource method.
+     */
+    List<ContainerResponseFilter> getSortedResponseFilters() {
+        final Inflector<RequestProcessingContext, ContainerResponse> inflector = getInflector();
+        return inflector instanceof ResourceMethodInvoker
+                ? ((ResourceMethodInvoker) inflector).getSortedResponseFilters() : null;
+    }
+
     /**
      * Get all reader interceptors applicable to this request.
      * This is populated once the right resource method is matched.
@@ -365,9 +449,22 @@ public class ContainerRequest extends InboundMessageContext
      * @return request URI.
      */
     public URI getRequestUri() {
+        if (requestUri == null && rawRequestUri != null) {
+            requestUri = rawRequestUri.toUri();
+        }
         return requestUri;
     }
 
+    /**
+     * Get the raw (encoded) query component of the request URI.
+     *
+     * @return raw query component or {@code null} if the request URI does not contain a query.
+     * @since 2.29
+     */
+    public String getRawQuery() {
+        return rawRequestUri != null ? rawRequestUri.getRawQuery() : requestUri.getRawQuery();
+    }
+
     /**
      * Get the absolute path of the request. This includes everything preceding the path (host, port etc),
      * but excludes query parameters or fragment.
@@ -379,7 +476,9 @@ public class ContainerRequest extends InboundMessageContext
             return absolutePathUri;
         }
 
-        return absolutePathUri = new JerseyUriBuilder().uri(requestUri).replaceQuery("").fragment("").build();
+        return absolutePathUri = rawRequestUri != null
+                ? rawRequestUri.getAbsolutePath()
+                : new JerseyUriBuilder().uri(requestUri).replaceQuery("").fragment("").build();
     }
 
     @Override
@@ -394,6 +493,7 @@ public class ContainerRequest extends InboundMessageContext
         this.uriRoutingContext.invalidateUriComponentViews();
 
         this.requestUri = requestUri;
+        this.rawRequestUri = null;
     }
 
     @Override
@@ -409,6 +509,7 @@ public class ContainerRequest extends InboundMessageContext
 
         this.baseUri = baseUri;
         this.requestUri = requestUri;
+        this.rawRequestUri = null;
         OutboundJaxrsResponse.Builder.setBaseUri(baseUri);
     }
 
@@ -437,7 +538,7 @@ public class ContainerRequest extends InboundMessageContext
             return encodedRelativePath;
         }
 
-        final String requestUriRawPath = requestUri.getRawPath();
+        final String requestUriRawPath = rawRequestUri != null ? rawRequestUri.getRawPath() : requestUri.getRawPath();
 
         if (baseUri == null) {
             return encodedRelativePath = requestUriRawPath;
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.net.URI;
+
+/**
+ * Absolute request URI as provided by a container in its raw (encoded) string form.
+ * <p>
+ * Path and query components are located in the raw string with a single scan and returned as substrings of the raw
+ * string, i.e. the raw URI does not need to be parsed by {@link URI} to route the request. The {@code URI} instance
+ * is created only when it is requested.
+ * </p>
+ */
+final class RawRequestUri {
+
+    private final String uri;
+    private final int pathStart;
+    private final int pathEnd;
+    private final int queryEnd;
+    private URI parsed;
+
+    /**
+     * Create new raw request URI.
+     *
+     * @param uri absolute request URI in its encoded form.
+     * @throws IllegalArgumentException in case the URI is not an absolute hierarchical URI.
+     */
+    RawRequestUri(final String uri) {
+        final int authorityStart = uri.indexOf("://");
+        if (authorityStart <= 0) {
+            throw new IllegalArgumentException(uri);
+        }
+
+        final int length = uri.length();
+        int i = authorityStart + 3;
+        while (i < length && "/?#".indexOf(uri.charAt(i)) < 0) {
+            i++;
+        }
+        this.pathStart = i;
+        while (i < length && uri.charAt(i) != '?' && uri.charAt(i) != '#') {
+            i++;
+        }
+        this.pathEnd = i;
+        if (i < length && uri.charAt(i) == '?') {
+            i = uri.indexOf('#', i);
+            this.queryEnd = i < 0 ? length : i;
+        } else {
+            this.queryEnd = -1;
+        }
+        this.uri = uri;
+    }
+
+    /**
+     * Get the raw path component, equivalent to {@link URI#getRawPath()}.
+     *
+     * @return raw path component, possibly empty.
+     */
+    String getRawPath() {
+        return uri.substring(pathStart, pathEnd);
+    }
+
+    /**
+     * Get the raw query component, equivalent to {@link URI#getRawQuery()}.
+     *
+     * @return raw query component or {@code null} if the URI does not contain a query.
+     */
+    String getRawQuery() {
+        return queryEnd < 0 ? null : uri.substring(pathEnd + 1, queryEnd);
+    }
+
+    /**
+     * Get the URI without the query and fragment components.
+     *
+     * @return absolute path URI.
+     */
+    URI getAbsolutePath() {
+        return pathEnd == uri.length() ? toUri() : URI.create(uri.substring(0, pathEnd));
+    }
+
+    /**
+     * Get the request URI instance. The instance is created on the first invocation.
+     *
+     * @return request URI.
+     * @throws IllegalArgumentException in case the raw URI violates RFC 2396.
+     */
+    URI toUri() {
+        if (parsed == null) {
+            parsed = URI.create(uri);
+        }
+        return parsed;
+    }
+
+    @Override
+    public String toString() {
+        return uri;
+    }
+}
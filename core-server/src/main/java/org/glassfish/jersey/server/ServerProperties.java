@@ -724,6 +724,29 @@ public final class ServerProperties {
     public static final String LOCATION_HEADER_RELATIVE_URI_RESOLUTION_DISABLED =
             "jersey.config.server.headers.location.relative.resolution.disabled";
 
+    /**
+     * Name of the request header carrying the time budget of a request, i.e. the number of milliseconds the client is
+     * willing to wait for the response.
+     * <p>
+     * If the property is set and a request carries the header, the {@link ContainerRequest#getDeadline() deadline} of the
+     * request is set accordingly (unless the container already set an earlier deadline). The deadline is checked between
+     * the request processing stages and before the resource method is invoked; a request that can no longer be finished
+     * in time is abandoned with {@code 503 Service Unavailable} response. Client requests invoked by Jersey client while
+     * the request is being processed synchronously inherit the remaining time budget. Header values that are not
+     * a non-negative number are ignored.
+     * </p>
+     * <p>
+     * The value MUST be an instance of {@link String}. There is no default value, i.e. request time budget headers are
+     * ignored.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String REQUEST_DEADLINE_HEADER = "jersey.config.server.deadline.header";
+
     private ServerProperties() {
         // prevents instantiation
     }
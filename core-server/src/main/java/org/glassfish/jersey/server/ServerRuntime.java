@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,6 +19,7 @@ package org.glassfish.jersey.server;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -59,9 +60,11 @@ import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.Closure;
 import org.glassfish.jersey.internal.util.Producer;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.collection.LazyValue;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Refs;
 import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundException;
 import org.glassfish.jersey.message.internal.OutboundJaxrsResponse;
@@ -120,11 +123,14 @@ public class ServerRuntime {
     private final TracingLogger.Level tracingThreshold;
 
     private final boolean processResponseErrors;
+    private final LazyValue<List<ResponseErrorMapper>> responseErrorMappers;
 
     /** Do not resolve relative URIs in the {@code Location} header */
     private final boolean disableLocationHeaderRelativeUriResolution;
     /** Resolve relative URIs according to RFC7231 (not JAX-RS 2.0 compliant */
     private final boolean rfc7231LocationHeaderRelativeUriResolution;
+    /** Name of the request header carrying the request time budget, {@code null} if not enabled */
+    private final String deadlineHeader;
 
     static ServerRuntime createServerRuntime(
             InjectionManager injectionManager,
@@ -136,8 +142,10 @@ public class ServerRuntime {
         ScheduledExecutorService scheduledExecutorServiceSupplier =
                 injectionManager.getInstance(ScheduledExecutorService.class, BackgroundSchedulerLiteral.INSTANCE);
 
-        Provider<ExecutorService> asyncExecutorServiceSupplier =
-                () -> injectionManager.getInstance(ExecutorService.class, ManagedAsyncExecutorLiteral.INSTANCE);
+        // Managed async executor is a singleton, look it up once on the first use.
+        LazyValue<ExecutorService> asyncExecutorService = Values.lazy((Value<ExecutorService>)
+                () -> injectionManager.getInstance(ExecutorService.class, ManagedAsyncExecutorLiteral.INSTANCE));
+        Provider<ExecutorService> asyncExecutorServiceSupplier = asyncExecutorService::get;
 
         return new ServerRuntime(
                 processingRoot,
@@ -180,6 +188,11 @@ public class ServerRuntime {
 
         this.processResponseErrors = PropertiesHelper.isProperty(
                 configuration.getProperty(ServerProperties.PROCESSING_RESPONSE_ERRORS_ENABLED));
+        this.responseErrorMappers = Values.lazy((Value<List<ResponseErrorMapper>>) () -> {
+            final List<ResponseErrorMapper> mappers = new ArrayList<>();
+            Providers.getAllProviders(injectionManager, ResponseErrorMapper.class).forEach(mappers::add);
+            return Collections.unmodifiableList(mappers);
+        });
 
         this.disableLocationHeaderRelativeUriResolution = ServerProperties.getValue(configuration.getProperties(),
                 ServerProperties.LOCATION_HEADER_RELATIVE_URI_RESOLUTION_DISABLED,
@@ -188,6 +201,9 @@ public class ServerRuntime {
         this.rfc7231LocationHeaderRelativeUriResolution = ServerProperties.getValue(configuration.getProperties(),
                 ServerProperties.LOCATION_HEADER_RELATIVE_URI_RESOLUTION_RFC7231,
                 Boolean.FALSE, Boolean.class);
+
+        this.deadlineHeader = ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.REQUEST_DEADLINE_HEADER, String.class);
     }
 
     /**
@@ -221,6 +237,7 @@ public class ServerRuntime {
                 monitoringEventListener);
 
         request.checkState();
+        final Deadline deadline = resolveDeadline(request);
         final Responder responder = new Responder(context, ServerRuntime.this);
         final RequestContext requestScopeInstance = requestScope.createContext();
 
@@ -241,24 +258,38 @@ public class ServerRuntime {
                         OutboundJaxrsResponse.Builder.setBaseUri(uriToUse);
                     }
 
-                    final Ref<Endpoint> endpointRef = Refs.emptyRef();
-                    final RequestProcessingContext data = Stages.process(context, requestProcessingRoot, endpointRef);
+                    final ContainerResponse response;
+                    final Deadline previousDeadline = deadline == null ? null : Deadline.attach(deadline);
+                    try {
+                        final Ref<Endpoint> endpointRef = Refs.emptyRef();
+                        final RequestProcessingContext data =
+                                Stages.process(context, requestProcessingRoot, endpointRef, deadline);
+
+                        final Endpoint endpoint = endpointRef.get();
+                        if (endpoint == null) {
+                            // not found
+                            throw new NotFoundException();
+                        }
 
-                    final Endpoint endpoint = endpointRef.get();
-                    if (endpoint == null) {
-                        // not found
-                        throw new NotFoundException();
+                        // do not invoke the resource method if the response cannot be delivered in time anyway
+                        if (deadline != null) {
+                            deadline.check();
+                        }
+                        response = endpoint.apply(data);
+                    } finally {
+                        if (deadline != null) {
+                            Deadline.restore(previousDeadline);
+                        }
                     }
 
-                    final ContainerResponse response = endpoint.apply(data);
-
                     if (!asyncResponderHolder.isAsync()) {
                         responder.process(response);
                     } else {
                         externalRequestScope.suspend(asyncResponderHolder.externalContext, injectionManager);
                     }
                 } catch (final Throwable throwable) {
-                    responder.process(throwable);
+                    final DeadlineExceededException expired = deadlineExceeded(throwable);
+                    responder.process(expired == null ? throwable : new ServiceUnavailableException(expired.getMessage()));
                 } finally {
                     asyncResponderHolder.release();
                     // clear base URI from the thread
@@ -268,6 +299,47 @@ public class ServerRuntime {
         });
     }
 
+    /**
+     * Get the deadline exceeded exception thrown by the request processing, including the one thrown by a client call
+     * invoked from the resource method, which is wrapped in a {@link MappableException}.
+     *
+     * @param throwable exception thrown by the request processing.
+     * @return deadline exceeded exception or {@code null} if the processing failed for another reason.
+     */
+    private static DeadlineExceededException deadlineExceeded(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof MappableException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof DeadlineExceededException ? (DeadlineExceededException) cause : null;
+    }
+
+    /**
+     * Resolve the deadline of the request from the configured {@link ServerProperties#REQUEST_DEADLINE_HEADER time budget
+     * header}. The deadline possibly set on the request by the container is kept if it expires earlier.
+     *
+     * @param request processed request.
+     * @return request deadline or {@code null} if the request processing is not time-bound.
+     */
+    private Deadline resolveDeadline(final ContainerRequest request) {
+        Deadline deadline = request.getDeadline();
+        if (deadlineHeader != null) {
+            final String budget = request.getHeaderString(deadlineHeader);
+            if (budget != null) {
+                try {
+                    final long millis = Long.parseLong(budget.trim());
+                    if (millis >= 0) {
+                        deadline = Deadline.after(millis, TimeUnit.MILLISECONDS).earliest(deadline);
+                        request.setDeadline(deadline);
+                    }
+                } catch (final NumberFormatException e) {
+                    LOGGER.log(Level.FINE, "Ignoring invalid request time budget header value: " + budget, e);
+                }
+            }
+        }
+        return deadline;
+    }
+
     /**
      * Get the Jersey server runtime background scheduler.
      *
@@ -455,8 +527,7 @@ public class ServerRuntime {
 
             if (runtime.processResponseErrors) {
                 // Try to obtain response from response error mapper.
-                final Iterable<ResponseErrorMapper> mappers = Providers.getAllProviders(runtime.injectionManager,
-                        ResponseErrorMapper.class);
+                final Iterable<ResponseErrorMapper> mappers = runtime.responseErrorMappers.get();
 
                 try {
                     Response processedError = null;
@@ -697,9 +768,12 @@ public class ServerRuntime {
                         // suspend the writer indefinitely (passing null timeout handler is ok in such case) if the output is not
                         // already closed.
                         // TODO what to do if we detect that the writer has already been suspended? override the timeout value?
-                        if (!chunked.isClosed()
-                                && !writer.suspend(AsyncResponder.NO_TIMEOUT, TimeUnit.SECONDS, null)) {
-                            LOGGER.fine(LocalizationMessages.ERROR_SUSPENDING_CHUNKED_OUTPUT_RESPONSE());
+                        if (!chunked.isClosed()) {
+                            // the container may recycle its request once the suspended response is completed
+                            request.detachHeaders();
+                            if (!writer.suspend(AsyncResponder.NO_TIMEOUT, TimeUnit.SECONDS, null)) {
+                                LOGGER.fine(LocalizationMessages.ERROR_SUSPENDING_CHUNKED_OUTPUT_RESPONSE());
+                            }
                         }
                     }
 
@@ -833,7 +907,10 @@ public class ServerRuntime {
         public boolean suspend() {
             synchronized (stateLock) {
                 if (state == RUNNING) {
-                    if (responder.processingContext.request().getResponseWriter().suspend(
+                    final ContainerRequest request = responder.processingContext.request();
+                    // the container may recycle its request once the suspended response is completed
+                    request.detachHeaders();
+                    if (request.getResponseWriter().suspend(
                             AsyncResponse.NO_TIMEOUT, TimeUnit.SECONDS, this)) {
                         state = SUSPENDED;
                         return true;
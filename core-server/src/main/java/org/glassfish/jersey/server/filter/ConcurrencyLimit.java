@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.glassfish.jersey.Beta;
+
+/**
+ * Limits the number of concurrently processed requests of the annotated resource method or of each resource method
+ * of the annotated resource class. The annotation on a resource method takes precedence over the annotation on the resource
+ * class.
+ * <p>
+ * The annotation is processed by {@link ConcurrencyLimitFeature}; every annotated resource method gets its own adaptive
+ * limit, requests exceeding the limit are rejected with {@code 503 Service Unavailable} response before the request
+ * entity is read.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConcurrencyLimit {
+
+    /**
+     * Initial limit of concurrently processed requests.
+     *
+     * @return initial limit.
+     */
+    int initial() default 20;
+
+    /**
+     * Lowest value the limit may be decreased to.
+     *
+     * @return lowest limit.
+     */
+    int min() default 1;
+
+    /**
+     * Highest value the limit may be increased to.
+     *
+     * @return highest limit.
+     */
+    int max() default 200;
+}
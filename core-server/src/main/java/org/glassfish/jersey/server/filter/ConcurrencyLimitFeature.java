@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.util.Map;
+
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.Beta;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Feature protecting an application against overload by limiting the number of concurrently processed requests.
+ * <p>
+ * The feature maintains an application-wide limit of requests in flight and a separate limit for each resource method
+ * annotated with {@link ConcurrencyLimit @ConcurrencyLimit} (or declared by an annotated resource class). The limits are
+ * adjusted adaptively based on the request processing latency observed by a {@link RequestEventListener monitoring
+ * request event listener}: the limits grow while the latency stays low and shrink as soon as requests start to queue up.
+ * </p>
+ * <p>
+ * Requests exceeding the application-wide limit are rejected in a {@link PreMatching pre-matching} request filter,
+ * requests exceeding a resource method limit are rejected by a request filter bound to the resource method. In both
+ * cases the request is rejected before the request entity is read, using {@code 503 Service Unavailable} response
+ * with {@code Retry-After} header.
+ * </p>
+ * <p>
+ * The application-wide limit can be configured using {@link #INITIAL_LIMIT}, {@link #MIN_LIMIT} and {@link #MAX_LIMIT}
+ * properties, the value of the {@code Retry-After} header using the {@link #RETRY_AFTER} property.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+public class ConcurrencyLimitFeature implements Feature {
+
+    /**
+     * Initial application-wide limit of concurrently processed requests.
+     * <p>
+     * The value MUST be an instance of {@link Integer}. The default value is {@code 100}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String INITIAL_LIMIT = "jersey.config.server.concurrencyLimit.initial";
+
+    /**
+     * Lowest value the application-wide limit of concurrently processed requests may be decreased to.
+     * <p>
+     * The value MUST be an instance of {@link Integer}. The default value is {@code 10}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MIN_LIMIT = "jersey.config.server.concurrencyLimit.min";
+
+    /**
+     * Highest value the application-wide limit of concurrently processed requests may be increased to.
+     * <p>
+     * The value MUST be an instance of {@link Integer}. The default value is {@code 1000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MAX_LIMIT = "jersey.config.server.concurrencyLimit.max";
+
+    /**
+     * Number of seconds sent in the {@code Retry-After} header of rejected requests.
+     * <p>
+     * The value MUST be an instance of {@link Integer}. The default value is {@code 1}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RETRY_AFTER = "jersey.config.server.concurrencyLimit.retryAfter";
+
+    private static final int DEFAULT_INITIAL_LIMIT = 100;
+    private static final int DEFAULT_MIN_LIMIT = 10;
+    private static final int DEFAULT_MAX_LIMIT = 1000;
+    private static final int DEFAULT_RETRY_AFTER = 1;
+
+    /**
+     * Name of the request property holding the limits acquired for the request.
+     */
+    private static final String PERMITS_PROPERTY = ConcurrencyLimitFeature.class.getName() + ".permits";
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        if (context.getConfiguration().isRegistered(PermitReleasingListener.class)) {
+            return false;
+        }
+
+        final Map<String, Object> properties = context.getConfiguration().getProperties();
+        final int retryAfter = PropertiesHelper.getValue(properties, RETRY_AFTER, DEFAULT_RETRY_AFTER, null);
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+                PropertiesHelper.getValue(properties, INITIAL_LIMIT, DEFAULT_INITIAL_LIMIT, null),
+                PropertiesHelper.getValue(properties, MIN_LIMIT, DEFAULT_MIN_LIMIT, null),
+                PropertiesHelper.getValue(properties, MAX_LIMIT, DEFAULT_MAX_LIMIT, null));
+
+        context.register(new ApplicationLimitFilter(limiter, retryAfter));
+        context.register(new ResourceMethodLimitFeature(retryAfter));
+        context.register(new PermitReleasingListener());
+        return true;
+    }
+
+    private static Response reject(final int retryAfter) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, retryAfter).build();
+    }
+
+    /**
+     * Limits acquired for a single request.
+     */
+    private static final class Permits {
+
+        private final long start = System.nanoTime();
+        private final ConcurrencyLimiter[] limiters = new ConcurrencyLimiter[2];
+        private int acquired;
+        private boolean rejected;
+
+        private boolean tryAcquire(final ConcurrencyLimiter limiter) {
+            if (limiter.tryAcquire()) {
+                limiters[acquired++] = limiter;
+                return true;
+            }
+            rejected = true;
+            return false;
+        }
+
+        private void release(final ContainerResponse response) {
+            // latency of requests rejected by any limit does not reflect the application performance
+            final long latency = rejected ? -1 : System.nanoTime() - start;
+            final int status = response == null ? 0 : response.getStatus();
+            final boolean dropped = status == 503 || status == 504;
+            for (int i = 0; i < acquired; i++) {
+                limiters[i].release(latency, dropped);
+            }
+            acquired = 0;
+        }
+    }
+
+    /**
+     * Enforces the application-wide limit before the request is matched to a resource method.
+     */
+    @PreMatching
+    @Priority(Priorities.AUTHENTICATION - 100) // reject requests before any other filter processes them
+    private static final class ApplicationLimitFilter implements ContainerRequestFilter {
+
+        private final ConcurrencyLimiter limiter;
+        private final int retryAfter;
+
+        private ApplicationLimitFilter(final ConcurrencyLimiter limiter, final int retryAfter) {
+            this.limiter = limiter;
+            this.retryAfter = retryAfter;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            final Permits permits = new Permits();
+            requestContext.setProperty(PERMITS_PROPERTY, permits);
+            if (!permits.tryAcquire(limiter)) {
+                requestContext.abortWith(reject(retryAfter));
+            }
+        }
+    }
+
+    /**
+     * Registers a limit for each resource method annotated with {@link ConcurrencyLimit}.
+     */
+    private static final class ResourceMethodLimitFeature implements DynamicFeature {
+
+        private final int retryAfter;
+
+        private ResourceMethodLimitFeature(final int retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        @Override
+        public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+            ConcurrencyLimit limit = new AnnotatedMethod(resourceInfo.getResourceMethod()).getAnnotation(ConcurrencyLimit.class);
+            if (limit == null) {
+                limit = resourceInfo.getResourceClass().getAnnotation(ConcurrencyLimit.class);
+            }
+            if (limit != null) {
+                context.register(new ResourceMethodLimitFilter(
+                        new ConcurrencyLimiter(limit.initial(), limit.min(), limit.max()), retryAfter));
+            }
+        }
+    }
+
+    /**
+     * Enforces the limit of a single resource method.
+     */
+    @Priority(Priorities.AUTHENTICATION - 100) // reject requests before any other filter processes them
+    private static final class ResourceMethodLimitFilter implements ContainerRequestFilter {
+
+        private final ConcurrencyLimiter limiter;
+        private final int retryAfter;
+
+        private ResourceMethodLimitFilter(final ConcurrencyLimiter limiter, final int retryAfter) {
+            this.limiter = limiter;
+            this.retryAfter = retryAfter;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            Permits permits = (Permits) requestContext.getProperty(PERMITS_PROPERTY);
+            if (permits == null) {
+                permits = new Permits();
+                requestContext.setProperty(PERMITS_PROPERTY, permits);
+            }
+            if (!permits.tryAcquire(limiter)) {
+                requestContext.abortWith(reject(retryAfter));
+            }
+        }
+    }
+
+    /**
+     * Releases the limits acquired for a request once the request processing is finished.
+     */
+    private static final class PermitReleasingListener implements ApplicationEventListener, RequestEventListener {
+
+        @Override
+        public void onEvent(final ApplicationEvent event) {
+            // not interested in application events
+        }
+
+        @Override
+        public RequestEventListener onRequest(final RequestEvent requestEvent) {
+            return this;
+        }
+
+        @Override
+        public void onEvent(final RequestEvent event) {
+            if (event.getType() == RequestEvent.Type.FINISHED) {
+                final Permits permits = (Permits) event.getContainerRequest().getProperty(PERMITS_PROPERTY);
+                if (permits != null) {
+                    permits.release(event.getContainerResponse());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive limit of the number of concurrently processed requests.
+ * <p>
+ * The limit is adjusted using a gradient of the request latency: the latencies observed in a window of samples are compared
+ * with the lowest latency observed recently. While the latency stays close to the lowest one the limit grows, once requests
+ * start to queue up and the latency grows the limit shrinks. Requests that end with {@code 503 Service Unavailable} or
+ * {@code 504 Gateway Timeout} decrease the limit multiplicatively.
+ * </p>
+ */
+final class ConcurrencyLimiter {
+
+    /**
+     * Number of latency samples the limit is re-computed from.
+     */
+    private static final int WINDOW_SIZE = 50;
+    /**
+     * Number of sample windows after which the lowest observed latency is forgotten so that the limiter adapts to
+     * permanent latency changes.
+     */
+    private static final int MIN_LATENCY_WINDOWS = 100;
+    /**
+     * Limit decrease ratio applied on a dropped request.
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+    /**
+     * Weight of a newly computed limit.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private long minLatency = Long.MAX_VALUE;
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private int windows;
+
+    /**
+     * Create new limiter.
+     *
+     * @param initialLimit initial limit.
+     * @param minLimit     lowest limit.
+     * @param maxLimit     highest limit.
+     */
+    ConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.estimatedLimit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Try to start processing a request.
+     *
+     * @return {@code true} if the request may be processed, {@code false} if the limit has been reached.
+     */
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Finish processing of a request previously admitted by {@link #tryAcquire()}.
+     *
+     * @param latencyNanos request processing latency in nanoseconds, negative if the request should not be sampled.
+     * @param dropped      {@code true} if the request has been dropped because of an overload.
+     */
+    void release(final long latencyNanos, final boolean dropped) {
+        final int current = inFlight.getAndDecrement();
+        if (latencyNanos >= 0) {
+            sample(latencyNanos, current, dropped);
+        }
+    }
+
+    /**
+     * Get the current limit.
+     *
+     * @return current limit.
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the number of requests currently being processed.
+     *
+     * @return number of requests in flight.
+     */
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(final long latency, final int currentInFlight, final boolean dropped) {
+        if (dropped) {
+            update(estimatedLimit * BACKOFF_RATIO);
+            return;
+        }
+
+        minLatency = Math.min(minLatency, latency);
+        windowLatencySum += latency;
+        windowMaxInFlight = Math.max(windowMaxInFlight, currentInFlight);
+        if (++windowSamples < WINDOW_SIZE) {
+            return;
+        }
+
+        final double averageLatency = (double) windowLatencySum / windowSamples;
+        final double gradient = Math.max(0.5, Math.min(1.0, minLatency / averageLatency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (newLimit > estimatedLimit && windowMaxInFlight < estimatedLimit / 2) {
+            // the limit is not being used, there is no evidence the application could handle more requests
+            newLimit = estimatedLimit;
+        }
+        update(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+
+        if (++windows % MIN_LATENCY_WINDOWS == 0) {
+            minLatency = Long.MAX_VALUE;
+        }
+    }
+
+    private void update(final double newLimit) {
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        limit = (int) estimatedLimit;
+        windowLatencySum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import org.glassfish.jersey.Beta;
+
+/**
+ * Server-side response cache maintained by {@link ResponseCacheFeature}.
+ * <p>
+ * The instance can be injected into resources and providers of an application that has the feature enabled and used
+ * to remove responses that are no longer valid from the cache, e.g. after the underlying data have been modified.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+public interface ResponseCache {
+
+    /**
+     * Remove all the cached responses of resource methods {@link ResponseCached#tags() tagged} with any of the given
+     * tags.
+     *
+     * @param tags tags of the responses to be removed.
+     */
+    void invalidate(String... tags);
+
+    /**
+     * Remove all the cached responses.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.Beta;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+/**
+ * Feature enabling server-side caching of serialized responses of resource methods annotated with
+ * {@link ResponseCached @ResponseCached}.
+ * <p>
+ * Successful responses of annotated {@code GET} resource methods are serialized once and kept in a size-bounded
+ * in-memory cache, keyed by the resource method, the request path and query, the {@code Accept},
+ * {@code Accept-Language} and {@code Accept-Encoding} request headers, the authenticated user and the
+ * {@code Authorization} request header as well as the request headers listed in the {@code Vary} response header.
+ * Subsequent matching requests are answered from the cache without invoking the resource method. Responses without
+ * an {@code ETag} header get a strong entity tag computed from the serialized entity, requests with a matching
+ * {@code If-None-Match} header are answered with {@code 304 Not Modified} before the resource method is invoked.
+ * </p>
+ * <p>
+ * Responses with a {@code Cache-Control} header containing the {@code private} or {@code no-store} directive, responses
+ * setting cookies and responses varying on all request headers ({@code Vary: *}) are not cached. Hop-by-hop headers are
+ * not stored with the cached responses.
+ * </p>
+ * <p>
+ * Cached responses expire after the {@link ResponseCached#ttl() time to live} of the resource method and can be
+ * removed from the cache using the {@link ResponseCache} instance injectable into application resources and providers.
+ * The maximum size of the cache is configured by the {@link #MAX_SIZE} property.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+public class ResponseCacheFeature implements Feature {
+
+    /**
+     * Maximum total size of the cached response entities in bytes. Entities larger than one eighth of the maximum size
+     * are not cached.
+     * <p>
+     * The value MUST be an instance of {@link Long}. The default value is {@code 10485760} (10 MiB).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MAX_SIZE = "jersey.config.server.responseCache.maxSize";
+
+    private static final long DEFAULT_MAX_SIZE = 10L * 1024 * 1024;
+
+    /**
+     * Name of the request property holding the cache key of the request.
+     */
+    private static final String KEY_PROPERTY = ResponseCacheFeature.class.getName() + ".key";
+    /**
+     * Name of the request property holding the cached response used to answer the request.
+     */
+    private static final String HIT_PROPERTY = ResponseCacheFeature.class.getName() + ".hit";
+
+    /**
+     * Response headers that are never stored with a cached response.
+     */
+    private static final Set<String> EXCLUDED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        Collections.addAll(EXCLUDED_HEADERS,
+                HttpHeaders.CONTENT_LENGTH,
+                HttpHeaders.SET_COOKIE,
+                "Set-Cookie2",
+                "Connection",
+                "Keep-Alive",
+                "Proxy-Authenticate",
+                "Proxy-Authorization",
+                "TE",
+                "Trailer",
+                "Transfer-Encoding",
+                "Upgrade");
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        if (context.getConfiguration().isRegistered(ResourceMethodCacheFeature.class)) {
+            return false;
+        }
+
+        final ResponseCacheStore store = new ResponseCacheStore(PropertiesHelper.getValue(
+                context.getConfiguration().getProperties(), MAX_SIZE, DEFAULT_MAX_SIZE, null));
+
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(store).to(ResponseCache.class);
+            }
+        });
+        context.register(new ResourceMethodCacheFeature(store));
+        return true;
+    }
+
+    /**
+     * Registers a {@link ResponseCacheFilter} for each {@code GET} resource method annotated with {@link ResponseCached}.
+     */
+    private static final class ResourceMethodCacheFeature implements DynamicFeature {
+
+        private final ResponseCacheStore store;
+
+        private ResourceMethodCacheFeature(final ResponseCacheStore store) {
+            this.store = store;
+        }
+
+        @Override
+        public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+            final AnnotatedMethod method = new AnnotatedMethod(resourceInfo.getResourceMethod());
+            if (!method.isAnnotationPresent(GET.class)) {
+                return;
+            }
+            ResponseCached cached = method.getAnnotation(ResponseCached.class);
+            if (cached == null) {
+                cached = resourceInfo.getResourceClass().getAnnotation(ResponseCached.class);
+            }
+            if (cached != null) {
+                context.register(new ResponseCacheFilter(store, resourceInfo.getResourceMethod().toGenericString(), cached));
+            }
+        }
+    }
+
+    /**
+     * Answers requests from the cache and stores the serialized responses of a single resource method.
+     * <p>
+     * The writer interceptor is executed before any other writer interceptors, so that the cached bytes are the bytes
+     * written to the container, including any content encoding.
+     * </p>
+     */
+    @Priority(Priorities.ENTITY_CODER - 100)
+    private static final class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter,
+            WriterInterceptor {
+
+        private final ResponseCacheStore store;
+        private final String method;
+        private final long ttl;
+        private final String[] tags;
+
+        private ResponseCacheFilter(final ResponseCacheStore store, final String method, final ResponseCached cached) {
+            this.store = store;
+            this.method = method;
+            this.ttl = TimeUnit.SECONDS.toMillis(cached.ttl());
+            this.tags = cached.tags();
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request) {
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                return;
+            }
+
+            final String key = key(request);
+            final ResponseCacheStore.Entry entry = store.get(variantKey(key, store.getVariants(key), request));
+            if (entry == null) {
+                request.setProperty(KEY_PROPERTY, key);
+                return;
+            }
+
+            request.setProperty(HIT_PROPERTY, entry);
+            if (matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), entry.getETag())) {
+                request.abortWith(Response.notModified().header(HttpHeaders.ETAG, entry.getETag()).build());
+            } else {
+                final Response.ResponseBuilder response = Response.ok(entry.getEntity());
+                for (final Map.Entry<String, List<String>> header : entry.getHeaders().entrySet()) {
+                    for (final String value : header.getValue()) {
+                        response.header(header.getKey(), value);
+                    }
+                }
+                request.abortWith(response.build());
+            }
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request, final ContainerResponseContext response) {
+            final String key = (String) request.getProperty(KEY_PROPERTY);
+            if (key == null) {
+                return;
+            }
+            final List<String> variants = variants(response.getStringHeaders());
+            if (response.getStatus() != Response.Status.OK.getStatusCode() || !response.hasEntity()
+                    || variants == null || !isCacheable(response.getStringHeaders())) {
+                // do not cache the response
+                request.removeProperty(KEY_PROPERTY);
+                return;
+            }
+            store.putVariants(key, variants);
+            request.setProperty(KEY_PROPERTY, variantKey(key, variants, request));
+        }
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            final Object hit = context.getProperty(HIT_PROPERTY);
+            if (hit != null) {
+                context.getOutputStream().write(((ResponseCacheStore.Entry) hit).getEntity());
+                return;
+            }
+            final String key = (String) context.getProperty(KEY_PROPERTY);
+            if (key == null) {
+                context.proceed();
+                return;
+            }
+
+            final OutputStream original = context.getOutputStream();
+            final BoundedBuffer buffer = new BoundedBuffer(original, store.getMaxEntrySize());
+            context.setOutputStream(buffer);
+            try {
+                context.proceed();
+            } finally {
+                context.setOutputStream(original);
+            }
+            if (buffer.passThrough) {
+                // too large to be cached, the entity has already been written
+                return;
+            }
+
+            final byte[] entity = buffer.toByteArray();
+            final MultivaluedMap<String, Object> headers = context.getHeaders();
+            final MultivaluedMap<String, String> stringHeaders = HeaderUtils.asStringHeaders(headers);
+            if (!isCacheable(stringHeaders)) {
+                // headers set by the subsequent writer interceptors
+                original.write(entity);
+                return;
+            }
+            Object eTag = headers.getFirst(HttpHeaders.ETAG);
+            if (eTag == null) {
+                eTag = eTag(entity);
+                headers.putSingle(HttpHeaders.ETAG, eTag);
+            }
+
+            final Set<String> excluded = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            excluded.addAll(EXCLUDED_HEADERS);
+            excluded.addAll(tokens(stringHeaders.get("Connection")));
+            final Map<String, List<String>> cachedHeaders = new LinkedHashMap<>();
+            for (final Map.Entry<String, List<String>> header : stringHeaders.entrySet()) {
+                if (!excluded.contains(header.getKey())) {
+                    cachedHeaders.put(header.getKey(), new ArrayList<>(header.getValue()));
+                }
+            }
+            store.put(key, new ResponseCacheStore.Entry(
+                    entity, HeaderUtils.asString(eTag, null), cachedHeaders, tags, ttl));
+
+            original.write(entity);
+        }
+
+        private String key(final ContainerRequestContext request) {
+            final String query = request instanceof ContainerRequest
+                    ? ((ContainerRequest) request).getRawQuery()
+                    : request.getUriInfo().getRequestUri().getRawQuery();
+            final SecurityContext securityContext = request.getSecurityContext();
+            final Principal principal = securityContext == null ? null : securityContext.getUserPrincipal();
+            return method + '\n' + request.getUriInfo().getPath(false) + '?' + query
+                    + '\n' + request.getHeaderString(HttpHeaders.ACCEPT)
+                    + '\n' + request.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE)
+                    + '\n' + request.getHeaderString(HttpHeaders.ACCEPT_ENCODING)
+                    + '\n' + (principal == null ? null : principal.getName())
+                    + '\n' + request.getHeaderString(HttpHeaders.AUTHORIZATION);
+        }
+
+        private static String variantKey(final String key, final List<String> variants,
+                                         final ContainerRequestContext request) {
+            if (variants.isEmpty()) {
+                return key;
+            }
+            final StringBuilder variantKey = new StringBuilder(key);
+            for (final String name : variants) {
+                variantKey.append('\n').append(name).append(':').append(request.getHeaderString(name));
+            }
+            return variantKey.toString();
+        }
+    }
+
+    /**
+     * Get the sorted lower-case names of the request headers listed in the {@code Vary} response header.
+     *
+     * @return names of the request headers or {@code null} if the response varies on all the request headers.
+     */
+    private static List<String> variants(final MultivaluedMap<String, String> headers) {
+        final List<String> names = tokens(headers.get(HttpHeaders.VARY));
+        return names.contains("*") ? null : names;
+    }
+
+    /**
+     * Check whether the response may be stored in the cache based on its {@code Cache-Control} and
+     * {@code Set-Cookie} headers.
+     */
+    private static boolean isCacheable(final MultivaluedMap<String, String> headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE) || headers.containsKey("Set-Cookie2")) {
+            return false;
+        }
+        for (final String directive : tokens(headers.get(HttpHeaders.CACHE_CONTROL))) {
+            final int index = directive.indexOf('=');
+            final String name = index < 0 ? directive : directive.substring(0, index).trim();
+            if (name.equals("private") || name.equals("no-store")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split comma-separated header values to sorted, distinct, lower-case tokens.
+     */
+    private static List<String> tokens(final List<String> values) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        final Set<String> tokens = new TreeSet<>();
+        for (final String value : values) {
+            for (final String token : value.split(",")) {
+                final String trimmed = token.trim();
+                if (!trimmed.isEmpty()) {
+                    tokens.add(trimmed.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Check whether an {@code If-None-Match} header value matches the entity tag (using the weak comparison).
+     */
+    private static boolean matches(final String ifNoneMatch, final String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        final String opaqueTag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (final String candidate : ifNoneMatch.split(",")) {
+            final String trimmed = candidate.trim();
+            if (trimmed.equals("*") || (trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compute a strong entity tag from the SHA-256 digest of the serialized entity.
+     */
+    private static String eTag(final byte[] entity) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(entity);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 18)) + '"';
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform implementation is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Buffers the written bytes up to the given limit; once the limit is exceeded, the buffered bytes and all the bytes
+     * written subsequently are passed to the original stream.
+     */
+    private static final class BoundedBuffer extends OutputStream {
+
+        private final OutputStream original;
+        private final int limit;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private boolean passThrough;
+
+        private BoundedBuffer(final OutputStream original, final int limit) {
+            this.original = original;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (passThrough) {
+                original.write(b, off, len);
+            } else if (buffer.size() + len > limit) {
+                passThrough = true;
+                buffer.writeTo(original);
+                buffer.reset();
+                original.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (passThrough) {
+                original.flush();
+            }
+        }
+
+        private byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
+
+/**
+ * Size-bounded in-memory store of serialized responses evicting the least recently used responses first.
+ * <p>
+ * Lookups and insertions do not block each other. Once the total size of the stored entities exceeds the maximum size,
+ * the thread that stored the last entity removes the expired and the least recently used entities until the total size
+ * drops to seven eighths of the maximum size, so that the eviction does not run on every subsequent insertion.
+ * </p>
+ */
+final class ResponseCacheStore implements ResponseCache {
+
+    /**
+     * Maximum number of cached lists of request headers responses vary on.
+     */
+    private static final int MAX_VARIANTS = 1024;
+
+    /**
+     * Serialized response.
+     */
+    static final class Entry {
+
+        private final byte[] entity;
+        private final String eTag;
+        private final Map<String, List<String>> headers;
+        private final Set<String> tags;
+        private final long expires;
+        private volatile long lastAccess;
+
+        Entry(final byte[] entity,
+              final String eTag,
+              final Map<String, List<String>> headers,
+              final String[] tags,
+              final long ttlMillis) {
+            this.entity = entity;
+            this.eTag = eTag;
+            this.headers = headers;
+            this.tags = tags.length == 0 ? Collections.emptySet() : new HashSet<>(Arrays.asList(tags));
+            this.expires = System.currentTimeMillis() + ttlMillis;
+        }
+
+        byte[] getEntity() {
+            return entity;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expires;
+        }
+    }
+
+    private final long maxSize;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Cache<String, List<String>> variants = CacheBuilder.newBuilder().maximumSize(MAX_VARIANTS).build();
+
+    /**
+     * Create new store.
+     *
+     * @param maxSize maximum total size of the stored entities in bytes.
+     */
+    ResponseCacheStore(final long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get maximum size of a single entity that can be stored.
+     *
+     * @return maximum entity size in bytes.
+     */
+    int getMaxEntrySize() {
+        return (int) Math.min(Integer.MAX_VALUE - 8, maxSize / 8);
+    }
+
+    /**
+     * Get a cached response that has not expired yet.
+     *
+     * @param key cache key.
+     * @return cached response or {@code null}.
+     */
+    Entry get(final String key) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            remove(key, entry);
+            return null;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Store a response, evicting the least recently used responses if needed.
+     *
+     * @param key   cache key.
+     * @param entry response.
+     */
+    void put(final String key, final Entry entry) {
+        if (entry.entity.length > getMaxEntrySize()) {
+            return;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        final Entry previous = entries.put(key, entry);
+        final long total = size.addAndGet(entry.entity.length - (previous == null ? 0 : previous.entity.length));
+        if (total > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Get the names of the request headers the last stored response for the given request varied on.
+     *
+     * @param key cache key of the request without the varying request headers.
+     * @return lower-case names of the request headers or an empty list.
+     */
+    List<String> getVariants(final String key) {
+        final List<String> names = variants.getIfPresent(key);
+        return names == null ? Collections.emptyList() : names;
+    }
+
+    /**
+     * Record the names of the request headers a response varies on.
+     *
+     * @param key   cache key of the request without the varying request headers.
+     * @param names lower-case names of the request headers.
+     */
+    void putVariants(final String key, final List<String> names) {
+        if (!names.equals(getVariants(key))) {
+            variants.put(key, names);
+        }
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            // another thread is already evicting
+            return;
+        }
+        try {
+            final long target = maxSize - maxSize / 8;
+            final List<Candidate> candidates = new ArrayList<>();
+            for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().isExpired()) {
+                    remove(entry.getKey(), entry.getValue());
+                } else {
+                    candidates.add(new Candidate(entry.getKey(), entry.getValue()));
+                }
+            }
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.lastAccess));
+            for (int i = 0; i < candidates.size() && size.get() > target; i++) {
+                remove(candidates.get(i).key, candidates.get(i).entry);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(final String key, final Entry entry) {
+        if (entries.remove(key, entry)) {
+            size.addAndGet(-entry.entity.length);
+        }
+    }
+
+    @Override
+    public void invalidate(final String... tags) {
+        final List<String> invalidated = Arrays.asList(tags);
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!Collections.disjoint(entry.getValue().tags, invalidated)) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Eviction candidate with the last access time captured when the eviction started.
+     */
+    private static final class Candidate {
+
+        private final String key;
+        private final Entry entry;
+        private final long lastAccess;
+
+        private Candidate(final String key, final Entry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.glassfish.jersey.Beta;
+
+/**
+ * Enables server-side caching of the responses of the annotated {@code GET} resource method or of each {@code GET}
+ * resource method of the annotated resource class. The annotation on a resource method takes precedence over
+ * the annotation on the resource class.
+ * <p>
+ * The annotation is processed by {@link ResponseCacheFeature}; serialized responses are cached per resource method,
+ * request path, query and the content negotiation request headers.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Beta
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ResponseCached {
+
+    /**
+     * Number of seconds a cached response is reused for.
+     *
+     * @return time to live of the cached responses in seconds.
+     */
+    long ttl() default 60;
+
+    /**
+     * Tags of the cached responses. All the cached responses with a given tag can be removed from the cache using
+     * {@link ResponseCache#invalidate(String...)}.
+     *
+     * @return tags of the cached responses.
+     */
+    String[] tags() default {};
+}
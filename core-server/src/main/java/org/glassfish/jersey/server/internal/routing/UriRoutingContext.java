@@ -79,6 +79,9 @@ public class UriRoutingContext implements RoutingContext {
     private ImmutableMultivaluedMap<String, String> encodedQueryParamsView;
     private ImmutableMultivaluedMap<String, String> decodedQueryParamsView;
 
+    private List<PathSegment> encodedPathSegmentsView;
+    private List<PathSegment> decodedPathSegmentsView;
+
     /**
      * Injection constructor.
      *
@@ -303,8 +306,19 @@ public class UriRoutingContext implements RoutingContext {
 
     @Override
     public List<PathSegment> getPathSegments(final boolean decode) {
-        final String requestPath = requestContext.getPath(false);
-        return Collections.unmodifiableList(UriComponent.decodePath(requestPath, decode));
+        if (decode) {
+            if (decodedPathSegmentsView == null) {
+                decodedPathSegmentsView =
+                        Collections.unmodifiableList(UriComponent.decodePath(requestContext.getPath(false), true));
+            }
+            return decodedPathSegmentsView;
+        } else {
+            if (encodedPathSegmentsView == null) {
+                encodedPathSegmentsView =
+                        Collections.unmodifiableList(UriComponent.decodePath(requestContext.getPath(false), false));
+            }
+            return encodedPathSegmentsView;
+        }
     }
 
     @Override
@@ -320,7 +334,7 @@ public class UriRoutingContext implements RoutingContext {
             }
 
             decodedQueryParamsView =
-                    new ImmutableMultivaluedMap<>(UriComponent.decodeQuery(getRequestUri(), true));
+                    new ImmutableMultivaluedMap<>(UriComponent.decodeQuery(requestContext.getRawQuery(), true));
 
             return decodedQueryParamsView;
         } else {
@@ -329,7 +343,7 @@ public class UriRoutingContext implements RoutingContext {
             }
 
             encodedQueryParamsView =
-                    new ImmutableMultivaluedMap<>(UriComponent.decodeQuery(getRequestUri(), false));
+                    new ImmutableMultivaluedMap<>(UriComponent.decodeQuery(requestContext.getRawQuery(), false));
 
             return encodedQueryParamsView;
 
@@ -345,6 +359,8 @@ public class UriRoutingContext implements RoutingContext {
     public void invalidateUriComponentViews() {
         this.decodedQueryParamsView = null;
         this.encodedQueryParamsView = null;
+        this.decodedPathSegmentsView = null;
+        this.encodedPathSegmentsView = null;
     }
 
     @Override
@@ -88,6 +88,8 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final Class<?> resourceClass;
     private final List<RankedProvider<ContainerRequestFilter>> requestFilters = new ArrayList<>();
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = new ArrayList<>();
+    private final List<ContainerRequestFilter> sortedRequestFilters;
+    private final List<ContainerResponseFilter> sortedResponseFilters;
     private final Iterable<ReaderInterceptor> readerInterceptors;
     private final Iterable<WriterInterceptor> writerInterceptors;
 
@@ -298,6 +300,12 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         this.requestFilters.addAll(_requestFilters);
         this.responseFilters.addAll(_responseFilters);
 
+        // pre-compute the complete (global and bound) filter chains, they only depend on the resource method
+        this.sortedRequestFilters = mergeAndSort(new RankedComparator<>(),
+                processingProviders.getGlobalRequestFilters(), requestFilters);
+        this.sortedResponseFilters = mergeAndSort(new RankedComparator<>(RankedComparator.Order.DESCENDING),
+                processingProviders.getGlobalResponseFilters(), responseFilters);
+
         // pre-compute & cache invocation properties
         this.methodAnnotations = invocable.getHandlingMethod().getDeclaredAnnotations();
         this.invocableResponseType = invocable.getResponseType();
@@ -309,6 +317,18 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
 
     }
 
+    private static <T> List<T> mergeAndSort(final RankedComparator<T> comparator,
+                                            final Iterable<RankedProvider<T>> globalProviders,
+                                            final Iterable<RankedProvider<T>> boundProviders) {
+        final List<Iterable<RankedProvider<T>>> rankedProviders = new ArrayList<>(2);
+        rankedProviders.add(globalProviders);
+        rankedProviders.add(boundProviders);
+
+        final List<T> sorted = new ArrayList<>();
+        Providers.mergeAndSortRankedProviders(comparator, rankedProviders).forEach(sorted::add);
+        return Collections.unmodifiableList(sorted);
+    }
+
     private <T> void addNameBoundProviders(
             final Collection<RankedProvider<T>> targetCollection,
             final NameBound nameBound,
@@ -500,6 +520,27 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         return responseFilters;
     }
 
+    /**
+     * Get all global and bound request filters applicable to the {@link #getResourceMethod() resource method}
+     * wrapped by this invoker, sorted in the order of their execution.
+     *
+     * @return Unmodifiable list of all post-matching request filters applicable to the {@link #getResourceMethod()
+     * resource method}.
+     */
+    public List<ContainerRequestFilter> getSortedRequestFilters() {
+        return sortedRequestFilters;
+    }
+
+    /**
+     * Get all global and bound response filters applicable to the {@link #getResourceMethod() resource method}
+     * wrapped by this invoker, sorted in the order of their execution.
+     *
+     * @return Unmodifiable list of all response filters applicable to the {@link #getResourceMethod() resource method}.
+     */
+    public List<ContainerResponseFilter> getSortedResponseFilters() {
+        return sortedResponseFilters;
+    }
+
     /**
      * Get all reader interceptors applicable to the {@link #getResourceMethod() resource method}
      * wrapped by this invoker.
@@ -51,11 +51,28 @@ public final class ResourceMethodInvocationHandlerFactory implements ResourceMet
 
     private static final InvocationHandler DEFAULT_HANDLER = (target, method, args) -> method.invoke(target, args);
     private static final Logger LOGGER = Logger.getLogger(ResourceMethodInvocationHandlerFactory.class.getName());
-    private final LazyValue<Set<ResourceMethodInvocationHandlerProvider>> providers;
+    private static final ResourceMethodInvocationHandlerProvider[] NO_PROVIDERS = new ResourceMethodInvocationHandlerProvider[0];
+
+    /**
+     * Providers resolved from the injection manager on the first use and reused for all subsequently created handlers.
+     */
+    private final LazyValue<ResourceMethodInvocationHandlerProvider[]> providers;
 
     ResourceMethodInvocationHandlerFactory(InjectionManager injectionManager) {
-        this.providers = Values.lazy((Value<Set<ResourceMethodInvocationHandlerProvider>>)
-                () -> Providers.getProviders(injectionManager, ResourceMethodInvocationHandlerProvider.class));
+        this.providers = Values.lazy((Value<ResourceMethodInvocationHandlerProvider[]>) () -> {
+            final Set<ResourceMethodInvocationHandlerProvider> resolved =
+                    Providers.getProviders(injectionManager, ResourceMethodInvocationHandlerProvider.class);
+            return resolved.isEmpty() ? NO_PROVIDERS : resolved.toArray(NO_PROVIDERS);
+        });
+    }
+
+    /**
+     * Resolve the registered {@link ResourceMethodInvocationHandlerProvider invocation handler providers} eagerly, so that
+     * handlers created for resource methods (e.g. sub-resource locator models built while a request is being processed) do
+     * not look the providers up in the injection manager. Subsequent invocations have no effect.
+     */
+    void initialize() {
+        providers.get();
     }
 
     // ResourceMethodInvocationHandlerProvider
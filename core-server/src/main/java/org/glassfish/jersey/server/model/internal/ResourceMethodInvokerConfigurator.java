@@ -46,10 +46,15 @@ public class ResourceMethodInvokerConfigurator implements BootstrapConfigurator
                 new VoidVoidDispatcherProvider(serverBag.getResourceContext()),
                 new JavaResourceMethodDispatcherProvider(serverBag.getValueParamProviders()));
 
+        // Injection manager is fully populated at this point, handler providers can be resolved once for the whole runtime.
+        ResourceMethodInvocationHandlerFactory invocationHandlerFactory =
+                new ResourceMethodInvocationHandlerFactory(injectionManager);
+        invocationHandlerFactory.initialize();
+
         ResourceMethodInvoker.Builder builder = new ResourceMethodInvoker.Builder()
                 .injectionManager(injectionManager)
                 .resourceMethodDispatcherFactory(new ResourceMethodDispatcherFactory(providers))
-                .resourceMethodInvocationHandlerFactory(new ResourceMethodInvocationHandlerFactory(injectionManager))
+                .resourceMethodInvocationHandlerFactory(invocationHandlerFactory)
                 .configuration(bootstrapBag.getConfiguration())
                 .configurationValidator(() -> injectionManager.getInstance(ConfiguredValidator.class));
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,8 +19,13 @@ package org.glassfish.jersey.server.wadl.internal;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.net.URI;
-import java.text.SimpleDateFormat;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -28,19 +33,35 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.PathSegment;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import javax.inject.Singleton;
 import javax.xml.bind.Marshaller;
 
+import org.glassfish.jersey.internal.guava.CacheBuilder;
+import org.glassfish.jersey.internal.guava.CacheLoader;
+import org.glassfish.jersey.internal.guava.LoadingCache;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.model.ExtendedResource;
 import org.glassfish.jersey.server.wadl.WadlApplicationContext;
-
-import com.sun.research.ws.wadl.Application;
+import org.glassfish.jersey.uri.UriComponent;
 
 /**
+ * Resource serving the application WADL and the generated grammars.
+ * <p>
+ * The WADL depends on the base URI of the request, hence the WADL is generated and serialized once for each base URI
+ * (and WADL detail level) and served from a size-bounded concurrent cache afterwards. The WADL is always generated for
+ * the {@code application.wadl} URI under the base URI, regardless of whether the first request was for the WADL or for
+ * one of the grammars. The cached WADL is served with entity tag and last modification date, so that conditional
+ * requests can be answered with {@code 304 Not Modified}.
+ * </p>
  *
  * @author Paul Sandoz
  */
@@ -51,56 +72,112 @@ public final class WadlResource {
 
     public static final String HTTPDATEFORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
 
-    private volatile URI lastBaseUri;
-    private volatile boolean lastDetailedWadl;
+    /**
+     * Maximum number of cached WADL documents; the base URI is derived from the request, the least recently used
+     * documents are evicted when the limit is reached.
+     */
+    private static final int MAX_CACHED = 32;
 
-    private byte[] wadlXmlRepresentation;
-    private String lastModified;
+    // concurrent requests for the same key wait for a single WADL generation
+    private final LoadingCache<Key, CachedWadl> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED)
+            .build(new CacheLoader<Key, CachedWadl>() {
+                @Override
+                public CachedWadl load(final Key key) throws Exception {
+                    return generate(key);
+                }
+            });
 
     @Context
     private WadlApplicationContext wadlContext;
 
+    /**
+     * Cache key; the URI info of the {@code application.wadl} URI is not a part of the key identity.
+     */
+    private static final class Key {
+
+        private final URI baseUri;
+        private final boolean detailedWadl;
+        private final WadlUriInfo uriInfo;
+
+        private Key(final URI baseUri, final boolean detailedWadl) {
+            this.baseUri = baseUri;
+            this.detailedWadl = detailedWadl;
+            this.uriInfo = new WadlUriInfo(baseUri);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return detailedWadl == key.detailedWadl && baseUri.equals(key.baseUri);
+        }
 
-    public WadlResource() {
-        this.lastModified = new SimpleDateFormat(HTTPDATEFORMAT).format(new Date());
+        @Override
+        public int hashCode() {
+            return Objects.hash(baseUri, detailedWadl);
+        }
+    }
+
+    /**
+     * Generated application description together with its serialized WADL.
+     */
+    private static final class CachedWadl {
+
+        private final ApplicationDescription description;
+        private final byte[] wadl;
+        private final EntityTag eTag;
+        private final Date lastModified = new Date();
+
+        private CachedWadl(final ApplicationDescription description, final byte[] wadl) throws Exception {
+            this.description = description;
+            this.wadl = wadl;
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(wadl);
+            this.eTag = new EntityTag(Base64.getUrlEncoder().withoutPadding().encodeToString(digest));
+        }
     }
 
-    private boolean isCached(UriInfo uriInfo, boolean detailedWadl) {
-        return (lastBaseUri != null && lastBaseUri.equals(uriInfo.getBaseUri()) && lastDetailedWadl == detailedWadl);
+    private CachedWadl getCachedWadl(final UriInfo uriInfo) throws ExecutionException {
+        return cache.get(new Key(uriInfo.getBaseUri(), WadlUtils.isDetailedWadlRequested(uriInfo)));
+    }
+
+    private CachedWadl generate(final Key key) throws Exception {
+        final ApplicationDescription applicationDescription = wadlContext.getApplication(key.uriInfo, key.detailedWadl);
+        try {
+            final Marshaller marshaller = wadlContext.getJAXBContext().createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            marshaller.marshal(applicationDescription.getApplication(), os);
+            return new CachedWadl(applicationDescription, os.toByteArray());
+        } catch (Exception e) {
+            throw new ProcessingException("Could not marshal the wadl Application.", e);
+        }
     }
 
     @Produces({"application/vnd.sun.wadl+xml", "application/xml"})
     @GET
-    public synchronized Response getWadl(@Context UriInfo uriInfo) {
+    public Response getWadl(@Context UriInfo uriInfo, @Context Request request) {
         try {
             if (!wadlContext.isWadlGenerationEnabled()) {
                 return Response.status(Response.Status.NOT_FOUND).build();
             }
 
-            final boolean detailedWadl = WadlUtils.isDetailedWadlRequested(uriInfo);
-            if ((wadlXmlRepresentation == null) || (!isCached(uriInfo, detailedWadl))) {
-                this.lastBaseUri = uriInfo.getBaseUri();
-                lastDetailedWadl = detailedWadl;
-                this.lastModified = new SimpleDateFormat(HTTPDATEFORMAT).format(new Date());
-
-                ApplicationDescription applicationDescription = wadlContext.getApplication(uriInfo,
-                        detailedWadl);
-
-                Application application = applicationDescription.getApplication();
-
-                try {
-                    final Marshaller marshaller = wadlContext.getJAXBContext().createMarshaller();
-                    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-                    final ByteArrayOutputStream os = new ByteArrayOutputStream();
-                    marshaller.marshal(application, os);
-                    wadlXmlRepresentation = os.toByteArray();
-                    os.close();
-                } catch (Exception e) {
-                    throw new ProcessingException("Could not marshal the wadl Application.", e);
-                }
+            final CachedWadl wadl = getCachedWadl(uriInfo);
+
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(wadl.lastModified, wadl.eTag);
+            if (notModified != null) {
+                return notModified.build();
             }
 
-            return Response.ok(new ByteArrayInputStream(wadlXmlRepresentation)).header("Last-modified", lastModified).build();
+            return Response.ok(new ByteArrayInputStream(wadl.wadl))
+                    .tag(wadl.eTag)
+                    .lastModified(wadl.lastModified)
+                    .build();
         } catch (Exception e) {
             throw new ProcessingException("Error generating /application.wadl.", e);
         }
@@ -110,7 +187,7 @@ public final class WadlResource {
     @Produces({"application/xml"})
     @GET
     @Path("{path}")
-    public synchronized Response getExternalGrammar(
+    public Response getExternalGrammar(
             @Context UriInfo uriInfo,
             @PathParam("path") String path) {
         try {
@@ -119,8 +196,7 @@ public final class WadlResource {
                 return Response.status(Response.Status.NOT_FOUND).build();
             }
 
-            ApplicationDescription applicationDescription =
-                    wadlContext.getApplication(uriInfo, WadlUtils.isDetailedWadlRequested(uriInfo));
+            ApplicationDescription applicationDescription = getCachedWadl(uriInfo).description;
 
             // Fail is we don't have any metadata for this path
             ApplicationDescription.ExternalGrammar externalMetadata = applicationDescription.getExternalGrammar(path);
@@ -138,4 +214,113 @@ public final class WadlResource {
         }
     }
 
+    /**
+     * URI information of the {@code application.wadl} resource under a base URI without any query parameters, used to
+     * generate the WADL independently of the request that triggered the generation.
+     */
+    private static final class WadlUriInfo implements UriInfo {
+
+        private final URI baseUri;
+        private final URI requestUri;
+
+        private WadlUriInfo(final URI baseUri) {
+            this.baseUri = baseUri;
+            this.requestUri = UriBuilder.fromUri(baseUri).path("application.wadl").build();
+        }
+
+        @Override
+        public String getPath() {
+            return getPath(true);
+        }
+
+        @Override
+        public String getPath(final boolean decode) {
+            return "application.wadl";
+        }
+
+        @Override
+        public List<PathSegment> getPathSegments() {
+            return getPathSegments(true);
+        }
+
+        @Override
+        public List<PathSegment> getPathSegments(final boolean decode) {
+            return UriComponent.decodePath(getPath(decode), decode);
+        }
+
+        @Override
+        public URI getRequestUri() {
+            return requestUri;
+        }
+
+        @Override
+        public UriBuilder getRequestUriBuilder() {
+            return UriBuilder.fromUri(requestUri);
+        }
+
+        @Override
+        public URI getAbsolutePath() {
+            return requestUri;
+        }
+
+        @Override
+        public UriBuilder getAbsolutePathBuilder() {
+            return UriBuilder.fromUri(requestUri);
+        }
+
+        @Override
+        public URI getBaseUri() {
+            return baseUri;
+        }
+
+        @Override
+        public UriBuilder getBaseUriBuilder() {
+            return UriBuilder.fromUri(baseUri);
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getPathParameters() {
+            return getPathParameters(true);
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getPathParameters(final boolean decode) {
+            return new MultivaluedHashMap<>();
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getQueryParameters() {
+            return getQueryParameters(true);
+        }
+
+        @Override
+        public MultivaluedMap<String, String> getQueryParameters(final boolean decode) {
+            return new MultivaluedHashMap<>();
+        }
+
+        @Override
+        public List<String> getMatchedURIs() {
+            return getMatchedURIs(true);
+        }
+
+        @Override
+        public List<String> getMatchedURIs(final boolean decode) {
+            return Collections.singletonList(getPath(decode));
+        }
+
+        @Override
+        public List<Object> getMatchedResources() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public URI resolve(final URI uri) {
+            return baseUri.resolve(uri);
+        }
+
+        @Override
+        public URI relativize(final URI uri) {
+            return requestUri.relativize(uri.isAbsolute() ? uri : resolve(uri));
+        }
+    }
 }
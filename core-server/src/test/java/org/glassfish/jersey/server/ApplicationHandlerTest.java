@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -55,6 +55,8 @@ import javax.ws.rs.ext.ReaderInterceptorContext;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.glassfish.jersey.Deadline;
+import org.glassfish.jersey.DeadlineExceededException;
 import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundException;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.internal.process.MappableException;
@@ -64,6 +66,7 @@ import org.glassfish.jersey.server.spi.ResponseErrorMapper;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -566,4 +569,63 @@ public class ApplicationHandlerTest {
 
         handler.apply(context).get();
     }
+
+    @Path("deadline")
+    public static class DeadlineResource {
+
+        @GET
+        public String get() {
+            return Deadline.current() == null ? "none" : "bound";
+        }
+    }
+
+    @Test
+    public void testRequestDeadline() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(DeadlineResource.class)
+                .property(ServerProperties.REQUEST_DEADLINE_HEADER, "X-Request-Timeout");
+        final ApplicationHandler handler = new ApplicationHandler(resourceConfig);
+
+        ContainerResponse response = handler.apply(RequestContextBuilder.from("/deadline", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("none", response.getEntity());
+
+        response = handler.apply(RequestContextBuilder.from("/deadline", "GET")
+                .header("X-Request-Timeout", "60000").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("bound", response.getEntity());
+        assertNull(Deadline.current());
+
+        // request with no time left is abandoned before the resource method is invoked
+        response = handler.apply(RequestContextBuilder.from("/deadline", "GET")
+                .header("X-Request-Timeout", "0").build()).get();
+        assertEquals(503, response.getStatus());
+
+        // invalid budget is ignored
+        response = handler.apply(RequestContextBuilder.from("/deadline", "GET")
+                .header("X-Request-Timeout", "soon").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("none", response.getEntity());
+    }
+
+    @Path("deadline-client")
+    public static class DeadlineClientResource {
+
+        @GET
+        public String get() {
+            // a client call invoked under an expired deadline fails the same way
+            throw new DeadlineExceededException();
+        }
+    }
+
+    @Test
+    public void testDeadlineExceededInResourceMethod() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(DeadlineClientResource.class)
+                .property(ServerProperties.REQUEST_DEADLINE_HEADER, "X-Request-Timeout");
+        final ApplicationHandler handler = new ApplicationHandler(resourceConfig);
+
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from("/deadline-client", "GET")
+                .header("X-Request-Timeout", "60000").build()).get();
+        assertEquals(503, response.getStatus());
+        assertNull(Deadline.current());
+    }
 }
@@ -198,4 +198,17 @@ public class ContainerRequestTest {
         ContainerRequest r = getContainerRequestForPreconditionsTest();
         r.evaluatePreconditions(null, null);
     }
+
+    @Test
+    public void testRawRequestUri() {
+        final ContainerRequest r = new ContainerRequest(URI.create("http://example.org/app/"),
+                "http://example.org/app/a/b%20c?x=1&y=%20", "GET", SECURITY_CONTEXT, new MapPropertiesDelegate());
+
+        assertEquals("a/b%20c", r.getPath(false));
+        assertEquals("a/b c", r.getPath(true));
+        assertEquals("x=1&y=%20", r.getRawQuery());
+        assertEquals(" ", r.getUriInfo().getQueryParameters().getFirst("y"));
+        assertEquals(URI.create("http://example.org/app/a/b%20c"), r.getAbsolutePath());
+        assertEquals(URI.create("http://example.org/app/a/b%20c?x=1&y=%20"), r.getRequestUri());
+    }
 }
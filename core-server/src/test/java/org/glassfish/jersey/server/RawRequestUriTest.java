@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.net.URI;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link RawRequestUri} unit tests.
+ */
+public class RawRequestUriTest {
+
+    private static void assertComponents(final String uri) {
+        final RawRequestUri raw = new RawRequestUri(uri);
+        final URI parsed = URI.create(uri);
+
+        assertEquals(parsed.getRawPath(), raw.getRawPath());
+        assertEquals(parsed.getRawQuery(), raw.getRawQuery());
+        assertEquals(parsed, raw.toUri());
+    }
+
+    @Test
+    public void testComponents() {
+        assertComponents("http://localhost:8080/app/resource%20a/b");
+        assertComponents("http://localhost:8080/app/resource?a=1&b=%20#fragment");
+        assertComponents("http://localhost/?");
+        assertComponents("http://localhost");
+        assertComponents("http://localhost?a=b");
+        assertComponents("http://localhost/a#b?c");
+    }
+
+    @Test
+    public void testAbsolutePath() {
+        assertEquals(URI.create("http://localhost/a/b"), new RawRequestUri("http://localhost/a/b?c=d#e").getAbsolutePath());
+        assertNull(new RawRequestUri("http://localhost/a/b").getRawQuery());
+    }
+}
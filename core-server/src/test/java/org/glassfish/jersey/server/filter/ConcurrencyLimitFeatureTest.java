@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ConcurrencyLimitFeature} and {@link ConcurrencyLimiter} unit tests.
+ */
+public class ConcurrencyLimitFeatureTest {
+
+    private static final CountDownLatch ENTERED = new CountDownLatch(1);
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @Path("/resource")
+    public static class Resource {
+
+        @GET
+        @Path("limited")
+        @ConcurrencyLimit(initial = 1, min = 1, max = 1)
+        public String limited() throws InterruptedException {
+            ENTERED.countDown();
+            RELEASE.await(10, TimeUnit.SECONDS);
+            return "limited";
+        }
+
+        @GET
+        @Path("free")
+        public String free() {
+            return "free";
+        }
+    }
+
+    @Test
+    public void testResourceMethodLimit() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ConcurrencyLimitFeature.class)
+                        .property(ConcurrencyLimitFeature.RETRY_AFTER, 5));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ContainerResponse> blocked = executor.submit(
+                    () -> handler.apply(RequestContextBuilder.from("/resource/limited", "GET").build()).get());
+            assertTrue(ENTERED.await(10, TimeUnit.SECONDS));
+
+            ContainerResponse response = handler.apply(RequestContextBuilder.from("/resource/limited", "GET").build()).get();
+            assertEquals(503, response.getStatus());
+            assertEquals("5", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+
+            // other resource methods are not affected by the limit
+            response = handler.apply(RequestContextBuilder.from("/resource/free", "GET").build()).get();
+            assertEquals(200, response.getStatus());
+
+            RELEASE.countDown();
+            assertEquals("limited", blocked.get(10, TimeUnit.SECONDS).getEntity());
+
+            response = handler.apply(RequestContextBuilder.from("/resource/limited", "GET").build()).get();
+            assertEquals(200, response.getStatus());
+        } finally {
+            RELEASE.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testApplicationLimit() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ConcurrencyLimitFeature.class)
+                        .property(ConcurrencyLimitFeature.INITIAL_LIMIT, 0)
+                        .property(ConcurrencyLimitFeature.MIN_LIMIT, 0)
+                        .property(ConcurrencyLimitFeature.MAX_LIMIT, 0));
+
+        // the limit is never lower than one request
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from("/resource/free", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testLimitAdapts() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100);
+        assertEquals(10, limiter.getLimit());
+
+        // limit grows while the latency stays low and the limit is used
+        for (int i = 0; i < 500; i++) {
+            final int inFlight = limiter.getLimit();
+            for (int j = 0; j < inFlight; j++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            assertFalse(limiter.tryAcquire());
+            for (int j = 0; j < inFlight; j++) {
+                limiter.release(1000, false);
+            }
+        }
+        final int grown = limiter.getLimit();
+        assertTrue(grown > 10);
+        assertEquals(0, limiter.getInFlight());
+
+        // limit shrinks once the latency grows
+        for (int i = 0; i < 500; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(100000, false);
+        }
+        final int shrunk = limiter.getLimit();
+        assertTrue(shrunk < grown);
+
+        // dropped requests decrease the limit multiplicatively
+        assertTrue(limiter.tryAcquire());
+        limiter.release(1000, true);
+        assertTrue(limiter.getLimit() < shrunk);
+    }
+}
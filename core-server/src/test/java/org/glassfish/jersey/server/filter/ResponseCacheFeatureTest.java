@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.NewCookie;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link ResponseCacheFeature} unit tests.
+ */
+public class ResponseCacheFeatureTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+    @Path("/resource")
+    public static class Resource {
+
+        @Inject
+        private ResponseCache cache;
+
+        @GET
+        @ResponseCached(tags = "resource")
+        public String get(@QueryParam("q") final String q) {
+            return q + "-" + INVOCATIONS.incrementAndGet();
+        }
+
+        @DELETE
+        public void invalidate() {
+            cache.invalidate("resource");
+        }
+
+        @GET
+        @Path("private")
+        @ResponseCached
+        public Response getPrivate() {
+            return Response.ok("private-" + INVOCATIONS.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, "private, max-age=60")
+                    .build();
+        }
+
+        @GET
+        @Path("cookie")
+        @ResponseCached
+        public Response getCookie() {
+            return Response.ok("cookie-" + INVOCATIONS.incrementAndGet())
+                    .cookie(new NewCookie("session", "secret"))
+                    .build();
+        }
+
+        @GET
+        @Path("user")
+        @ResponseCached
+        public String getUser(@HeaderParam(HttpHeaders.AUTHORIZATION) final String authorization) {
+            return authorization + "-" + INVOCATIONS.incrementAndGet();
+        }
+
+        @GET
+        @Path("vary")
+        @ResponseCached
+        public Response getVary(@HeaderParam("X-Tenant") final String tenant) {
+            return Response.ok(tenant + "-" + INVOCATIONS.incrementAndGet())
+                    .header(HttpHeaders.VARY, "X-Tenant")
+                    .header("Connection", "X-Hop")
+                    .header("X-Hop", "hop")
+                    .header("Keep-Alive", "timeout=5")
+                    .build();
+        }
+    }
+
+    private static ContainerResponse get(final ApplicationHandler handler, final String uri, final String ifNoneMatch,
+                                         final ByteArrayOutputStream out) throws Exception {
+        final RequestContextBuilder request = RequestContextBuilder.from(uri, "GET");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return handler.apply(request.build(), out).get();
+    }
+
+    private static String get(final ApplicationHandler handler, final String uri, final String header,
+                              final String value) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        handler.apply(RequestContextBuilder.from(uri, "GET").header(header, value).build(), out).get();
+        return out.toString();
+    }
+
+    @Test
+    public void testResponseCached() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ResponseCacheFeature.class));
+        INVOCATIONS.set(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContainerResponse response = get(handler, "/resource?q=a", null, out);
+        assertEquals(200, response.getStatus());
+        assertEquals("a-1", out.toString());
+        final String eTag = response.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        // answered from the cache
+        out = new ByteArrayOutputStream();
+        response = get(handler, "/resource?q=a", null, out);
+        assertEquals(200, response.getStatus());
+        assertEquals("a-1", out.toString());
+        assertEquals(eTag, response.getHeaderString(HttpHeaders.ETAG));
+
+        // conditional request
+        response = get(handler, "/resource?q=a", eTag, new ByteArrayOutputStream());
+        assertEquals(304, response.getStatus());
+
+        // different query
+        out = new ByteArrayOutputStream();
+        get(handler, "/resource?q=b", null, out);
+        assertEquals("b-2", out.toString());
+        assertEquals(2, INVOCATIONS.get());
+
+        // invalidation
+        handler.apply(RequestContextBuilder.from("/resource", "DELETE").build()).get();
+        out = new ByteArrayOutputStream();
+        get(handler, "/resource?q=a", null, out);
+        assertEquals("a-3", out.toString());
+    }
+
+    @Test
+    public void testPrivateResponseNotCached() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ResponseCacheFeature.class));
+        INVOCATIONS.set(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        get(handler, "/resource/private", null, out);
+        assertEquals("private-1", out.toString());
+        out = new ByteArrayOutputStream();
+        get(handler, "/resource/private", null, out);
+        assertEquals("private-2", out.toString());
+    }
+
+    @Test
+    public void testResponseSettingCookieNotCached() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ResponseCacheFeature.class));
+        INVOCATIONS.set(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContainerResponse response = get(handler, "/resource/cookie", null, out);
+        assertEquals("cookie-1", out.toString());
+        assertNotNull(response.getHeaderString(HttpHeaders.SET_COOKIE));
+        out = new ByteArrayOutputStream();
+        response = get(handler, "/resource/cookie", null, out);
+        assertEquals("cookie-2", out.toString());
+        assertNotNull(response.getHeaderString(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    public void testResponseCachedPerAuthorization() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ResponseCacheFeature.class));
+        INVOCATIONS.set(0);
+
+        assertEquals("alice-1", get(handler, "/resource/user", HttpHeaders.AUTHORIZATION, "alice"));
+        assertEquals("bob-2", get(handler, "/resource/user", HttpHeaders.AUTHORIZATION, "bob"));
+        assertEquals("alice-1", get(handler, "/resource/user", HttpHeaders.AUTHORIZATION, "alice"));
+        assertEquals("bob-2", get(handler, "/resource/user", HttpHeaders.AUTHORIZATION, "bob"));
+    }
+
+    @Test
+    public void testResponseCachedPerVariant() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(Resource.class, ResponseCacheFeature.class));
+        INVOCATIONS.set(0);
+
+        assertEquals("a-1", get(handler, "/resource/vary", "X-Tenant", "a"));
+        assertEquals("b-2", get(handler, "/resource/vary", "X-Tenant", "b"));
+        assertEquals("a-1", get(handler, "/resource/vary", "X-Tenant", "a"));
+        assertEquals("b-2", get(handler, "/resource/vary", "X-Tenant", "b"));
+
+        // hop-by-hop headers are not stored with the cached response
+        final ContainerResponse response = handler.apply(
+                RequestContextBuilder.from("/resource/vary", "GET").header("X-Tenant", "a").build(),
+                new ByteArrayOutputStream()).get();
+        assertEquals("X-Tenant", response.getHeaderString(HttpHeaders.VARY));
+        assertNull(response.getHeaderString("Connection"));
+        assertNull(response.getHeaderString("Keep-Alive"));
+        assertNull(response.getHeaderString("X-Hop"));
+    }
+}
@@ -53,6 +53,32 @@ public final class EntityFilteringFeature implements Feature {
      */
     public static final String ENTITY_FILTERING_SCOPE = "jersey.config.entityFiltering.scope";
 
+    /**
+     * Defines the maximum number of entity-filtering objects cached by an {@link
+     * org.glassfish.jersey.message.filtering.spi.ObjectProvider object provider}. Entity-filtering objects are cached per
+     * entity class and combination of entity-filtering scopes, e.g. every distinct {@code select} query of
+     * {@link SelectableEntityFilteringFeature} results in a separate cache entry.
+     * <p>
+     * The property value MUST be a positive integer.
+     * </p>
+     * <p>
+     * The default value is {@code 10000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String ENTITY_FILTERING_CACHE_SIZE = "jersey.config.entityFiltering.cacheSize";
+
+    /**
+     * Default value of {@link #ENTITY_FILTERING_CACHE_SIZE} property.
+     *
+     * @since 2.29
+     */
+    public static final int DEFAULT_ENTITY_FILTERING_CACHE_SIZE = 10000;
+
     @Override
     public boolean configure(final FeatureContext context) {
         final Configuration config = context.getConfiguration();
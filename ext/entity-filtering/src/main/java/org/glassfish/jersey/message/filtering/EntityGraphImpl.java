@@ -17,6 +17,7 @@
 package org.glassfish.jersey.message.filtering;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -24,6 +25,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.internal.guava.HashBasedTable;
 import org.glassfish.jersey.internal.guava.HashMultimap;
 import org.glassfish.jersey.internal.guava.Table;
@@ -37,6 +40,11 @@ import org.glassfish.jersey.message.filtering.spi.ScopeProvider;
  */
 final class EntityGraphImpl implements EntityGraph {
 
+    /**
+     * Maximum number of resolved scope combinations (bitmasks) cached per entity graph.
+     */
+    private static final int MASK_CACHE_SIZE = 1000;
+
     private final Class<?> entityClass;
 
     private final Set<String> globalScopes;
@@ -47,6 +55,9 @@ final class EntityGraphImpl implements EntityGraph {
     // <FilteringScope, FieldName, Class>
     private final Table<String, String, Class<?>> subgraphs;
 
+    // Index-based snapshot of fields/subgraphs, (re)compiled lazily after the graph has been modified.
+    private volatile CompiledGraph compiled;
+
     /**
      * Create an entity graph for given class.
      *
@@ -78,6 +89,7 @@ final class EntityGraphImpl implements EntityGraph {
             createFilteringScope(filteringScope);
             fields.get(filteringScope).add(fieldName);
         }
+        compiled = null;
 
         return this;
     }
@@ -104,6 +116,7 @@ final class EntityGraphImpl implements EntityGraph {
             createFilteringScope(filteringScope);
             subgraphs.put(filteringScope, fieldName, fieldClass);
         }
+        compiled = null;
 
         return this;
     }
@@ -129,12 +142,13 @@ final class EntityGraphImpl implements EntityGraph {
 
     @Override
     public Set<String> getFields(final Set<String> filteringScopes) {
-        final Set<String> matched = new HashSet<>();
+        final CompiledGraph snapshot = compile();
+        final BitSet mask = snapshot.resolve(filteringScopes).fields;
 
-        for (final String filteringContext : filteringScopes) {
-            matched.addAll(fields.get(filteringContext));
+        final Set<String> matched = new HashSet<>();
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            matched.add(snapshot.fieldNames[i]);
         }
-
         return matched;
     }
 
@@ -167,12 +181,13 @@ final class EntityGraphImpl implements EntityGraph {
 
     @Override
     public Map<String, Class<?>> getSubgraphs(final Set<String> filteringScopes) {
-        final Map<String, Class<?>> matched = new HashMap<>();
+        final CompiledGraph snapshot = compile();
+        final BitSet mask = snapshot.resolve(filteringScopes).subgraphs;
 
-        for (final String filteringContext : filteringScopes) {
-            matched.putAll(subgraphs.row(filteringContext));
+        final Map<String, Class<?>> matched = new HashMap<>();
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            matched.put(snapshot.subgraphNames[i], snapshot.subgraphClasses[i]);
         }
-
         return matched;
     }
 
@@ -196,6 +211,7 @@ final class EntityGraphImpl implements EntityGraph {
                 subgraphs.remove(scope, fieldName);
             }
         }
+        compiled = null;
         return this;
     }
 
@@ -217,7 +233,27 @@ final class EntityGraphImpl implements EntityGraph {
                 }
             }
             localScopes.add(filteringScope);
+            compiled = null;
+        }
+    }
+
+    /**
+     * Get the compiled snapshot of this graph, compiling it if the graph has been modified since the last compilation.
+     *
+     * @return compiled snapshot of this graph.
+     */
+    private CompiledGraph compile() {
+        CompiledGraph snapshot = compiled;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = compiled;
+                if (snapshot == null) {
+                    snapshot = new CompiledGraph(fields, subgraphs);
+                    compiled = snapshot;
+                }
+            }
         }
+        return snapshot;
     }
 
     @Override
@@ -247,4 +283,92 @@ final class EntityGraphImpl implements EntityGraph {
         result = 53 * result + subgraphs.hashCode();
         return result;
     }
+
+    /**
+     * Immutable, index-based snapshot of an entity graph. Every field and every subgraph is assigned a fixed position and
+     * every entity-filtering scope is resolved into a bitmask over these positions. A combination of scopes (e.g. the scopes
+     * derived from a {@code select} query) is then resolved by OR-ing the masks of the individual scopes; the resulting
+     * masks are cached per scope combination.
+     */
+    private static final class CompiledGraph {
+
+        private final String[] fieldNames;
+        private final String[] subgraphNames;
+        private final Class<?>[] subgraphClasses;
+
+        private final Map<String, BitSet> fieldMasks = new HashMap<>();
+        private final Map<String, BitSet> subgraphMasks = new HashMap<>();
+
+        private final Cache<Set<String>, ScopeMask> resolved = CacheBuilder.newBuilder().maximumSize(MASK_CACHE_SIZE).build();
+
+        private CompiledGraph(final HashMultimap<String, String> fields, final Table<String, String, Class<?>> subgraphs) {
+            final Map<String, Integer> fieldIndex = new HashMap<>();
+            for (final Map.Entry<String, String> entry : fields.entries()) {
+                final Integer index = fieldIndex.computeIfAbsent(entry.getValue(), name -> fieldIndex.size());
+                fieldMasks.computeIfAbsent(entry.getKey(), scope -> new BitSet()).set(index);
+            }
+            this.fieldNames = new String[fieldIndex.size()];
+            for (final Map.Entry<String, Integer> entry : fieldIndex.entrySet()) {
+                fieldNames[entry.getValue()] = entry.getKey();
+            }
+
+            final Map<String, Integer> subgraphIndex = new HashMap<>();
+            final Map<Integer, Class<?>> subgraphClassIndex = new HashMap<>();
+            for (final Table.Cell<String, String, Class<?>> cell : subgraphs.cellSet()) {
+                final Integer index = subgraphIndex.computeIfAbsent(cell.getColumnKey(), name -> subgraphIndex.size());
+                subgraphClassIndex.put(index, cell.getValue());
+                subgraphMasks.computeIfAbsent(cell.getRowKey(), scope -> new BitSet()).set(index);
+            }
+            this.subgraphNames = new String[subgraphIndex.size()];
+            this.subgraphClasses = new Class<?>[subgraphIndex.size()];
+            for (final Map.Entry<String, Integer> entry : subgraphIndex.entrySet()) {
+                subgraphNames[entry.getValue()] = entry.getKey();
+                subgraphClasses[entry.getValue()] = subgraphClassIndex.get(entry.getValue());
+            }
+        }
+
+        /**
+         * Resolve given entity-filtering scopes into field and subgraph masks.
+         *
+         * @param filteringScopes entity-filtering scopes to be resolved.
+         * @return resolved (read-only) masks.
+         */
+        private ScopeMask resolve(final Set<String> filteringScopes) {
+            ScopeMask mask = resolved.getIfPresent(filteringScopes);
+
+            if (mask == null) {
+                final BitSet fieldMask = new BitSet(fieldNames.length);
+                final BitSet subgraphMask = new BitSet(subgraphNames.length);
+
+                for (final String filteringScope : filteringScopes) {
+                    final BitSet scopeFields = fieldMasks.get(filteringScope);
+                    if (scopeFields != null) {
+                        fieldMask.or(scopeFields);
+                    }
+                    final BitSet scopeSubgraphs = subgraphMasks.get(filteringScope);
+                    if (scopeSubgraphs != null) {
+                        subgraphMask.or(scopeSubgraphs);
+                    }
+                }
+
+                mask = new ScopeMask(fieldMask, subgraphMask);
+                resolved.put(Collections.unmodifiableSet(new HashSet<>(filteringScopes)), mask);
+            }
+            return mask;
+        }
+    }
+
+    /**
+     * Fields and subgraphs of a compiled graph resolved for a combination of entity-filtering scopes.
+     */
+    private static final class ScopeMask {
+
+        private final BitSet fields;
+        private final BitSet subgraphs;
+
+        private ScopeMask(final BitSet fields, final BitSet subgraphs) {
+            this.fields = fields;
+            this.subgraphs = subgraphs;
+        }
+    }
 }
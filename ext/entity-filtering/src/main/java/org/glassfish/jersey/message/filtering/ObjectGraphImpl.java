@@ -16,13 +16,10 @@
 
 package org.glassfish.jersey.message.filtering;
 
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.glassfish.jersey.internal.util.collection.Views;
 import org.glassfish.jersey.message.filtering.spi.EntityGraph;
@@ -65,10 +62,10 @@ final class ObjectGraphImpl implements ObjectGraph {
     public Set<String> getFields(final String parent) {
         final Set<String> childFilteringScopes = getFilteringScopes(parent);
         if (fields == null) {
-            fields = graph.getFields(
-                    Views.setUnionView(
-                            childFilteringScopes,
-                            Collections.singleton(ScopeProvider.DEFAULT_SCOPE)));
+            final Set<String> scopes = new HashSet<>(childFilteringScopes);
+            scopes.add(ScopeProvider.DEFAULT_SCOPE);
+
+            fields = graph.getFields(scopes);
         }
         return fields;
     }
@@ -102,21 +99,55 @@ final class ObjectGraphImpl implements ObjectGraph {
     }
 
     private Set<String> getFilteringScopes(final String parent) {
-        Set<String> childFilteringScopes = new HashSet<>();
         if (filteringScopes.contains(SelectableScopeResolver.DEFAULT_SCOPE) || parent == null) {
-            childFilteringScopes = filteringScopes;
-        } else {
-            for (final String filteringScope : filteringScopes) {
-                final Pattern p = Pattern.compile(SelectableScopeResolver.PREFIX + parent + "\\.(\\w+)(\\.\\w+)*$");
-                final Matcher m = p.matcher(filteringScope);
-                if (m.matches()) {
-                    childFilteringScopes.add(SelectableScopeResolver.PREFIX + m.group(1));
-                } else {
-                    childFilteringScopes.add(filteringScope);
+            return filteringScopes;
+        }
+
+        final Set<String> childFilteringScopes = new HashSet<>();
+        final String parentPrefix = SelectableScopeResolver.PREFIX + parent + ".";
+        for (final String filteringScope : filteringScopes) {
+            final String child = childScope(filteringScope, parentPrefix);
+            childFilteringScopes.add(child != null ? SelectableScopeResolver.PREFIX + child : filteringScope);
+        }
+        return childFilteringScopes;
+    }
+
+    /**
+     * Get the first path segment following the given parent prefix in a selectable entity-filtering scope, e.g. for scope
+     * {@code PREFIX + "address.street.name"} and parent prefix {@code PREFIX + "address."} the result is {@code "street"}.
+     *
+     * @param filteringScope entity-filtering scope to be examined.
+     * @param parentPrefix   selectable scope prefix of the parent field (including the trailing dot).
+     * @return name of the child field or {@code null} if the scope doesn't denote a child of the parent.
+     */
+    private static String childScope(final String filteringScope, final String parentPrefix) {
+        if (!filteringScope.startsWith(parentPrefix)) {
+            return null;
+        }
+
+        final int start = parentPrefix.length();
+        int end = -1;
+        boolean segmentStart = true;
+        for (int i = start; i < filteringScope.length(); i++) {
+            final char c = filteringScope.charAt(i);
+            if (c == '.') {
+                if (segmentStart) {
+                    return null;
                 }
+                if (end < 0) {
+                    end = i;
+                }
+                segmentStart = true;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_') {
+                segmentStart = false;
+            } else {
+                return null;
             }
         }
-        return childFilteringScopes;
+        if (segmentStart) {
+            return null;
+        }
+        return filteringScope.substring(start, end < 0 ? filteringScope.length() : end);
     }
 
 }
@@ -24,10 +24,15 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.ws.rs.core.Configuration;
+
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
+import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.guava.Cache;
 import org.glassfish.jersey.internal.guava.CacheBuilder;
+import org.glassfish.jersey.message.filtering.EntityFilteringFeature;
 
 /**
  * Common implementation of {@link ObjectProvider object provider} and {@link ObjectGraphTransformer object graph transformer}.
@@ -42,9 +47,10 @@ import org.glassfish.jersey.internal.guava.CacheBuilder;
  */
 public abstract class AbstractObjectProvider<T> implements ObjectProvider<T>, ObjectGraphTransformer<T> {
 
-    private static final int PROVIDER_CACHE_SIZE = 1000;
+    private Cache<EntityContext, T> filteringObjects;
 
-    private final Cache<EntityContext, T> filteringObjects = CacheBuilder.newBuilder().maximumSize(PROVIDER_CACHE_SIZE).build();
+    @Inject
+    private Configuration configuration;
 
     @Inject
     private ScopeProvider scopeProvider;
@@ -55,6 +61,16 @@ public abstract class AbstractObjectProvider<T> implements ObjectProvider<T>, Ob
     @Inject
     private EntityGraphProvider graphProvider;
 
+    @PostConstruct
+    private void init() {
+        final int cacheSize = CommonProperties.getValue(configuration.getProperties(),
+                EntityFilteringFeature.ENTITY_FILTERING_CACHE_SIZE, EntityFilteringFeature.DEFAULT_ENTITY_FILTERING_CACHE_SIZE);
+
+        filteringObjects = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize > 0 ? cacheSize : EntityFilteringFeature.DEFAULT_ENTITY_FILTERING_CACHE_SIZE)
+                .build();
+    }
+
     @Override
     public final T getFilteringObject(final Type genericType, final boolean forWriter, final Annotation... annotations) {
         return getFilteringObject(FilteringHelper.getEntityClass(genericType), forWriter, annotations);
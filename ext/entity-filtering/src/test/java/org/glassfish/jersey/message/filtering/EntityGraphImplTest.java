@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.filtering;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.glassfish.jersey.message.filtering.spi.ScopeProvider;
+
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * {@link org.glassfish.jersey.message.filtering.EntityGraphImpl} unit tests.
+ */
+public class EntityGraphImplTest {
+
+    @Test
+    public void testFieldsForScopeCombinations() throws Exception {
+        final EntityGraphImpl graph = new EntityGraphImpl(SubEntity.class);
+        graph.addField("id", ScopeProvider.DEFAULT_SCOPE);
+        graph.addField("name", "a", "b");
+        graph.addField("secret", "b");
+
+        assertThat(graph.getFields(set(ScopeProvider.DEFAULT_SCOPE)), equalTo(set("id")));
+        assertThat(graph.getFields(set("a")), equalTo(set("id", "name")));
+        assertThat(graph.getFields(set("a", "b")), equalTo(set("id", "name", "secret")));
+        assertThat(graph.getFields(set("unknown")), equalTo(Collections.<String>emptySet()));
+
+        // Cached masks have to be discarded when the graph changes.
+        graph.addField("extra", "a");
+        assertThat(graph.getFields(set("a")), equalTo(set("id", "name", "extra")));
+
+        graph.remove("name");
+        assertThat(graph.getFields(set("a", "b")), equalTo(set("id", "secret", "extra")));
+    }
+
+    @Test
+    public void testSubgraphsForScopeCombinations() throws Exception {
+        final EntityGraphImpl graph = new EntityGraphImpl(SubEntity.class);
+        graph.addSubgraph("child", SubEntity.class, "a");
+        graph.addSubgraph("other", PermitAllEntity.class, "b");
+
+        final Map<String, Class<?>> expected = new HashMap<>();
+        expected.put("child", SubEntity.class);
+        assertThat(graph.getSubgraphs(set("a")), equalTo(expected));
+
+        expected.put("other", PermitAllEntity.class);
+        assertThat(graph.getSubgraphs(set("a", "b")), equalTo(expected));
+
+        // Returned map is a copy which can be modified by the caller.
+        graph.getSubgraphs(set("a")).clear();
+        assertThat(graph.getSubgraphs(set("a", "b")), equalTo(expected));
+    }
+
+    private static Set<String> set(final String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
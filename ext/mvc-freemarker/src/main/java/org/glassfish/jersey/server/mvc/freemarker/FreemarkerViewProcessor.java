@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -72,6 +72,8 @@ final class FreemarkerViewProcessor extends AbstractTemplateProcessor<Template>
                         return new FreemarkerSuppliedConfigurationFactory(configuration);
                     }
                 });
+
+        precompileTemplates();
     }
 
     @Override
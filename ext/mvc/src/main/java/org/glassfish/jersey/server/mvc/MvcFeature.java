@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,14 +16,18 @@
 
 package org.glassfish.jersey.server.mvc;
 
+import java.util.Map;
+
 import javax.ws.rs.ConstrainedTo;
 import javax.ws.rs.RuntimeType;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
 
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.server.mvc.internal.ErrorTemplateExceptionMapper;
 import org.glassfish.jersey.server.mvc.internal.MvcBinder;
+import org.glassfish.jersey.server.mvc.internal.TemplatePrecompilationListener;
 
 /**
  * {@code MvcFeature} used to add MVC support to the server.
@@ -98,12 +102,65 @@ public final class MvcFeature implements Feature {
      */
     public static final String ENCODING = "jersey.config.server.mvc.encoding";
 
+    /**
+     * Maximum number of template objects kept in the template cache of a template processor. The least recently used
+     * templates are evicted first. The property takes effect only if {@link #CACHE_TEMPLATES caching} is enabled.
+     * <p/>
+     * The default value is {@code 1000}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     * Note: This property is used as common prefix for specific
+     * {@link org.glassfish.jersey.server.mvc.spi.TemplateProcessor template processors} properties and might not be supported by
+     * all template processors.
+     *
+     * @since 2.29
+     */
+    public static final String CACHE_SIZE = "jersey.config.server.mvc.cacheSize";
+
+    /**
+     * If {@code true} then all the templates found under the {@link #TEMPLATE_BASE_PATH template base path} are compiled
+     * and cached when the application is initialized, i.e. the first request to a view does not pay the compilation.
+     * Enabling the property enables {@link #CACHE_TEMPLATES caching} as well.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     * Note: This property is used as common prefix for specific
+     * {@link org.glassfish.jersey.server.mvc.spi.TemplateProcessor template processors} properties and might not be supported by
+     * all template processors.
+     *
+     * @since 2.29
+     */
+    public static final String PRECOMPILE_TEMPLATES = "jersey.config.server.mvc.precompile";
+
+    /**
+     * If {@code true} then the template directories under the {@link #TEMPLATE_BASE_PATH template base path} that reside
+     * on the file system are watched for changes and the template cache is cleared whenever a template is modified.
+     * The property takes effect only if {@link #CACHE_TEMPLATES caching} is enabled and is intended for development.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     * Note: This property is used as common prefix for specific
+     * {@link org.glassfish.jersey.server.mvc.spi.TemplateProcessor template processors} properties and might not be supported by
+     * all template processors.
+     *
+     * @since 2.29
+     */
+    public static final String WATCH_TEMPLATES = "jersey.config.server.mvc.watch";
+
     @Override
     public boolean configure(final FeatureContext context) {
         final Configuration config = context.getConfiguration();
 
         if (!config.isRegistered(ErrorTemplateExceptionMapper.class)) {
             context.register(ErrorTemplateExceptionMapper.class);
+            if (isPrecompilationEnabled(config)) {
+                context.register(TemplatePrecompilationListener.class);
+            }
             context.register(new MvcBinder());
 
             return true;
@@ -111,4 +168,17 @@ public final class MvcFeature implements Feature {
 
         return false;
     }
+
+    /**
+     * Check whether {@link #PRECOMPILE_TEMPLATES template precompilation} is enabled for any of the template processors.
+     */
+    private static boolean isPrecompilationEnabled(final Configuration config) {
+        final Map<String, Object> properties = config.getProperties();
+        for (final String name : properties.keySet()) {
+            if (name.startsWith(PRECOMPILE_TEMPLATES) && PropertiesHelper.getValue(properties, name, false, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.mvc.internal;
+
+import javax.inject.Inject;
+
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.internal.inject.Providers;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.mvc.MvcFeature;
+import org.glassfish.jersey.server.mvc.spi.TemplateProcessor;
+
+/**
+ * Application event listener that instantiates all the registered {@link TemplateProcessor template processors} once the
+ * application is initialized. The listener is registered by {@link MvcFeature} only if
+ * {@link MvcFeature#PRECOMPILE_TEMPLATES template precompilation} is enabled. Template processors compile their templates
+ * when they are created, i.e. before the first request is served.
+ */
+public final class TemplatePrecompilationListener implements ApplicationEventListener {
+
+    @Inject
+    private InjectionManager injectionManager;
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+        if (event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED) {
+            Providers.getCustomProviders(injectionManager, TemplateProcessor.class);
+            Providers.getProviders(injectionManager, TemplateProcessor.class);
+        }
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        return null;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -22,20 +22,40 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.annotation.PreDestroy;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -45,7 +65,6 @@ import javax.servlet.ServletContext;
 
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
-import org.glassfish.jersey.internal.util.collection.DataStructures;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.server.mvc.MvcFeature;
 import org.glassfish.jersey.server.mvc.internal.LocalizationMessages;
@@ -57,6 +76,9 @@ import org.glassfish.jersey.server.mvc.internal.TemplateHelper;
  * <ul>
  * <li>{@link org.glassfish.jersey.server.mvc.MvcFeature#TEMPLATE_BASE_PATH}</li>
  * <li>{@link org.glassfish.jersey.server.mvc.MvcFeature#CACHE_TEMPLATES}</li>
+ * <li>{@link org.glassfish.jersey.server.mvc.MvcFeature#CACHE_SIZE}</li>
+ * <li>{@link org.glassfish.jersey.server.mvc.MvcFeature#PRECOMPILE_TEMPLATES}</li>
+ * <li>{@link org.glassfish.jersey.server.mvc.MvcFeature#WATCH_TEMPLATES}</li>
  * <li>{@link org.glassfish.jersey.server.mvc.MvcFeature#TEMPLATE_OBJECT_FACTORY}</li>
  * </ul>
  * If any of the properties are not supported by particular template processor then this fact should be mentioned in documentation
@@ -68,7 +90,14 @@ public abstract class AbstractTemplateProcessor<T> implements TemplateProcessor<
 
     private static final Logger LOGGER = Logger.getLogger(AbstractTemplateProcessor.class.getName());
 
-    private final ConcurrentMap<String, T> cache;
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final Map<String, T> cache;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final boolean precompile;
+    private final boolean watch;
+    private volatile WatchService watchService;
 
     private final String suffix;
     private final Configuration config;
@@ -112,14 +141,30 @@ public abstract class AbstractTemplateProcessor<T> implements TemplateProcessor<
         this.basePath = basePath;
 
         // Cache.
-        Boolean cacheEnabled = PropertiesHelper.getValue(properties, MvcFeature.CACHE_TEMPLATES + suffix, Boolean.class, null);
-        if (cacheEnabled == null) {
-            cacheEnabled = PropertiesHelper.getValue(properties, MvcFeature.CACHE_TEMPLATES, false, null);
-        }
-        this.cache = cacheEnabled ? DataStructures.<String, T>createConcurrentMap() : null;
+        this.precompile = getValue(properties, MvcFeature.PRECOMPILE_TEMPLATES, false);
+        final boolean cacheEnabled = precompile || getValue(properties, MvcFeature.CACHE_TEMPLATES, false);
+        final int cacheSize = Math.max(1, getValue(properties, MvcFeature.CACHE_SIZE, DEFAULT_CACHE_SIZE));
+        this.cache = cacheEnabled ? Collections.synchronizedMap(new LinkedHashMap<String, T>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, T> eldest) {
+                return size() > cacheSize;
+            }
+        }) : null;
+        this.watch = cacheEnabled && getValue(properties, MvcFeature.WATCH_TEMPLATES, false);
         this.encoding = TemplateHelper.getTemplateOutputEncoding(config, suffix);
     }
 
+    /**
+     * Get the value of the processor specific property ({@code name + suffix}) or of the common property if the specific
+     * one is not set.
+     */
+    private <V> V getValue(final Map<String, Object> properties, final String name, final V defaultValue) {
+        @SuppressWarnings("unchecked")
+        final Class<V> type = (Class<V>) defaultValue.getClass();
+        final V value = PropertiesHelper.getValue(properties, name + suffix, type, null);
+        return value != null ? value : PropertiesHelper.getValue(properties, name, defaultValue, null);
+    }
+
     /**
      * Return base path for current template processor.
      *
@@ -142,15 +187,283 @@ public abstract class AbstractTemplateProcessor<T> implements TemplateProcessor<
     public T resolve(final String name, final MediaType mediaType) {
         // Look into the cache if enabled.
         if (cache != null) {
-            if (!cache.containsKey(name)) {
-                cache.putIfAbsent(name, resolve(name));
+            T template = cache.get(name);
+            if (template != null) {
+                cacheHits.incrementAndGet();
+                return template;
             }
-            return cache.get(name);
+
+            cacheMisses.incrementAndGet();
+            template = resolve(name);
+            if (template != null) {
+                cache.put(name, template);
+            }
+            return template;
         }
 
         return resolve(name);
     }
 
+    /**
+     * Get the number of template objects currently held in the template cache.
+     *
+     * @return number of cached templates, {@code 0} if caching is not enabled.
+     * @since 2.29
+     */
+    public int getCacheSize() {
+        return cache != null ? cache.size() : 0;
+    }
+
+    /**
+     * Get the number of template look-ups served from the template cache.
+     *
+     * @return number of cache hits.
+     * @since 2.29
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Get the number of template look-ups that had to resolve (compile) the template.
+     *
+     * @return number of cache misses.
+     * @since 2.29
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Remove all the template objects from the template cache. Templates are resolved again on the next look-up.
+     *
+     * @since 2.29
+     */
+    public void invalidateCache() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Compile and cache all the templates with supported extensions found under the base path, if
+     * {@link MvcFeature#PRECOMPILE_TEMPLATES precompilation} is enabled, and start watching template directories for
+     * changes, if {@link MvcFeature#WATCH_TEMPLATES watching} is enabled.
+     * <p/>
+     * The method is supposed to be invoked by the template processor implementations at the end of their constructor, i.e.
+     * once the processor is able to {@link #resolve(String, java.io.Reader) resolve} templates.
+     *
+     * @since 2.29
+     */
+    protected void precompileTemplates() {
+        if (cache == null || basePath.isEmpty()) {
+            return;
+        }
+
+        if (precompile) {
+            int count = 0;
+            for (final String name : findTemplateNames()) {
+                final T template = resolve(name);
+                if (template != null) {
+                    cache.put(name, template);
+                    // Views are mostly referenced without the extension.
+                    cache.putIfAbsent(name.substring(0, name.lastIndexOf('.')), template);
+                    count++;
+                }
+            }
+            LOGGER.log(Level.CONFIG, LocalizationMessages.TEMPLATES_PRECOMPILED(count, getClass().getName(), basePath));
+        }
+
+        if (watch) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Stop watching template directories for changes.
+     */
+    @PreDestroy
+    public void preDestroy() {
+        final WatchService service = watchService;
+        watchService = null;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (final IOException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.TEMPLATE_WATCH_ERROR(basePath), e);
+            }
+        }
+    }
+
+    /**
+     * Find names (relative to the base path and starting with {@code /}) of all templates with supported extension
+     * available in servlet context, on classpath and on the file system.
+     */
+    private Set<String> findTemplateNames() {
+        final Set<String> names = new TreeSet<>();
+        final String base = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+
+        // ServletContext.
+        if (servletContext != null) {
+            final String dir = (base.startsWith("/") ? base : "/" + base) + "/";
+            collectServletResources(dir, dir, names);
+        }
+
+        // Classloader.
+        final String resource = base.startsWith("/") ? base.substring(1) : base;
+        try {
+            final Enumeration<URL> urls = getClass().getClassLoader().getResources(resource);
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    collectFiles(Paths.get(url.toURI()), names);
+                } else if ("jar".equals(url.getProtocol())) {
+                    final URLConnection connection = url.openConnection();
+                    if (connection instanceof JarURLConnection) {
+                        final JarFile jar = ((JarURLConnection) connection).getJarFile();
+                        final String prefix = resource + "/";
+                        for (final JarEntry entry : Collections.list(jar.entries())) {
+                            if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+                                addTemplateName(entry.getName().substring(prefix.length() - 1), names);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.CONFIG, LocalizationMessages.TEMPLATE_SCAN_ERROR(basePath), e);
+        }
+
+        // File-system path.
+        final Path path = Paths.get(base);
+        if (Files.isDirectory(path)) {
+            collectFiles(path, names);
+        }
+
+        return names;
+    }
+
+    private void collectServletResources(final String root, final String dir, final Set<String> names) {
+        final Set<String> paths = servletContext.getResourcePaths(dir);
+        if (paths != null) {
+            for (final String path : paths) {
+                if (path.endsWith("/")) {
+                    collectServletResources(root, path, names);
+                } else {
+                    addTemplateName(path.substring(root.length() - 1), names);
+                }
+            }
+        }
+    }
+
+    private void collectFiles(final Path root, final Set<String> names) {
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile)
+                 .forEach(file -> addTemplateName("/" + root.relativize(file).toString().replace('\\', '/'), names));
+        } catch (final IOException e) {
+            LOGGER.log(Level.CONFIG, LocalizationMessages.TEMPLATE_SCAN_ERROR(root), e);
+        }
+    }
+
+    private void addTemplateName(final String name, final Set<String> names) {
+        final String lowerName = name.toLowerCase();
+        for (final String extension : supportedExtensions) {
+            if (lowerName.endsWith(extension)) {
+                names.add(name);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Register all the file-system directories under the base path with a watch service and start a daemon thread clearing
+     * the template cache whenever a directory content changes. The whole cache is cleared as a changed template may be
+     * included in other templates. Directories created later are registered by the watch thread once they appear.
+     */
+    private void startWatching() {
+        final String base = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+        final Set<Path> roots = new LinkedHashSet<>();
+
+        if (servletContext != null) {
+            final String realPath = servletContext.getRealPath(base.startsWith("/") ? base : "/" + base);
+            if (realPath != null) {
+                roots.add(Paths.get(realPath));
+            }
+        }
+        try {
+            final String resource = base.startsWith("/") ? base.substring(1) : base;
+            final Enumeration<URL> urls = getClass().getClassLoader().getResources(resource);
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    roots.add(Paths.get(url.toURI()));
+                }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.CONFIG, LocalizationMessages.TEMPLATE_SCAN_ERROR(basePath), e);
+        }
+        roots.add(Paths.get(base));
+
+        try {
+            final WatchService service = FileSystems.getDefault().newWatchService();
+            boolean registered = false;
+            for (final Path root : roots) {
+                if (Files.isDirectory(root)) {
+                    register(root, service);
+                    registered = true;
+                }
+            }
+            if (!registered) {
+                service.close();
+                return;
+            }
+
+            watchService = service;
+            final Thread thread = new Thread(() -> watch(service), "jersey-mvc-template-watch-" + basePath);
+            thread.setDaemon(true);
+            thread.start();
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.TEMPLATE_WATCH_ERROR(basePath), e);
+        }
+    }
+
+    /**
+     * Register the given directory and all its sub-directories with the watch service.
+     */
+    private static void register(final Path root, final WatchService service) throws IOException {
+        try (Stream<Path> dirs = Files.walk(root)) {
+            for (final Path dir : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+    }
+
+    private void watch(final WatchService service) {
+        try {
+            while (true) {
+                final WatchKey key = service.take();
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        final Path created = ((Path) key.watchable()).resolve((Path) event.context());
+                        if (Files.isDirectory(created)) {
+                            try {
+                                register(created, service);
+                            } catch (final IOException e) {
+                                LOGGER.log(Level.WARNING, LocalizationMessages.TEMPLATE_WATCH_ERROR(created), e);
+                            }
+                        }
+                    }
+                }
+                // Clear the cache only once the new directories are registered, so that no change goes unnoticed.
+                invalidateCache();
+                key.reset();
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            // Watching stopped.
+        }
+    }
+
     /**
      * Resolve a template name to a template reference.
      *
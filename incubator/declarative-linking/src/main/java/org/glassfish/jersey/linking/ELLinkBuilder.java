@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,16 +17,20 @@
 package org.glassfish.jersey.linking;
 
 import java.net.URI;
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import javax.el.ExpressionFactory;
 import javax.el.ValueExpression;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
 import org.glassfish.jersey.uri.internal.UriTemplateParser;
 
@@ -44,6 +48,32 @@ final class ELLinkBuilder {
     private static final ExpressionFactory expressionFactory =
             ExpressionFactory.newInstance();
 
+    /**
+     * Maximum number of entries kept in each of the expression and template caches. Once a cache is full,
+     * the least recently used entries are evicted.
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * Parsed condition expressions keyed by the expression string.
+     */
+    private static final Cache<String, ValueExpression> CONDITIONS = newCache();
+
+    /**
+     * Parsed binding expressions keyed by the expression string.
+     */
+    private static final Cache<String, ValueExpression> BINDINGS = newCache();
+
+    /**
+     * Compiled link templates keyed by the (unevaluated) template returned from
+     * {@link InjectLinkDescriptor#getLinkTemplate}.
+     */
+    private static final Cache<String, LinkTemplate> LINK_TEMPLATES = newCache();
+
+    private static <V> Cache<String, V> newCache() {
+        return CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+    }
+
     /**
      * Evaluates the condition
      *
@@ -61,8 +91,21 @@ final class ELLinkBuilder {
         if (condition == null || condition.isEmpty()) {
             return true;
         }
-        LinkELContext context = new LinkELContext(entity, resource, instance);
-        ValueExpression expr = expressionFactory.createValueExpression(context, condition, boolean.class);
+        return evaluateCondition(condition, new LinkELContext(entity, resource, instance));
+    }
+
+    /**
+     * Evaluates the condition in the supplied context.
+     *
+     * @param condition the condition expression
+     * @param context   the context holding the entity, resource and instance the condition is evaluated against.
+     * @return the result of the condition
+     */
+    static boolean evaluateCondition(String condition, LinkELContext context) {
+        if (condition == null || condition.isEmpty()) {
+            return true;
+        }
+        ValueExpression expr = expression(CONDITIONS, condition, boolean.class);
 
         Object result = expr.getValue(context).toString();
         return "true".equals(result);
@@ -86,18 +129,35 @@ final class ELLinkBuilder {
                         UriInfo uriInfo,
                         ResourceMappingContext rmc) {
 
-        String template = link.getLinkTemplate(rmc);
+        return buildURI(link, new LinkELContext(entity, resource, instance), uriInfo, rmc);
+    }
+
+    /**
+     * Creates the URI using the link descriptor and the supplied context.
+     *
+     * @param link the link descriptor
+     * @param context the context holding the entity, resource and instance the link is built for.
+     * @param uriInfo JAX-RS {@link UriInfo}
+     * @param rmc the {@link ResourceMappingContext}
+     * @return the URI
+     */
+    static URI buildURI(InjectLinkDescriptor link,
+                        LinkELContext context,
+                        UriInfo uriInfo,
+                        ResourceMappingContext rmc) {
+
+        LinkTemplate linkTemplate = compile(link.getLinkTemplate(rmc));
 
         // first process any embedded EL expressions
-        LinkELContext context = new LinkELContext(entity, resource, instance);
-        ValueExpression expr = expressionFactory.createValueExpression(context,
-                template, String.class);
-        template = expr.getValue(context).toString();
+        String template = linkTemplate.template;
+        List<String> parameterNames = linkTemplate.parameterNames;
+        if (linkTemplate.expression != null) {
+            template = linkTemplate.expression.getValue(context).toString();
+            parameterNames = linkTemplate.parameterNames(template);
+        }
 
         // now process any embedded URI template parameters
         UriBuilder ub = applyLinkStyle(template, link.getLinkStyle(), uriInfo);
-        UriTemplateParser parser = new UriTemplateParser(template);
-        List<String> parameterNames = parser.getNames();
         Map<String, Object> valueMap = getParameterValues(parameterNames, link, context, uriInfo);
         return ub.buildFromMap(valueMap);
     }
@@ -124,12 +184,18 @@ final class ELLinkBuilder {
                                                           LinkELContext context,
                                                           UriInfo uriInfo) {
         Map<String, Object> values = new HashMap<>();
+        MultivaluedMap<String, String> pathParameters = null;
+        MultivaluedMap<String, String> queryParameters = null;
         for (String name : parameterNames) {
             String elExpression = linkField.getBinding(name);
             if (elExpression == null) {
-                String value = uriInfo.getPathParameters().getFirst(name);
+                if (pathParameters == null) {
+                    pathParameters = uriInfo.getPathParameters();
+                    queryParameters = uriInfo.getQueryParameters();
+                }
+                String value = pathParameters.getFirst(name);
                 if (value == null) {
-                    value = uriInfo.getQueryParameters().getFirst(name);
+                    value = queryParameters.getFirst(name);
                 }
                 if (value != null) {
                     values.put(name, value);
@@ -137,8 +203,7 @@ final class ELLinkBuilder {
                 }
                 elExpression = "${" + ResponseContextResolver.INSTANCE_OBJECT + "." + name + "}";
             }
-            ValueExpression expr = expressionFactory.createValueExpression(context,
-                        elExpression, String.class);
+            ValueExpression expr = expression(BINDINGS, elExpression, String.class);
 
             Object value = expr.getValue(context);
             values.put(name, value != null ? value.toString() : null);
@@ -146,4 +211,62 @@ final class ELLinkBuilder {
         return values;
     }
 
+    private static ValueExpression expression(Cache<String, ValueExpression> cache,
+                                              String expression,
+                                              Class<?> expectedType) {
+        ValueExpression expr = cache.getIfPresent(expression);
+        if (expr == null) {
+            // no functions or variables are mapped in the link context, hence parsed expressions can be shared
+            expr = expressionFactory.createValueExpression(new LinkELContext(null, null), expression, expectedType);
+            cache.put(expression, expr);
+        }
+        return expr;
+    }
+
+    private static LinkTemplate compile(String template) {
+        LinkTemplate linkTemplate = LINK_TEMPLATES.getIfPresent(template);
+        if (linkTemplate == null) {
+            linkTemplate = new LinkTemplate(template);
+            LINK_TEMPLATES.put(template, linkTemplate);
+        }
+        return linkTemplate;
+    }
+
+    /**
+     * Link template prepared for building links: either the parsed EL expression producing the URI template, or,
+     * if the link template does not contain any EL expressions, the URI template parameter names.
+     */
+    private static final class LinkTemplate {
+
+        private final String template;
+        private final ValueExpression expression;
+        private final List<String> parameterNames;
+
+        /**
+         * Parameter names of the URI template most recently produced by the EL expression. Evaluated templates may
+         * differ per entity, so they are not cached globally; the last one is remembered per link template instead.
+         */
+        private volatile Map.Entry<String, List<String>> lastEvaluated;
+
+        private LinkTemplate(String template) {
+            this.template = template;
+            if (template.indexOf('$') >= 0 || template.indexOf('#') >= 0) {
+                this.expression = expressionFactory.createValueExpression(new LinkELContext(null, null),
+                        template, String.class);
+                this.parameterNames = null;
+            } else {
+                this.expression = null;
+                this.parameterNames = new UriTemplateParser(template).getNames();
+            }
+        }
+
+        private List<String> parameterNames(String evaluated) {
+            Map.Entry<String, List<String>> parsed = lastEvaluated;
+            if (parsed == null || !parsed.getKey().equals(evaluated)) {
+                parsed = new AbstractMap.SimpleImmutableEntry<>(evaluated, new UriTemplateParser(evaluated).getNames());
+                lastEvaluated = parsed;
+            }
+            return parsed.getValue();
+        }
+    }
 }
@@ -25,9 +25,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.core.Link;
 
+import javax.xml.bind.annotation.XmlTransient;
+
 /**
  * Describes an entity in terms of its fields, bean properties and {@link InjectLink}
  * annotated fields.
@@ -38,16 +42,18 @@ import javax.ws.rs.core.Link;
 class EntityDescriptor {
 
     // Maintains an internal static cache to optimize processing
-    private static final Map<Class<?>, EntityDescriptor> descriptors = new HashMap<>();
-
-    static synchronized EntityDescriptor getInstance(Class<?> entityClass) {
-        if (descriptors.containsKey(entityClass)) {
-            return descriptors.get(entityClass);
-        } else {
-            EntityDescriptor descriptor = new EntityDescriptor(entityClass);
-            descriptors.put(entityClass, descriptor);
-            return descriptor;
+    private static final ConcurrentMap<Class<?>, EntityDescriptor> descriptors = new ConcurrentHashMap<>();
+
+    static EntityDescriptor getInstance(Class<?> entityClass) {
+        EntityDescriptor descriptor = descriptors.get(entityClass);
+        if (descriptor == null) {
+            descriptor = new EntityDescriptor(entityClass);
+            EntityDescriptor existing = descriptors.putIfAbsent(entityClass, descriptor);
+            if (existing != null) {
+                descriptor = existing;
+            }
         }
+        return descriptor;
     }
 
     // instance
@@ -55,6 +61,7 @@ class EntityDescriptor {
     private Map<String, FieldDescriptor> nonLinkFields;
     private Map<String, FieldDescriptor> linkFields;
     private List<LinkHeaderDescriptor> linkHeaders;
+    private List<FieldDescriptor> introspectableFields;
 
     /**
      * Construct an new descriptor by inspecting the supplied class.
@@ -73,6 +80,15 @@ class EntityDescriptor {
         findFields(entityClass);
         this.nonLinkFields = Collections.unmodifiableMap(this.nonLinkFields);
         this.linkFields = Collections.unmodifiableMap(this.linkFields);
+
+        // pre-select the fields whose values are processed recursively
+        List<FieldDescriptor> introspectable = new ArrayList<>();
+        for (FieldDescriptor field : nonLinkFields.values()) {
+            if (isSuitableForIntrospection(field.field)) {
+                introspectable.add(field);
+            }
+        }
+        this.introspectableFields = Collections.unmodifiableList(introspectable);
     }
 
     Collection<FieldDescriptor> getLinkFields() {
@@ -87,6 +103,26 @@ class EntityDescriptor {
         return linkHeaders;
     }
 
+    /**
+     * Get the non-link fields whose values may contain further links, i.e. the fields that are
+     * not synthetic, transient, primitive, {@code String} or annotated to be skipped.
+     *
+     * @return fields to be processed recursively.
+     */
+    Collection<FieldDescriptor> getIntrospectableFields() {
+        return introspectableFields;
+    }
+
+    private static boolean isSuitableForIntrospection(Field field) {
+        return field == null
+                || (!field.isSynthetic()
+                    && !Modifier.isTransient(field.getModifiers())
+                    && !field.getType().isPrimitive()
+                    && field.getType() != String.class
+                    && !field.isAnnotationPresent(InjectLinkNoFollow.class)
+                    && !field.isAnnotationPresent(XmlTransient.class));
+    }
+
     /**
      * Find and cache the fields of the supplied class and its superclasses and
      * interfaces.
@@ -16,6 +16,9 @@
 
 package org.glassfish.jersey.linking;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.security.AccessController;
@@ -33,21 +36,70 @@ class FieldDescriptor {
 
     protected Field field;
 
+    private volatile MethodHandle getter;
+    private volatile MethodHandle setter;
+
     FieldDescriptor(Field f) {
         this.field = f;
     }
 
     Object getFieldValue(Object instance) {
-        setAccessibleField(field);
         Object value = null;
         try {
-            value = field.get(instance);
-        } catch (IllegalArgumentException | IllegalAccessException ex) {
-            Logger.getLogger(FieldDescriptor.class.getName()).log(Level.FINE, null, ex);
+            value = getter().invoke(instance);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            Logger.getLogger(FieldDescriptor.class.getName()).log(Level.FINE, null, t);
         }
         return value;
     }
 
+    /**
+     * Get a method handle reading the value of the field. The handle is created on the first invocation, i.e. the field
+     * is made accessible only once.
+     *
+     * @return field getter handle taking the instance containing the field.
+     * @throws IllegalAccessException in case the field cannot be made accessible.
+     */
+    MethodHandle getter() throws IllegalAccessException {
+        MethodHandle h = getter;
+        if (h == null) {
+            setAccessibleField(field);
+            h = MethodHandles.lookup().unreflectGetter(field);
+            getter = h;
+        }
+        return h;
+    }
+
+    /**
+     * Get a method handle setting the value of the field. The handle is created on the first invocation, i.e. the field
+     * is made accessible only once.
+     *
+     * @return field setter handle taking the instance containing the field and the new value.
+     * @throws IllegalAccessException in case the field cannot be made accessible.
+     */
+    MethodHandle setter() throws IllegalAccessException {
+        MethodHandle h = setter;
+        if (h == null) {
+            setAccessibleField(field);
+            if (Modifier.isFinal(field.getModifiers())) {
+                // final fields can only be set reflectively
+                try {
+                    h = MethodHandles.publicLookup()
+                            .findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class))
+                            .bindTo(field);
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            } else {
+                h = MethodHandles.lookup().unreflectSetter(field);
+            }
+            setter = h;
+        }
+        return h;
+    }
+
     public String getFieldName() {
         return field.getName();
     }
@@ -16,7 +16,6 @@
 
 package org.glassfish.jersey.linking;
 
-import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -29,8 +28,6 @@ import java.util.logging.Logger;
 import javax.ws.rs.core.Link;
 import javax.ws.rs.core.UriInfo;
 
-import javax.xml.bind.annotation.XmlTransient;
-
 import org.glassfish.jersey.linking.contributing.ResourceLinkContributionContext;
 import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
 
@@ -93,14 +90,18 @@ class FieldProcessor<T> {
             log.log(Level.INFO, LinkMessages.WARNING_LINKFILTER_PROCESSING(instance.getClass().getName()), e);
         }
 
-        // Process any @Link annotated fields in entity
+        // Process any @Link annotated fields in entity, all links of the instance share a single EL context
+        LinkELContext context = null;
         for (FieldDescriptor field : instanceDescriptor.getLinkFields()) {
+            if (context == null) {
+                context = new LinkELContext(entity, resource, instance);
+            }
 
             // TODO replace with properly poly-morphic code
             if (field instanceof InjectLinkFieldDescriptor) {
                 InjectLinkFieldDescriptor linkField = (InjectLinkFieldDescriptor) field;
-                if (ELLinkBuilder.evaluateCondition(linkField.getCondition(), entity, resource, instance)) {
-                    URI uri = ELLinkBuilder.buildURI(linkField, entity, resource, instance, uriInfo, rmc);
+                if (ELLinkBuilder.evaluateCondition(linkField.getCondition(), context)) {
+                    URI uri = ELLinkBuilder.buildURI(linkField, context, uriInfo, rmc);
                     linkField.setPropertyValue(instance, uri);
                 }
             } else if (field instanceof InjectLinksFieldDescriptor) {
@@ -108,8 +109,8 @@ class FieldProcessor<T> {
                 InjectLinksFieldDescriptor linksField = (InjectLinksFieldDescriptor) field;
                 List<Link> list = new ArrayList<>();
                 for (InjectLinkFieldDescriptor linkField : linksField.getLinksToInject()) {
-                    if (ELLinkBuilder.evaluateCondition(linkField.getCondition(), entity, resource, instance)) {
-                       URI uri = ELLinkBuilder.buildURI(linkField, entity, resource, instance, uriInfo, rmc);
+                    if (ELLinkBuilder.evaluateCondition(linkField.getCondition(), context)) {
+                       URI uri = ELLinkBuilder.buildURI(linkField, context, uriInfo, rmc);
                        Link link = linkField.getLink(uri);
                        list.add(link);
                     }
@@ -118,7 +119,7 @@ class FieldProcessor<T> {
                 for (ProvideLinkDescriptor linkContributor : linkContributors) {
                     if (ELLinkBuilder.evaluateCondition(linkContributor.getCondition(),
                             entity, linkContributor.getResource(), instance)) {
-                        URI uri = ELLinkBuilder.buildURI(linkContributor, entity, resource, instance, uriInfo, rmc);
+                        URI uri = ELLinkBuilder.buildURI(linkContributor, context, uriInfo, rmc);
                         Link link = linkContributor.getLink(uri);
                         list.add(link);
                     }
@@ -148,25 +149,12 @@ class FieldProcessor<T> {
         }
 
         // Recursively process all member fields
-        for (FieldDescriptor member : instanceDescriptor.getNonLinkFields()) {
-
-            if (fieldSuitableForIntrospection(member)) {
-                processMember(entity, resource, member.getFieldValue(instance), processed, uriInfo, rmc, rlcc);
-            }
+        for (FieldDescriptor member : instanceDescriptor.getIntrospectableFields()) {
+            processMember(entity, resource, member.getFieldValue(instance), processed, uriInfo, rmc, rlcc);
         }
 
     }
 
-    private boolean fieldSuitableForIntrospection(FieldDescriptor member) {
-        return member.field == null
-                || (!member.field.isSynthetic()
-                    && !Modifier.isTransient(member.field.getModifiers())
-                    && !member.field.getType().isPrimitive()
-                    && member.field.getType() != String.class
-                    && !member.field.isAnnotationPresent(InjectLinkNoFollow.class)
-                    && !member.field.isAnnotationPresent(XmlTransient.class));
-    }
-
     private void processMember(Object entity, Object resource, Object member, Set<Object> processed, UriInfo uriInfo,
             ResourceMappingContext rmc, ResourceLinkContributionContext rlcc) {
         if (member != null) {
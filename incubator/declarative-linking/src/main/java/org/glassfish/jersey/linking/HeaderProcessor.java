@@ -63,10 +63,11 @@ class HeaderProcessor<T> {
         if (!matchedResources.isEmpty()) {
             final Object resource = matchedResources.get(0);
             final List<String> headerValues = new ArrayList<>();
+            final LinkELContext context = new LinkELContext(entity, resource, entity);
 
             for (LinkHeaderDescriptor desc : instanceDescriptor.getLinkHeaders()) {
-                if (ELLinkBuilder.evaluateCondition(desc.getCondition(), entity, resource, entity)) {
-                    String headerValue = getLinkHeaderValue(desc, entity, resource, uriInfo, rmc);
+                if (ELLinkBuilder.evaluateCondition(desc.getCondition(), context)) {
+                    String headerValue = getLinkHeaderValue(desc, context, uriInfo, rmc);
                     headerValues.add(headerValue);
                 }
             }
@@ -76,9 +77,9 @@ class HeaderProcessor<T> {
         return Collections.emptyList();
     }
 
-    private static String getLinkHeaderValue(LinkHeaderDescriptor desc, Object entity, Object resource, UriInfo uriInfo,
+    private static String getLinkHeaderValue(LinkHeaderDescriptor desc, LinkELContext context, UriInfo uriInfo,
                                              ResourceMappingContext rmc) {
-        URI uri = ELLinkBuilder.buildURI(desc, entity, resource, entity, uriInfo, rmc);
+        URI uri = ELLinkBuilder.buildURI(desc, context, uriInfo, rmc);
         InjectLink link = desc.getLinkHeader();
         return InjectLink.Util.buildLinkFromUri(uri, link).toString();
     }
@@ -20,6 +20,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -46,6 +47,7 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
     private InjectLink link;
     private Class<?> type;
     private Map<String, String> bindings;
+    private volatile Map.Entry<ResourceMappingContext, String> linkTemplate;
 
     /**
      * C'tor
@@ -71,7 +73,6 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
      * @param uri the value to inject
      */
     void setPropertyValue(Object instance, URI uri) {
-        setAccessibleField(field);
         try {
 
             Object value;
@@ -87,9 +88,11 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
                 throw new IllegalArgumentException("Field type " + type + " not one of supported String,URI and Link");
             }
 
-            field.set(instance, value);
-        } catch (IllegalArgumentException | IllegalAccessException ex) {
-            Logger.getLogger(InjectLinkFieldDescriptor.class.getName()).log(Level.SEVERE, null, ex);
+            setter().invoke(instance, value);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            Logger.getLogger(InjectLinkFieldDescriptor.class.getName()).log(Level.SEVERE, null, t);
         }
     }
 
@@ -110,7 +113,12 @@ class InjectLinkFieldDescriptor extends FieldDescriptor implements InjectLinkDes
      */
     @Override
     public String getLinkTemplate(ResourceMappingContext rmc) {
-        return getLinkTemplate(rmc, link);
+        Map.Entry<ResourceMappingContext, String> cached = linkTemplate;
+        if (cached == null || cached.getKey() != rmc) {
+            cached = new AbstractMap.SimpleImmutableEntry<>(rmc, getLinkTemplate(rmc, link));
+            linkTemplate = cached;
+        }
+        return cached.getValue();
     }
 
 
@@ -32,9 +32,15 @@ import javax.el.VariableMapper;
  */
 class LinkELContext extends ELContext {
 
+    /**
+     * Bean resolver shared by all contexts so that the introspected bean properties are cached across requests.
+     */
+    private static final ELResolver BEAN_RESOLVER = new BeanELResolver(true);
+
     private Object entity;
     private Object resource;
     private Object instance;
+    private ELResolver resolver;
 
     /**
      * Convenience constructor for the common case where a context where
@@ -65,9 +71,12 @@ class LinkELContext extends ELContext {
 
     @Override
     public ELResolver getELResolver() {
-        CompositeELResolver resolver = new CompositeELResolver();
-        resolver.add(new ResponseContextResolver(entity, resource, instance));
-        resolver.add(new BeanELResolver(true));
+        if (resolver == null) {
+            CompositeELResolver composite = new CompositeELResolver();
+            composite.add(new ResponseContextResolver(entity, resource, instance));
+            composite.add(BEAN_RESOLVER);
+            resolver = composite;
+        }
         return resolver;
     }
 
@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.linking;
 
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -32,6 +33,7 @@ class LinkHeaderDescriptor implements InjectLinkDescriptor {
 
     private InjectLink linkHeader;
     private Map<String, String> bindings;
+    private volatile Map.Entry<ResourceMappingContext, String> linkTemplate;
 
     LinkHeaderDescriptor(InjectLink linkHeader) {
         this.linkHeader = linkHeader;
@@ -46,7 +48,12 @@ class LinkHeaderDescriptor implements InjectLinkDescriptor {
     }
 
     public String getLinkTemplate(ResourceMappingContext rmc) {
-        return InjectLinkFieldDescriptor.getLinkTemplate(rmc, linkHeader);
+        Map.Entry<ResourceMappingContext, String> cached = linkTemplate;
+        if (cached == null || cached.getKey() != rmc) {
+            cached = new AbstractMap.SimpleImmutableEntry<>(rmc, InjectLinkFieldDescriptor.getLinkTemplate(rmc, linkHeader));
+            linkTemplate = cached;
+        }
+        return cached.getValue();
     }
 
     public Style getLinkStyle() {
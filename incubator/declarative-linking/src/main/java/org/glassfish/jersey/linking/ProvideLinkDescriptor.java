@@ -18,6 +18,7 @@ package org.glassfish.jersey.linking;
 
 import java.lang.annotation.Annotation;
 import java.net.URI;
+import java.util.AbstractMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,6 +42,8 @@ public class ProvideLinkDescriptor implements InjectLinkDescriptor {
 
     private final Map<String, String> bindings;
 
+    private volatile Map.Entry<ResourceMappingContext, String> linkTemplate;
+
     /**
      * c'tor
      *
@@ -89,6 +92,15 @@ public class ProvideLinkDescriptor implements InjectLinkDescriptor {
      */
     @Override
     public String getLinkTemplate(ResourceMappingContext rmc) {
+        Map.Entry<ResourceMappingContext, String> cached = linkTemplate;
+        if (cached == null || cached.getKey() != rmc) {
+            cached = new AbstractMap.SimpleImmutableEntry<>(rmc, buildLinkTemplate(rmc));
+            linkTemplate = cached;
+        }
+        return cached.getValue();
+    }
+
+    private String buildLinkTemplate(ResourceMappingContext rmc) {
         String template = null;
         ResourceMappingContext.Mapping map = rmc.getMapping(resource.getInvocable().getHandler().getHandlerClass());
         if (map != null) {
@@ -26,6 +26,7 @@ import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  *
@@ -141,4 +142,33 @@ public class EntityDescriptorTest {
         assertEquals(TEMPLATE_A, testClass.res2.toString());
     }
 
+    public static class TestClassE {
+
+        private TestClassD child;
+
+        @InjectLinkNoFollow
+        private TestClassD skipped;
+
+        private transient TestClassD temporary;
+
+        private String name;
+
+        private int count;
+    }
+
+    @Test
+    public void testIntrospectableFields() {
+        System.out.println("Introspectable fields");
+        EntityDescriptor instance = EntityDescriptor.getInstance(TestClassE.class);
+        assertSame(instance, EntityDescriptor.getInstance(TestClassE.class));
+        assertEquals(5, instance.getNonLinkFields().size());
+        assertEquals(1, instance.getIntrospectableFields().size());
+
+        FieldDescriptor child = instance.getIntrospectableFields().iterator().next();
+        assertEquals("child", child.getFieldName());
+        TestClassE testClass = new TestClassE();
+        testClass.child = new TestClassD();
+        assertSame(testClass.child, child.getFieldValue(testClass));
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,6 +17,7 @@
 package org.glassfish.jersey.linking;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -347,6 +348,42 @@ public class FieldProcessorTest {
         assertEquals("widgets/20", map.get("20").link);
     }
 
+    public static class EvaluatedTemplateBean {
+
+        @InjectLink(value = "${instance.kind}/{id}", style = InjectLink.Style.RELATIVE_PATH)
+        private String link;
+
+        private final String kind;
+        private final String id;
+
+        public EvaluatedTemplateBean(String kind, String id) {
+            this.kind = kind;
+            this.id = id;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    @Test
+    public void testEvaluatedTemplatePerEntity() {
+        LOG.info("Link templates evaluated per entity");
+        FieldProcessor<List> instance = new FieldProcessor(List.class);
+        List<EvaluatedTemplateBean> beans = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            beans.add(new EvaluatedTemplateBean(i % 2 == 0 ? "widgets" : "gadgets", String.valueOf(i)));
+        }
+        instance.processLinks(beans, mockUriInfo, mockRmc, mockRlcc);
+        for (int i = 0; i < 10; i++) {
+            assertEquals((i % 2 == 0 ? "widgets/" : "gadgets/") + i, beans.get(i).link);
+        }
+    }
+
     public static class TestClassG {
 
         @InjectLink(value = TEMPLATE_B, style = InjectLink.Style.RELATIVE_PATH)
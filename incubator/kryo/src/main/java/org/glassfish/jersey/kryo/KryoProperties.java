@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.kryo;
+
+import org.glassfish.jersey.Beta;
+import org.glassfish.jersey.internal.util.PropertiesClass;
+
+/**
+ * Configuration properties supported by the Kryo message body provider.
+ *
+ * @since 2.29
+ */
+@Beta
+@PropertiesClass
+public final class KryoProperties {
+
+    /**
+     * Classes to be registered with every Kryo instance used by the provider.
+     * <p>
+     * Registered classes are written as small numeric identifiers instead of fully qualified class names, which makes
+     * payloads smaller and (de)serialization faster. Identifiers are assigned in the order of registration, hence the client
+     * and the server have to register the same classes in the same order.
+     * </p>
+     * <p>
+     * The value can be a {@link Class}, an array or an {@link Iterable} of classes, or a {@code String} with fully qualified
+     * class names separated by commas or whitespace.
+     * </p>
+     * <p>
+     * There are no classes registered by default.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String REGISTERED_CLASSES = "jersey.config.kryo.registeredClasses";
+
+    /**
+     * If {@code true}, Kryo refuses to (de)serialize classes which have not been registered using
+     * {@link #REGISTERED_CLASSES}.
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String REGISTRATION_REQUIRED = "jersey.config.kryo.registrationRequired";
+
+    /**
+     * Size (in bytes) of the pooled buffers used to read and write entities.
+     * <p>
+     * The default value is {@value #DEFAULT_BUFFER_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String BUFFER_SIZE = "jersey.config.kryo.bufferSize";
+
+    /**
+     * Default size (in bytes) of the pooled buffers.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    /**
+     * Prevent instantiation.
+     */
+    private KryoProperties() {
+        throw new AssertionError("No instances allowed.");
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -21,24 +21,44 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.security.AccessController;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
 
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.kryo.KryoProperties;
+
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
-import com.esotericsoftware.kryo.pool.KryoCallback;
-import com.esotericsoftware.kryo.pool.KryoFactory;
-import com.esotericsoftware.kryo.pool.KryoPool;
 
 /**
+ * {@link MessageBodyWriter} and {@link MessageBodyReader} for {@code application/x-kryo} entities.
+ * <p>
+ * Kryo instances are not thread-safe, hence every entity is read or written by a Kryo instance (together with reusable
+ * {@link Input} and {@link Output} buffers) taken exclusively from a pool owned by the provider. The instance is returned to
+ * the pool once the entity has been processed, or dropped if the pool is full already. The pool holds at most
+ * {@code 2 * availableProcessors} instances and does not refer to any thread, the instances are released together with
+ * the provider. The instances are configured using {@link KryoProperties}.
+ * </p>
+ *
  * @author Libor Kramolis (libor.kramolis at oracle.com)
  */
 @Provider
@@ -46,18 +66,34 @@ import com.esotericsoftware.kryo.pool.KryoPool;
 @Produces("application/x-kryo")
 public class KryoMessageBodyProvider implements MessageBodyWriter<Object>, MessageBodyReader<Object> {
 
-    private final KryoPool kryoPool;
+    private static final int POOL_SIZE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final List<Class<?>> registeredClasses;
+    private final boolean registrationRequired;
+    private final int bufferSize;
 
+    private final BlockingQueue<KryoContext> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * Create a provider with the default configuration.
+     */
     public KryoMessageBodyProvider() {
-        final KryoFactory kryoFactory = new KryoFactory() {
-            public Kryo create() {
-                final Kryo kryo = new Kryo();
-                //TODO: configure kryo instance, customize settings
-                //TODO: e.g. looking for Kryo via ContextResolver (like Jackson)
-                return kryo;
-            }
-        };
-        kryoPool = new KryoPool.Builder(kryoFactory).softReferences().build();
+        this(null);
+    }
+
+    /**
+     * Create a provider configured using {@link KryoProperties}.
+     *
+     * @param config runtime configuration, may be {@code null}.
+     */
+    public KryoMessageBodyProvider(@Context final Configuration config) {
+        final Map<String, Object> properties = config == null
+                ? Collections.<String, Object>emptyMap() : config.getProperties();
+
+        this.registeredClasses = getRegisteredClasses(properties.get(KryoProperties.REGISTERED_CLASSES));
+        this.registrationRequired = PropertiesHelper.getValue(properties, KryoProperties.REGISTRATION_REQUIRED, false, null);
+        this.bufferSize = Math.max(1,
+                PropertiesHelper.getValue(properties, KryoProperties.BUFFER_SIZE, KryoProperties.DEFAULT_BUFFER_SIZE, null));
     }
 
     //
@@ -81,14 +117,15 @@ public class KryoMessageBodyProvider implements MessageBodyWriter<Object>, Messa
                         final Annotation[] annotations, final MediaType mediaType,
                         final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
             throws IOException, WebApplicationException {
-        final Output output = new Output(entityStream);
-        kryoPool.run(new KryoCallback() {
-            public Object execute(Kryo kryo) {
-                kryo.writeObject(output, object);
-                return null;
-            }
-        });
-        output.flush();
+        final KryoContext context = acquire();
+        try {
+            context.output.setOutputStream(entityStream);
+            context.kryo.writeObject(context.output, object);
+            context.output.flush();
+        } finally {
+            context.output.setOutputStream(null);
+            release(context);
+        }
     }
 
     //
@@ -106,13 +143,81 @@ public class KryoMessageBodyProvider implements MessageBodyWriter<Object>, Messa
                            final Annotation[] annotations, final MediaType mediaType,
                            final MultivaluedMap<String, String> httpHeaders,
                            final InputStream entityStream) throws IOException, WebApplicationException {
-        final Input input = new Input(entityStream);
+        final KryoContext context = acquire();
+        try {
+            context.input.setInputStream(entityStream);
+            return context.kryo.readObject(context.input, type);
+        } finally {
+            context.input.setInputStream(null);
+            release(context);
+        }
+    }
+
+    /**
+     * Take a Kryo context from the pool, a new context is created if the pool is empty.
+     */
+    private KryoContext acquire() {
+        final KryoContext context = pool.poll();
+        return context != null ? context : new KryoContext(registeredClasses, registrationRequired, bufferSize);
+    }
+
+    /**
+     * Return a Kryo context to the pool, the context is dropped if the pool is full.
+     */
+    private void release(final KryoContext context) {
+        pool.offer(context);
+    }
 
-        return kryoPool.run(new KryoCallback() {
-            public Object execute(Kryo kryo) {
-                return kryo.readObject(input, type);
+    private static List<Class<?>> getRegisteredClasses(final Object value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+
+        final List<Class<?>> classes = new ArrayList<>();
+        if (value instanceof Class) {
+            classes.add((Class<?>) value);
+        } else if (value instanceof Class[]) {
+            classes.addAll(Arrays.asList((Class<?>[]) value));
+        } else if (value instanceof Iterable) {
+            for (final Object clazz : (Iterable<?>) value) {
+                classes.add(clazz instanceof Class ? (Class<?>) clazz : loadClass(clazz.toString()));
             }
-        });
+        } else {
+            for (final String name : value.toString().split("[\\s,]+")) {
+                if (!name.isEmpty()) {
+                    classes.add(loadClass(name));
+                }
+            }
+        }
+        return Collections.unmodifiableList(classes);
+    }
+
+    private static Class<?> loadClass(final String name) {
+        final Class<?> clazz = AccessController.doPrivileged(ReflectionHelper.classForNamePA(name));
+        if (clazz == null) {
+            throw new IllegalArgumentException("Class " + name + " configured in " + KryoProperties.REGISTERED_CLASSES
+                    + " cannot be loaded.");
+        }
+        return clazz;
     }
 
+    /**
+     * Kryo instance and buffers used by a single invocation at a time.
+     */
+    private static final class KryoContext {
+
+        private final Kryo kryo;
+        private final Input input;
+        private final Output output;
+
+        private KryoContext(final List<Class<?>> registeredClasses, final boolean registrationRequired, final int bufferSize) {
+            this.kryo = new Kryo();
+            this.kryo.setRegistrationRequired(registrationRequired);
+            for (final Class<?> clazz : registeredClasses) {
+                this.kryo.register(clazz);
+            }
+            this.input = new Input(bufferSize);
+            this.output = new Output(bufferSize, -1);
+        }
+    }
 }
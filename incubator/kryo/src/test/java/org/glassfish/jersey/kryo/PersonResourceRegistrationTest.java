@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.kryo;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.kryo.internal.KryoMessageBodyProvider;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test for kryo resource with explicitly registered classes.
+ */
+public class PersonResourceRegistrationTest extends JerseyTest {
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(PersonResource.class)
+                .property(KryoProperties.REGISTERED_CLASSES, new Class<?>[] {Person.class})
+                .property(KryoProperties.REGISTRATION_REQUIRED, true)
+                .property(KryoProperties.BUFFER_SIZE, 16);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.property(KryoProperties.REGISTERED_CLASSES, Person.class.getName());
+        config.property(KryoProperties.REGISTRATION_REQUIRED, "true");
+    }
+
+    @Test
+    public void testPost() {
+        final Person[] testData = new Person[] {new Person("Joseph", 23, "Nazareth"), new Person("Mary", 18, "Nazareth")};
+        for (Person original : testData) {
+            final Person postResponse = target().request()
+                    .post(Entity.entity(original, "application/x-kryo"), Person.class);
+            assertEquals(original, postResponse);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnregisteredClass() throws Exception {
+        final KryoMessageBodyProvider provider = new KryoMessageBodyProvider(
+                new ResourceConfig().property(KryoProperties.REGISTRATION_REQUIRED, true));
+
+        provider.writeTo(new StringBuilder("unregistered"), StringBuilder.class, StringBuilder.class, null, null, null,
+                new ByteArrayOutputStream());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -127,7 +127,9 @@ public class CdiSeInjectionManager implements InjectionManager {
                 rank = ((JerseyBean) bean).getRank();
             }
 
-            result.add(new ServiceHolderImpl<>(reference, (Class<T>) bean.getBeanClass(), bean.getTypes(), rank));
+            result.add(new ServiceHolderImpl<>(reference, (Class<T>) bean.getBeanClass(), bean.getTypes(), rank,
+                    bean.getScope(),
+                    () -> (T) beanManager.getReference(bean, contractOrImpl, beanManager.createCreationalContext(bean))));
         }
         return result;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -23,6 +23,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import javax.inject.Singleton;
+
 import org.glassfish.jersey.internal.inject.Binding;
 import org.glassfish.jersey.internal.inject.ClassBinding;
 import org.glassfish.jersey.internal.inject.ForeignDescriptor;
@@ -132,11 +134,17 @@ abstract class AbstractHk2InjectionManager implements InjectionManager {
     @SuppressWarnings("unchecked")
     public <T> List<ServiceHolder<T>> getAllServiceHolders(Class<T> contract, Annotation... qualifiers) {
         return getServiceLocator().getAllServiceHandles(contract, qualifiers).stream()
-                .map(sh -> new ServiceHolderImpl<>(
-                        sh.getService(),
-                        (Class<T>) sh.getActiveDescriptor().getImplementationClass(),
-                        sh.getActiveDescriptor().getContractTypes(),
-                        sh.getActiveDescriptor().getRanking()))
+                .map(sh -> {
+                    final ActiveDescriptor<T> descriptor = (ActiveDescriptor<T>) sh.getActiveDescriptor();
+                    return new ServiceHolderImpl<>(
+                            sh.getService(),
+                            (Class<T>) descriptor.getImplementationClass(),
+                            descriptor.getContractTypes(),
+                            descriptor.getRanking(),
+                            // constant (instance) descriptors keep their instance regardless of the declared scope
+                            descriptor.isCacheSet() ? Singleton.class : descriptor.getScopeAnnotation(),
+                            () -> getServiceLocator().getServiceHandle(descriptor).getService());
+                })
                 .collect(Collectors.toList());
     }
 
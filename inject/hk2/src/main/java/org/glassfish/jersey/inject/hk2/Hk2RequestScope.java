@@ -16,9 +16,9 @@
 
 package org.glassfish.jersey.inject.hk2;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,9 +32,51 @@ import static org.glassfish.jersey.internal.guava.Preconditions.checkState;
 
 public class Hk2RequestScope extends RequestScope {
 
+    /**
+     * Slot indexes of request-scoped descriptors. Every descriptor is assigned a fixed slot the first time an instance is
+     * stored for it and keeps the slot for the lifetime of the request scope, so that scope instances can keep their
+     * inhabitants in a plain array.
+     */
+    private final SlotIndex slotIndex = new SlotIndex();
+
     @Override
     public org.glassfish.jersey.process.internal.RequestContext createContext() {
-        return new Instance();
+        return new Instance(slotIndex);
+    }
+
+    /**
+     * Mapping of request-scoped descriptors to fixed slot indexes shared by all instances of a request scope.
+     */
+    private static final class SlotIndex {
+
+        private final ConcurrentMap<Object, Integer> slots = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * Get the slot of an already indexed descriptor.
+         *
+         * @param descriptor foreign descriptor.
+         * @return slot index or {@code -1} if the descriptor has not been indexed yet.
+         */
+        private int find(ForeignDescriptor descriptor) {
+            final Integer slot = slots.get(descriptor.get());
+            return slot == null ? -1 : slot;
+        }
+
+        /**
+         * Get the slot of a descriptor, indexing the descriptor if necessary.
+         *
+         * @param descriptor foreign descriptor.
+         * @return slot index.
+         */
+        private int index(ForeignDescriptor descriptor) {
+            final int slot = find(descriptor);
+            return slot >= 0 ? slot : slots.computeIfAbsent(descriptor.get(), key -> size.getAndIncrement());
+        }
+
+        private int size() {
+            return size.get();
+        }
     }
 
     /**
@@ -52,18 +94,31 @@ public class Hk2RequestScope extends RequestScope {
          */
         private final LazyUid id = new LazyUid();
 
+        private final SlotIndex slotIndex;
+
         /**
-         * A map of injectable instances in this scope.
+         * Descriptors (including the dispose callbacks) of injectable instances in this scope, indexed by slot.
+         * Allocated lazily, i.e. requests that do not touch any request-scoped service don't allocate any storage.
          */
-        private final Map<ForeignDescriptor, Object> store;
+        private ForeignDescriptor[] descriptors;
+
+        /**
+         * Injectable instances in this scope, indexed by slot.
+         */
+        private Object[] values;
+
+        /**
+         * Number of injectable instances in this scope.
+         */
+        private int size;
 
         /**
          * Holds the number of snapshots of this scope.
          */
         private final AtomicInteger referenceCounter;
 
-        private Instance() {
-            this.store = new HashMap<>();
+        private Instance(SlotIndex slotIndex) {
+            this.slotIndex = slotIndex;
             this.referenceCounter = new AtomicInteger(1);
         }
 
@@ -91,7 +146,8 @@ public class Hk2RequestScope extends RequestScope {
          */
         @SuppressWarnings("unchecked")
         public <T> T get(ForeignDescriptor descriptor) {
-            return (T) store.get(descriptor);
+            final int slot = storedSlot(descriptor);
+            return slot < 0 ? null : (T) values[slot];
         }
 
         /**
@@ -105,13 +161,19 @@ public class Hk2RequestScope extends RequestScope {
          */
         @SuppressWarnings("unchecked")
         public <T> T put(ForeignDescriptor descriptor, T value) {
-            checkState(!store.containsKey(descriptor),
+            final int slot = slotIndex.index(descriptor);
+            ensureCapacity(slot);
+
+            checkState(descriptors[slot] == null,
                     "An instance for the descriptor %s was already seeded in this scope. Old instance: %s New instance: %s",
                     descriptor,
-                    store.get(descriptor),
+                    values[slot],
                     value);
 
-            return (T) store.put(descriptor, value);
+            descriptors[slot] = descriptor;
+            values[slot] = value;
+            size++;
+            return null;
         }
 
         /**
@@ -119,16 +181,53 @@ public class Hk2RequestScope extends RequestScope {
          *
          * @param descriptor key for the value to be removed.
          */
-        @SuppressWarnings("unchecked")
         public <T> void remove(ForeignDescriptor descriptor) {
-            final T removed = (T) store.remove(descriptor);
+            final int slot = storedSlot(descriptor);
+            if (slot >= 0) {
+                remove(slot);
+            }
+        }
+
+        public boolean contains(ForeignDescriptor provider) {
+            return storedSlot(provider) >= 0;
+        }
+
+        /**
+         * Get the slot of the descriptor if an inhabitant is stored for it in this scope instance.
+         *
+         * @param descriptor inhabitant descriptor.
+         * @return slot index or {@code -1} if no inhabitant is stored for the descriptor.
+         */
+        private int storedSlot(ForeignDescriptor descriptor) {
+            if (size == 0) {
+                return -1;
+            }
+            final int slot = slotIndex.find(descriptor);
+            return (slot >= 0 && slot < descriptors.length && descriptors[slot] != null) ? slot : -1;
+        }
+
+        private void remove(int slot) {
+            final ForeignDescriptor descriptor = descriptors[slot];
+            final Object removed = values[slot];
+            descriptors[slot] = null;
+            values[slot] = null;
+            size--;
+
             if (removed != null) {
                 descriptor.dispose(removed);
             }
         }
 
-        public boolean contains(ForeignDescriptor provider) {
-            return store.containsKey(provider);
+        private void ensureCapacity(int slot) {
+            if (descriptors == null) {
+                final int capacity = Math.max(slot + 1, slotIndex.size());
+                descriptors = new ForeignDescriptor[capacity];
+                values = new Object[capacity];
+            } else if (slot >= descriptors.length) {
+                final int capacity = Math.max(slot + 1, slotIndex.size());
+                descriptors = Arrays.copyOf(descriptors, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
         }
 
         /**
@@ -140,7 +239,11 @@ public class Hk2RequestScope extends RequestScope {
         public void release() {
             if (referenceCounter.decrementAndGet() < 1) {
                 try {
-                    new HashSet<>(store.keySet()).forEach(this::remove);
+                    for (int slot = 0; size > 0 && slot < descriptors.length; slot++) {
+                        if (descriptors[slot] != null) {
+                            remove(slot);
+                        }
+                    }
                 } finally {
                     logger.debugLog("Released scope instance {0}", this);
                 }
@@ -152,7 +255,7 @@ public class Hk2RequestScope extends RequestScope {
             return "Instance{"
                     + "id=" + id
                     + ", referenceCounter=" + referenceCounter
-                    + ", store size=" + store.size()
+                    + ", store size=" + size
                     + '}';
         }
     }
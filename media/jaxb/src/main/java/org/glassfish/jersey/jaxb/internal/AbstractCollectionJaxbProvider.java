@@ -240,13 +240,17 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
 
-            final Marshaller m = getMarshaller(elementType, mediaType);
+            final MarshallerLease lease = leaseMarshaller(elementType, mediaType);
+            final Marshaller m = lease.get();
             m.setProperty(Marshaller.JAXB_FRAGMENT, true);
             if (charset != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
             }
             setHeader(m, annotations);
             writeCollection(elementType, c, mediaType, charset, m, entityStream);
+            if (!hasHeader(annotations)) {
+                lease.release();
+            }
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
         }
@@ -286,7 +290,8 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
 
         try {
             final Class<?> elementType = getElementClass(type, genericType);
-            final Unmarshaller u = getUnmarshaller(elementType, mediaType);
+            final UnmarshallerLease lease = leaseUnmarshaller(elementType, mediaType);
+            final Unmarshaller u = lease.get();
             final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
             boolean jaxbElement = false;
 
@@ -348,6 +353,8 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
                 }
             }
 
+            lease.release();
+
             return (type.isArray())
                     ? createArray(l, jaxbElement ? JAXBElement.class : elementType)
                     : l;
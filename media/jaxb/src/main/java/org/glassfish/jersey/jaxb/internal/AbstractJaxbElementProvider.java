@@ -109,7 +109,10 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
         final Class ta = (Class) pt.getActualTypeArguments()[0];
 
         try {
-            return readFrom(ta, mediaType, getUnmarshaller(ta, mediaType), entityStream);
+            final UnmarshallerLease lease = leaseUnmarshaller(ta, mediaType);
+            final JAXBElement<?> entity = readFrom(ta, mediaType, lease.get(), entityStream);
+            lease.release();
+            return entity;
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
@@ -143,13 +146,17 @@ public abstract class AbstractJaxbElementProvider extends AbstractJaxbProvider<J
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         try {
-            final Marshaller m = getMarshaller(t.getDeclaredType(), mediaType);
+            final MarshallerLease lease = leaseMarshaller(t.getDeclaredType(), mediaType);
+            final Marshaller m = lease.get();
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
             }
             setHeader(m, annotations);
             writeTo(t, mediaType, c, m, entityStream);
+            if (!hasHeader(annotations)) {
+                lease.release();
+            }
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
         }
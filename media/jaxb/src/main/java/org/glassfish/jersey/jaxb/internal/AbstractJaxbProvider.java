@@ -18,9 +18,6 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -56,8 +53,6 @@ import org.xml.sax.InputSource;
  */
 public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWriterProvider<T> {
 
-    private static final Map<Class<?>, WeakReference<JAXBContext>> jaxbContexts =
-            new WeakHashMap<Class<?>, WeakReference<JAXBContext>>();
     private final Providers jaxrsProviders;
     private final boolean fixedResolverMediaType;
     private final Value<ContextResolver<JAXBContext>> mtContext;
@@ -160,34 +155,51 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case retrieving the unmarshaller fails with a JAXB exception.
      */
     protected final Unmarshaller getUnmarshaller(Class type, MediaType mediaType) throws JAXBException {
-        if (fixedResolverMediaType) {
-            return getUnmarshaller(type);
-        }
-
-        final ContextResolver<Unmarshaller> unmarshallerResolver =
-                jaxrsProviders.getContextResolver(Unmarshaller.class, mediaType);
-        if (unmarshallerResolver != null) {
-            Unmarshaller u = unmarshallerResolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
+        final Unmarshaller u = getCustomUnmarshaller(type, mediaType);
+        if (u != null) {
+            return u;
         }
 
         final JAXBContext ctx = getJAXBContext(type, mediaType);
         return (ctx == null) ? null : ctx.createUnmarshaller();
     }
 
-    private Unmarshaller getUnmarshaller(Class type) throws JAXBException {
-        final ContextResolver<Unmarshaller> resolver = mtUnmarshaller.get();
-        if (resolver != null) {
-            Unmarshaller u = resolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
+    /**
+     * Lease a JAXB unmarshaller for reading a single entity of the given class and media type.
+     * <p>
+     * Unmarshallers created from a {@link #getStoredJaxbContext(Class) stored JAXB context} are taken from (and
+     * {@link UnmarshallerLease#release() released} back to) a pool; unmarshallers and JAXB contexts supplied by
+     * custom {@link ContextResolver context resolvers} are never pooled.
+     * </p>
+     *
+     * @param type      Java type to be unmarshalled.
+     * @param mediaType entity media type.
+     * @return leased JAXB unmarshaller.
+     * @throws JAXBException in case retrieving the unmarshaller fails with a JAXB exception.
+     */
+    final UnmarshallerLease leaseUnmarshaller(Class type, MediaType mediaType) throws JAXBException {
+        final Unmarshaller u = getCustomUnmarshaller(type, mediaType);
+        if (u != null) {
+            return new UnmarshallerLease(u, null);
         }
 
-        final JAXBContext ctx = getJAXBContext(type);
-        return (ctx == null) ? null : ctx.createUnmarshaller();
+        final JAXBContext ctx = getJAXBContext(type, mediaType);
+        if (ctx == null) {
+            return new UnmarshallerLease(null, null);
+        }
+
+        final JaxbContextPool pool = JaxbContextPool.of(type);
+        return pool.isPooled(ctx)
+                ? new UnmarshallerLease(pool.acquireUnmarshaller(), pool)
+                : new UnmarshallerLease(ctx.createUnmarshaller(), null);
+    }
+
+    private Unmarshaller getCustomUnmarshaller(Class type, MediaType mediaType) {
+        final ContextResolver<Unmarshaller> resolver = fixedResolverMediaType
+                ? mtUnmarshaller.get()
+                : jaxrsProviders.getContextResolver(Unmarshaller.class, mediaType);
+
+        return (resolver != null) ? resolver.getContext(type) : null;
     }
 
     /**
@@ -203,46 +215,56 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case retrieving the marshaller fails with a JAXB exception.
      */
     protected final Marshaller getMarshaller(Class type, MediaType mediaType) throws JAXBException {
-        if (fixedResolverMediaType) {
-            return getMarshaller(type);
+        final Marshaller m = getCustomMarshaller(type, mediaType);
+        if (m != null) {
+            return m;
         }
 
-        final ContextResolver<Marshaller> mcr = jaxrsProviders.getContextResolver(Marshaller.class, mediaType);
-        if (mcr != null) {
-            Marshaller m = mcr.getContext(type);
-            if (m != null) {
-                return m;
-            }
+        final JAXBContext ctx = getJAXBContext(type, mediaType);
+        return (ctx == null) ? null : createMarshaller(ctx);
+    }
+
+    /**
+     * Lease a JAXB marshaller for writing a single entity of the given class and media type.
+     * <p>
+     * Marshallers created from a {@link #getStoredJaxbContext(Class) stored JAXB context} are taken from (and
+     * {@link MarshallerLease#release() released} back to) a pool; marshallers and JAXB contexts supplied by
+     * custom {@link ContextResolver context resolvers} are never pooled.
+     * </p>
+     *
+     * @param type      Java type to be marshalled.
+     * @param mediaType entity media type.
+     * @return leased JAXB marshaller.
+     * @throws JAXBException in case retrieving the marshaller fails with a JAXB exception.
+     */
+    final MarshallerLease leaseMarshaller(Class type, MediaType mediaType) throws JAXBException {
+        final Marshaller m = getCustomMarshaller(type, mediaType);
+        if (m != null) {
+            return new MarshallerLease(m, null, false);
         }
 
         final JAXBContext ctx = getJAXBContext(type, mediaType);
         if (ctx == null) {
-            return null;
-        }
-
-        Marshaller m = ctx.createMarshaller();
-        if (formattedOutput.get()) {
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
+            return new MarshallerLease(null, null, false);
         }
-        return m;
 
+        final JaxbContextPool pool = JaxbContextPool.of(type);
+        final boolean formatted = formattedOutput.get();
+        return pool.isPooled(ctx)
+                ? new MarshallerLease(pool.acquireMarshaller(formatted), pool, formatted)
+                : new MarshallerLease(createMarshaller(ctx), null, false);
     }
 
-    private Marshaller getMarshaller(Class type) throws JAXBException {
-        final ContextResolver<Marshaller> resolver = mtMarshaller.get();
-        if (resolver != null) {
-            Marshaller u = resolver.getContext(type);
-            if (u != null) {
-                return u;
-            }
-        }
+    private Marshaller getCustomMarshaller(Class type, MediaType mediaType) {
+        final ContextResolver<Marshaller> resolver = fixedResolverMediaType
+                ? mtMarshaller.get()
+                : jaxrsProviders.getContextResolver(Marshaller.class, mediaType);
 
-        final JAXBContext ctx = getJAXBContext(type);
-        if (ctx == null) {
-            return null;
-        }
+        return (resolver != null) ? resolver.getContext(type) : null;
+    }
 
-        Marshaller m = ctx.createMarshaller();
+    private Marshaller createMarshaller(JAXBContext ctx) throws JAXBException {
+        final Marshaller m = ctx.createMarshaller();
         if (formattedOutput.get()) {
             m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
         }
@@ -250,7 +272,9 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
     }
 
     private JAXBContext getJAXBContext(Class type, MediaType mt) throws JAXBException {
-        final ContextResolver<JAXBContext> cr = jaxrsProviders.getContextResolver(JAXBContext.class, mt);
+        final ContextResolver<JAXBContext> cr = fixedResolverMediaType
+                ? mtContext.get()
+                : jaxrsProviders.getContextResolver(JAXBContext.class, mt);
         if (cr != null) {
             JAXBContext c = cr.getContext(type);
             if (c != null) {
@@ -261,18 +285,6 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         return getStoredJaxbContext(type);
     }
 
-    private JAXBContext getJAXBContext(Class type) throws JAXBException {
-        final ContextResolver<JAXBContext> resolver = mtContext.get();
-        if (resolver != null) {
-            JAXBContext c = resolver.getContext(type);
-            if (c != null) {
-                return c;
-            }
-        }
-
-        return getStoredJaxbContext(type);
-    }
-
     /**
      * Retrieve cached JAXB context capable of handling the given Java type.
      *
@@ -281,15 +293,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @throws JAXBException in case the JAXB context retrieval fails.
      */
     protected JAXBContext getStoredJaxbContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            final WeakReference<JAXBContext> ref = jaxbContexts.get(type);
-            JAXBContext c = (ref != null) ? ref.get() : null;
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, new WeakReference<JAXBContext>(c));
-            }
-            return c;
-        }
+        return JaxbContextPool.of(type).getContext();
     }
 
     /**
@@ -316,6 +320,21 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         return xmlRootElementProcessing.get();
     }
 
+    /**
+     * Check whether the supplied array of annotations contains a {@link org.glassfish.jersey.message.XmlHeader} annotation.
+     *
+     * @param annotations array of annotations.
+     * @return {@code true} if the custom XML header is requested, {@code false} otherwise.
+     */
+    static boolean hasHeader(Annotation[] annotations) {
+        for (Annotation a : annotations) {
+            if (a instanceof XmlHeader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Set the custom XML header on a JAXB marshaller if specified via {@link org.glassfish.jersey.message.XmlHeader} annotation,
      * present in the supplied array of annotations.
@@ -344,4 +363,73 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
             }
         }
     }
+
+    /**
+     * JAXB marshaller leased for writing a single entity.
+     */
+    static final class MarshallerLease {
+
+        private final Marshaller marshaller;
+        private final JaxbContextPool pool;
+        private final boolean formattedOutput;
+
+        private MarshallerLease(Marshaller marshaller, JaxbContextPool pool, boolean formattedOutput) {
+            this.marshaller = marshaller;
+            this.pool = pool;
+            this.formattedOutput = formattedOutput;
+        }
+
+        /**
+         * Get the leased marshaller.
+         *
+         * @return leased marshaller or {@code null} if no JAXB context is available for the requested type.
+         */
+        Marshaller get() {
+            return marshaller;
+        }
+
+        /**
+         * Return the marshaller back to the pool (if it has been taken from a pool). Must be invoked only after the entity
+         * has been successfully written and only if no properties other than the standard JAXB properties have been
+         * modified on the marshaller.
+         */
+        void release() {
+            if (pool != null) {
+                pool.releaseMarshaller(marshaller, formattedOutput);
+            }
+        }
+    }
+
+    /**
+     * JAXB unmarshaller leased for reading a single entity.
+     */
+    static final class UnmarshallerLease {
+
+        private final Unmarshaller unmarshaller;
+        private final JaxbContextPool pool;
+
+        private UnmarshallerLease(Unmarshaller unmarshaller, JaxbContextPool pool) {
+            this.unmarshaller = unmarshaller;
+            this.pool = pool;
+        }
+
+        /**
+         * Get the leased unmarshaller.
+         *
+         * @return leased unmarshaller or {@code null} if no JAXB context is available for the requested type.
+         */
+        Unmarshaller get() {
+            return unmarshaller;
+        }
+
+        /**
+         * Return the unmarshaller back to the pool (if it has been taken from a pool). Must be invoked only after the entity
+         * has been successfully read.
+         */
+        void release() {
+            if (pool != null) {
+                pool.releaseUnmarshaller(unmarshaller);
+            }
+        }
+    }
 }
@@ -108,7 +108,10 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             if (entityStream.isEmpty()) {
                 throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
             }
-            return readFrom(type, mediaType, getUnmarshaller(type, mediaType), entityStream);
+            final UnmarshallerLease lease = leaseUnmarshaller(type, mediaType);
+            final Object entity = readFrom(type, mediaType, lease.get(), entityStream);
+            lease.release();
+            return entity;
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
@@ -148,13 +151,17 @@ public abstract class AbstractRootElementJaxbProvider extends AbstractJaxbProvid
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         try {
-            final Marshaller m = getMarshaller(type, mediaType);
+            final MarshallerLease lease = leaseMarshaller(type, mediaType);
+            final Marshaller m = lease.get();
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
             }
             setHeader(m, annotations);
             writeTo(t, mediaType, c, m, entityStream);
+            if (!hasHeader(annotations)) {
+                lease.release();
+            }
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
         }
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jaxb.internal;
+
+import java.lang.ref.WeakReference;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * JAXB context created for a single Java type together with pools of marshallers and unmarshallers created from the context.
+ * <p>
+ * Instances are associated with Java types via {@link ClassValue}, i.e. the cached context is reachable only as long as the
+ * Java type (and its class loader) is reachable and lookups do not require any locking. The JAXB context itself is created
+ * at most once per Java type. Types loaded by the bootstrap class loader or by an ancestor of the class loader of this class
+ * (e.g. {@code String} or {@code Object}) outlive the application, hence their pools are only weakly referenced and can be
+ * collected together with the application's class loader. Marshallers and unmarshallers are not thread-safe, hence they
+ * are pooled in bounded lock-free queues and every instance is used by at most one thread at a time.
+ * </p>
+ */
+final class JaxbContextPool {
+
+    /**
+     * Maximum number of idle marshallers (unmarshallers) kept in a single pool.
+     */
+    private static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final ClassValue<JaxbContextPool> POOLS = new ClassValue<JaxbContextPool>() {
+        @Override
+        protected JaxbContextPool computeValue(final Class<?> type) {
+            // Pools attached to long-lived types would pin this class loader.
+            return isLongLived(type) ? null : new JaxbContextPool(type);
+        }
+    };
+
+    /**
+     * Weakly referenced pools of types that outlive the class loader of this class.
+     */
+    private static final Map<Class<?>, WeakReference<JaxbContextPool>> LONG_LIVED_POOLS = new WeakHashMap<>();
+
+    private final Class<?> type;
+    private volatile JAXBContext context;
+
+    private final Pool<Marshaller> marshallers = new Pool<>();
+    private final Pool<Marshaller> formattedMarshallers = new Pool<>();
+    private final Pool<Unmarshaller> unmarshallers = new Pool<>();
+
+    private JaxbContextPool(final Class<?> type) {
+        this.type = type;
+    }
+
+    /**
+     * Get the pool associated with the given Java type.
+     *
+     * @param type Java type.
+     * @return pool associated with the Java type.
+     */
+    static JaxbContextPool of(final Class<?> type) {
+        final JaxbContextPool pool = POOLS.get(type);
+        return pool != null ? pool : longLivedPool(type);
+    }
+
+    private static JaxbContextPool longLivedPool(final Class<?> type) {
+        synchronized (LONG_LIVED_POOLS) {
+            final WeakReference<JaxbContextPool> ref = LONG_LIVED_POOLS.get(type);
+            JaxbContextPool pool = ref != null ? ref.get() : null;
+            if (pool == null) {
+                pool = new JaxbContextPool(type);
+                LONG_LIVED_POOLS.put(type, new WeakReference<>(pool));
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Check whether the given type is loaded by the bootstrap class loader or by an ancestor of the class loader of this
+     * class, i.e. whether the type can outlive the class loader of this class.
+     *
+     * @param type Java type.
+     * @return {@code true} if the type can outlive the class loader of this class, {@code false} otherwise.
+     */
+    static boolean isLongLived(final Class<?> type) {
+        return AccessController.doPrivileged(new PrivilegedAction<Boolean>() {
+            @Override
+            public Boolean run() {
+                final ClassLoader loader = type.getClassLoader();
+                if (loader == null) {
+                    return true;
+                }
+                final ClassLoader own = JaxbContextPool.class.getClassLoader();
+                for (ClassLoader cl = own != null ? own.getParent() : null; cl != null; cl = cl.getParent()) {
+                    if (cl == loader) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Get JAXB context capable of handling the Java type of this pool. The context is created on the first invocation.
+     *
+     * @return JAXB context associated with the Java type.
+     * @throws JAXBException in case the JAXB context creation fails.
+     */
+    JAXBContext getContext() throws JAXBException {
+        JAXBContext c = context;
+        if (c == null) {
+            synchronized (this) {
+                c = context;
+                if (c == null) {
+                    c = JAXBContext.newInstance(type);
+                    context = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Check whether the given JAXB context is the one cached in this pool, i.e. whether marshallers and unmarshallers
+     * created from the context can be pooled.
+     *
+     * @param ctx JAXB context to be checked.
+     * @return {@code true} if the given context is cached in this pool, {@code false} otherwise.
+     */
+    boolean isPooled(final JAXBContext ctx) {
+        return ctx != null && ctx == context;
+    }
+
+    /**
+     * Take an idle marshaller from the pool or create a new one.
+     *
+     * @param formattedOutput whether the marshaller should produce formatted output.
+     * @return marshaller for exclusive use by the caller.
+     * @throws JAXBException in case a new marshaller cannot be created.
+     */
+    Marshaller acquireMarshaller(final boolean formattedOutput) throws JAXBException {
+        Marshaller m = (formattedOutput ? formattedMarshallers : marshallers).poll();
+        if (m == null) {
+            m = getContext().createMarshaller();
+            if (formattedOutput) {
+                m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Return a marshaller previously obtained from {@link #acquireMarshaller(boolean)} back to the pool. Properties that
+     * may have been modified while writing an entity are reset; the marshaller is dropped if it cannot be reset.
+     *
+     * @param m               marshaller to be returned.
+     * @param formattedOutput whether the marshaller produces formatted output.
+     */
+    void releaseMarshaller(final Marshaller m, final boolean formattedOutput) {
+        try {
+            m.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+            m.setProperty(Marshaller.JAXB_FRAGMENT, false);
+            m.setListener(null);
+            m.setEventHandler(null);
+            m.setSchema(null);
+            m.setAttachmentMarshaller(null);
+        } catch (final JAXBException | RuntimeException e) {
+            return;
+        }
+        (formattedOutput ? formattedMarshallers : marshallers).offer(m);
+    }
+
+    /**
+     * Take an idle unmarshaller from the pool or create a new one.
+     *
+     * @return unmarshaller for exclusive use by the caller.
+     * @throws JAXBException in case a new unmarshaller cannot be created.
+     */
+    Unmarshaller acquireUnmarshaller() throws JAXBException {
+        final Unmarshaller u = unmarshallers.poll();
+        return u != null ? u : getContext().createUnmarshaller();
+    }
+
+    /**
+     * Return an unmarshaller previously obtained from {@link #acquireUnmarshaller()} back to the pool. The unmarshaller is
+     * dropped if it cannot be reset.
+     *
+     * @param u unmarshaller to be returned.
+     */
+    void releaseUnmarshaller(final Unmarshaller u) {
+        try {
+            u.setListener(null);
+            u.setEventHandler(null);
+            u.setSchema(null);
+            u.setAttachmentUnmarshaller(null);
+        } catch (final JAXBException | RuntimeException e) {
+            return;
+        }
+        unmarshallers.offer(u);
+    }
+
+    /**
+     * Bounded lock-free pool of idle instances.
+     */
+    private static final class Pool<T> {
+
+        private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private T poll() {
+            final T instance = idle.poll();
+            if (instance != null) {
+                size.decrementAndGet();
+            }
+            return instance;
+        }
+
+        private void offer(final T instance) {
+            if (size.incrementAndGet() <= POOL_SIZE) {
+                idle.offer(instance);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+}
@@ -18,8 +18,6 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Context;
@@ -53,7 +51,6 @@ import org.xml.sax.InputSource;
  */
 public class JaxbStringReaderProvider {
 
-    private static final Map<Class, JAXBContext> jaxbContexts = new WeakHashMap<Class, JAXBContext>();
     private final Value<ContextResolver<JAXBContext>> mtContext;
     private final Value<ContextResolver<Unmarshaller>> mtUnmarshaller;
 
@@ -116,14 +113,7 @@ public class JaxbStringReaderProvider {
      * @throws JAXBException in case JAXB context retrieval fails.
      */
     protected JAXBContext getStoredJAXBContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            JAXBContext c = jaxbContexts.get(type);
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, c);
-            }
-            return c;
-        }
+        return JaxbContextPool.of(type).getContext();
     }
 
     /**
@@ -120,7 +120,16 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         try {
-            return Object.class == type && isSupported(mediaType) && getUnmarshaller(type, mediaType) != null;
+            if (Object.class != type || !isSupported(mediaType)) {
+                return false;
+            }
+
+            final UnmarshallerLease lease = leaseUnmarshaller(type, mediaType);
+            if (lease.get() == null) {
+                return false;
+            }
+            lease.release();
+            return true;
         } catch (JAXBException cause) {
             throw new RuntimeException(LocalizationMessages.ERROR_UNMARSHALLING_JAXB(type), cause);
         }
@@ -141,8 +150,10 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
         }
 
         try {
-            return getUnmarshaller(type, mediaType)
-                    .unmarshal(getSAXSource(spf.get(), entityStream));
+            final UnmarshallerLease lease = leaseUnmarshaller(type, mediaType);
+            final Object entity = lease.get().unmarshal(getSAXSource(spf.get(), entityStream));
+            lease.release();
+            return entity;
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
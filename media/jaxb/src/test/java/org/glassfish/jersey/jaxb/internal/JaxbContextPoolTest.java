@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jaxb.internal;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link JaxbContextPool} unit tests.
+ */
+public class JaxbContextPoolTest {
+
+    @XmlRootElement
+    public static class Bean {
+
+        public String value;
+    }
+
+    @Test
+    public void testContextCreatedOnce() throws Exception {
+        final JaxbContextPool pool = JaxbContextPool.of(Bean.class);
+
+        assertSame(pool, JaxbContextPool.of(Bean.class));
+        assertSame(pool.getContext(), pool.getContext());
+        assertTrue(pool.isPooled(pool.getContext()));
+        assertFalse(pool.isPooled(JAXBContext.newInstance(Bean.class)));
+    }
+
+    @Test
+    public void testLongLivedTypes() throws Exception {
+        assertTrue(JaxbContextPool.isLongLived(String.class));
+        assertTrue(JaxbContextPool.isLongLived(Object.class));
+        assertFalse(JaxbContextPool.isLongLived(Bean.class));
+
+        // Pools of long-lived types are not attached to the type but they are shared while in use.
+        final JaxbContextPool pool = JaxbContextPool.of(String.class);
+        assertSame(pool, JaxbContextPool.of(String.class));
+        assertSame(pool.getContext(), JaxbContextPool.of(String.class).getContext());
+    }
+
+    @Test
+    public void testMarshallerReusedAndReset() throws Exception {
+        final JaxbContextPool pool = JaxbContextPool.of(Bean.class);
+
+        final Marshaller m = pool.acquireMarshaller(false);
+        m.setProperty(Marshaller.JAXB_ENCODING, "ISO-8859-1");
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        pool.releaseMarshaller(m, false);
+
+        // Formatted and non-formatted marshallers are pooled separately.
+        final Marshaller formatted = pool.acquireMarshaller(true);
+        assertNotSame(m, formatted);
+        assertEquals(Boolean.TRUE, formatted.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT));
+
+        final Marshaller reused = pool.acquireMarshaller(false);
+        assertSame(m, reused);
+        assertEquals("UTF-8", reused.getProperty(Marshaller.JAXB_ENCODING));
+        assertEquals(Boolean.FALSE, reused.getProperty(Marshaller.JAXB_FRAGMENT));
+
+        final Bean bean = new Bean();
+        bean.value = "foo";
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reused.marshal(bean, out);
+        assertTrue(out.toString("UTF-8").startsWith("<?xml"));
+    }
+
+    @Test
+    public void testUnmarshallerReused() throws Exception {
+        final JaxbContextPool pool = JaxbContextPool.of(Bean.class);
+
+        final Unmarshaller u = pool.acquireUnmarshaller();
+        pool.releaseUnmarshaller(u);
+
+        assertSame(u, pool.acquireUnmarshaller());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -21,9 +21,11 @@ import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
 
 import org.glassfish.jersey.media.multipart.internal.FormDataParamInjectionFeature;
+import org.glassfish.jersey.media.multipart.internal.MultiPartContentLengthInterceptor;
 import org.glassfish.jersey.media.multipart.internal.MultiPartReaderClientSide;
 import org.glassfish.jersey.media.multipart.internal.MultiPartReaderServerSide;
 import org.glassfish.jersey.media.multipart.internal.MultiPartWriter;
+import org.glassfish.jersey.media.multipart.internal.StreamingMultiPartReader;
 
 /**
  * Feature used to register Multipart providers.
@@ -43,7 +45,9 @@ public class MultiPartFeature implements Feature {
             context.register(MultiPartReaderClientSide.class);
         }
 
+        context.register(StreamingMultiPartReader.class);
         context.register(MultiPartWriter.class);
+        context.register(MultiPartContentLengthInterceptor.class);
 
         return true;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -68,6 +68,35 @@ public class MultiPartProperties {
      */
     public static final String TEMP_DIRECTORY = "jersey.config.multipart.tempDir";
 
+    /**
+     * The {@link #MAX_PART_SIZE} and {@link #MAX_SIZE} property value to not limit the size.
+     *
+     * @since 2.29
+     */
+    public static final long SIZE_UNLIMITED = -1;
+
+    /**
+     * Name of the resource property for the maximum size (in bytes) of a single body part entity read as a
+     * {@link StreamingMultiPart}. Reading of a larger body part fails with {@code 413 Request Entity Too Large}.
+     *
+     * The default value is {@value #SIZE_UNLIMITED}, i.e. the size is not limited.
+     *
+     * @since 2.29
+     */
+    public static final String MAX_PART_SIZE = "jersey.config.multipart.maxPartSize";
+
+    /**
+     * Name of the resource property for the maximum size (in bytes) of a whole multipart message read as a
+     * {@link StreamingMultiPart}. A message with a larger {@code Content-Length} is rejected with {@code 413 Request Entity
+     * Too Large} before it is read, reading of a larger message without {@code Content-Length} fails once the limit is
+     * exceeded.
+     *
+     * The default value is {@value #SIZE_UNLIMITED}, i.e. the size is not limited.
+     *
+     * @since 2.29
+     */
+    public static final String MAX_SIZE = "jersey.config.multipart.maxSize";
+
     /**
      * The threshold size (in bytes) above which a body part entity will be
      * buffered to disk instead of being held in memory.
@@ -79,6 +108,16 @@ public class MultiPartProperties {
      */
     private String tempDir = null;
 
+    /**
+     * Maximum size of a body part entity read as a streaming multipart.
+     */
+    private long maxPartSize = SIZE_UNLIMITED;
+
+    /**
+     * Maximum size of a multipart message read as a streaming multipart.
+     */
+    private long maxSize = SIZE_UNLIMITED;
+
     /**
      * Load and customize (if necessary) the configuration values for the
      * {@code jersey-multipart} injection binder.
@@ -113,6 +152,26 @@ public class MultiPartProperties {
         return tempDir;
     }
 
+    /**
+     * Get the maximum size (in bytes) of a body part entity read as a {@link StreamingMultiPart}.
+     *
+     * @return maximum body part size or {@value #SIZE_UNLIMITED} if the size is not limited.
+     * @since 2.29
+     */
+    public long getMaxPartSize() {
+        return maxPartSize;
+    }
+
+    /**
+     * Get the maximum size (in bytes) of a multipart message read as a {@link StreamingMultiPart}.
+     *
+     * @return maximum message size or {@value #SIZE_UNLIMITED} if the size is not limited.
+     * @since 2.29
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
     /**
      * Set the size (in bytes) of the entity of an incoming {@link BodyPart} before it will be buffered to disk.
      *
@@ -138,6 +197,30 @@ public class MultiPartProperties {
         return this;
     }
 
+    /**
+     * Set the maximum size (in bytes) of a body part entity read as a {@link StreamingMultiPart}.
+     *
+     * @param size maximum body part size, {@value #SIZE_UNLIMITED} to not limit the size.
+     * @return {@code MultiPartProperties} instance.
+     * @since 2.29
+     */
+    public MultiPartProperties maxPartSize(final long size) {
+        this.maxPartSize = size < 0 ? SIZE_UNLIMITED : size;
+        return this;
+    }
+
+    /**
+     * Set the maximum size (in bytes) of a multipart message read as a {@link StreamingMultiPart}.
+     *
+     * @param size maximum message size, {@value #SIZE_UNLIMITED} to not limit the size.
+     * @return {@code MultiPartProperties} instance.
+     * @since 2.29
+     */
+    public MultiPartProperties maxSize(final long size) {
+        this.maxSize = size < 0 ? SIZE_UNLIMITED : size;
+        return this;
+    }
+
     /**
      * Configure the values returned by this instance's getters based on
      * the contents of a properties resource, if it exists on the classpath
@@ -169,6 +252,12 @@ public class MultiPartProperties {
             if (props.containsKey(TEMP_DIRECTORY)) {
                 this.tempDir = props.getProperty(TEMP_DIRECTORY);
             }
+            if (props.containsKey(MAX_PART_SIZE)) {
+                maxPartSize(Long.parseLong(props.getProperty(MAX_PART_SIZE)));
+            }
+            if (props.containsKey(MAX_SIZE)) {
+                maxSize(Long.parseLong(props.getProperty(MAX_SIZE)));
+            }
         } catch (final IOException e) {
             throw new IllegalArgumentException(e);
         } finally {
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.media.multipart.internal.LocalizationMessages;
+
+/**
+ * Body part of a {@link StreamingMultiPart}. The entity of the body part is read directly from the entity stream of the
+ * multipart message; it can be read only once and only until the {@link StreamingMultiPart#next() next body part} is
+ * requested.
+ *
+ * @since 2.29
+ */
+public final class StreamingBodyPart {
+
+    private static final long TRANSFER_CHUNK_SIZE = 1024 * 1024;
+
+    private final StreamingMultiPart multiPart;
+    private final MultivaluedMap<String, String> headers;
+    private final boolean formData;
+    private final InputStream entityStream;
+
+    private ContentDisposition contentDisposition;
+
+    StreamingBodyPart(final StreamingMultiPart multiPart, final MultivaluedMap<String, String> headers,
+                      final boolean formData) {
+        this.multiPart = multiPart;
+        this.headers = headers;
+        this.formData = formData;
+        this.entityStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                final byte[] b = new byte[1];
+                return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                return StreamingBodyPart.this.multiPart.read(StreamingBodyPart.this, b, off, len);
+            }
+        };
+    }
+
+    /**
+     * Get the headers of this body part.
+     *
+     * @return mutable map of body part headers.
+     */
+    public MultivaluedMap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the media type of this body part. If the body part does not declare a {@code Content-Type},
+     * {@code text/plain} is assumed.
+     *
+     * @return media type of the body part.
+     * @throws IllegalArgumentException if the {@code Content-Type} header cannot be parsed.
+     */
+    public MediaType getMediaType() {
+        final String contentType = headers.getFirst("Content-Type");
+        return contentType != null ? MediaType.valueOf(contentType) : MediaType.TEXT_PLAIN_TYPE;
+    }
+
+    /**
+     * Get the content disposition of this body part. For {@code multipart/form-data} messages the returned instance is
+     * a {@link FormDataContentDisposition}.
+     *
+     * @return content disposition or {@code null} if the body part does not declare any.
+     * @throws IllegalArgumentException if the content disposition header cannot be parsed.
+     */
+    public ContentDisposition getContentDisposition() {
+        if (contentDisposition == null) {
+            final String scd = headers.getFirst("Content-Disposition");
+            if (scd != null) {
+                try {
+                    contentDisposition = formData ? new FormDataContentDisposition(scd) : new ContentDisposition(scd);
+                } catch (final ParseException ex) {
+                    throw new IllegalArgumentException(LocalizationMessages.ERROR_PARSING_CONTENT_DISPOSITION(scd), ex);
+                }
+            }
+        }
+        return contentDisposition;
+    }
+
+    /**
+     * Get the name of the form field this body part belongs to.
+     *
+     * @return control name or {@code null} if the body part is not a {@code multipart/form-data} body part.
+     */
+    public String getName() {
+        final ContentDisposition cd = getContentDisposition();
+        return cd instanceof FormDataContentDisposition ? ((FormDataContentDisposition) cd).getName() : null;
+    }
+
+    /**
+     * Get the file name of this body part.
+     *
+     * @return file name or {@code null} if the body part does not declare any.
+     */
+    public String getFileName() {
+        final ContentDisposition cd = getContentDisposition();
+        return cd != null ? cd.getFileName() : null;
+    }
+
+    /**
+     * Get the stream of the body part entity. The stream is read directly from the entity stream of the multipart
+     * message and is at its end once the next body part is requested.
+     *
+     * @return entity stream of this body part.
+     */
+    public InputStream getInputStream() {
+        return entityStream;
+    }
+
+    /**
+     * Read the whole body part entity as a string. The charset is taken from the media type of the body part,
+     * {@code UTF-8} is used if the media type does not declare any.
+     *
+     * @return body part entity as a string.
+     * @throws IOException if reading of the entity fails.
+     */
+    public String getValue() throws IOException {
+        final String charset = getMediaType().getParameters().get(MediaType.CHARSET_PARAMETER);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        for (int n = entityStream.read(buffer); n >= 0; n = entityStream.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), charset != null ? Charset.forName(charset) : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Transfer the (rest of the) body part entity to the given file using {@link FileChannel#transferFrom}. The file is
+     * created or truncated. If the transfer fails, e.g. because the body part exceeds the
+     * {@link MultiPartProperties#MAX_PART_SIZE size limit}, the file is deleted.
+     *
+     * @param target path of the target file.
+     * @return number of bytes transferred.
+     * @throws IOException if the transfer fails.
+     */
+    public long transferTo(final Path target) throws IOException {
+        final ReadableByteChannel source = Channels.newChannel(entityStream);
+        boolean success = false;
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            for (long n = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE); n > 0;
+                 n = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) {
+                position += n;
+            }
+            success = true;
+            return position;
+        } finally {
+            if (!success) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+}
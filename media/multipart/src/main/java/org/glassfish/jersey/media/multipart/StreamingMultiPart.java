@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.multipart;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.media.multipart.internal.LocalizationMessages;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.MediaTypes;
+
+/**
+ * Multipart message whose body parts are parsed from the entity stream one at a time, as they arrive. Unlike
+ * {@link MultiPart}, neither the message nor its body parts are buffered; a body part entity can be read only once and
+ * only until the next body part is requested.
+ * <p/>
+ * A resource method may declare a {@code StreamingMultiPart} entity parameter to process large uploads:
+ * <pre>
+ * &#64;POST
+ * &#64;Consumes(MediaType.MULTIPART_FORM_DATA)
+ * public void upload(final StreamingMultiPart multiPart) throws IOException {
+ *     while (multiPart.hasNext()) {
+ *         final StreamingBodyPart part = multiPart.next();
+ *         if (part.getFileName() != null) {
+ *             part.transferTo(uploadDir.resolve(UUID.randomUUID().toString()));
+ *         } else {
+ *             fields.put(part.getName(), part.getValue());
+ *         }
+ *     }
+ * }
+ * </pre>
+ * The sizes of body parts and of the whole message can be limited by {@link MultiPartProperties#MAX_PART_SIZE} and
+ * {@link MultiPartProperties#MAX_SIZE}.
+ *
+ * @since 2.29
+ */
+public final class StreamingMultiPart implements Iterator<StreamingBodyPart>, Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_HEADER_LINE_LENGTH = 8192;
+    private static final int MAX_HEADERS = 128;
+
+    private final InputStream input;
+    private final MediaType mediaType;
+    private final boolean formData;
+    private final long maxPartSize;
+    private final long maxSize;
+
+    /**
+     * Delimiter of body parts, i.e. {@code CRLF--boundary}.
+     */
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long totalSize;
+
+    private boolean partEnded;
+    private long partSize;
+    private boolean lastPart;
+    private StreamingBodyPart current;
+    private StreamingBodyPart next;
+
+    /**
+     * Create a new streaming multipart message parsed from the given entity stream.
+     *
+     * @param input       entity stream of the multipart message.
+     * @param mediaType   media type of the multipart message including the {@code boundary} parameter.
+     * @param maxPartSize maximum size of a body part entity, {@link MultiPartProperties#SIZE_UNLIMITED} to not limit the size.
+     * @param maxSize     maximum size of the message, {@link MultiPartProperties#SIZE_UNLIMITED} to not limit the size.
+     * @throws IllegalArgumentException if the media type does not define a boundary.
+     */
+    public StreamingMultiPart(final InputStream input, final MediaType mediaType, final long maxPartSize, final long maxSize) {
+        String boundary = mediaType.getParameters().get("boundary");
+        if (boundary != null && boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IllegalArgumentException(LocalizationMessages.MULTIPART_BOUNDARY_MISSING(mediaType));
+        }
+
+        this.input = input;
+        this.mediaType = mediaType;
+        this.formData = MediaTypes.typeEqual(mediaType, MediaType.MULTIPART_FORM_DATA_TYPE);
+        this.maxPartSize = maxPartSize;
+        this.maxSize = maxSize;
+
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, 4 * delimiter.length)];
+
+        // The first delimiter does not have to be preceded by CRLF; the preamble is read as if it were a body part.
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        limit = 2;
+    }
+
+    /**
+     * Get the media type of this multipart message.
+     *
+     * @return media type of the message.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Check whether there is another body part in the message. Any unread content of the current body part is skipped.
+     *
+     * @return {@code true} if there is another body part.
+     * @throws BadRequestException     if the message is malformed.
+     * @throws WebApplicationException with {@code 413} status if the message exceeds the size limit.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (lastPart) {
+            return false;
+        }
+
+        try {
+            // Skip the rest of the current part (or the preamble).
+            final byte[] skip = new byte[BUFFER_SIZE];
+            while (readPart(skip, 0, skip.length) >= 0) {
+                // Skip.
+            }
+
+            if (isCloseDelimiter()) {
+                // Closing delimiter; the optional CRLF and epilogue are ignored.
+                lastPart = true;
+                current = null;
+                return false;
+            }
+            // Transport padding and CRLF following the delimiter.
+            readLine();
+
+            final MultivaluedMap<String, String> headers = readHeaders();
+            next = new StreamingBodyPart(this, headers, formData);
+            current = next;
+            partEnded = false;
+            partSize = 0;
+            return true;
+        } catch (final IOException e) {
+            throw new BadRequestException(LocalizationMessages.MULTIPART_STREAMING_ERROR(), e);
+        }
+    }
+
+    /**
+     * Get the next body part of the message. Any unread content of the current body part is skipped.
+     *
+     * @return next body part.
+     * @throws NoSuchElementException  if there are no more body parts.
+     * @throws BadRequestException     if the message is malformed.
+     * @throws WebApplicationException with {@code 413} status if the message exceeds the size limit.
+     */
+    @Override
+    public StreamingBodyPart next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final StreamingBodyPart part = next;
+        next = null;
+        return part;
+    }
+
+    /**
+     * Stop reading the message and close the entity stream.
+     *
+     * @throws IOException if closing of the entity stream fails.
+     */
+    @Override
+    public void close() throws IOException {
+        lastPart = true;
+        current = null;
+        next = null;
+        input.close();
+    }
+
+    /**
+     * Read the entity of the given body part.
+     *
+     * @return number of bytes read or {@code -1} if the end of the body part entity has been reached.
+     */
+    int read(final StreamingBodyPart part, final byte[] b, final int off, final int len) throws IOException {
+        if (part != current) {
+            // Next body part has already been requested.
+            return -1;
+        }
+        final int n = readPart(b, off, len);
+        if (n > 0) {
+            partSize += n;
+            if (maxPartSize >= 0 && partSize > maxPartSize) {
+                throw new WebApplicationException(LocalizationMessages.MULTIPART_PART_TOO_LARGE(maxPartSize),
+                        Response.Status.REQUEST_ENTITY_TOO_LARGE);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Read the content up to the next delimiter. The delimiter itself is consumed once reached.
+     */
+    private int readPart(final byte[] b, final int off, final int len) throws IOException {
+        if (partEnded) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        while (true) {
+            final int index = indexOfDelimiter();
+            if (index == position) {
+                position += delimiter.length;
+                partEnded = true;
+                return -1;
+            }
+
+            // Data before the delimiter or data that cannot be a beginning of a delimiter.
+            final int available = index >= 0 ? index - position : limit - position - delimiter.length + 1;
+            if (available > 0) {
+                final int n = Math.min(len, available);
+                System.arraycopy(buffer, position, b, off, n);
+                position += n;
+                return n;
+            }
+
+            if (!fill()) {
+                throw new IOException(LocalizationMessages.MULTIPART_UNEXPECTED_END());
+            }
+        }
+    }
+
+    private int indexOfDelimiter() {
+        final int last = limit - delimiter.length;
+        outer:
+        for (int i = position; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Check whether the delimiter that has just been read is the close delimiter, i.e. it is followed by {@code --}. The
+     * close delimiter may be the last data of the message.
+     */
+    private boolean isCloseDelimiter() throws IOException {
+        while (limit - position < 2) {
+            if (!fill()) {
+                throw new IOException(LocalizationMessages.MULTIPART_UNEXPECTED_END());
+            }
+        }
+        if (buffer[position] == '-' && buffer[position + 1] == '-') {
+            position += 2;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read a line terminated by {@code LF} (optional preceding {@code CR} is dropped).
+     */
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = position; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    final int end = i > position && buffer[i - 1] == '\r' ? i - 1 : i;
+                    final String line = new String(buffer, position, end - position, StandardCharsets.UTF_8);
+                    position = i + 1;
+                    return line;
+                }
+            }
+            if (limit - position >= MAX_HEADER_LINE_LENGTH) {
+                throw new IOException(LocalizationMessages.MULTIPART_HEADER_TOO_LONG(MAX_HEADER_LINE_LENGTH));
+            }
+            if (!fill()) {
+                throw new IOException(LocalizationMessages.MULTIPART_UNEXPECTED_END());
+            }
+        }
+    }
+
+    private MultivaluedMap<String, String> readHeaders() throws IOException {
+        final MultivaluedMap<String, String> headers = HeaderUtils.createInbound();
+
+        String name = null;
+        StringBuilder value = null;
+        int count = 0;
+        for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+            if ((line.charAt(0) == ' ' || line.charAt(0) == '\t') && value != null) {
+                // Folded header value.
+                value.append(' ').append(line.trim());
+                continue;
+            }
+            if (name != null) {
+                headers.add(name, value.toString());
+            }
+
+            final int colon = line.indexOf(':');
+            if (colon <= 0 || ++count > MAX_HEADERS) {
+                throw new IOException(LocalizationMessages.MULTIPART_INVALID_HEADER(line));
+            }
+            name = line.substring(0, colon).trim();
+            value = new StringBuilder(line.substring(colon + 1).trim());
+        }
+        if (name != null) {
+            headers.add(name, value.toString());
+        }
+
+        return headers;
+    }
+
+    /**
+     * Read more data into the buffer.
+     *
+     * @return {@code false} if the end of the entity stream has been reached.
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+
+        final int n = input.read(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            endOfInput = true;
+            return false;
+        }
+
+        limit += n;
+        totalSize += n;
+        if (maxSize >= 0 && totalSize > maxSize) {
+            throw new WebApplicationException(LocalizationMessages.MULTIPART_MESSAGE_TOO_LARGE(maxSize),
+                    Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.IOException;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.media.multipart.Boundary;
+import org.glassfish.jersey.media.multipart.MultiPart;
+import org.glassfish.jersey.message.internal.CommittingOutputStream;
+
+/**
+ * {@link WriterInterceptor} announcing the {@code Content-Length} of a (top-level) {@link MultiPart} message whose body part
+ * entities are all written directly by {@link MultiPartWriter}.
+ * <p>
+ * The interceptor is the innermost one, the header is set only if the entity stream has not been replaced by any other
+ * interceptor or filter (e.g. to compress or log the message) and the message has no {@code Content-Encoding}. Otherwise
+ * the number of bytes sent differs from the number of bytes written by {@link MultiPartWriter} and the message is buffered
+ * or sent using chunked encoding.
+ * </p>
+ *
+ * @since 2.29
+ */
+@Singleton
+@Priority(Integer.MAX_VALUE)
+public class MultiPartContentLengthInterceptor implements WriterInterceptor {
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final Object entity = context.getEntity();
+        final MultivaluedMap<String, Object> headers = context.getHeaders();
+
+        if (entity instanceof MultiPart
+                && ((MultiPart) entity).getParent() == null
+                && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                && !headers.containsKey(HttpHeaders.CONTENT_LENGTH)
+                && context.getOutputStream() instanceof CommittingOutputStream) {
+
+            // The boundary has to be chosen before the length of the message can be computed.
+            final MediaType mediaType = Boundary.addBoundary(context.getMediaType());
+            final long length = MultiPartWriter.getLength((MultiPart) entity, mediaType);
+
+            if (length >= 0) {
+                if (mediaType != context.getMediaType()) {
+                    context.setMediaType(mediaType);
+                    headers.putSingle(HttpHeaders.CONTENT_TYPE, mediaType.toString());
+                }
+                headers.putSingle(HttpHeaders.CONTENT_LENGTH, length);
+            }
+        }
+
+        context.proceed();
+    }
+}
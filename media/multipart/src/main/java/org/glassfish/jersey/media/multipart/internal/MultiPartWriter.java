@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,14 +16,17 @@
 
 package org.glassfish.jersey.media.multipart.internal;
 
-import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +50,13 @@ import org.glassfish.jersey.message.MessageUtils;
 
 /**
  * {@link Provider} {@link MessageBodyWriter} implementation for {@link MultiPart} entities.
+ * <p>
+ * Body part entities of type {@link File} and {@code byte[]} are written directly to the entity stream, files are transferred
+ * using {@link FileChannel#transferTo(long, long, WritableByteChannel)} so that they are never buffered on the heap. If the
+ * size of every body part entity is known in advance, {@link MultiPartContentLengthInterceptor} sets the
+ * {@code Content-Length} header of the (top-level) multipart message before the message is written, unless the entity
+ * stream is transformed (e.g. compressed), and the message does not need to be buffered or sent using chunked encoding.
+ * </p>
  *
  * @author Craig McClanahan
  * @author Paul Sandoz
@@ -123,8 +133,7 @@ public class MultiPartWriter implements MessageBodyWriter<MultiPart> {
             }
         }
 
-        // Initialize local variables we need.
-        final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, MessageUtils.getCharset(mediaType)));
+        final Charset charset = MessageUtils.getCharset(mediaType);
 
         // Determine the boundary string to be used, creating one if needed.
         final MediaType boundaryMediaType = Boundary.addBoundary(mediaType);
@@ -134,61 +143,55 @@ public class MultiPartWriter implements MessageBodyWriter<MultiPart> {
 
         final String boundaryString = boundaryMediaType.getParameters().get("boundary");
 
-        // Iterate through the body parts for this message.
-        boolean isFirst = true;
-        for (final BodyPart bodyPart : entity.getBodyParts()) {
-
-            // Write the leading boundary string
-            if (isFirst) {
-                isFirst = false;
-                writer.write("--");
-            } else {
-                writer.write("\r\n--");
-            }
-            writer.write(boundaryString);
-            writer.write("\r\n");
+        // Prepare the leading boundary and headers of all body parts and compute the length of the message, if possible.
+        final List<BodyPart> bodyParts = entity.getBodyParts();
+        final byte[][] preambles = new byte[bodyParts.size()][];
+        final long[] sizes = new long[bodyParts.size()];
+        final byte[] closing = getClosing(boundaryString, charset);
+        long length = closing.length;
+
+        for (int i = 0; i < preambles.length; i++) {
+            final BodyPart bodyPart = bodyParts.get(i);
 
-            // Write the headers for this body part
             final MediaType bodyMediaType = bodyPart.getMediaType();
             if (bodyMediaType == null) {
                 throw new IllegalArgumentException(LocalizationMessages.MISSING_MEDIA_TYPE_OF_BODY_PART());
             }
 
-            final MultivaluedMap<String, String> bodyHeaders = bodyPart.getHeaders();
-            bodyHeaders.putSingle("Content-Type", bodyMediaType.toString());
-
-            if (bodyHeaders.getFirst("Content-Disposition") == null && bodyPart.getContentDisposition() != null) {
-                bodyHeaders.putSingle("Content-Disposition", bodyPart.getContentDisposition().toString());
+            final Object bodyEntity = bodyPart.getEntity();
+            if (bodyEntity == null) {
+                throw new IllegalArgumentException(LocalizationMessages.MISSING_ENTITY_OF_BODY_PART(bodyMediaType));
             }
 
-            // Iterate for the nested body parts
-            for (final Map.Entry<String, List<String>> entry : bodyHeaders.entrySet()) {
-                // Write this header and its value(s)
-                writer.write(entry.getKey());
-                writer.write(':');
-                boolean first = true;
-                for (final String value : entry.getValue()) {
-                    if (first) {
-                        writer.write(' ');
-                        first = false;
-                    } else {
-                        writer.write(',');
-                    }
-                    writer.write(value);
-                }
-                writer.write("\r\n");
-            }
+            preambles[i] = getPreamble(bodyPart, i, boundaryString, charset);
+            sizes[i] = getEntitySize(bodyEntity);
+            length = length < 0 || sizes[i] < 0 ? -1 : length + preambles[i].length + sizes[i];
+        }
+
+        // A file may have changed since the length of the message has been announced, the announced length must not be
+        // sent then. The headers are not committed before the first byte of the message is written.
+        final Object announced = headers.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (announced != null && entity.getParent() == null && !String.valueOf(length).equals(announced.toString())) {
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
 
-            // Mark the end of the headers for this body part
-            writer.write("\r\n");
-            writer.flush();
+        // Iterate through the body parts for this message.
+        for (int i = 0; i < preambles.length; i++) {
+            final BodyPart bodyPart = bodyParts.get(i);
+            stream.write(preambles[i]);
 
             // Write the entity for this body part
             Object bodyEntity = bodyPart.getEntity();
-            if (bodyEntity == null) {
-                throw new IllegalArgumentException(LocalizationMessages.MISSING_ENTITY_OF_BODY_PART(bodyMediaType));
+            if (sizes[i] >= 0) {
+                if (bodyEntity instanceof File) {
+                    transferFile((File) bodyEntity, sizes[i], stream);
+                } else {
+                    stream.write((byte[]) bodyEntity);
+                }
+                continue;
             }
 
+            final MediaType bodyMediaType = bodyPart.getMediaType();
             Class bodyClass = bodyEntity.getClass();
             if (bodyEntity instanceof BodyPartEntity) {
                 bodyClass = InputStream.class;
@@ -211,16 +214,140 @@ public class MultiPartWriter implements MessageBodyWriter<MultiPart> {
                     bodyClass,
                     EMPTY_ANNOTATIONS,
                     bodyMediaType,
-                    bodyHeaders,
+                    bodyPart.getHeaders(),
                     stream
             );
         }
 
         // Write the final boundary string
-        writer.write("\r\n--");
-        writer.write(boundaryString);
-        writer.write("--\r\n");
-        writer.flush();
+        stream.write(closing);
+        stream.flush();
+    }
+
+    /**
+     * Compute the number of bytes of the given multipart message as written by this writer.
+     *
+     * @param entity            multipart message.
+     * @param boundaryMediaType media type of the message including the {@code boundary} parameter.
+     * @return length of the message in bytes or {@code -1} if the length cannot be determined in advance.
+     */
+    static long getLength(final MultiPart entity, final MediaType boundaryMediaType) {
+        final List<BodyPart> bodyParts = entity.getBodyParts();
+        final String boundaryString = boundaryMediaType.getParameters().get("boundary");
+        if (bodyParts == null || bodyParts.isEmpty() || boundaryString == null) {
+            return -1;
+        }
+
+        final Charset charset = MessageUtils.getCharset(boundaryMediaType);
+        long length = getClosing(boundaryString, charset).length;
+
+        for (int i = 0; i < bodyParts.size(); i++) {
+            final BodyPart bodyPart = bodyParts.get(i);
+            final long size = getEntitySize(bodyPart.getEntity());
+            if (size < 0 || bodyPart.getMediaType() == null) {
+                return -1;
+            }
+            length += getPreamble(bodyPart, i, boundaryString, charset).length + size;
+        }
+        return length;
+    }
+
+    /**
+     * Get the leading boundary string and the headers of the given body part.
+     *
+     * @param bodyPart       body part.
+     * @param index          index of the body part within the message.
+     * @param boundaryString boundary of the message.
+     * @param charset        charset of the message.
+     * @return bytes to be written before the entity of the body part.
+     */
+    private static byte[] getPreamble(final BodyPart bodyPart, final int index, final String boundaryString,
+                                      final Charset charset) {
+        final MultivaluedMap<String, String> bodyHeaders = bodyPart.getHeaders();
+        bodyHeaders.putSingle("Content-Type", bodyPart.getMediaType().toString());
+
+        if (bodyHeaders.getFirst("Content-Disposition") == null && bodyPart.getContentDisposition() != null) {
+            bodyHeaders.putSingle("Content-Disposition", bodyPart.getContentDisposition().toString());
+        }
+
+        // Write the leading boundary string
+        final StringBuilder preamble = new StringBuilder(index == 0 ? "--" : "\r\n--")
+                .append(boundaryString)
+                .append("\r\n");
+
+        // Write the headers for this body part
+        for (final Map.Entry<String, List<String>> entry : bodyHeaders.entrySet()) {
+            // Write this header and its value(s)
+            preamble.append(entry.getKey()).append(':');
+            boolean first = true;
+            for (final String value : entry.getValue()) {
+                if (first) {
+                    preamble.append(' ');
+                    first = false;
+                } else {
+                    preamble.append(',');
+                }
+                preamble.append(value);
+            }
+            preamble.append("\r\n");
+        }
+
+        // Mark the end of the headers for this body part
+        preamble.append("\r\n");
+
+        return preamble.toString().getBytes(charset);
+    }
+
+    /**
+     * Get the final boundary string of a message.
+     *
+     * @param boundaryString boundary of the message.
+     * @param charset        charset of the message.
+     * @return bytes to be written after the last body part.
+     */
+    private static byte[] getClosing(final String boundaryString, final Charset charset) {
+        return ("\r\n--" + boundaryString + "--\r\n").getBytes(charset);
+    }
+
+    /**
+     * Get the number of bytes of the given body part entity if the entity is written directly by this writer.
+     *
+     * @param bodyEntity body part entity.
+     * @return size of the entity in bytes or {@code -1} if the entity is written by a message body writer.
+     */
+    private static long getEntitySize(final Object bodyEntity) {
+        if (bodyEntity instanceof byte[]) {
+            return ((byte[]) bodyEntity).length;
+        } else if (bodyEntity instanceof File && ((File) bodyEntity).isFile()) {
+            return ((File) bodyEntity).length();
+        }
+        return -1;
+    }
+
+    /**
+     * Transfer the given number of bytes of a file to the entity stream. The bytes are transferred without any copying
+     * if the entity stream is a channel supported by {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+     *
+     * @param file   file to be transferred.
+     * @param size   number of bytes to be transferred, i.e. the size announced in the {@code Content-Length} header.
+     * @param stream entity stream.
+     * @throws IOException if an I/O error occurs or the file has been truncated.
+     */
+    private static void transferFile(final File file, final long size, final OutputStream stream) throws IOException {
+        // The target channel is not closed since it would close the entity stream.
+        final WritableByteChannel target = stream instanceof WritableByteChannel
+                ? (WritableByteChannel) stream : Channels.newChannel(stream);
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                final long transferred = channel.transferTo(position, size - position, target);
+                if (transferred <= 0 && position >= channel.size()) {
+                    throw new IOException(LocalizationMessages.FILE_TRUNCATED(file, size));
+                }
+                position += transferred;
+            }
+        }
     }
 
 }
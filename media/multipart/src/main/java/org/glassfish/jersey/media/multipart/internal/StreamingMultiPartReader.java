@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Providers;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.media.multipart.StreamingMultiPart;
+
+/**
+ * {@link MessageBodyReader} implementation for {@link StreamingMultiPart} entities. The message is not read by the
+ * provider; body parts are parsed as the entity is iterated over.
+ */
+@Consumes("multipart/*")
+@Singleton
+public class StreamingMultiPartReader implements MessageBodyReader<StreamingMultiPart> {
+
+    private final long maxPartSize;
+    private final long maxSize;
+
+    /**
+     * Accepts constructor injection of the configuration parameters for this application.
+     *
+     * @param providers providers used to look up {@link MultiPartProperties} context resolver.
+     */
+    public StreamingMultiPartReader(@Context final Providers providers) {
+        final ContextResolver<MultiPartProperties> contextResolver =
+                providers.getContextResolver(MultiPartProperties.class, MediaType.WILDCARD_TYPE);
+
+        MultiPartProperties properties = null;
+        if (contextResolver != null) {
+            properties = contextResolver.getContext(this.getClass());
+        }
+        if (properties == null) {
+            properties = new MultiPartProperties();
+        }
+
+        this.maxPartSize = properties.getMaxPartSize();
+        this.maxSize = properties.getMaxSize();
+    }
+
+    @Override
+    public boolean isReadable(final Class<?> type,
+                              final Type genericType,
+                              final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return StreamingMultiPart.class == type;
+    }
+
+    @Override
+    public StreamingMultiPart readFrom(final Class<StreamingMultiPart> type,
+                                       final Type genericType,
+                                       final Annotation[] annotations,
+                                       final MediaType mediaType,
+                                       final MultivaluedMap<String, String> headers,
+                                       final InputStream stream) throws IOException, WebApplicationException {
+        // Reject messages over the limit before reading them.
+        final String contentLength = headers.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (maxSize >= 0 && contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength.trim()) > maxSize) {
+                    throw new WebApplicationException(LocalizationMessages.MULTIPART_MESSAGE_TOO_LARGE(maxSize),
+                            Response.Status.REQUEST_ENTITY_TOO_LARGE);
+                }
+            } catch (final NumberFormatException e) {
+                throw new BadRequestException(e);
+            }
+        }
+
+        try {
+            return new StreamingMultiPart(stream, mediaType, maxPartSize, maxSize);
+        } catch (final IllegalArgumentException e) {
+            throw new BadRequestException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link StreamingMultiPart} unit tests.
+ */
+public class StreamingMultiPartTest {
+
+    private static final MediaType FORM_DATA = new MediaType("multipart", "form-data",
+            Collections.singletonMap("boundary", "XyZ"));
+
+    private static byte[] message(final String fileContent) {
+        return ("preamble\r\n"
+                + "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"field\"\r\n"
+                + "\r\n"
+                + "hello\r\n"
+                + "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"a.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "\r\n"
+                + fileContent + "\r\n"
+                + "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"skipped\"\r\n"
+                + "\r\n"
+                + "skip me\r\n"
+                + "--XyZ--\r\n"
+                + "epilogue").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String fileContent() {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            content.append((char) ('a' + i % 26));
+        }
+        // looks like a beginning of a delimiter
+        return content.append("\r\n--Xy").toString();
+    }
+
+    @Test
+    public void testPartsStreamed() throws Exception {
+        final String fileContent = fileContent();
+        final StreamingMultiPart multiPart = new StreamingMultiPart(new ByteArrayInputStream(message(fileContent)),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+
+        StreamingBodyPart part = multiPart.next();
+        assertEquals("field", part.getName());
+        assertNull(part.getFileName());
+        assertEquals("hello", part.getValue());
+
+        part = multiPart.next();
+        assertEquals("file", part.getName());
+        assertEquals("a.bin", part.getFileName());
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM_TYPE, part.getMediaType());
+
+        final Path file = Files.createTempFile("streaming", ".bin");
+        try {
+            assertEquals(fileContent.length(), part.transferTo(file));
+            assertArrayEquals(fileContent.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // unread part is skipped once the next part is requested
+        final StreamingBodyPart skipped = multiPart.next();
+        assertEquals("skipped", skipped.getName());
+        assertFalse(multiPart.hasNext());
+        assertEquals(-1, skipped.getInputStream().read());
+    }
+
+    @Test
+    public void testPartSizeLimit() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(new ByteArrayInputStream(message(fileContent())),
+                FORM_DATA, 1000, MultiPartProperties.SIZE_UNLIMITED);
+
+        assertEquals("hello", multiPart.next().getValue());
+
+        final Path file = Files.createTempFile("streaming", ".bin");
+        try {
+            multiPart.next().transferTo(file);
+            fail("Body part over the limit has been accepted.");
+        } catch (final WebApplicationException e) {
+            assertEquals(413, e.getResponse().getStatus());
+            assertFalse(Files.exists(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testMessageSizeLimit() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(new ByteArrayInputStream(message(fileContent())),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, 5000);
+        try {
+            while (multiPart.hasNext()) {
+                multiPart.next();
+            }
+            fail("Message over the limit has been accepted.");
+        } catch (final WebApplicationException e) {
+            assertEquals(413, e.getResponse().getStatus());
+        }
+    }
+
+    @Test
+    public void testTruncatedMessage() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(
+                new ByteArrayInputStream("--XyZ\r\nContent-Type: text/plain\r\n\r\nvalue".getBytes(StandardCharsets.UTF_8)),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+        try {
+            multiPart.next().getValue();
+            fail("Truncated message has been accepted.");
+        } catch (final IOException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testMissingEndDelimiter() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(
+                new ByteArrayInputStream("no delimiter".getBytes(StandardCharsets.UTF_8)),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+        multiPart.hasNext();
+    }
+
+    @Test
+    public void testEmptyMessage() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(
+                new ByteArrayInputStream("--XyZ--\r\n".getBytes(StandardCharsets.UTF_8)),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+        assertFalse(multiPart.hasNext());
+        assertTrue(multiPart.getMediaType().isCompatible(MediaType.MULTIPART_FORM_DATA_TYPE));
+    }
+
+    @Test
+    public void testCloseDelimiterWithoutCrlf() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(
+                new ByteArrayInputStream(("--XyZ\r\n"
+                        + "Content-Disposition: form-data; name=\"field\"\r\n"
+                        + "\r\n"
+                        + "hello\r\n"
+                        + "--XyZ--").getBytes(StandardCharsets.UTF_8)),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+
+        assertEquals("hello", multiPart.next().getValue());
+        assertFalse(multiPart.hasNext());
+
+        final StreamingMultiPart empty = new StreamingMultiPart(
+                new ByteArrayInputStream("--XyZ--".getBytes(StandardCharsets.UTF_8)),
+                FORM_DATA, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+        assertFalse(empty.hasNext());
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.media.multipart.BodyPartEntity;
+import org.glassfish.jersey.media.multipart.MultiPart;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.filter.EncodingFilter;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MultiPartContentLengthInterceptor}.
+ * <p>
+ * Unlike {@link MultiPartJerseyTest} no logging feature is registered since logging the message replaces the entity stream
+ * and the {@code Content-Length} is not announced then.
+ * </p>
+ */
+public class MultiPartContentLengthTest extends JerseyTest {
+
+    private byte[] content;
+    private File file;
+
+    @Override
+    protected Application configure() {
+        final ResourceConfig config = new ResourceConfig(MultiPartResource.class).register(MultiPartFeature.class);
+        EncodingFilter.enableFor(config, GZipEncoder.class);
+        return config;
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(MultiPartFeature.class);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        content = new byte[64 * 1024];
+        Arrays.fill(content, (byte) 'a');
+        file = File.createTempFile("multipart", ".bin");
+        Files.write(file.toPath(), content);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try {
+            super.tearDown();
+        } finally {
+            Files.delete(file.toPath());
+        }
+    }
+
+    /**
+     * Multipart message with byte array and file entities is written with {@code Content-Length} known in advance.
+     */
+    @Test
+    public void testFileAndByteArrayContentLength() throws Exception {
+        final Response response = target().path("multipart/files").queryParam("path", file.getAbsolutePath())
+                .request("multipart/mixed").get();
+
+        assertEquals(200, response.getStatus());
+        checkEntity(response.readEntity(MultiPart.class));
+
+        final Response raw = target().path("multipart/files").queryParam("path", file.getAbsolutePath())
+                .request("multipart/mixed").get();
+        assertEquals(raw.readEntity(byte[].class).length, raw.getLength());
+    }
+
+    /**
+     * The {@code Content-Length} of the multipart message must not be announced for the compressed message.
+     */
+    @Test
+    public void testGZipEncodedContentLength() throws Exception {
+        final Response raw = target().path("multipart/files").queryParam("path", file.getAbsolutePath())
+                .request("multipart/mixed").acceptEncoding("gzip").get();
+
+        assertEquals(200, raw.getStatus());
+        assertEquals("gzip", raw.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+
+        final byte[] compressed = raw.readEntity(byte[].class);
+        assertTrue(raw.getLength() == -1 || raw.getLength() == compressed.length);
+
+        final String decompressed = new String(
+                toBytes(new GZIPInputStream(new ByteArrayInputStream(compressed))), StandardCharsets.US_ASCII);
+        assertTrue(decompressed.length() > content.length);
+        assertTrue(decompressed.endsWith("--\r\n"));
+
+        final Response response = target().register(GZipEncoder.class)
+                .path("multipart/files").queryParam("path", file.getAbsolutePath())
+                .request("multipart/mixed").acceptEncoding("gzip").get();
+
+        assertEquals(200, response.getStatus());
+        checkEntity(response.readEntity(MultiPart.class));
+    }
+
+    private void checkEntity(final MultiPart entity) throws IOException {
+        try {
+            assertEquals(2, entity.getBodyParts().size());
+            assertEquals("This is the first segment", new String(
+                    toBytes(((BodyPartEntity) entity.getBodyParts().get(0).getEntity()).getInputStream())));
+            assertArrayEquals(content, entity.getBodyParts().get(1).getEntityAs(byte[].class));
+        } finally {
+            entity.cleanup();
+        }
+    }
+
+    private static byte[] toBytes(final InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
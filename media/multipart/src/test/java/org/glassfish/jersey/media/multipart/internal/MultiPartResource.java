@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,6 +17,7 @@
 package org.glassfish.jersey.media.multipart.internal;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -27,6 +28,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -230,4 +232,13 @@ public class MultiPartResource {
         entity.getBodyParts().add(part);
         return Response.ok(entity).type("multipart/mixed").build();
     }
+
+    @GET
+    @Path("files")
+    @Produces("multipart/mixed")
+    public MultiPart files(@QueryParam("path") String path) {
+        return new MultiPart()
+                .bodyPart("This is the first segment".getBytes(), MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                .bodyPart(new File(path), MediaType.APPLICATION_OCTET_STREAM_TYPE);
+    }
 }
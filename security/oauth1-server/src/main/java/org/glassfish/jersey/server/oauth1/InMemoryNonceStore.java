@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.oauth1;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link NonceStore} keeping the nonces in the memory of the current JVM. The store is used by default and can be used
+ * as a stand-in for a shared store in tests.
+ * <p/>
+ * Nonces are sharded by the consumer key (token) and, within a shard, grouped into buckets by their expiration time.
+ * Nonces are inserted without locking and expired nonces are removed by dropping whole buckets. The number of stored
+ * nonces is limited; once the limit is reached, expired buckets are dropped and new nonces are refused if the store is
+ * still full.
+ *
+ * @since 2.29
+ */
+public final class InMemoryNonceStore implements NonceStore {
+
+    private static final int SHARDS = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+    private final long maximumSize;
+    private final int gcPeriod;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentNavigableMap<Long, Bucket>[] shards = new ConcurrentNavigableMap[SHARDS];
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicInteger gcCounter = new AtomicInteger();
+
+    /**
+     * Create a new store.
+     *
+     * @param maximumSize maximum number of nonces kept by the store.
+     * @param gcPeriod    number of nonces to be added on average before expired nonces are removed.
+     */
+    public InMemoryNonceStore(final long maximumSize, final int gcPeriod) {
+        if (maximumSize <= 0 || gcPeriod <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.maximumSize = maximumSize;
+        this.gcPeriod = gcPeriod;
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ConcurrentSkipListMap<>();
+        }
+    }
+
+    @Override
+    public boolean add(final String key, final String nonce, final long timestamp, final long expiresAt, final long now) {
+        if (expiresAt < now) {
+            return false;
+        }
+
+        if (!reserve()) {
+            gc(now);
+            if (!reserve()) {
+                // cannot keep another nonce (prevents exhausting memory)
+                return false;
+            }
+        }
+
+        final Bucket bucket = shards[key.hashCode() & (SHARDS - 1)].computeIfAbsent(expiresAt, expiration -> new Bucket());
+        // the bucket may have been dropped concurrently, i.e. the nonce has just expired
+        final boolean result = bucket.nonces.add(timestamp + ":" + key + ":" + nonce) && bucket.reserve();
+        if (!result) {
+            size.decrementAndGet();
+        }
+
+        if (gcCounter.incrementAndGet() % gcPeriod == 0) {
+            gc(now);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void gc(final long now) {
+        for (final ConcurrentNavigableMap<Long, Bucket> shard : shards) {
+            for (final Map.Entry<Long, Bucket> entry : shard.headMap(now).entrySet()) {
+                if (shard.remove(entry.getKey(), entry.getValue())) {
+                    size.addAndGet(-entry.getValue().close());
+                }
+            }
+        }
+    }
+
+    @Override
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Count the stored nonces by walking all the buckets. The method should be used by tests only.
+     *
+     * @return number of stored nonces.
+     */
+    long checkAndGetSize() {
+        long count = 0;
+        for (final ConcurrentNavigableMap<Long, Bucket> shard : shards) {
+            for (final Bucket bucket : shard.values()) {
+                count += Math.max(0, bucket.count.get());
+            }
+        }
+        assert size.get() == count;
+        return size.get();
+    }
+
+    private boolean reserve() {
+        long current;
+        do {
+            current = size.get();
+            if (current >= maximumSize) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Nonces expiring at the same time. A dropped bucket is closed so that no more nonces are counted in it.
+     */
+    private static final class Bucket {
+
+        private final Set<String> nonces = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger count = new AtomicInteger();
+
+        private boolean reserve() {
+            int current;
+            do {
+                current = count.get();
+                if (current < 0) {
+                    return false;
+                }
+            } while (!count.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private int close() {
+            return Math.max(0, count.getAndSet(-1));
+        }
+    }
+}
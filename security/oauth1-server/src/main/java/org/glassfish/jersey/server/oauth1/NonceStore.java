@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.oauth1;
+
+import org.glassfish.jersey.spi.Contract;
+
+/**
+ * Store of the nonces that have already been used by OAuth 1 signed requests. The store is used to detect replayed
+ * requests.
+ * <p/>
+ * By default nonces are kept in the memory of the current JVM by {@link InMemoryNonceStore}. If the application runs on
+ * several nodes, a store shared by all the nodes (e.g. backed by a distributed cache) should be registered as a standard
+ * provider, e.g. {@code resourceConfig.register(new MySharedNonceStore())}, so that a request replayed against a different
+ * node is refused as well.
+ * <p/>
+ * The current time is always passed in by the caller, so that stores do not read the clock themselves and all the
+ * stores make the same decisions for the same input. Implementations must be thread-safe.
+ *
+ * @since 2.29
+ */
+@Contract
+public interface NonceStore {
+
+    /**
+     * Atomically record the nonce used by a request signed with the given consumer key or token. The method returns
+     * {@code false} if the same nonce has already been recorded for the same key and timestamp.
+     * <p/>
+     * The nonce does not have to be remembered after the expiration time. Requests with the same timestamp are refused
+     * by the OAuth filter after the expiration time anyway.
+     *
+     * @param key       key identifying the consumer key or the token which signed the request.
+     * @param nonce     the {@code oauth_nonce} value of the request.
+     * @param timestamp the {@code oauth_timestamp} value of the request in milliseconds.
+     * @param expiresAt time in milliseconds since epoch after which the nonce does not have to be remembered.
+     * @param now       current time in milliseconds since epoch.
+     * @return {@code true} if the nonce has been recorded, {@code false} if the nonce has already been used or if it
+     * cannot be recorded.
+     */
+    boolean add(String key, String nonce, long timestamp, long expiresAt, long now);
+
+    /**
+     * Remove the nonces that expired before the given time. Stores that expire the nonces on their own (e.g. a cache
+     * with time to live) do not have to implement the method.
+     *
+     * @param now current time in milliseconds since epoch.
+     */
+    default void gc(final long now) {
+    }
+
+    /**
+     * Get the number of the recorded nonces.
+     *
+     * @return number of the recorded nonces or {@code -1} if the number is not known.
+     */
+    default long size() {
+        return -1;
+    }
+}
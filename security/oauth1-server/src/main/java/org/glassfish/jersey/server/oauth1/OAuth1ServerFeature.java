@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -35,7 +35,8 @@ import org.glassfish.jersey.server.oauth1.internal.RequestTokenResource;
  * <p/>
  * The OAuth 1 server support requires implementation of {@link OAuth1Provider};
  * which will be used to retrieve Request Tokens, Access tokens, etc. The implementation should be configured
- * in this feature or registered as a standard provider.
+ * in this feature or registered as a standard provider. Nonces of the incoming requests are tracked in memory unless
+ * a {@link NonceStore} shared by multiple nodes is registered as a standard provider.
  * <p/>
  * Feature can be created and configured by various constructors. Beside that, the feature behaviour
  * can be overwritten by configuration properties {@link OAuth1ServerProperties#ENABLE_TOKEN_RESOURCES},
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
@@ -34,6 +35,8 @@ import javax.annotation.Priority;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.oauth1.signature.OAuth1Parameters;
 import org.glassfish.jersey.oauth1.signature.OAuth1Secrets;
@@ -81,9 +84,10 @@ class OAuth1ServerFilter implements ContainerRequestFilter {
     /**
      * Create a new filter.
      * @param rc Resource config.
+     * @param injectionManager injection manager used to look up a custom {@link NonceStore nonce store}.
      */
     @Inject
-    public OAuth1ServerFilter(Configuration rc) {
+    public OAuth1ServerFilter(Configuration rc, InjectionManager injectionManager) {
         // establish supported OAuth protocol versions
         HashSet<String> v = new HashSet<String>();
         v.add(null);
@@ -108,7 +112,10 @@ class OAuth1ServerFilter implements ContainerRequestFilter {
         final int maxCacheSize = OAuth1ServerProperties.getValue(rc.getProperties(), OAuth1ServerProperties.MAX_NONCE_CACHE_SIZE,
                 2000000);
 
-        nonces = new NonceManager(maxAge, gcPeriod, timeUnit, maxCacheSize);
+        final Iterator<NonceStore> stores = Providers.getAllProviders(injectionManager, NonceStore.class).iterator();
+        nonces = stores.hasNext()
+                ? new NonceManager(maxAge, timeUnit, stores.next())
+                : new NonceManager(maxAge, gcPeriod, timeUnit, maxCacheSize);
 
         // www-authenticate header for the life of the object
         wwwAuthenticateHeader = "OAuth realm=\"" + realm + "\"";
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.oauth1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link InMemoryNonceStore} unit tests.
+ */
+public class InMemoryNonceStoreTest {
+
+    @Test
+    public void testExpiredBucketsDropped() {
+        final InMemoryNonceStore store = new InMemoryNonceStore(100, 1000);
+
+        assertTrue(store.add("a", "1", 1000, 2000, 1000));
+        assertTrue(store.add("b", "1", 1000, 2000, 1000));
+        assertTrue(store.add("a", "1", 1500, 2500, 1000));
+        assertFalse(store.add("a", "1", 1000, 2000, 1000));
+        assertEquals(3, store.checkAndGetSize());
+
+        store.gc(2001);
+        assertEquals(1, store.checkAndGetSize());
+
+        // already expired nonces are not stored at all
+        assertFalse(store.add("c", "1", 1000, 2000, 2001));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void testConcurrentDuplicates() throws Exception {
+        final InMemoryNonceStore store = new InMemoryNonceStore(100000, 1000);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int accepted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (store.add("key-" + (i % 10), Integer.toString(i), 1000, Long.MAX_VALUE, 1000)) {
+                            accepted++;
+                        }
+                    }
+                    return accepted;
+                });
+            }
+
+            int accepted = 0;
+            for (final Future<Integer> result : executor.invokeAll(tasks)) {
+                accepted += result.get();
+            }
+
+            // every nonce is accepted exactly once
+            assertEquals(1000, accepted);
+            assertEquals(1000, store.checkAndGetSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
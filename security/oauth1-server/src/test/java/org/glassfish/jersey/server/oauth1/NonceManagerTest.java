@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,6 +17,9 @@
 package org.glassfish.jersey.server.oauth1;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
@@ -182,4 +185,43 @@ public class NonceManagerTest {
         assertFalse(nonces.verify("a", "1", "1", 300000));
         assertEquals(3, nonces.checkAndGetSize());
     }
+
+    @Test
+    public void testCustomStore() {
+        final InMemoryNonceStore store = new InMemoryNonceStore(10, 5000);
+        final NonceManager first = new NonceManager(1000, TimeUnit.MILLISECONDS, store);
+        final NonceManager second = new NonceManager(1000, TimeUnit.MILLISECONDS, store);
+
+        // nonce used against one node is refused by another node sharing the store
+        assertTrue(first.verify("a", "1000", "1", 1000));
+        assertFalse(second.verify("a", "1000", "1", 1000));
+        assertTrue(second.verify("a", "1000", "2", 1000));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void testStoreGetsCurrentTime() {
+        final List<Long> times = new ArrayList<>();
+        final NonceManager nonces = new NonceManager(1000, TimeUnit.MILLISECONDS, new NonceStore() {
+            @Override
+            public boolean add(final String key, final String nonce, final long timestamp, final long expiresAt,
+                               final long now) {
+                times.add(now);
+                assertEquals(timestamp + 1000, expiresAt);
+                return true;
+            }
+
+            @Override
+            public void gc(final long now) {
+                times.add(now);
+            }
+        });
+
+        assertTrue(nonces.verify("a", "1000", "1", 1500));
+        // rejected before reaching the store
+        assertFalse(nonces.verify("a", "1000", "1", 2001));
+        nonces.gc(3000);
+        assertEquals(Arrays.asList(1500L, 3000L), times);
+        assertEquals(-1, nonces.checkAndGetSize());
+    }
 }
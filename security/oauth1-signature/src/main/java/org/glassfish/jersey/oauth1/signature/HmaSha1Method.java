@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,16 +16,6 @@
 
 package org.glassfish.jersey.oauth1.signature;
 
-import java.io.UnsupportedEncodingException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-
-import org.glassfish.jersey.uri.UriComponent;
-
-
 /**
  * An OAuth signature method that implements HMAC-SHA1.
  *
@@ -38,6 +28,8 @@ public final class HmaSha1Method implements OAuth1SignatureMethod {
 
     private static final String SIGNATURE_ALGORITHM = "HmacSHA1";
 
+    private final HmacSigner signer = new HmacSigner(SIGNATURE_ALGORITHM);
+
     @Override
     public String name() {
         return NAME;
@@ -52,47 +44,7 @@ public final class HmaSha1Method implements OAuth1SignatureMethod {
      */
     @Override
     public String sign(String baseString, OAuth1Secrets secrets) {
-
-        Mac mac;
-
-        try {
-            mac = Mac.getInstance(SIGNATURE_ALGORITHM);
-        } catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        StringBuilder buf = new StringBuilder();
-
-        // null secrets are interpreted as blank per OAuth specification
-        String secret = secrets.getConsumerSecret();
-        if (secret != null) {
-            buf.append(UriComponent.encode(secret, UriComponent.Type.UNRESERVED));
-        }
-
-        buf.append('&');
-
-        secret = secrets.getTokenSecret();
-        if (secret != null) {
-            buf.append(UriComponent.encode(secret, UriComponent.Type.UNRESERVED));
-        }
-
-        byte[] key;
-
-        try {
-            key = buf.toString().getBytes("UTF-8");
-        } catch (UnsupportedEncodingException uee) {
-            throw new IllegalStateException(uee);
-        }
-
-        SecretKeySpec spec = new SecretKeySpec(key, SIGNATURE_ALGORITHM);
-
-        try {
-            mac.init(spec);
-        } catch (InvalidKeyException ike) {
-            throw new IllegalStateException(ike);
-        }
-
-        return Base64.encode(mac.doFinal(baseString.getBytes()));
+        return signer.sign(baseString, secrets);
     }
 
     /**
@@ -104,8 +56,6 @@ public final class HmaSha1Method implements OAuth1SignatureMethod {
      */
     @Override
     public boolean verify(String elements, OAuth1Secrets secrets, String signature) {
-        // with symmetric cryptography, simply sign again and compare
-        return sign(elements, secrets).equals(signature);
+        return signer.verify(elements, secrets, signature);
     }
 }
-
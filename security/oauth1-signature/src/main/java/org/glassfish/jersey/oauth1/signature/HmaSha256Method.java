@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.oauth1.signature;
+
+/**
+ * An OAuth signature method that implements HMAC-SHA256.
+ * <p/>
+ * HMAC-SHA256 is not part of the OAuth 1.0a specification (RFC 5849) but is widely supported as a stronger alternative
+ * to HMAC-SHA1. The signature base string and the key are constructed in the same way as for HMAC-SHA1.
+ *
+ * @since 2.29
+ */
+public final class HmaSha256Method implements OAuth1SignatureMethod {
+
+    public static final String NAME = "HMAC-SHA256";
+
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    private final HmacSigner signer = new HmacSigner(SIGNATURE_ALGORITHM);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * Generates the HMAC-SHA256 signature of OAuth request elements.
+     *
+     * @param baseString the combined OAuth elements to sign.
+     * @param secrets the shared secrets used to sign the request.
+     * @return the OAuth signature, in base64-encoded form.
+     */
+    @Override
+    public String sign(String baseString, OAuth1Secrets secrets) {
+        return signer.sign(baseString, secrets);
+    }
+
+    /**
+     * Verifies the HMAC-SHA256 signature of OAuth request elements.
+     *
+     * @param elements OAuth elements signature is to be verified against.
+     * @param secrets the shared secrets for verifying the signature.
+     * @param signature base64-encoded OAuth signature to be verified.
+     */
+    @Override
+    public boolean verify(String elements, OAuth1Secrets secrets, String signature) {
+        return signer.verify(elements, secrets, signature);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.oauth1.signature;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.glassfish.jersey.uri.UriComponent;
+
+/**
+ * Signs OAuth request elements with a HMAC algorithm. Every thread uses its own {@link Mac} instance which is
+ * re-initialized only if the thread signs with a different key than in the previous invocation. Keys are cached per
+ * consumer and token secret.
+ */
+final class HmacSigner {
+
+    private final String algorithm;
+    private final SecretCache<SecretKeySpec> keys = new SecretCache<>();
+    private final ThreadLocal<ThreadMac> macs;
+
+    /**
+     * Create a new signer.
+     *
+     * @param algorithm name of the {@link Mac} algorithm, e.g. {@code HmacSHA1}.
+     */
+    HmacSigner(final String algorithm) {
+        this.algorithm = algorithm;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                return new ThreadMac(Mac.getInstance(algorithm));
+            } catch (final NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        });
+    }
+
+    /**
+     * Generates the HMAC signature of OAuth request elements.
+     *
+     * @param baseString the combined OAuth elements to sign.
+     * @param secrets    the shared secrets used to sign the request.
+     * @return the OAuth signature, in base64-encoded form.
+     */
+    String sign(final String baseString, final OAuth1Secrets secrets) {
+        final SecretKeySpec key = key(secrets);
+        final ThreadMac threadMac = macs.get();
+
+        if (threadMac.key != key) {
+            try {
+                threadMac.mac.init(key);
+            } catch (final InvalidKeyException ike) {
+                threadMac.key = null;
+                throw new IllegalStateException(ike);
+            }
+            threadMac.key = key;
+        }
+
+        return Base64.encode(threadMac.mac.doFinal(baseString.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Verifies the HMAC signature of OAuth request elements.
+     *
+     * @param elements  OAuth elements signature is to be verified against.
+     * @param secrets   the shared secrets for verifying the signature.
+     * @param signature base64-encoded OAuth signature to be verified.
+     * @return {@code true} if the signature is valid.
+     */
+    boolean verify(final String elements, final OAuth1Secrets secrets, final String signature) {
+        // with symmetric cryptography, simply sign again and compare (in constant time)
+        return signature != null && MessageDigest.isEqual(
+                sign(elements, secrets).getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private SecretKeySpec key(final OAuth1Secrets secrets) {
+        // null secrets are interpreted as blank per OAuth specification
+        final String consumerSecret = secrets.getConsumerSecret() == null ? "" : secrets.getConsumerSecret();
+        final String tokenSecret = secrets.getTokenSecret() == null ? "" : secrets.getTokenSecret();
+        final String cacheKey = consumerSecret.length() + ":" + consumerSecret + tokenSecret;
+
+        final SecretKeySpec key = keys.get(cacheKey);
+        if (key != null) {
+            return key;
+        }
+
+        final String secret = UriComponent.encode(consumerSecret, UriComponent.Type.UNRESERVED)
+                + '&' + UriComponent.encode(tokenSecret, UriComponent.Type.UNRESERVED);
+        return keys.put(cacheKey, new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), algorithm));
+    }
+
+    /**
+     * {@link Mac} instance owned by a thread together with the key it has been initialized with.
+     */
+    private static final class ThreadMac {
+
+        private final Mac mac;
+        private SecretKeySpec key;
+
+        private ThreadMac(final Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,11 +20,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -63,6 +62,11 @@ import org.glassfish.jersey.uri.UriComponent;
  */
 public class OAuth1Signature {
 
+    private static final Comparator<String[]> PARAMETER_COMPARATOR = (t, t1) -> {
+        final int c = t[0].compareTo(t1[0]);
+        return c == 0 ? t[1].compareTo(t1[1]) : c;
+    };
+
     private final HashMap<String, OAuth1SignatureMethod> methods;
 
     /**
@@ -134,18 +138,28 @@ public class OAuth1Signature {
      * @return the normalized parameters string.
      */
     static String normalizeParameters(final OAuth1Request request, final OAuth1Parameters params) {
+        final StringBuilder buf = new StringBuilder();
+        appendParameters(collectParameters(request, params), buf, false);
+        return buf.toString();
+    }
 
-        final ArrayList<String[]> list = new ArrayList<String[]>();
+    /**
+     * Collects and sorts the encoded request parameters, per section 9.1.1. of the OAuth 1.0 specification.
+     */
+    private static List<String[]> collectParameters(final OAuth1Request request, final OAuth1Parameters params) {
+
+        final ArrayList<String[]> list = new ArrayList<String[]>(params.size() + 8);
 
         // parameters in the OAuth HTTP authorization header
-        for (final String key : params.keySet()) {
+        for (final Map.Entry<String, String> entry : params.entrySet()) {
+            final String key = entry.getKey();
 
             // exclude realm and oauth_signature parameters from OAuth HTTP authorization header
             if (key.equals(OAuth1Parameters.REALM) || key.equals(OAuth1Parameters.SIGNATURE)) {
                 continue;
             }
 
-            final String value = params.get(key);
+            final String value = entry.getValue();
 
             // Encode key and values as per section 3.6 http://tools.ietf.org/html/draft-hammer-oauth-10#section-3.6
             if (value != null) {
@@ -173,26 +187,47 @@ public class OAuth1Signature {
         }
 
         // sort name-value pairs by name
-        Collections.sort(list, new Comparator<String[]>() {
-            @Override
-            public int compare(final String[] t, final String[] t1) {
-                final int c = t[0].compareTo(t1[0]);
-                return c == 0 ? t[1].compareTo(t1[1]) : c;
-            }
-        });
+        list.sort(PARAMETER_COMPARATOR);
 
-        final StringBuilder buf = new StringBuilder();
+        return list;
+    }
 
-        // append each name-value pair, delimited with ampersand
-        for (final Iterator<String[]> i = list.iterator(); i.hasNext(); ) {
-            final String[] param = i.next();
-            buf.append(param[0]).append("=").append(param[1]);
-            if (i.hasNext()) {
-                buf.append('&');
+    /**
+     * Appends each name-value pair, delimited with ampersand. If {@code encode} is {@code true} the result is
+     * encoded once more (as required in the signature base string) while it is being appended.
+     */
+    private static void appendParameters(final List<String[]> list, final StringBuilder buf, final boolean encode) {
+        final String equals = encode ? "%3D" : "=";
+        final String ampersand = encode ? "%26" : "&";
+
+        for (int i = 0; i < list.size(); i++) {
+            final String[] param = list.get(i);
+            if (i > 0) {
+                buf.append(ampersand);
             }
+            append(param[0], buf, encode);
+            buf.append(equals);
+            append(param[1], buf, encode);
         }
+    }
 
-        return buf.toString();
+    /**
+     * Appends an already encoded (unreserved characters and percent-encoded octets only) value. Encoding such a value
+     * once more only replaces the percent signs.
+     */
+    private static void append(final String encoded, final StringBuilder buf, final boolean encode) {
+        if (!encode) {
+            buf.append(encoded);
+            return;
+        }
+        for (int i = 0; i < encoded.length(); i++) {
+            final char c = encoded.charAt(i);
+            if (c == '%') {
+                buf.append("%25");
+            } else {
+                buf.append(c);
+            }
+        }
     }
 
     /**
@@ -239,8 +274,8 @@ public class OAuth1Signature {
                 UriComponent.Type.UNRESERVED));
 
         // normalized request parameters, see section 3.4.1.3.2 http://tools.ietf.org/html/draft-hammer-oauth-10#section-3.4.1.3.2
-        builder.append('&').append(UriComponent.encode(normalizeParameters(request, params),
-                UriComponent.Type.UNRESERVED));
+        builder.append('&');
+        appendParameters(collectParameters(request, params), builder, true);
 
         return builder.toString();
     }
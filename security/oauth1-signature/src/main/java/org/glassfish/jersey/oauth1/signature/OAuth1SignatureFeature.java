@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -54,6 +54,7 @@ public class OAuth1SignatureFeature implements Feature {
             bind(PlaintextMethod.class).to(OAuth1SignatureMethod.class).in(Singleton.class);
             bind(RsaSha1Method.class).to(OAuth1SignatureMethod.class).in(Singleton.class);
             bind(HmaSha1Method.class).to(OAuth1SignatureMethod.class).in(Singleton.class);
+            bind(HmaSha256Method.class).to(OAuth1SignatureMethod.class).in(Singleton.class);
             bindAsContract(OAuth1Signature.class).in(Singleton.class);
         }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,6 +19,8 @@ package org.glassfish.jersey.oauth1.signature;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
@@ -38,6 +40,9 @@ import org.glassfish.jersey.oauth1.signature.internal.LocalizationMessages;
 
 /**
  * An OAuth signature method that implements RSA-SHA1.
+ * <p>
+ * Every thread uses its own {@link Signature} instance and keys are decoded only once per consumer secret.
+ * </p>
  *
  * @author Hubert A. Le Van Gong <hubert.levangong at Sun.COM>
  * @author Paul C. Bryan <pbryan@sun.com>
@@ -54,6 +59,17 @@ public final class RsaSha1Method implements OAuth1SignatureMethod {
 
     private static final String BEGIN_CERT = "-----BEGIN CERTIFICATE";
 
+    private static final ThreadLocal<Signature> SIGNATURES = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance(SIGNATURE_ALGORITHM);
+        } catch (final NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    });
+
+    private final SecretCache<RSAPrivateKey> privateKeys = new SecretCache<>();
+    private final SecretCache<RSAPublicKey> publicKeys = new SecretCache<>();
+
     @Override
     public String name() {
         return NAME;
@@ -70,44 +86,16 @@ public final class RsaSha1Method implements OAuth1SignatureMethod {
     @Override
     public String sign(final String baseString, final OAuth1Secrets secrets) throws InvalidSecretException {
 
-        final Signature signature;
-        try {
-            signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-        } catch (final NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
+        final Signature signature = SIGNATURES.get();
 
-        byte[] decodedPrivateKey;
         try {
-            decodedPrivateKey = Base64.decode(secrets.getConsumerSecret());
-        } catch (final IOException ioe) {
-            throw new InvalidSecretException(LocalizationMessages.ERROR_INVALID_CONSUMER_SECRET(ioe));
-        }
-
-        final KeyFactory keyFactory;
-        try {
-            keyFactory = KeyFactory.getInstance(KEY_TYPE);
-        } catch (final NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        final EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedPrivateKey);
-
-        final RSAPrivateKey rsaPrivateKey;
-        try {
-            rsaPrivateKey = (RSAPrivateKey) keyFactory.generatePrivate(keySpec);
-        } catch (final InvalidKeySpecException ikse) {
-            throw new IllegalStateException(ikse);
-        }
-
-        try {
-            signature.initSign(rsaPrivateKey);
+            signature.initSign(privateKey(secrets.getConsumerSecret()));
         } catch (final InvalidKeyException ike) {
             throw new IllegalStateException(ike);
         }
 
         try {
-            signature.update(baseString.getBytes());
+            signature.update(baseString.getBytes(StandardCharsets.UTF_8));
         } catch (final SignatureException se) {
             throw new IllegalStateException(se);
         }
@@ -135,30 +123,20 @@ public final class RsaSha1Method implements OAuth1SignatureMethod {
     public boolean verify(final String elements, final OAuth1Secrets secrets, final String signature)
             throws InvalidSecretException {
 
-        final Signature sig;
-
-        try {
-            sig = Signature.getInstance(SIGNATURE_ALGORITHM);
-        } catch (final NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
+        final Signature sig = SIGNATURES.get();
 
         RSAPublicKey rsaPubKey = null;
 
         final String tmpkey = secrets.getConsumerSecret();
         if (tmpkey.startsWith(BEGIN_CERT)) {
-            try {
-                Certificate cert = null;
-                final ByteArrayInputStream bais = new ByteArrayInputStream(tmpkey.getBytes());
-                final BufferedInputStream bis = new BufferedInputStream(bais);
-                final CertificateFactory certfac = CertificateFactory.getInstance("X.509");
-                while (bis.available() > 0) {
-                    cert = certfac.generateCertificate(bis);
+            rsaPubKey = publicKeys.get(tmpkey);
+            if (rsaPubKey == null) {
+                try {
+                    rsaPubKey = publicKeys.put(tmpkey, publicKey(tmpkey));
+                } catch (final Exception ex) {
+                    LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_CANNOT_OBTAIN_PUBLIC_KEY(), ex);
+                    return false;
                 }
-                rsaPubKey = (RSAPublicKey) cert.getPublicKey();
-            } catch (final Exception ex) {
-                LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_CANNOT_OBTAIN_PUBLIC_KEY(), ex);
-                return false;
             }
         }
 
@@ -176,7 +154,7 @@ public final class RsaSha1Method implements OAuth1SignatureMethod {
         }
 
         try {
-            sig.update(elements.getBytes());
+            sig.update(elements.getBytes(StandardCharsets.UTF_8));
         } catch (final SignatureException se) {
             throw new IllegalStateException(se);
         }
@@ -187,4 +165,44 @@ public final class RsaSha1Method implements OAuth1SignatureMethod {
             throw new IllegalStateException(se);
         }
     }
+
+    private RSAPrivateKey privateKey(final String secret) throws InvalidSecretException {
+        final RSAPrivateKey cached = privateKeys.get(secret);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] decodedPrivateKey;
+        try {
+            decodedPrivateKey = Base64.decode(secret);
+        } catch (final IOException ioe) {
+            throw new InvalidSecretException(LocalizationMessages.ERROR_INVALID_CONSUMER_SECRET(ioe));
+        }
+
+        final KeyFactory keyFactory;
+        try {
+            keyFactory = KeyFactory.getInstance(KEY_TYPE);
+        } catch (final NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+
+        final EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedPrivateKey);
+
+        try {
+            return privateKeys.put(secret, (RSAPrivateKey) keyFactory.generatePrivate(keySpec));
+        } catch (final InvalidKeySpecException ikse) {
+            throw new IllegalStateException(ikse);
+        }
+    }
+
+    private static RSAPublicKey publicKey(final String certificate) throws GeneralSecurityException, IOException {
+        Certificate cert = null;
+        final ByteArrayInputStream bais = new ByteArrayInputStream(certificate.getBytes(StandardCharsets.US_ASCII));
+        final BufferedInputStream bis = new BufferedInputStream(bais);
+        final CertificateFactory certfac = CertificateFactory.getInstance("X.509");
+        while (bis.available() > 0) {
+            cert = certfac.generateCertificate(bis);
+        }
+        return (RSAPublicKey) cert.getPublicKey();
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.oauth1.signature;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache of keys decoded from secrets, i.e. keys used to sign and verify requests of a consumer (token) are
+ * decoded only once. The cache is cleared once it reaches its maximum size.
+ *
+ * @param <V> decoded key type.
+ */
+final class SecretCache<V> {
+
+    private static final int MAX_SIZE = 512;
+
+    private final ConcurrentMap<String, V> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Get the key decoded from the given secret.
+     *
+     * @param secret secret the key has been decoded from.
+     * @return cached key or {@code null} if the secret has not been decoded yet.
+     */
+    V get(final String secret) {
+        return cache.get(secret);
+    }
+
+    /**
+     * Cache the key decoded from the given secret.
+     *
+     * @param secret secret the key has been decoded from.
+     * @param key    decoded key.
+     * @return the decoded key.
+     */
+    V put(final String secret, final V key) {
+        if (cache.size() >= MAX_SIZE) {
+            cache.clear();
+        }
+        cache.put(secret, key);
+        return key;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -22,6 +22,7 @@ import org.glassfish.jersey.uri.UriComponent;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -207,6 +208,36 @@ public class SignatureTest {
         }
     }
 
+    @Test
+    public void testHMACSHA256() throws OAuth1SignatureException {
+        final OAuth1Signature oauth1Signature = getoAuthSignature();
+
+        final DummyRequest request = new DummyRequest().requestMethod("GET")
+                .requestURL("http://photos.example.net/photos")
+                .parameterValue("file", "vacation.jpg").parameterValue("size", "original");
+
+        final OAuth1Parameters params = new OAuth1Parameters().realm(REALM)
+                .consumerKey(CONSUMER_KEY).token(ACCESS_TOKEN)
+                .signatureMethod(HmaSha256Method.NAME).timestamp(TIMESTAMP)
+                .nonce(NONCE).version(VERSION);
+
+        final OAuth1Secrets secrets = new OAuth1Secrets().consumerSecret("kd94hf93k423kf44")
+                .tokenSecret("pfkkdhi9sl3r4s00");
+
+        final String signature = oauth1Signature.generate(request, params, secrets);
+        assertEquals("WVPzl1j6ZsnkIjWr7e3OZ3jkenL57KwaLFhYsroX1hg=", signature);
+
+        // signing again (with the cached key) and with different secrets must not interfere
+        assertEquals(signature, oauth1Signature.generate(request, params, secrets));
+        assertFalse(signature.equals(oauth1Signature.generate(request, params,
+                new OAuth1Secrets().consumerSecret("kd94hf93k423kf44"))));
+
+        params.setSignature(signature);
+        assertTrue(oauth1Signature.verify(request, params, secrets));
+        params.setSignature(SIGNATURE);
+        assertFalse(oauth1Signature.verify(request, params, secrets));
+    }
+
     private OAuth1Signature getoAuthSignature() {
         InjectionManager injectionManager = Injections.createInjectionManager(new OAuth1SignatureFeature.Binder());
         injectionManager.completeRegistration();
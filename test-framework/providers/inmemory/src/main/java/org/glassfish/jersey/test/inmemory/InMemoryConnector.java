@@ -19,10 +19,13 @@ package org.glassfish.jersey.test.inmemory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
@@ -103,13 +106,26 @@ class InMemoryConnector implements Connector {
 
     /**
      * In memory container response writer.
+     * <p>
+     * The response entity is written into an in-memory buffer which is shared with the client-side response entity stream,
+     * i.e. the entity is not copied. The client-side response is available as soon as the response status and headers
+     * are written, so that asynchronous, chunked and server-sent events responses can be read while the server keeps
+     * writing.
+     * </p>
      */
     public static class InMemoryResponseWriter implements ContainerResponseWriter {
 
-        private MultivaluedMap<String, String> headers;
-        private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        private final ResponseBuffer buffer = new ResponseBuffer();
+
+        private volatile MultivaluedMap<String, String> headers;
+        private volatile Response.StatusType statusInfo;
+
+        // guarded by this
+        private boolean responded;
         private boolean committed;
-        private Response.StatusType statusInfo;
+        private Throwable error;
+        private TimeoutHandler timeoutHandler;
+        private long timeoutDeadline;
 
         @Override
         public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext) {
@@ -119,28 +135,54 @@ class InMemoryConnector implements Connector {
             responseContext.getHeaders().put(HttpHeaders.CONTENT_LENGTH, length);
             headers = responseContext.getStringHeaders();
             statusInfo = responseContext.getStatusInfo();
-            return baos;
+
+            synchronized (this) {
+                responded = true;
+                notifyAll();
+            }
+            return buffer;
         }
 
         @Override
-        public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
-            LOGGER.warning("Asynchronous server side invocations are not supported by InMemoryContainer.");
-            return false;
+        public synchronized boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+            if (this.timeoutHandler != null) {
+                return false;
+            }
+            this.timeoutHandler = timeoutHandler;
+            setTimeoutDeadline(timeOut, timeUnit);
+            return true;
         }
 
         @Override
-        public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
-            throw new UnsupportedOperationException("Async server side invocations are not supported by InMemoryContainer.");
+        public synchronized void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
+            if (timeoutHandler == null) {
+                throw new IllegalStateException("Request is not suspended.");
+            }
+            setTimeoutDeadline(timeOut, timeUnit);
+            notifyAll();
+        }
+
+        private void setTimeoutDeadline(long timeOut, TimeUnit timeUnit) {
+            // deadline of 0 means no timeout
+            timeoutDeadline = timeOut <= 0 ? 0 : Math.max(1, System.nanoTime() + timeUnit.toNanos(timeOut));
         }
 
         @Override
         public void commit() {
-            committed = true;
+            buffer.close();
+            synchronized (this) {
+                committed = true;
+                notifyAll();
+            }
         }
 
         @Override
         public void failure(Throwable error) {
-            throw new ProcessingException("Server-side request processing failed with an error.", error);
+            buffer.fail(error);
+            synchronized (this) {
+                this.error = error;
+                notifyAll();
+            }
         }
 
         @Override
@@ -148,16 +190,77 @@ class InMemoryConnector implements Connector {
             return true;
         }
 
+        /**
+         * Wait until the response status and headers are written, invoking the timeout handler of a suspended request if
+         * the suspend timeout expires in the meantime.
+         *
+         * @throws ProcessingException in case the request processing failed before the response was written or the waiting
+         *                             thread has been interrupted.
+         */
+        void awaitResponse() {
+            while (true) {
+                final TimeoutHandler expired;
+                synchronized (this) {
+                    try {
+                        while (!responded && !committed && error == null && !isTimedOut()) {
+                            if (timeoutDeadline == 0) {
+                                wait();
+                            } else {
+                                TimeUnit.NANOSECONDS.timedWait(this, timeoutDeadline - System.nanoTime());
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ProcessingException("Interrupted while waiting for the response.", e);
+                    }
+
+                    if (responded) {
+                        return;
+                    }
+                    if (error != null) {
+                        throw new ProcessingException("Server-side request processing failed with an error.", error);
+                    }
+                    if (committed) {
+                        throw new ProcessingException("Server-side request processing finished without a response.");
+                    }
+                    expired = timeoutHandler;
+                    timeoutDeadline = 0;
+                }
+                // invoked outside of the lock, the handler usually resumes the request and writes the response
+                expired.onTimeout(this);
+            }
+        }
+
+        private boolean isTimedOut() {
+            return timeoutDeadline != 0 && System.nanoTime() - timeoutDeadline >= 0;
+        }
+
         /**
          * Get the written entity.
+         * <p>
+         * If the entity is being read from the {@link #getEntityStream() entity stream}, only the part of the entity which
+         * has not been read yet is returned.
+         * </p>
          *
          * @return Byte array which contains the entity written by the server.
          */
         public byte[] getEntity() {
-            if (!committed) {
-                throw new IllegalStateException("Response is not committed yet.");
+            synchronized (this) {
+                if (!committed) {
+                    throw new IllegalStateException("Response is not committed yet.");
+                }
             }
-            return baos.toByteArray();
+            return buffer.toByteArray();
+        }
+
+        /**
+         * Get the stream of the entity written by the server. The stream reads the entity directly from the response buffer
+         * and blocks until more data is written or the response is committed.
+         *
+         * @return response entity stream.
+         */
+        public InputStream getEntityStream() {
+            return buffer.getInputStream();
         }
 
         /**
@@ -179,6 +282,140 @@ class InMemoryConnector implements Connector {
         }
     }
 
+    /**
+     * Request entity buffer. The written entity is read by the server directly from the buffer, without copying.
+     */
+    private static final class RequestBuffer extends ByteArrayOutputStream {
+
+        private InputStream getInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    /**
+     * Unbounded in-memory pipe connecting the response output stream written by the server with the response entity
+     * stream read by the client. Data written to the pipe are read directly from the pipe buffer, the buffer space is
+     * reused once all written data has been read.
+     */
+    private static final class ResponseBuffer extends OutputStream {
+
+        private static final int INITIAL_SIZE = 512;
+
+        private byte[] buf = new byte[INITIAL_SIZE];
+        private int count;
+        private int position;
+        private boolean closed;
+        private Throwable error;
+
+        @Override
+        public synchronized void write(final int b) throws IOException {
+            prepareWrite(1);
+            buf[count++] = (byte) b;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            prepareWrite(len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+            notifyAll();
+        }
+
+        private void prepareWrite(final int len) throws IOException {
+            if (closed) {
+                throw new IOException("Response has already been committed.");
+            }
+            if (position == count) {
+                // everything has been read, reuse the buffer
+                position = 0;
+                count = 0;
+            }
+            if (count + len > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + len));
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+
+        private synchronized void fail(final Throwable error) {
+            this.error = error;
+            this.closed = true;
+            notifyAll();
+        }
+
+        private synchronized byte[] toByteArray() {
+            return Arrays.copyOfRange(buf, position, count);
+        }
+
+        /**
+         * Wait until there are data available for reading.
+         *
+         * @return {@code true} if there are data available, {@code false} if the end of the entity has been reached.
+         */
+        private boolean awaitData() throws IOException {
+            while (position == count) {
+                if (closed) {
+                    if (error != null) {
+                        throw new IOException("Server-side request processing failed with an error.", error);
+                    }
+                    return false;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            return true;
+        }
+
+        private InputStream getInputStream() {
+            return new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    synchronized (ResponseBuffer.this) {
+                        return awaitData() ? buf[position++] & 0xff : -1;
+                    }
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    if (off < 0 || len < 0 || len > b.length - off) {
+                        throw new IndexOutOfBoundsException();
+                    }
+                    if (len == 0) {
+                        return 0;
+                    }
+                    synchronized (ResponseBuffer.this) {
+                        if (!awaitData()) {
+                            return -1;
+                        }
+                        final int read = Math.min(len, count - position);
+                        System.arraycopy(buf, position, b, off, read);
+                        position += read;
+                        return read;
+                    }
+                }
+
+                @Override
+                public int available() {
+                    synchronized (ResponseBuffer.this) {
+                        return count - position;
+                    }
+                }
+            };
+        }
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -197,7 +434,7 @@ class InMemoryConnector implements Connector {
 
         containerRequest.getHeaders().putAll(clientRequest.getStringHeaders());
 
-        final ByteArrayOutputStream clientOutput = new ByteArrayOutputStream();
+        final RequestBuffer clientOutput = new RequestBuffer();
         if (clientRequest.getEntity() != null) {
             clientRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
                 @Override
@@ -220,7 +457,7 @@ class InMemoryConnector implements Connector {
             }
         }
 
-        containerRequest.setEntityStream(new ByteArrayInputStream(clientOutput.toByteArray()));
+        containerRequest.setEntityStream(clientOutput.getInputStream());
 
         boolean followRedirects = ClientProperties.getValue(clientRequest.getConfiguration().getProperties(),
                 ClientProperties.FOLLOW_REDIRECTS, true);
@@ -249,6 +486,8 @@ class InMemoryConnector implements Connector {
             }
         });
         appHandler.handle(containerRequest);
+        // suspended requests are resumed by another thread, wait for the response
+        inMemoryResponseWriter.awaitResponse();
 
         return tryFollowRedirects(followRedirects,
                 createClientResponse(
@@ -283,7 +522,7 @@ class InMemoryConnector implements Connector {
                                                 final InMemoryResponseWriter responseWriter) {
         final ClientResponse clientResponse = new ClientResponse(responseWriter.getStatusInfo(), clientRequest);
         clientResponse.getHeaders().putAll(responseWriter.getHeaders());
-        clientResponse.setEntityStream(new ByteArrayInputStream(responseWriter.getEntity()));
+        clientResponse.setEntityStream(responseWriter.getEntityStream());
         return clientResponse;
     }
 
@@ -16,19 +16,25 @@
 
 package org.glassfish.jersey.test.inmemory;
 
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
-import javax.ws.rs.ProcessingException;
 import javax.ws.rs.Produces;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import org.glassfish.jersey.client.ChunkedInput;
+import org.glassfish.jersey.server.ChunkedOutput;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.test.JerseyTest;
 
@@ -37,7 +43,6 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
 
 /**
  * Test class for {@link InMemoryConnector}.
@@ -156,8 +161,42 @@ public class InMemoryContainerTest extends JerseyTest {
                 }
             }).start();
         }
+
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        @Path("timeout")
+        public void asyncTimeout(@Suspended final AsyncResponse asyncResponse) {
+            asyncResponse.setTimeout(100, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        @Path("chunked")
+        public ChunkedOutput<String> chunked() {
+            final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\r\n");
+
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        output.write("first");
+                        CHUNKED_LATCH.await(10, TimeUnit.SECONDS);
+                        output.write("second");
+                        output.close();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).start();
+
+            return output;
+        }
     }
 
+    private static final CountDownLatch CHUNKED_LATCH = new CountDownLatch(1);
+
     /**
      * Reproducer for JERSEY-1956.
      */
@@ -184,16 +223,32 @@ public class InMemoryContainerTest extends JerseyTest {
     }
 
     /**
-     * Reproducer for JERSEY-2030.
+     * Reproducer for JERSEY-2030, asynchronous resource methods are supported.
      */
     @Test
-    public void testAsyncMethodsNotSupported() {
-        try {
-            target("2030").request(MediaType.TEXT_PLAIN).get();
-            fail("ProcessingException expected.");
-        } catch (ProcessingException ex) {
-            assertThat(ex.getStackTrace()[0].getClassName(),
-                    equalTo(InMemoryConnector.InMemoryResponseWriter.class.getName()));
-        }
+    public void testAsyncMethod() {
+        final Response response = target("2030").request(MediaType.TEXT_PLAIN).get();
+        assertThat(response.getStatus(), equalTo(Response.Status.OK.getStatusCode()));
+        assertThat(response.readEntity(String.class), equalTo("resumed"));
+    }
+
+    @Test
+    public void testAsyncMethodTimeout() {
+        final Response response = target("2030/timeout").request(MediaType.TEXT_PLAIN).get();
+        assertThat(response.getStatus(), equalTo(Response.Status.SERVICE_UNAVAILABLE.getStatusCode()));
+    }
+
+    @Test
+    public void testChunkedResponse() throws Exception {
+        final Response response = target("2030/chunked").request(MediaType.TEXT_PLAIN).get();
+        assertThat(response.getStatus(), equalTo(Response.Status.OK.getStatusCode()));
+
+        // chunks are readable before the server finishes writing the response
+        final ChunkedInput<String> input = response.readEntity(new GenericType<ChunkedInput<String>>() {
+        });
+        assertEquals("first", input.read());
+        CHUNKED_LATCH.countDown();
+        assertEquals("second", input.read());
+        assertEquals(null, input.read());
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,8 @@
 
 package org.glassfish.jersey.tests.e2e.common.internal;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ExceptionMapper;
 
@@ -25,6 +27,7 @@ import org.glassfish.jersey.internal.ExceptionMapperFactory;
 import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.internal.inject.Injections;
+import org.glassfish.jersey.internal.inject.PerLookup;
 import org.glassfish.jersey.spi.ExtendedExceptionMapper;
 
 import org.junit.Assert;
@@ -151,6 +154,144 @@ public class ExceptionMapperFactoryTest {
                 mapper instanceof IllegalStateExceptionMapper);
     }
 
+    /**
+     * Test spec:
+     * <p/>
+     * setup:<br/>
+     * - have a singleton mapper and a mapper bound in the per-lookup scope (without any scope annotation)<br/>
+     * <br/>
+     * when:<br/>
+     * - {@link ExceptionMapperFactory#findMapping(Throwable)} is invoked repeatedly<br/>
+     * <br/>
+     * then:<br/>
+     * - the same singleton mapper instance is returned, a new per-lookup mapper instance is returned for every lookup
+     */
+    @Test
+    public void testMapperScopeTakenFromBinding() throws Exception {
+        final InjectionManager injectionManager = Injections.createInjectionManager(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(RuntimeExceptionMapper.class).to(ExceptionMapper.class).in(Singleton.class);
+                bind(PerLookupExceptionMapper.class).to(ExceptionMapper.class).in(PerLookup.class);
+            }
+        });
+        injectionManager.completeRegistration();
+        final ExceptionMapperFactory mapperFactory = new ExceptionMapperFactory(injectionManager);
+
+        final ExceptionMapper<RuntimeException> mapper = mapperFactory.findMapping(new RuntimeException());
+        Assert.assertTrue("RuntimeExceptionMapper should be returned", mapper instanceof RuntimeExceptionMapper);
+        Assert.assertSame(mapper, mapperFactory.findMapping(new RuntimeException()));
+
+        final ExceptionMapper<IllegalStateException> perLookup = mapperFactory.findMapping(new IllegalStateException());
+        Assert.assertTrue("PerLookupExceptionMapper should be returned", perLookup instanceof PerLookupExceptionMapper);
+        Assert.assertNotSame(perLookup, mapperFactory.findMapping(new IllegalStateException()));
+    }
+
+    /**
+     * Test spec:
+     * <p/>
+     * setup:<br/>
+     * - have a mapper registered as an instance and a mapper bound without any scope (i.e. per-lookup)<br/>
+     * <br/>
+     * when:<br/>
+     * - {@link ExceptionMapperFactory#findMapping(Throwable)} is invoked repeatedly<br/>
+     * <br/>
+     * then:<br/>
+     * - the instance is returned for every lookup, a new instance of the other mapper is returned for every lookup
+     */
+    @Test
+    public void testInstanceAndDefaultScopedMappers() throws Exception {
+        final RuntimeExceptionMapper instance = new RuntimeExceptionMapper();
+        final InjectionManager injectionManager = Injections.createInjectionManager(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(instance).to(ExceptionMapper.class);
+                bind(PerLookupExceptionMapper.class).to(ExceptionMapper.class);
+            }
+        });
+        injectionManager.completeRegistration();
+        final ExceptionMapperFactory mapperFactory = new ExceptionMapperFactory(injectionManager);
+
+        Assert.assertSame(instance, mapperFactory.findMapping(new RuntimeException()));
+        Assert.assertSame(instance, mapperFactory.find(RuntimeException.class));
+
+        final ExceptionMapper<IllegalStateException> perLookup = mapperFactory.findMapping(new IllegalStateException());
+        Assert.assertTrue("PerLookupExceptionMapper should be returned", perLookup instanceof PerLookupExceptionMapper);
+        Assert.assertNotSame(perLookup, mapperFactory.findMapping(new IllegalStateException()));
+    }
+
+    /**
+     * Test spec:
+     * <p/>
+     * setup:<br/>
+     * - have an extended mapper typed to RuntimeException which maps only exceptions with a specific message<br/>
+     * - have a mapper typed to Exception<br/>
+     * <br/>
+     * when:<br/>
+     * - {@link ExceptionMapperFactory#findMapping(Throwable)} is invoked repeatedly with RuntimeException instances<br/>
+     * <br/>
+     * then:<br/>
+     * - the mapper is selected according to the exception instance for every lookup, i.e. the mappers resolved for the
+     * exception class are not reused if they depend on the exception instance
+     */
+    @Test
+    public void testExtendedMapperResolvedPerInstance() throws Exception {
+        final InjectionManager injectionManager = Injections.createInjectionManager(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(MessageExceptionMapper.class).to(ExceptionMapper.class).in(Singleton.class);
+                bind(ExceptionMapperImpl.class).to(ExceptionMapper.class).in(Singleton.class);
+            }
+        });
+        injectionManager.completeRegistration();
+        final ExceptionMapperFactory mapperFactory = new ExceptionMapperFactory(injectionManager);
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(mapperFactory.findMapping(new RuntimeException("mappable")) instanceof MessageExceptionMapper);
+            Assert.assertTrue(mapperFactory.findMapping(new RuntimeException("other")) instanceof ExceptionMapperImpl);
+            Assert.assertTrue(mapperFactory.find(RuntimeException.class) instanceof MessageExceptionMapper);
+            Assert.assertTrue(mapperFactory.findMapping(new Exception("mappable")) instanceof ExceptionMapperImpl);
+        }
+    }
+
+    /**
+     * Test spec:
+     * <p/>
+     * setup:<br/>
+     * - have two per-lookup mappers for unrelated exception types<br/>
+     * <br/>
+     * when:<br/>
+     * - {@link ExceptionMapperFactory#findMapping(Throwable)} is invoked repeatedly for one of the exception types<br/>
+     * <br/>
+     * then:<br/>
+     * - only the matching mapper is instantiated for every lookup
+     */
+    @Test
+    public void testOnlyMatchingPerLookupMapperCreated() throws Exception {
+        final InjectionManager injectionManager = Injections.createInjectionManager(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(CountingIllegalStateExceptionMapper.class).to(ExceptionMapper.class).in(PerLookup.class);
+                bind(CountingIllegalArgumentExceptionMapper.class).to(ExceptionMapper.class).in(PerLookup.class);
+            }
+        });
+        injectionManager.completeRegistration();
+        final ExceptionMapperFactory mapperFactory = new ExceptionMapperFactory(injectionManager);
+
+        // the first lookup resolves (and instantiates) all the mappers
+        Assert.assertTrue(mapperFactory.findMapping(new IllegalStateException())
+                instanceof CountingIllegalStateExceptionMapper);
+        CountingIllegalStateExceptionMapper.INSTANCES.set(0);
+        CountingIllegalArgumentExceptionMapper.INSTANCES.set(0);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(mapperFactory.findMapping(new IllegalStateException())
+                    instanceof CountingIllegalStateExceptionMapper);
+        }
+        Assert.assertEquals(3, CountingIllegalStateExceptionMapper.INSTANCES.get());
+        Assert.assertEquals(0, CountingIllegalArgumentExceptionMapper.INSTANCES.get());
+    }
+
     /**
      * Extended Exception Mapper which has RuntimeException as generic type and isMappable returns true if the
      * exception is instance of IllegalArgumentException.
@@ -204,4 +345,92 @@ public class ExceptionMapperFactoryTest {
         }
 
     }
+
+    /**
+     * Exception Mapper which has IllegalStateException as generic type, bound in the per-lookup scope.
+     */
+    private static class PerLookupExceptionMapper implements ExceptionMapper<IllegalStateException> {
+
+        @Override
+        public Response toResponse(final IllegalStateException exception) {
+            return Response
+                    .status(Response.Status.CONFLICT)
+                    .build();
+        }
+
+    }
+
+    /**
+     * Exception Mapper which has IllegalStateException as generic type and counts its instances.
+     */
+    public static class CountingIllegalStateExceptionMapper implements ExceptionMapper<IllegalStateException> {
+
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public CountingIllegalStateExceptionMapper() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public Response toResponse(final IllegalStateException exception) {
+            return Response
+                    .status(Response.Status.CONFLICT)
+                    .build();
+        }
+
+    }
+
+    /**
+     * Exception Mapper which has IllegalArgumentException as generic type and counts its instances.
+     */
+    public static class CountingIllegalArgumentExceptionMapper implements ExceptionMapper<IllegalArgumentException> {
+
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public CountingIllegalArgumentExceptionMapper() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public Response toResponse(final IllegalArgumentException exception) {
+            return Response
+                    .status(Response.Status.BAD_REQUEST)
+                    .build();
+        }
+
+    }
+
+    /**
+     * Extended Exception Mapper which has RuntimeException as generic type and isMappable returns true if the
+     * exception message is "mappable".
+     */
+    private static class MessageExceptionMapper implements ExtendedExceptionMapper<RuntimeException> {
+
+        @Override
+        public boolean isMappable(final RuntimeException exception) {
+            return "mappable".equals(exception.getMessage());
+        }
+
+        @Override
+        public Response toResponse(final RuntimeException exception) {
+            return Response
+                    .status(Response.Status.NOT_FOUND)
+                    .build();
+        }
+
+    }
+
+    /**
+     * Exception Mapper which has Exception as generic type.
+     */
+    private static class ExceptionMapperImpl implements ExceptionMapper<Exception> {
+
+        @Override
+        public Response toResponse(final Exception exception) {
+            return Response
+                    .status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .build();
+        }
+
+    }
 }
@@ -27,6 +27,7 @@ import org.glassfish.hk2.utilities.AbstractActiveDescriptor;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -140,6 +141,62 @@ public class RequestScopeTest {
         assertNull(instance.get(inhab));
     }
 
+    @Test
+    public void testSlotsSharedByInstances() {
+        final RequestScope requestScope = new Hk2RequestScope();
+        final ForeignDescriptor[] inhabs = new ForeignDescriptor[20];
+        for (int i = 0; i < inhabs.length; i++) {
+            inhabs[i] = ForeignDescriptor.wrap(new Object());
+        }
+
+        final Hk2RequestScope.Instance first = (Hk2RequestScope.Instance) requestScope.createContext();
+        first.put(inhabs[0], "0");
+
+        final Hk2RequestScope.Instance second = (Hk2RequestScope.Instance) requestScope.createContext();
+        assertFalse(second.contains(inhabs[0]));
+        for (int i = inhabs.length - 1; i >= 0; i--) {
+            second.put(inhabs[i], String.valueOf(i));
+        }
+
+        // First instance is able to store inhabitants of descriptors indexed after its storage was allocated.
+        first.put(inhabs[19], "19");
+        assertEquals("0", first.get(inhabs[0]));
+        assertEquals("19", first.get(inhabs[19]));
+        assertNull(first.get(inhabs[10]));
+
+        for (int i = 0; i < inhabs.length; i++) {
+            assertEquals(String.valueOf(i), second.get(inhabs[i]));
+        }
+
+        second.remove(inhabs[5]);
+        assertFalse(second.contains(inhabs[5]));
+        assertTrue(second.contains(inhabs[6]));
+
+        first.release();
+        second.release();
+        assertNull(first.get(inhabs[0]));
+        assertNull(second.get(inhabs[6]));
+    }
+
+    @Test
+    public void testRunInActiveContext() {
+        final RequestScope requestScope = new Hk2RequestScope();
+        final Hk2RequestScope.Instance instance = (Hk2RequestScope.Instance) requestScope.createContext();
+        final ForeignDescriptor inhab = ForeignDescriptor.wrap(new Object());
+        instance.put(inhab, "1");
+
+        requestScope.runInScope(instance, () -> {
+            requestScope.runInScope(instance, () -> assertEquals(instance, requestScope.current()));
+            assertEquals(instance, requestScope.current());
+            assertEquals("1", instance.get(inhab));
+        });
+        assertNull(requestScope.suspendCurrent());
+
+        assertEquals("1", instance.get(inhab));
+        instance.release();
+        assertNull(instance.get(inhab));
+    }
+
     /**
      * Test request scope inhabitant.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,12 +16,21 @@
 
 package org.glassfish.jersey.tests.e2e.server.mvc.spi;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -33,19 +42,23 @@ import javax.servlet.ServletContext;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.mvc.MvcFeature;
 import org.glassfish.jersey.server.mvc.Template;
 import org.glassfish.jersey.server.mvc.Viewable;
+import org.glassfish.jersey.server.mvc.internal.TemplatePrecompilationListener;
 import org.glassfish.jersey.server.mvc.spi.AbstractTemplateProcessor;
 import org.glassfish.jersey.test.JerseyTest;
 import org.glassfish.jersey.test.spi.TestContainerException;
 
+import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * @author Michal Gajdos
@@ -61,7 +74,11 @@ import static org.hamcrest.Matchers.is;
         AbstractTemplateProcessorTest.CachePositiveTest.class,
         AbstractTemplateProcessorTest.CachePositiveStringTest.class,
         AbstractTemplateProcessorTest.CacheNegativeTest.class,
-        AbstractTemplateProcessorTest.CacheInvalidTest.class
+        AbstractTemplateProcessorTest.CacheInvalidTest.class,
+        AbstractTemplateProcessorTest.PrecompilationListenerTest.class,
+        AbstractTemplateProcessorTest.CacheSizeTest.class,
+        AbstractTemplateProcessorTest.PrecompilationTest.class,
+        AbstractTemplateProcessorTest.WatchTest.class
 })
 public class AbstractTemplateProcessorTest {
 
@@ -253,4 +270,195 @@ public class AbstractTemplateProcessorTest {
             super("invalid");
         }
     }
+
+    public static class PrecompilationListenerTest {
+
+        @Test
+        public void testListenerRegisteredOnlyIfEnabled() throws Exception {
+            ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class)
+                    .register(MvcFeature.class));
+            assertThat(handler.getConfiguration().isRegistered(TemplatePrecompilationListener.class), is(false));
+
+            handler = new ApplicationHandler(new ResourceConfig(Resource.class)
+                    .register(MvcFeature.class)
+                    .property(MvcFeature.PRECOMPILE_TEMPLATES + ".counting", true));
+            assertThat(handler.getConfiguration().isRegistered(TemplatePrecompilationListener.class), is(true));
+        }
+    }
+
+    @Path("/")
+    public static class ViewResource {
+
+        @GET
+        @Path("{name: .+}")
+        @Produces("text/plain")
+        public Viewable get(@PathParam("name") final String name) {
+            return new Viewable("/" + name);
+        }
+    }
+
+    public static class CountingTemplateProcessor extends AbstractTemplateProcessor<String> {
+
+        private static volatile CountingTemplateProcessor instance;
+
+        @Inject
+        public CountingTemplateProcessor(Configuration config, InjectionManager injectionManager) {
+            super(config, injectionManager.getInstance(ServletContext.class), "counting", "cnt");
+
+            precompileTemplates();
+            instance = this;
+        }
+
+        @Override
+        protected String resolve(final String templatePath, final Reader reader) throws Exception {
+            return new BufferedReader(reader).lines().collect(Collectors.joining("\n"));
+        }
+
+        @Override
+        public void writeTo(final String templateReference, final Viewable viewable, final MediaType mediaType,
+                            final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream out) throws IOException {
+            out.write(templateReference.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Serves the templates written to a temporary directory by the {@link CountingTemplateProcessor}.
+     */
+    public abstract static class FileTemplateTest extends JerseyTest {
+
+        // initialized in configure() called from the super constructor
+        private java.nio.file.Path templates;
+
+        @Override
+        protected Application configure() {
+            CountingTemplateProcessor.instance = null;
+            try {
+                templates = Files.createTempDirectory("templates");
+                write("a.cnt", "a");
+                write("b.cnt", "b");
+            } catch (final IOException e) {
+                throw new TestContainerException(e);
+            }
+
+            final ResourceConfig config = new ResourceConfig(ViewResource.class)
+                    .register(MvcFeature.class)
+                    .register(CountingTemplateProcessor.class)
+                    .property(MvcFeature.TEMPLATE_BASE_PATH, templates.toString());
+            configure(config);
+            return config;
+        }
+
+        abstract void configure(ResourceConfig config);
+
+        @After
+        @Override
+        public void tearDown() throws Exception {
+            super.tearDown();
+            try (Stream<java.nio.file.Path> files = Files.walk(templates)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+
+        void write(final String name, final String content) throws IOException {
+            final java.nio.file.Path file = templates.resolve(name);
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void mkdir(final String name) throws IOException {
+            Files.createDirectory(templates.resolve(name));
+        }
+
+        String get(final String name) {
+            return target(name).request().get(String.class);
+        }
+    }
+
+    public static class CacheSizeTest extends FileTemplateTest {
+
+        @Override
+        void configure(final ResourceConfig config) {
+            config.property(MvcFeature.CACHE_TEMPLATES, true)
+                  .property(MvcFeature.CACHE_SIZE + ".counting", 1);
+        }
+
+        @Test
+        public void testLeastRecentlyUsedEvicted() throws Exception {
+            assertThat(get("a"), is("a"));
+            assertThat(get("a"), is("a"));
+            assertThat(get("b"), is("b"));
+            // "a" has been evicted by "b"
+            assertThat(get("a"), is("a"));
+
+            final CountingTemplateProcessor processor = CountingTemplateProcessor.instance;
+            assertThat(processor.getCacheHits(), is(1L));
+            assertThat(processor.getCacheMisses(), is(3L));
+            assertThat(processor.getCacheSize(), is(1));
+
+            // unresolvable templates are not cached
+            assertThat(target("missing").request().get().getStatus() == 200, is(false));
+            assertThat(processor.getCacheSize(), is(1));
+        }
+    }
+
+    public static class PrecompilationTest extends FileTemplateTest {
+
+        @Override
+        void configure(final ResourceConfig config) {
+            config.property(MvcFeature.PRECOMPILE_TEMPLATES, true);
+        }
+
+        @Test
+        public void testTemplatesPrecompiled() throws Exception {
+            final CountingTemplateProcessor processor = CountingTemplateProcessor.instance;
+            assertThat(processor, notNullValue());
+            // both with and without the extension
+            assertThat(processor.getCacheSize(), is(4));
+
+            assertThat(get("a"), is("a"));
+            assertThat(get("b.cnt"), is("b"));
+            assertThat(processor.getCacheHits(), is(2L));
+            assertThat(processor.getCacheMisses(), is(0L));
+        }
+    }
+
+    public static class WatchTest extends FileTemplateTest {
+
+        @Override
+        void configure(final ResourceConfig config) {
+            config.property(MvcFeature.CACHE_TEMPLATES, true)
+                  .property(MvcFeature.WATCH_TEMPLATES, true);
+        }
+
+        @Test
+        public void testDirectoryCreatedAfterStartupWatched() throws Exception {
+            assertThat(get("a"), is("a"));
+            final CountingTemplateProcessor processor = CountingTemplateProcessor.instance;
+            assertThat(processor.getCacheSize(), is(1));
+
+            // the cache is cleared once the new directory has been registered
+            mkdir("sub");
+            awaitEmptyCache(processor);
+
+            write("sub/c.cnt", "c1");
+            assertThat(get("sub/c"), is("c1"));
+
+            // the change is noticed only if the new directory is watched
+            write("sub/c.cnt", "c2");
+            String content = get("sub/c");
+            for (int i = 0; i < 300 && !content.equals("c2"); i++) {
+                Thread.sleep(100);
+                content = get("sub/c");
+            }
+            assertThat(content, is("c2"));
+        }
+
+        private static void awaitEmptyCache(final CountingTemplateProcessor processor) throws InterruptedException {
+            for (int i = 0; i < 300 && processor.getCacheSize() > 0; i++) {
+                Thread.sleep(100);
+            }
+            assertThat(processor.getCacheSize(), is(0));
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -50,6 +50,7 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Form;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
@@ -105,11 +106,13 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
@@ -142,6 +145,7 @@ import com.sun.research.ws.wadl.Resources;
         WadlResourceTest.Wadl9Test.class,
         WadlResourceTest.Wadl10Test.class,
         WadlResourceTest.Wadl11Test.class,
+        WadlResourceTest.Wadl12Test.class,
 })
 public class WadlResourceTest {
 
@@ -1284,6 +1288,65 @@ public class WadlResourceTest {
     } // class Wadl11Test
 
 
+    /**
+     * Tests the cached WADL and grammars.
+     */
+    public static class Wadl12Test extends JerseyTest {
+
+        @XmlRootElement
+        public static class Bean {
+
+            public String value;
+        }
+
+        @Path("wadl12test")
+        public static class Resource {
+
+            @GET
+            @Produces("application/xml")
+            public Bean get() {
+                return new Bean();
+            }
+        } // class Resource
+
+        @Override
+        protected Application configure() {
+            return new ResourceConfig(Resource.class);
+        }
+
+        @Test
+        public void testGrammarRequestedFirst() throws Exception {
+            final Response grammar = target("/application.wadl/xsd0.xsd").request().get();
+            assertThat(grammar.getStatus(), is(200));
+            assertThat(grammar.readEntity(String.class), containsString("bean"));
+
+            // the cached WADL has been generated for the application.wadl URI, not for the grammar URI
+            final String wadl = target("/application.wadl").request().get(String.class);
+            assertThat(wadl, containsString("href=\"application.wadl/xsd0.xsd\""));
+            assertThat(wadl, containsString(getBaseUri() + "application.wadl?"
+                    + WadlUtils.DETAILED_WADL_QUERY_PARAM + "=true"));
+        }
+
+        @Test
+        public void testNotModified() throws Exception {
+            final Response response = target("/application.wadl").request().get();
+            assertThat(response.getStatus(), is(200));
+            final String eTag = response.getHeaderString(HttpHeaders.ETAG);
+            assertNotNull(eTag);
+            assertNotNull(response.getHeaderString(HttpHeaders.LAST_MODIFIED));
+
+            final Response notModified = target("/application.wadl").request()
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag).get();
+            assertThat(notModified.getStatus(), is(304));
+
+            final Response modified = target("/application.wadl").request()
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"other\"").get();
+            assertThat(modified.getStatus(), is(200));
+            assertThat(modified.getHeaderString(HttpHeaders.ETAG), equalTo(eTag));
+        }
+
+    } // class Wadl12Test
+
     @XmlRootElement(name = "jaxbBean")
     public class JaxbBean {
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,11 +16,15 @@
 
 package org.glassfish.jersey.tests.performance.mbw.kryo;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import javax.ws.rs.core.Application;
 
+import org.glassfish.jersey.kryo.KryoProperties;
+
 /**
  * Test case JAX-RS application.
  *
@@ -37,4 +41,9 @@ public class JaxRsApplication extends Application {
         return APP_CLASSES;
     }
 
+    @Override
+    public Map<String, Object> getProperties() {
+        return Collections.<String, Object>singletonMap(KryoProperties.REGISTERED_CLASSES, Person.class);
+    }
+
 }
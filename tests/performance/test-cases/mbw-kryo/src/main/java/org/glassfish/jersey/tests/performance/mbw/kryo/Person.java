@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2019 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,11 +18,14 @@ package org.glassfish.jersey.tests.performance.mbw.kryo;
 
 import java.util.Objects;
 
+import javax.xml.bind.annotation.XmlRootElement;
+
 /**
  * Test data bean.
  *
  * @author Libor Kramolis (libor.kramolis at oracle.com)
  */
+@XmlRootElement
 public class Person {
 
     public String name;
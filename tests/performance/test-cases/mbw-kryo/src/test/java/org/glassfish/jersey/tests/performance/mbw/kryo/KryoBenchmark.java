@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.performance.mbw.kryo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.kryo.KryoProperties;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.util.server.ContainerRequestBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link org.glassfish.jersey.server.ApplicationHandler} benchmark comparing Kryo (with and without registered classes),
+ * Jackson and JAXB message body providers. Every invocation reads a {@link Person} entity and writes it back.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 16, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 16, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KryoBenchmark {
+
+    @Param(value = {"kryo", "kryo-registered", "jackson", "jaxb"})
+    private String provider;
+
+    private volatile ApplicationHandler handler;
+    private volatile String mediaType;
+    private volatile byte[] entity;
+
+    @Setup
+    public void start() throws Exception {
+        final ResourceConfig config = new ResourceConfig(EchoResource.class);
+
+        switch (provider) {
+            case "kryo-registered":
+                config.property(KryoProperties.REGISTERED_CLASSES, Person.class);
+                mediaType = "application/x-kryo";
+                break;
+            case "kryo":
+                mediaType = "application/x-kryo";
+                break;
+            case "jackson":
+                config.register(JacksonFeature.class);
+                mediaType = MediaType.APPLICATION_JSON;
+                break;
+            case "jaxb":
+                mediaType = MediaType.APPLICATION_XML;
+                break;
+            default:
+                throw new IllegalArgumentException(provider);
+        }
+
+        handler = new ApplicationHandler(config);
+
+        // Serialize the request entity only once, it is not part of the measurement.
+        final InputStream stream = ContainerRequestBuilder
+                .from("echo", "POST")
+                .type(mediaType)
+                .entity(new Person("Wolfgang", 21, "Salzburg"), handler)
+                .build()
+                .getEntityStream();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        entity = out.toByteArray();
+    }
+
+    @Benchmark
+    public ContainerResponse measureEcho() throws Exception {
+        final ContainerRequest request = ContainerRequestBuilder
+                .from("echo", "POST")
+                .type(mediaType)
+                .accept(mediaType)
+                .entity(new ByteArrayInputStream(entity))
+                .build();
+
+        return handler.apply(request).get();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(KryoBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * Resource echoing entities in all compared formats.
+     */
+    @Path("echo")
+    @Consumes({"application/x-kryo", MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    @Produces({"application/x-kryo", MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
+    public static class EchoResource {
+
+        @POST
+        public Person echo(final Person person) {
+            return person;
+        }
+    }
+}